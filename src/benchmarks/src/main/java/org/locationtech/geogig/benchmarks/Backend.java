@@ -0,0 +1,123 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.benchmarks;
+
+import org.locationtech.geogig.storage.GraphDatabase;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.locationtech.geogig.storage.bdbje.EnvironmentBuilder;
+import org.locationtech.geogig.storage.bdbje.JEGraphDatabase_v0_2;
+import org.locationtech.geogig.storage.bdbje.JEObjectDatabase_v0_2;
+import org.locationtech.geogig.storage.fs.FileObjectDatabase;
+import org.locationtech.geogig.storage.memory.HeapGraphDatabase;
+import org.locationtech.geogig.storage.memory.HeapObjectDatabse;
+import org.locationtech.geogig.storage.mongo.MongoGraphDatabase;
+import org.locationtech.geogig.storage.mongo.MongoObjectDatabase;
+import org.locationtech.geogig.storage.mvstore.MVStoreGraphDatabase;
+import org.locationtech.geogig.storage.mvstore.MVStoreObjectDatabase;
+import org.locationtech.geogig.storage.rocksdb.RocksDBGraphDatabase;
+import org.locationtech.geogig.storage.rocksdb.RocksDBObjectDatabase;
+import org.locationtech.geogig.storage.sqlite.XerialGraphDatabase;
+import org.locationtech.geogig.storage.sqlite.XerialObjectDatabase;
+
+/**
+ * The storage backends the benchmarks run against, used as the value of their {@code backend}
+ * parameter.
+ */
+public enum Backend {
+    HEAP {
+        @Override
+        ObjectDatabase createObjectDatabase(BenchmarkEnvironment env) {
+            return new HeapObjectDatabse();
+        }
+
+        @Override
+        GraphDatabase createGraphDatabase(BenchmarkEnvironment env) {
+            return new HeapGraphDatabase(env.platform);
+        }
+    },
+    /**
+     * Loose object files, there's no file based graph database
+     */
+    FILE {
+        @Override
+        ObjectDatabase createObjectDatabase(BenchmarkEnvironment env) {
+            return new FileObjectDatabase(env.platform, env.configDB);
+        }
+
+        @Override
+        GraphDatabase createGraphDatabase(BenchmarkEnvironment env) {
+            throw new UnsupportedOperationException("There's no file based graph database");
+        }
+    },
+    BDBJE {
+        @Override
+        ObjectDatabase createObjectDatabase(BenchmarkEnvironment env) {
+            return new JEObjectDatabase_v0_2(env.configDB, new EnvironmentBuilder(env.platform),
+                    env.hints);
+        }
+
+        @Override
+        GraphDatabase createGraphDatabase(BenchmarkEnvironment env) {
+            return new JEGraphDatabase_v0_2(env.configDB, new EnvironmentBuilder(env.platform),
+                    env.hints);
+        }
+    },
+    SQLITE {
+        @Override
+        ObjectDatabase createObjectDatabase(BenchmarkEnvironment env) {
+            return new XerialObjectDatabase(env.configDB, env.platform);
+        }
+
+        @Override
+        GraphDatabase createGraphDatabase(BenchmarkEnvironment env) {
+            return new XerialGraphDatabase(env.configDB, env.platform);
+        }
+    },
+    ROCKSDB {
+        @Override
+        ObjectDatabase createObjectDatabase(BenchmarkEnvironment env) {
+            return new RocksDBObjectDatabase(env.configDB, env.platform, env.hints);
+        }
+
+        @Override
+        GraphDatabase createGraphDatabase(BenchmarkEnvironment env) {
+            return new RocksDBGraphDatabase(env.configDB, env.platform);
+        }
+    },
+    MVSTORE {
+        @Override
+        ObjectDatabase createObjectDatabase(BenchmarkEnvironment env) {
+            return new MVStoreObjectDatabase(env.configDB, env.platform, env.hints);
+        }
+
+        @Override
+        GraphDatabase createGraphDatabase(BenchmarkEnvironment env) {
+            return new MVStoreGraphDatabase(env.configDB, env.platform);
+        }
+    },
+    /**
+     * MongoDB through an in-process {@link FongoConnectionManager stand-in}
+     */
+    MONGODB {
+        @Override
+        ObjectDatabase createObjectDatabase(BenchmarkEnvironment env) {
+            return new MongoObjectDatabase(env.configDB, env.mongoManager, env.executor);
+        }
+
+        @Override
+        GraphDatabase createGraphDatabase(BenchmarkEnvironment env) {
+            return new MongoGraphDatabase(env.mongoManager, env.configDB);
+        }
+    };
+
+    abstract ObjectDatabase createObjectDatabase(BenchmarkEnvironment env);
+
+    abstract GraphDatabase createGraphDatabase(BenchmarkEnvironment env);
+}
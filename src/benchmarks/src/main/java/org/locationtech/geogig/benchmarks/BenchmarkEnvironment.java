@@ -0,0 +1,84 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.locationtech.geogig.api.DefaultPlatform;
+import org.locationtech.geogig.api.Platform;
+import org.locationtech.geogig.repository.Hints;
+import org.locationtech.geogig.storage.ConfigDatabase;
+import org.locationtech.geogig.storage.fs.IniFileConfigDatabase;
+import org.locationtech.geogig.storage.mongo.MongoConnectionManager;
+
+import com.google.common.base.Throwables;
+import com.google.common.io.Files;
+
+/**
+ * A throw away repository directory, and everything the storage backends need to be created on
+ * it.
+ */
+class BenchmarkEnvironment {
+
+    private final File root;
+
+    final Platform platform;
+
+    final ConfigDatabase configDB;
+
+    final Hints hints;
+
+    final MongoConnectionManager mongoManager;
+
+    final ExecutorService executor;
+
+    BenchmarkEnvironment() {
+        root = Files.createTempDir();
+        File geogigDir = new File(root, ".geogig");
+        if (!geogigDir.mkdir()) {
+            throw new IllegalStateException("Unable to create " + geogigDir);
+        }
+        DefaultPlatform platform = new DefaultPlatform();
+        platform.setWorkingDir(root);
+        this.platform = platform;
+        this.configDB = new IniFileConfigDatabase(platform);
+        this.hints = new Hints();
+
+        // each environment gets its own in-process mongo database
+        configDB.put("mongodb.uri", "mongodb://localhost:27017/");
+        configDB.put("mongodb.database", root.getName());
+        this.mongoManager = new FongoConnectionManager();
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    void dispose() {
+        executor.shutdownNow();
+        try {
+            delete(root);
+        } catch (IOException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    private static void delete(File file) throws IOException {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        if (!file.delete() && file.exists()) {
+            throw new IOException("Unable to delete " + file);
+        }
+    }
+}
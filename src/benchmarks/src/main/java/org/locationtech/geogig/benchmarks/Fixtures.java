@@ -0,0 +1,98 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.benchmarks;
+
+import java.util.List;
+
+import org.locationtech.geogig.api.CommitBuilder;
+import org.locationtech.geogig.api.Node;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevCommit;
+import org.locationtech.geogig.api.RevFeatureImpl;
+import org.locationtech.geogig.api.RevObject;
+import org.locationtech.geogig.api.RevObject.TYPE;
+import org.locationtech.geogig.api.RevTree;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.vividsolutions.jts.geom.Envelope;
+
+/**
+ * Deterministic test data shared by the benchmarks, so every backend gets exactly the same
+ * objects.
+ */
+class Fixtures {
+
+    private static final ObjectId FAKE_ID = ObjectId.forString("fake");
+
+    static List<RevObject> features(final int count) {
+        List<RevObject> features = Lists.newArrayListWithCapacity(count);
+        for (int i = 0; i < count; i++) {
+            features.add(RevFeatureImpl.build(ImmutableList.<Optional<Object>> of(
+                    Optional.<Object> of("Feature." + i), Optional.<Object> of(i),
+                    Optional.<Object> of(Double.valueOf(i / 3.0)))));
+        }
+        return features;
+    }
+
+    static Node node(final int i) {
+        String key = "Feature." + i;
+        ObjectId id = ObjectId.forString(key);
+        Envelope env = new Envelope(i, i, i, i);
+        return Node.create(key, id, FAKE_ID, TYPE.FEATURE, env);
+    }
+
+    /**
+     * Creates a history of {@code count} commits in order from the root commit to the tip,
+     * following a main line with a short lived branch merged back every {@code mergeEvery}
+     * commits. The last commit in the list is the tip of the main line.
+     */
+    static List<RevCommit> history(final int count, final int mergeEvery) {
+        List<RevCommit> commits = Lists.newArrayListWithCapacity(count);
+        RevCommit tip = null;
+        RevCommit branchTip = null;
+        for (int i = 0; i < count; i++) {
+            List<ObjectId> parents = Lists.newArrayListWithCapacity(2);
+            if (tip != null) {
+                parents.add(tip.getId());
+            }
+            final boolean merge = branchTip != null && i % mergeEvery == 0;
+            if (merge) {
+                parents.add(branchTip.getId());
+                branchTip = null;
+            }
+            RevCommit commit = commit(i, parents);
+            commits.add(commit);
+            if (tip != null && branchTip == null && !merge && i < count - 1
+                    && i % mergeEvery == mergeEvery / 2) {
+                // fork a single commit branch off the previous tip
+                branchTip = commit(-i, ImmutableList.of(tip.getId()));
+                commits.add(branchTip);
+            }
+            tip = commit;
+        }
+        return commits;
+    }
+
+    private static RevCommit commit(final int i, final List<ObjectId> parents) {
+        CommitBuilder builder = new CommitBuilder();
+        builder.setTreeId(RevTree.EMPTY_TREE_ID);
+        builder.setParentIds(parents);
+        builder.setAuthor("benchmark");
+        builder.setAuthorEmail("benchmark@example.com");
+        builder.setCommitter("benchmark");
+        builder.setCommitterEmail("benchmark@example.com");
+        builder.setAuthorTimestamp(1000L * Math.abs(i));
+        builder.setCommitterTimestamp(1000L * Math.abs(i));
+        builder.setMessage("commit " + i);
+        return builder.build();
+    }
+}
@@ -0,0 +1,36 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.benchmarks;
+
+import org.locationtech.geogig.storage.mongo.MongoAddress;
+import org.locationtech.geogig.storage.mongo.MongoConnectionManager;
+
+import com.github.fakemongo.Fongo;
+import com.mongodb.MongoClient;
+
+/**
+ * Hands out in-process <a href="https://github.com/fakemongo/fongo">Fongo</a> clients instead of
+ * connecting to a MongoDB server, so the Mongo backend can be benchmarked without one.
+ * <p>
+ * Numbers obtained this way measure the backend's own overhead (serialization, query building,
+ * batching), not the server's or the network's.
+ */
+class FongoConnectionManager extends MongoConnectionManager {
+
+    @Override
+    protected MongoClient connect(MongoAddress address) {
+        return new Fongo(address.getUri()).getMongo();
+    }
+
+    @Override
+    protected void disconnect(MongoClient client) {
+        // nothing to release
+    }
+}
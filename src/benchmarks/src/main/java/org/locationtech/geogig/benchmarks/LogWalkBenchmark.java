@@ -0,0 +1,124 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevCommit;
+import org.locationtech.geogig.storage.GraphDatabase;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Walks a history of {@link #numCommits} commits from its tip to the root commit, the way
+ * {@code LogOp} does by reading each commit from the {@link ObjectDatabase}, and through the
+ * {@link GraphDatabase} alone.
+ * <p>
+ * The {@code FILE} backend is not included since there's no file based graph database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LogWalkBenchmark {
+
+    @Param({ "HEAP", "BDBJE", "SQLITE", "ROCKSDB", "MVSTORE", "MONGODB" })
+    public Backend backend;
+
+    @Param({ "10000" })
+    public int numCommits;
+
+    private BenchmarkEnvironment env;
+
+    private ObjectDatabase objects;
+
+    private GraphDatabase graph;
+
+    private ObjectId tip;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        env = new BenchmarkEnvironment();
+        objects = backend.createObjectDatabase(env);
+        objects.open();
+        graph = backend.createGraphDatabase(env);
+        graph.open();
+
+        List<RevCommit> history = Fixtures.history(numCommits, 50);
+        objects.putAll(history.iterator());
+        for (RevCommit commit : history) {
+            graph.put(commit.getId(), commit.getParentIds());
+        }
+        tip = history.get(history.size() - 1).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graph.close();
+        objects.close();
+        env.dispose();
+    }
+
+    /**
+     * Follows the first parent of each commit, reading them from the object database
+     */
+    @Benchmark
+    public void logWalk(Blackhole bh) {
+        RevCommit commit = objects.getCommit(tip);
+        while (true) {
+            bh.consume(commit);
+            ImmutableList<ObjectId> parents = commit.getParentIds();
+            if (parents.isEmpty()) {
+                break;
+            }
+            commit = objects.getCommit(parents.get(0));
+        }
+    }
+
+    /**
+     * Follows the first parent of each commit through the graph database
+     */
+    @Benchmark
+    public void graphWalk(Blackhole bh) {
+        ObjectId id = tip;
+        while (true) {
+            ImmutableList<ObjectId> parents = graph.getParents(id);
+            bh.consume(parents);
+            if (parents.isEmpty()) {
+                break;
+            }
+            id = parents.get(0);
+        }
+    }
+
+    @Benchmark
+    public int depth() {
+        return graph.getDepth(tip);
+    }
+}
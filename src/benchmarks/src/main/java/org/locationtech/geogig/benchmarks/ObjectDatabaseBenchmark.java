@@ -0,0 +1,139 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.benchmarks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevObject;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Read access patterns on a pre-populated {@link ObjectDatabase}: single object lookups,
+ * {@link ObjectDatabase#getAll(Iterable) batch} lookups, and existence checks with a configurable
+ * ratio of hits to misses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ObjectDatabaseBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({ "HEAP", "FILE", "BDBJE", "SQLITE", "ROCKSDB", "MVSTORE", "MONGODB" })
+    public Backend backend;
+
+    @Param({ "100000" })
+    public int numObjects;
+
+    private BenchmarkEnvironment env;
+
+    private ObjectDatabase db;
+
+    private ObjectId[] ids;
+
+    /**
+     * The ids {@link ObjectDatabaseBenchmark#exists(Probes) exists} is called with, only the
+     * benchmarks using this state are run for every hit ratio
+     */
+    @State(Scope.Benchmark)
+    public static class Probes {
+
+        /**
+         * Fraction of the probes that hit an existing object
+         */
+        @Param({ "0.0", "0.5", "1.0" })
+        public double hitRatio;
+
+        private ObjectId[] ids;
+
+        @Setup(Level.Trial)
+        public void setUp(ObjectDatabaseBenchmark state) {
+            final int size = state.ids.length;
+            final int hits = (int) (size * hitRatio);
+            ids = new ObjectId[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = i < hits ? state.ids[i] : ObjectId.forString("missing." + i);
+            }
+            Collections.shuffle(Arrays.asList(ids), new Random(0));
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        env = new BenchmarkEnvironment();
+        db = backend.createObjectDatabase(env);
+        db.open();
+
+        List<RevObject> objects = Fixtures.features(numObjects);
+        db.putAll(objects.iterator());
+
+        ids = new ObjectId[numObjects];
+        for (int i = 0; i < numObjects; i++) {
+            ids[i] = objects.get(i).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        db.close();
+        env.dispose();
+    }
+
+    @Benchmark
+    public RevObject get() {
+        return db.get(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public boolean exists(Probes probes) {
+        return db.exists(probes.ids[ThreadLocalRandom.current().nextInt(probes.ids.length)]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void getAll(Blackhole bh) {
+        List<ObjectId> batch = Lists.newArrayListWithCapacity(BATCH_SIZE);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(ids[random.nextInt(ids.length)]);
+        }
+        Iterator<RevObject> objects = db.getAll(batch);
+        while (objects.hasNext()) {
+            bh.consume(objects.next());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.geogig.api.RevObject;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Bulk inserts {@link #numObjects} features on an empty {@link ObjectDatabase}, a fresh database
+ * is created for every iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PutAllBenchmark {
+
+    @Param({ "HEAP", "FILE", "BDBJE", "SQLITE", "ROCKSDB", "MVSTORE", "MONGODB" })
+    public Backend backend;
+
+    @Param({ "100000" })
+    public int numObjects;
+
+    private List<RevObject> objects;
+
+    private BenchmarkEnvironment env;
+
+    private ObjectDatabase db;
+
+    @Setup(Level.Trial)
+    public void createObjects() {
+        objects = Fixtures.features(numObjects);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        env = new BenchmarkEnvironment();
+        db = backend.createObjectDatabase(env);
+        db.open();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        db.close();
+        env.dispose();
+    }
+
+    @Benchmark
+    public void putAll() {
+        db.putAll(objects.iterator());
+    }
+}
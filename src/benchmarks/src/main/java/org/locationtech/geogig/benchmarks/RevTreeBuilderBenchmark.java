@@ -0,0 +1,89 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.geogig.api.Node;
+import org.locationtech.geogig.api.RevTree;
+import org.locationtech.geogig.api.RevTreeBuilder;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Builds a tree of {@link #numNodes} feature nodes with a {@link RevTreeBuilder}, saving its
+ * buckets to the backend's {@link ObjectDatabase}. A fresh database is created for every
+ * iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RevTreeBuilderBenchmark {
+
+    @Param({ "HEAP", "FILE", "BDBJE", "SQLITE", "ROCKSDB", "MVSTORE", "MONGODB" })
+    public Backend backend;
+
+    @Param({ "100000" })
+    public int numNodes;
+
+    private List<Node> nodes;
+
+    private BenchmarkEnvironment env;
+
+    private ObjectDatabase db;
+
+    @Setup(Level.Trial)
+    public void createNodes() {
+        nodes = Lists.newArrayListWithCapacity(numNodes);
+        for (int i = 0; i < numNodes; i++) {
+            nodes.add(Fixtures.node(i));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        env = new BenchmarkEnvironment();
+        db = backend.createObjectDatabase(env);
+        db.open();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        db.close();
+        env.dispose();
+    }
+
+    @Benchmark
+    public RevTree buildTree() {
+        RevTreeBuilder builder = new RevTreeBuilder(db);
+        for (Node node : nodes) {
+            builder.put(node);
+        }
+        return builder.build();
+    }
+}
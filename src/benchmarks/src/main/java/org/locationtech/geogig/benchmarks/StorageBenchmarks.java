@@ -0,0 +1,47 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the storage benchmarks.
+ * <p>
+ * Takes the regular JMH command line arguments, but unless told otherwise runs all the benchmarks
+ * in this package and writes the results as JSON to {@code jmh-result.json}, so that runs can be
+ * compared across backends and over time. For example, to compare two backends on reads only:
+ * 
+ * <pre>
+ * <code>
+ * java -jar benchmarks.jar ObjectDatabaseBenchmark -p backend=BDBJE,ROCKSDB
+ * </code>
+ * </pre>
+ */
+public class StorageBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        if (cli.getIncludes().isEmpty()) {
+            options.include(StorageBenchmarks.class.getPackage().getName() + ".*Benchmark");
+        }
+        if (!cli.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cli.getResult().hasValue()) {
+            options.result("jmh-result.json");
+        }
+        new Runner(options.build()).run();
+    }
+}
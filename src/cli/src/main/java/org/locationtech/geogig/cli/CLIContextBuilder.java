@@ -32,6 +32,16 @@ import org.locationtech.geogig.storage.fs.FileRefDatabase;
 import org.locationtech.geogig.storage.mongo.MongoGraphDatabase;
 import org.locationtech.geogig.storage.mongo.MongoObjectDatabase;
 import org.locationtech.geogig.storage.mongo.MongoStagingDatabase;
+import org.locationtech.geogig.storage.mvstore.MVStoreGraphDatabase;
+import org.locationtech.geogig.storage.mvstore.MVStoreObjectDatabase;
+import org.locationtech.geogig.storage.mvstore.MVStoreRefDatabase;
+import org.locationtech.geogig.storage.mvstore.MVStoreStagingDatabase;
+import org.locationtech.geogig.storage.mvstore.MVStoreStorage;
+import org.locationtech.geogig.storage.rocksdb.RocksDBGraphDatabase;
+import org.locationtech.geogig.storage.rocksdb.RocksDBObjectDatabase;
+import org.locationtech.geogig.storage.rocksdb.RocksDBRefDatabase;
+import org.locationtech.geogig.storage.rocksdb.RocksDBStagingDatabase;
+import org.locationtech.geogig.storage.rocksdb.RocksDBStorage;
 import org.locationtech.geogig.storage.sqlite.SQLiteStorage;
 import org.locationtech.geogig.storage.sqlite.XerialGraphDatabase;
 import org.locationtech.geogig.storage.sqlite.XerialObjectDatabase;
@@ -76,6 +86,16 @@ public class CLIContextBuilder extends ContextBuilder {
                     .addBinding(DEFAULT_REFS)//
                     .to(FileRefDatabase.class)//
                     .in(Scopes.SINGLETON);
+            refPlugins //
+                    .addBinding(
+                            new VersionedFormat(MVStoreStorage.FORMAT_NAME, MVStoreStorage.VERSION))//
+                    .to(MVStoreRefDatabase.class)//
+                    .in(Scopes.SINGLETON);
+            refPlugins //
+                    .addBinding(
+                            new VersionedFormat(RocksDBStorage.FORMAT_NAME, RocksDBStorage.VERSION))//
+                    .to(RocksDBRefDatabase.class)//
+                    .in(Scopes.SINGLETON);
             MapBinder<VersionedFormat, ObjectDatabase> objectPlugins = MapBinder.newMapBinder(
                     binder(), VersionedFormat.class, ObjectDatabase.class);
             objectPlugins //
@@ -95,6 +115,16 @@ public class CLIContextBuilder extends ContextBuilder {
                             new VersionedFormat(SQLiteStorage.FORMAT_NAME, SQLiteStorage.VERSION))//
                     .to(XerialObjectDatabase.class)//
                     .in(Scopes.SINGLETON);
+            objectPlugins //
+                    .addBinding(
+                            new VersionedFormat(RocksDBStorage.FORMAT_NAME, RocksDBStorage.VERSION))//
+                    .to(RocksDBObjectDatabase.class)//
+                    .in(Scopes.SINGLETON);
+            objectPlugins //
+                    .addBinding(
+                            new VersionedFormat(MVStoreStorage.FORMAT_NAME, MVStoreStorage.VERSION))//
+                    .to(MVStoreObjectDatabase.class)//
+                    .in(Scopes.SINGLETON);
             MapBinder<VersionedFormat, StagingDatabase> stagingPlugins = MapBinder.newMapBinder(
                     binder(), VersionedFormat.class, StagingDatabase.class);
             stagingPlugins //
@@ -114,6 +144,16 @@ public class CLIContextBuilder extends ContextBuilder {
                             new VersionedFormat(SQLiteStorage.FORMAT_NAME, SQLiteStorage.VERSION))//
                     .to(XerialStagingDatabase.class)//
                     .in(Scopes.SINGLETON);
+            stagingPlugins //
+                    .addBinding(
+                            new VersionedFormat(RocksDBStorage.FORMAT_NAME, RocksDBStorage.VERSION))//
+                    .to(RocksDBStagingDatabase.class)//
+                    .in(Scopes.SINGLETON);
+            stagingPlugins //
+                    .addBinding(
+                            new VersionedFormat(MVStoreStorage.FORMAT_NAME, MVStoreStorage.VERSION))//
+                    .to(MVStoreStagingDatabase.class)//
+                    .in(Scopes.SINGLETON);
             MapBinder<VersionedFormat, GraphDatabase> graphPlugins = MapBinder.newMapBinder(
                     binder(), VersionedFormat.class, GraphDatabase.class);
             graphPlugins //
@@ -133,6 +173,16 @@ public class CLIContextBuilder extends ContextBuilder {
                             new VersionedFormat(SQLiteStorage.FORMAT_NAME, SQLiteStorage.VERSION)) //
                     .to(XerialGraphDatabase.class) //
                     .in(Scopes.SINGLETON);
+            graphPlugins //
+                    .addBinding(
+                            new VersionedFormat(RocksDBStorage.FORMAT_NAME, RocksDBStorage.VERSION)) //
+                    .to(RocksDBGraphDatabase.class) //
+                    .in(Scopes.SINGLETON);
+            graphPlugins //
+                    .addBinding(
+                            new VersionedFormat(MVStoreStorage.FORMAT_NAME, MVStoreStorage.VERSION)) //
+                    .to(MVStoreGraphDatabase.class) //
+                    .in(Scopes.SINGLETON);
         }
     }
 }
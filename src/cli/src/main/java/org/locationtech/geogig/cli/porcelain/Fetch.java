@@ -10,10 +10,12 @@
 package org.locationtech.geogig.cli.porcelain;
 
 import java.io.IOException;
+import java.util.Date;
 import java.util.List;
 
 import jline.console.ConsoleReader;
 
+import org.locationtech.geogig.api.plumbing.ParseTimestamp;
 import org.locationtech.geogig.api.porcelain.FetchOp;
 import org.locationtech.geogig.api.porcelain.TransferSummary;
 import org.locationtech.geogig.api.porcelain.SynchronizationException;
@@ -60,6 +62,12 @@ public class Fetch extends AbstractCommand implements CLICommand {
     @Parameter(names = { "--fulldepth" }, description = "Fetch the full history from the repository.")
     private boolean fulldepth = false;
 
+    @Parameter(names = { "--deepen" }, description = "Deepen the history of a shallow clone by the given number of commits.")
+    private int deepen = 0;
+
+    @Parameter(names = { "--shallow-since" }, description = "Extend the history of a shallow clone down to the given date.")
+    private String shallowSince;
+
     @Parameter(description = "[<repository>...]")
     private List<String> args;
 
@@ -71,7 +79,11 @@ public class Fetch extends AbstractCommand implements CLICommand {
         checkParameter(depth > 0 ? !fulldepth : true,
                 "Cannot specify a depth and full depth.  Use --depth <depth> or --fulldepth.");
 
-        if (depth > 0 || fulldepth) {
+        checkParameter(deepen > 0 ? depth == 0 && !fulldepth : true,
+                "Cannot specify a depth and deepen the history.  "
+                        + "Use --depth <depth> or --deepen <depth>.");
+
+        if (depth > 0 || fulldepth || deepen > 0 || shallowSince != null) {
             checkParameter(cli.getGeogig().getRepository().getDepth().isPresent(),
                     "Depth operations can only be used on a shallow clone.");
         }
@@ -82,6 +94,11 @@ public class Fetch extends AbstractCommand implements CLICommand {
             fetch.setProgressListener(cli.getProgressListener());
             fetch.setAll(all).setPrune(prune).setFullDepth(fulldepth);
             fetch.setDepth(depth);
+            fetch.setDeepen(deepen);
+            if (shallowSince != null) {
+                fetch.setShallowSince(new Date(cli.getGeogig().command(ParseTimestamp.class)
+                        .setString(shallowSince).call()));
+            }
 
             if (args != null) {
                 for (String repo : args) {
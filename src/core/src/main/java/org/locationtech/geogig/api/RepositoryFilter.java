@@ -16,13 +16,18 @@ import java.util.Map;
 
 import org.geotools.filter.text.cql2.CQL;
 import org.geotools.filter.text.cql2.CQLException;
+import org.geotools.filter.visitor.ExtractBoundsFilterVisitor;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.CRS;
 import org.locationtech.geogig.api.RevObject.TYPE;
 import org.opengis.feature.Feature;
 import org.opengis.filter.Filter;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
+import com.vividsolutions.jts.geom.Envelope;
 
 /**
  * Provides a filter for sparse repositories. A default filter can be applied to all feature types,
@@ -116,6 +121,41 @@ public class RepositoryFilter {
         }
     }
 
+    /**
+     * Returns the extent features have to intersect to pass the filters, when all of them have a
+     * spatial component, so that sparse fetches can skip the trees, buckets, and features lying
+     * outside of it without evaluating the filters on each feature.
+     * 
+     * @return the union of the bounds of the filters, or {@link Optional#absent() absent} if any
+     *         of them is not spatially bounded or they use different coordinate reference systems
+     */
+    public Optional<ReferencedEnvelope> getBounds() {
+        ReferencedEnvelope bounds = null;
+        for (Filter filter : repositoryFilters.values()) {
+            Envelope extracted = (Envelope) filter.accept(
+                    ExtractBoundsFilterVisitor.BOUNDS_VISITOR, null);
+            if (extracted == null || extracted.isNull() || Double.isInfinite(extracted.getWidth())
+                    || Double.isInfinite(extracted.getHeight())) {
+                return Optional.absent();
+            }
+            ReferencedEnvelope filterBounds;
+            if (extracted instanceof ReferencedEnvelope) {
+                filterBounds = (ReferencedEnvelope) extracted;
+            } else {
+                filterBounds = new ReferencedEnvelope(extracted, null);
+            }
+            if (bounds == null) {
+                bounds = new ReferencedEnvelope(filterBounds);
+            } else if (CRS.equalsIgnoreMetadata(bounds.getCoordinateReferenceSystem(),
+                    filterBounds.getCoordinateReferenceSystem())) {
+                bounds.expandToInclude(filterBounds);
+            } else {
+                return Optional.absent();
+            }
+        }
+        return Optional.fromNullable(bounds);
+    }
+
     /**
      * Determines if the provided object is filtered in this repository.
      * 
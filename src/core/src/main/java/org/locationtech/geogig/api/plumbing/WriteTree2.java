@@ -26,6 +26,7 @@ import org.locationtech.geogig.api.NodeRef;
 import org.locationtech.geogig.api.ObjectId;
 import org.locationtech.geogig.api.ProgressListener;
 import org.locationtech.geogig.api.Ref;
+import org.locationtech.geogig.api.RevFeatureType;
 import org.locationtech.geogig.api.RevObject.TYPE;
 import org.locationtech.geogig.api.RevTree;
 import org.locationtech.geogig.api.RevTreeBuilder;
@@ -33,7 +34,12 @@ import org.locationtech.geogig.api.plumbing.LsTreeOp.Strategy;
 import org.locationtech.geogig.api.plumbing.diff.DiffEntry;
 import org.locationtech.geogig.api.plumbing.diff.MutableTree;
 import org.locationtech.geogig.api.plumbing.diff.TreeDifference;
+import org.locationtech.geogig.api.plumbing.index.AttributeIndex;
+import org.locationtech.geogig.api.plumbing.index.SpatialIndex;
+import org.locationtech.geogig.api.plumbing.index.UpdateAttributeIndex;
+import org.locationtech.geogig.api.plumbing.index.UpdateSpatialIndex;
 import org.locationtech.geogig.api.porcelain.CommitOp;
+import org.locationtech.geogig.repository.DepthSearch;
 import org.locationtech.geogig.repository.SpatialOps;
 import org.locationtech.geogig.storage.ObjectDatabase;
 import org.locationtech.geogig.storage.StagingDatabase;
@@ -41,6 +47,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Function;
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
 import com.google.common.base.Supplier;
@@ -156,11 +163,59 @@ public class WriteTree2 extends AbstractGeoGigOp<ObjectId> {
             }
         }
 
+        updateIndexes(oldLeftTree.getNode().getObjectId(), newRoot);
+
         ObjectId newRootId = newRoot.getId();
 
         return newRootId;
     }
 
+    /**
+     * Updates the {@link AttributeIndex attribute} and {@link SpatialIndex spatial} indexes
+     * configured for the feature type trees of the new root, out of the indexes of the old root
+     * ones.
+     * <p>
+     * Index failures are logged rather than propagated, since queries fall back to scanning trees
+     * without an index.
+     */
+    private void updateIndexes(final ObjectId oldRootId, final RevTree newRoot) {
+        final Map<String, List<String>> indexes = AttributeIndex
+                .indexedAttributes(configDatabase());
+        if (indexes.isEmpty()) {
+            return;
+        }
+        final DepthSearch search = new DepthSearch(objectDatabase());
+        for (Map.Entry<String, List<String>> e : indexes.entrySet()) {
+            final String treePath = e.getKey();
+            Optional<NodeRef> newTree = search.find(newRoot, treePath);
+            if (!newTree.isPresent()) {
+                continue;
+            }
+            Optional<NodeRef> oldTree = oldRootId.isNull() ? Optional.<NodeRef> absent()
+                    : search.find(oldRootId, treePath);
+            final ObjectId metadataId = newTree.get().getMetadataId();
+            final RevFeatureType featureType = metadataId.isNull() ? null : objectDatabase()
+                    .getFeatureType(metadataId);
+            for (String attribute : e.getValue()) {
+                try {
+                    if (featureType != null
+                            && SpatialIndex.isSpatialAttribute(featureType, attribute)) {
+                        command(UpdateSpatialIndex.class).setOldTree(oldTree.orNull())
+                                .setNewTree(newTree.get()).call();
+                        continue;
+                    }
+                    command(UpdateAttributeIndex.class)
+                            .setOldTree(oldTree.isPresent() ? oldTree.get().objectId() : null)
+                            .setNewTree(newTree.get().objectId()).setMetadataId(metadataId)
+                            .setAttribute(attribute).call();
+                } catch (RuntimeException ex) {
+                    LOGGER.warn("Unable to update the index of {} for {}", attribute, treePath,
+                            ex);
+                }
+            }
+        }
+    }
+
     private void handlePureMetadataChanges(TreeDifference treeDifference, Set<String> ignoreList) {
         Map<NodeRef, NodeRef> pureMetadataChanges = treeDifference.findPureMetadataChanges();
         for (Map.Entry<NodeRef, NodeRef> e : pureMetadataChanges.entrySet()) {
@@ -120,7 +120,9 @@ public final class BoundsFilteringDiffConsumer extends PreOrderDiffWalk.Forwardi
         final ReferencedEnvelope boundsFilter = this.boundsFilter;
         RevFeatureType featureType = ftypeSource.getFeatureType(metadataId);
         CoordinateReferenceSystem nativeCrs = featureType.type().getCoordinateReferenceSystem();
-        if (null == nativeCrs || nativeCrs instanceof DefaultEngineeringCRS) {
+        if (null == nativeCrs || nativeCrs instanceof DefaultEngineeringCRS
+                || null == boundsFilter.getCoordinateReferenceSystem()) {
+            // a filter with no CRS is assumed to be expressed in the native CRS
             return boundsFilter;
         }
         ReferencedEnvelope transformedFilter;
@@ -0,0 +1,186 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.api.plumbing.index;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.geotools.util.Converters;
+import org.locationtech.geogig.api.Node;
+import org.locationtech.geogig.api.NodeRef;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevTree;
+import org.locationtech.geogig.api.plumbing.diff.DepthTreeIterator;
+import org.locationtech.geogig.api.plumbing.diff.DepthTreeIterator.Strategy;
+import org.locationtech.geogig.repository.DepthSearch;
+import org.locationtech.geogig.storage.ConfigDatabase;
+import org.locationtech.geogig.storage.ObjectDatabase;
+
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.base.Predicate;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * Secondary indexes on the values of an attribute of the features of a feature type tree.
+ * <p>
+ * The attributes to index are configured per feature type tree path, as a comma separated list
+ * of attribute names under the {@code index} config section, for example
+ * {@code geogig config index.roads highway,name}. The indexes of every new version of a
+ * configured tree are then updated by {@link UpdateAttributeIndex} as trees are written.
+ * <p>
+ * An attribute index is itself a tree, with one subtree per distinct attribute value, named after
+ * the {@link #key(Object) key} of the value, holding a copy of the nodes of the features that
+ * have that value. Features whose attribute is {@code null} are not indexed.
+ * <p>
+ * Listing the default geometry attribute of a feature type tree enables its
+ * {@link SpatialIndex spatial index} instead.
+ */
+public final class AttributeIndex {
+
+    /**
+     * Config section holding the indexed attributes of each feature type tree
+     */
+    public static final String CONFIG_SECTION = "index";
+
+    private AttributeIndex() {
+    }
+
+    /**
+     * @return the name of the index of {@code attribute} in the {@link IndexRegistry}
+     */
+    public static String indexName(String attribute) {
+        return "attributes/" + attribute;
+    }
+
+    /**
+     * @return the attributes configured to be indexed for the feature type tree at
+     *         {@code treePath}, possibly empty
+     */
+    public static List<String> indexedAttributes(ConfigDatabase config, String treePath) {
+        Optional<String> attributes = config.get(CONFIG_SECTION + "." + treePath);
+        if (!attributes.isPresent()) {
+            return ImmutableList.of();
+        }
+        return split(attributes.get());
+    }
+
+    /**
+     * @return the attributes configured to be indexed, by feature type tree path
+     */
+    public static Map<String, List<String>> indexedAttributes(ConfigDatabase config) {
+        Map<String, List<String>> indexes = Maps.newHashMap();
+        for (Map.Entry<String, String> e : config.getAllSection(CONFIG_SECTION).entrySet()) {
+            List<String> attributes = split(e.getValue());
+            if (!attributes.isEmpty()) {
+                indexes.put(e.getKey(), attributes);
+            }
+        }
+        return indexes;
+    }
+
+    private static List<String> split(String attributes) {
+        return ImmutableList.copyOf(Splitter.on(',').trimResults().omitEmptyStrings()
+                .split(attributes));
+    }
+
+    /**
+     * @return the name of the index subtree holding the features whose attribute is
+     *         {@code value}
+     */
+    public static String key(Object value) {
+        String key;
+        if (value instanceof Date) {
+            key = String.valueOf(((Date) value).getTime());
+        } else {
+            key = value.toString();
+        }
+        // node names can't contain the path separator
+        return "v" + key.replace("%", "%25").replace("/", "%2F");
+    }
+
+    /**
+     * Inverse of {@link #key(Object)}
+     *
+     * @return the value {@code key} was computed from, converted to {@code binding}, or
+     *         {@code null} if it can't be converted
+     */
+    @Nullable
+    public static Object value(String key, Class<?> binding) {
+        String value = key.substring(1).replace("%2F", "/").replace("%25", "%");
+        if (Date.class.isAssignableFrom(binding)) {
+            return Converters.convert(new Date(Long.parseLong(value)), binding);
+        }
+        return Converters.convert(value, binding);
+    }
+
+    /**
+     * @return the keys of the distinct values in {@code index}, in no particular order
+     */
+    public static List<String> keys(ObjectDatabase db, RevTree index) {
+        Iterator<NodeRef> keys = new DepthTreeIterator("", ObjectId.NULL, index, db,
+                Strategy.TREES_ONLY);
+        List<String> names = Lists.newArrayList();
+        while (keys.hasNext()) {
+            names.add(keys.next().name());
+        }
+        return names;
+    }
+
+    /**
+     * @return the feature nodes of the index subtree of {@code key}, as children of
+     *         {@code treePath}
+     */
+    public static Iterator<NodeRef> lookup(ObjectDatabase db, RevTree index, String key,
+            String treePath, ObjectId metadataId) {
+        Optional<Node> keyNode = new DepthSearch(db).getDirectChild(index, key, 0);
+        if (!keyNode.isPresent()) {
+            return Collections.<NodeRef> emptyIterator();
+        }
+        RevTree features = db.getTree(keyNode.get().getObjectId());
+        return new DepthTreeIterator(treePath, metadataId, features, db,
+                Strategy.RECURSIVE_FEATURES_ONLY);
+    }
+
+    /**
+     * @return the feature nodes of the index subtrees whose key matches {@code keyFilter}, as
+     *         children of {@code treePath}
+     */
+    public static Iterator<NodeRef> lookup(final ObjectDatabase db, final RevTree index,
+            final Predicate<String> keyFilter, final String treePath, final ObjectId metadataId) {
+
+        Iterator<NodeRef> keys = new DepthTreeIterator("", ObjectId.NULL, index, db,
+                Strategy.TREES_ONLY);
+        keys = Iterators.filter(keys, new Predicate<NodeRef>() {
+            @Override
+            public boolean apply(NodeRef keyRef) {
+                return keyFilter.apply(keyRef.name());
+            }
+        });
+        return Iterators.concat(Iterators.transform(keys,
+                new Function<NodeRef, Iterator<NodeRef>>() {
+                    @Override
+                    public Iterator<NodeRef> apply(NodeRef keyRef) {
+                        RevTree features = db.getTree(keyRef.objectId());
+                        return new DepthTreeIterator(treePath, metadataId, features, db,
+                                Strategy.RECURSIVE_FEATURES_ONLY);
+                    }
+                }));
+    }
+}
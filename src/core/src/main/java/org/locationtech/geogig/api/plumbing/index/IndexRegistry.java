@@ -0,0 +1,95 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.api.plumbing.index;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.locationtech.geogig.api.Context;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.plumbing.ResolveGeogigDir;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.base.Throwables;
+import com.google.common.io.Files;
+
+/**
+ * Keeps track of the index trees built for each version of a feature type tree.
+ * <p>
+ * Indexes are stored as regular trees in the object database. Since both the indexed tree and
+ * the index are immutable and identified by their content, the registry only needs to map the id
+ * of each indexed tree to the id of its index, which it does with one small file per indexed tree
+ * under the {@code index/<index name>} directory of the repository.
+ */
+public final class IndexRegistry {
+
+    private final File baseDirectory;
+
+    IndexRegistry(File baseDirectory) {
+        this.baseDirectory = baseDirectory;
+    }
+
+    /**
+     * @return the registry of the repository, or {@link Optional#absent() absent} if the
+     *         repository is not backed by a directory
+     */
+    public static Optional<IndexRegistry> of(Context context) {
+        Optional<File> geogigDir = context.command(ResolveGeogigDir.class).getFile();
+        if (!geogigDir.isPresent()) {
+            return Optional.absent();
+        }
+        return Optional.of(new IndexRegistry(new File(geogigDir.get(), "index")));
+    }
+
+    /**
+     * @return the id of the index named {@code indexName} of the tree {@code treeId}, if it has
+     *         been built
+     */
+    public Optional<ObjectId> get(String indexName, ObjectId treeId) {
+        File file = file(indexName, treeId);
+        if (!file.exists()) {
+            return Optional.absent();
+        }
+        try {
+            String id = Files.toString(file, Charsets.US_ASCII).trim();
+            return Optional.of(ObjectId.valueOf(id));
+        } catch (IOException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * Records {@code indexId} as the index named {@code indexName} of the tree {@code treeId}
+     */
+    public void put(String indexName, ObjectId treeId, ObjectId indexId) {
+        File file = file(indexName, treeId);
+        File tmp = null;
+        try {
+            Files.createParentDirs(file);
+            tmp = File.createTempFile(file.getName(), ".tmp", file.getParentFile());
+            Files.write(indexId.toString(), tmp, Charsets.US_ASCII);
+            // renaming makes concurrent writers of the same, deterministic, mapping harmless
+            if (!tmp.renameTo(file) && !file.exists()) {
+                throw new IOException("Unable to rename " + tmp + " to " + file);
+            }
+        } catch (IOException e) {
+            throw Throwables.propagate(e);
+        } finally {
+            if (tmp != null) {
+                tmp.delete();
+            }
+        }
+    }
+
+    private File file(String indexName, ObjectId treeId) {
+        return new File(new File(baseDirectory, indexName), treeId.toString());
+    }
+}
@@ -0,0 +1,191 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.api.plumbing.index;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+import javax.annotation.Nullable;
+
+import org.geotools.referencing.CRS;
+import org.locationtech.geogig.api.Bucket;
+import org.locationtech.geogig.api.Node;
+import org.locationtech.geogig.api.NodeRef;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevFeatureType;
+import org.locationtech.geogig.api.RevTree;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.opengis.feature.type.GeometryDescriptor;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+
+import com.google.common.collect.AbstractIterator;
+import com.vividsolutions.jts.geom.Envelope;
+
+/**
+ * Spatial index of the features of a feature type tree.
+ * <p>
+ * A feature type tree is spatially indexed when the name of its default geometry attribute is
+ * listed among its {@link AttributeIndex indexed attributes}, for example
+ * {@code geogig config index.roads the_geom}. The indexes of every new version of the tree are then
+ * updated by {@link UpdateSpatialIndex} as trees are written.
+ * <p>
+ * The index is a tree of {@link #LEVELS} levels of bounded subtrees. Each level splits the cell of
+ * its parent in a 4x4 grid, down to leaf cells holding a copy of the nodes of the features whose
+ * bounds are centered in them. Since the bounds of each subtree are the actual bounds of its
+ * features, the subtrees of neighbouring cells may overlap, but a query only needs to descend into
+ * the ones intersecting its bounds. The extent of the grid is the domain of validity of the
+ * feature type CRS; features outside of it are kept in the border cells.
+ */
+public final class SpatialIndex {
+
+    /**
+     * Name of the spatial index in the {@link IndexRegistry}
+     */
+    public static final String INDEX_NAME = "spatial";
+
+    /**
+     * Number of levels of the index tree
+     */
+    static final int LEVELS = 4;
+
+    /**
+     * Number of cells along each axis on each level
+     */
+    private static final int SPLIT = 4;
+
+    private static final int CELLS = (int) Math.pow(SPLIT, LEVELS);
+
+    private static final Envelope DEFAULT_EXTENT = new Envelope(-180, 180, -90, 90);
+
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+    private SpatialIndex() {
+    }
+
+    /**
+     * @return {@code true} if {@code attribute} is the default geometry attribute of
+     *         {@code type}, and hence listing it as an indexed attribute enables the spatial index
+     */
+    public static boolean isSpatialAttribute(RevFeatureType type, String attribute) {
+        GeometryDescriptor geometry = type.type().getGeometryDescriptor();
+        return geometry != null && attribute.equals(geometry.getLocalName());
+    }
+
+    /**
+     * @return the extent of the cells of the index for features of type {@code type}
+     */
+    static Envelope extent(@Nullable RevFeatureType type) {
+        if (type == null) {
+            return DEFAULT_EXTENT;
+        }
+        CoordinateReferenceSystem crs = type.type().getCoordinateReferenceSystem();
+        org.opengis.geometry.Envelope domain = crs == null ? null : CRS.getEnvelope(crs);
+        if (domain == null || domain.getSpan(0) <= 0 || domain.getSpan(1) <= 0) {
+            return DEFAULT_EXTENT;
+        }
+        return new Envelope(domain.getMinimum(0), domain.getMaximum(0), domain.getMinimum(1),
+                domain.getMaximum(1));
+    }
+
+    /**
+     * @return the path of the leaf cell of {@code bounds} inside the index tree
+     */
+    static String cellPath(Envelope extent, Envelope bounds) {
+        final int col = cell(bounds.centre().x, extent.getMinX(), extent.getWidth());
+        final int row = cell(bounds.centre().y, extent.getMinY(), extent.getHeight());
+        StringBuilder path = new StringBuilder(2 * LEVELS);
+        for (int level = LEVELS - 1; level >= 0; level--) {
+            int shift = (int) Math.pow(SPLIT, level);
+            int digit = (col / shift) % SPLIT + SPLIT * ((row / shift) % SPLIT);
+            if (path.length() > 0) {
+                path.append('/');
+            }
+            path.append(DIGITS[digit]);
+        }
+        return path.toString();
+    }
+
+    private static int cell(double ordinate, double min, double span) {
+        int cell = (int) Math.floor((ordinate - min) / span * CELLS);
+        return Math.max(0, Math.min(CELLS - 1, cell));
+    }
+
+    /**
+     * @return the feature nodes of {@code index} whose bounds intersect {@code queryBounds}, as
+     *         children of {@code treePath}
+     */
+    public static Iterator<NodeRef> query(ObjectDatabase db, RevTree index,
+            Envelope queryBounds, String treePath, ObjectId metadataId) {
+        return new QueryIterator(db, index, queryBounds, treePath, metadataId);
+    }
+
+    private static class QueryIterator extends AbstractIterator<NodeRef> {
+
+        private final ObjectDatabase db;
+
+        private final Envelope queryBounds;
+
+        private final String treePath;
+
+        private final ObjectId metadataId;
+
+        private final List<ObjectId> pendingTrees = new ArrayList<ObjectId>();
+
+        private final Queue<Node> features = new LinkedList<Node>();
+
+        QueryIterator(ObjectDatabase db, RevTree index, Envelope queryBounds, String treePath,
+                ObjectId metadataId) {
+            this.db = db;
+            this.queryBounds = queryBounds;
+            this.treePath = treePath;
+            this.metadataId = metadataId;
+            this.pendingTrees.add(index.getId());
+        }
+
+        @Override
+        protected NodeRef computeNext() {
+            while (features.isEmpty()) {
+                if (pendingTrees.isEmpty()) {
+                    return endOfData();
+                }
+                visit(db.getTree(pendingTrees.remove(pendingTrees.size() - 1)));
+            }
+            return new NodeRef(features.remove(), treePath, metadataId);
+        }
+
+        private void visit(RevTree tree) {
+            if (tree.buckets().isPresent()) {
+                for (Bucket bucket : tree.buckets().get().values()) {
+                    if (bucket.intersects(queryBounds)) {
+                        pendingTrees.add(bucket.id());
+                    }
+                }
+                return;
+            }
+            if (tree.trees().isPresent()) {
+                for (Node cell : tree.trees().get()) {
+                    if (cell.intersects(queryBounds)) {
+                        pendingTrees.add(cell.getObjectId());
+                    }
+                }
+            }
+            if (tree.features().isPresent()) {
+                for (Node feature : tree.features().get()) {
+                    if (feature.intersects(queryBounds)) {
+                        features.add(feature);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.api.plumbing.index;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.locationtech.geogig.api.AbstractGeoGigOp;
+import org.locationtech.geogig.api.Node;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevFeatureType;
+import org.locationtech.geogig.api.RevObject.TYPE;
+import org.locationtech.geogig.api.RevTree;
+import org.locationtech.geogig.api.RevTreeBuilder;
+import org.locationtech.geogig.api.plumbing.DiffTree;
+import org.locationtech.geogig.api.plumbing.diff.DiffEntry;
+import org.locationtech.geogig.repository.DepthSearch;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.opengis.feature.type.PropertyDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.vividsolutions.jts.geom.Envelope;
+
+/**
+ * Builds the {@link AttributeIndex index} of an attribute of a feature type tree, out of the
+ * index of a previous version of the tree if there's one, and records it in the
+ * {@link IndexRegistry}.
+ * <p>
+ * Only the features that changed between both versions of the tree are read to update the index;
+ * if the old tree is not given or has no index, the index is built from scratch.
+ */
+public class UpdateAttributeIndex extends AbstractGeoGigOp<Optional<ObjectId>> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UpdateAttributeIndex.class);
+
+    private ObjectId oldTreeId;
+
+    private ObjectId newTreeId;
+
+    private ObjectId metadataId;
+
+    private String attribute;
+
+    /**
+     * Position of the indexed attribute in each feature type, -1 if missing
+     */
+    private final Map<ObjectId, Integer> attributeIndexes = Maps.newHashMap();
+
+    /**
+     * @param oldTreeId the previous version of the tree, whose index to update, if any
+     */
+    public UpdateAttributeIndex setOldTree(@Nullable ObjectId oldTreeId) {
+        this.oldTreeId = oldTreeId;
+        return this;
+    }
+
+    /**
+     * @param newTreeId the tree to index
+     */
+    public UpdateAttributeIndex setNewTree(ObjectId newTreeId) {
+        this.newTreeId = newTreeId;
+        return this;
+    }
+
+    /**
+     * @param metadataId the default feature type of the tree
+     */
+    public UpdateAttributeIndex setMetadataId(ObjectId metadataId) {
+        this.metadataId = metadataId;
+        return this;
+    }
+
+    /**
+     * @param attribute the name of the attribute to index
+     */
+    public UpdateAttributeIndex setAttribute(String attribute) {
+        this.attribute = attribute;
+        return this;
+    }
+
+    /**
+     * @return the id of the index tree, or {@link Optional#absent() absent} if the repository
+     *         has no {@link IndexRegistry} to keep it in
+     */
+    @Override
+    protected Optional<ObjectId> _call() {
+        checkNotNull(newTreeId, "new tree not provided");
+        checkNotNull(metadataId, "metadata id not provided");
+        checkNotNull(attribute, "attribute not provided");
+
+        final Optional<IndexRegistry> registry = IndexRegistry.of(context());
+        if (!registry.isPresent()) {
+            return Optional.absent();
+        }
+        final String indexName = AttributeIndex.indexName(attribute);
+        final Optional<ObjectId> existing = registry.get().get(indexName, newTreeId);
+        if (existing.isPresent()) {
+            return existing;
+        }
+
+        final ObjectDatabase db = objectDatabase();
+
+        ObjectId baseTreeId = RevTree.EMPTY_TREE_ID;
+        RevTree baseIndex = RevTree.EMPTY;
+        if (oldTreeId != null) {
+            Optional<ObjectId> oldIndex = registry.get().get(indexName, oldTreeId);
+            if (oldIndex.isPresent()) {
+                baseTreeId = oldTreeId;
+                baseIndex = db.getTree(oldIndex.get());
+            }
+        }
+
+        // the nodes to remove and add, by key
+        ListMultimap<String, String> removes = ArrayListMultimap.create();
+        ListMultimap<String, Node> puts = ArrayListMultimap.create();
+
+        Iterator<DiffEntry> diffs = command(DiffTree.class).setOldTree(baseTreeId)
+                .setNewTree(newTreeId).call();
+        while (diffs.hasNext()) {
+            DiffEntry diff = diffs.next();
+            if (diff.getOldObject() != null) {
+                Node oldNode = diff.getOldObject().getNode();
+                Optional<String> oldKey = key(db, oldNode);
+                if (oldKey.isPresent()) {
+                    removes.put(oldKey.get(), oldNode.getName());
+                }
+            }
+            if (diff.getNewObject() != null) {
+                Node newNode = diff.getNewObject().getNode();
+                Optional<String> newKey = key(db, newNode);
+                if (newKey.isPresent()) {
+                    puts.put(newKey.get(), indexNode(newNode));
+                }
+            }
+        }
+
+        final DepthSearch search = new DepthSearch(db);
+        final RevTreeBuilder indexBuilder = new RevTreeBuilder(db, baseIndex);
+        Set<String> keys = Sets.union(removes.keySet(), puts.keySet());
+        for (String key : keys) {
+            Optional<Node> keyNode = search.getDirectChild(baseIndex, key, 0);
+            RevTree keyTree = keyNode.isPresent() ? db.getTree(keyNode.get().getObjectId())
+                    : RevTree.EMPTY;
+            RevTreeBuilder keyBuilder = new RevTreeBuilder(db, keyTree);
+            for (String name : removes.get(key)) {
+                keyBuilder.remove(name);
+            }
+            for (Node node : puts.get(key)) {
+                keyBuilder.put(node);
+            }
+            RevTree newKeyTree = keyBuilder.build();
+            if (newKeyTree.isEmpty()) {
+                indexBuilder.remove(key);
+            } else {
+                db.put(newKeyTree);
+                indexBuilder.put(Node.tree(key, newKeyTree.getId(), ObjectId.NULL));
+            }
+        }
+        RevTree index = indexBuilder.build();
+        db.put(index);
+
+        LOGGER.debug("Updated index of {} for tree {} with {} changed keys", attribute,
+                newTreeId, keys.size());
+
+        registry.get().put(indexName, newTreeId, index.getId());
+        return Optional.of(index.getId());
+    }
+
+    private Optional<String> key(ObjectDatabase db, Node node) {
+        if (!TYPE.FEATURE.equals(node.getType())) {
+            return Optional.absent();
+        }
+        final ObjectId typeId = node.getMetadataId().or(metadataId);
+        Integer index = attributeIndexes.get(typeId);
+        if (index == null) {
+            RevFeatureType type = db.getFeatureType(typeId);
+            index = Integer.valueOf(-1);
+            ImmutableList<PropertyDescriptor> descriptors = type.sortedDescriptors();
+            for (int i = 0; i < descriptors.size(); i++) {
+                if (attribute.equals(descriptors.get(i).getName().getLocalPart())) {
+                    index = Integer.valueOf(i);
+                    break;
+                }
+            }
+            attributeIndexes.put(typeId, index);
+        }
+        if (index.intValue() < 0) {
+            return Optional.absent();
+        }
+        List<Optional<Object>> values = db.getFeature(node.getObjectId()).getValues();
+        checkState(index.intValue() < values.size(), "Feature %s doesn't match its type",
+                node.getObjectId());
+        Optional<Object> value = values.get(index.intValue());
+        return value.isPresent() ? Optional.of(AttributeIndex.key(value.get())) : Optional
+                .<String> absent();
+    }
+
+    private Node indexNode(Node node) {
+        Envelope bounds = new Envelope();
+        node.expand(bounds);
+        return Node.create(node.getName(), node.getObjectId(), node.getMetadataId()
+                .or(ObjectId.NULL), TYPE.FEATURE, bounds);
+    }
+}
@@ -0,0 +1,211 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.api.plumbing.index;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.locationtech.geogig.api.AbstractGeoGigOp;
+import org.locationtech.geogig.api.Node;
+import org.locationtech.geogig.api.NodeRef;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevFeatureType;
+import org.locationtech.geogig.api.RevObject.TYPE;
+import org.locationtech.geogig.api.RevTree;
+import org.locationtech.geogig.api.RevTreeBuilder;
+import org.locationtech.geogig.api.plumbing.DiffTree;
+import org.locationtech.geogig.api.plumbing.diff.DiffEntry;
+import org.locationtech.geogig.repository.DepthSearch;
+import org.locationtech.geogig.repository.SpatialOps;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.vividsolutions.jts.geom.Envelope;
+
+/**
+ * Builds the {@link SpatialIndex spatial index} of a feature type tree, out of the index of a
+ * previous version of the tree if there's one, and records it in the {@link IndexRegistry}.
+ * <p>
+ * Only the features that changed between both versions of the tree are read to update the index,
+ * and only the cells they fall in are rewritten. If the old tree is not given, has no index, or
+ * has a different default feature type, the index is built from scratch.
+ */
+public class UpdateSpatialIndex extends AbstractGeoGigOp<Optional<ObjectId>> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UpdateSpatialIndex.class);
+
+    private NodeRef oldTree;
+
+    private NodeRef newTree;
+
+    /**
+     * @param oldTree the previous version of the tree, whose index to update, if any
+     */
+    public UpdateSpatialIndex setOldTree(@Nullable NodeRef oldTree) {
+        this.oldTree = oldTree;
+        return this;
+    }
+
+    /**
+     * @param newTree the tree to index
+     */
+    public UpdateSpatialIndex setNewTree(NodeRef newTree) {
+        this.newTree = newTree;
+        return this;
+    }
+
+    /**
+     * @return the id of the index tree, or {@link Optional#absent() absent} if the repository
+     *         has no {@link IndexRegistry} to keep it in
+     */
+    @Override
+    protected Optional<ObjectId> _call() {
+        checkNotNull(newTree, "new tree not provided");
+
+        final Optional<IndexRegistry> registry = IndexRegistry.of(context());
+        if (!registry.isPresent()) {
+            return Optional.absent();
+        }
+        final String indexName = SpatialIndex.INDEX_NAME;
+        final Optional<ObjectId> existing = registry.get().get(indexName, newTree.objectId());
+        if (existing.isPresent()) {
+            return existing;
+        }
+
+        final ObjectDatabase db = objectDatabase();
+        final ObjectId metadataId = newTree.getMetadataId();
+        final RevFeatureType featureType = metadataId.isNull() ? null : db
+                .getFeatureType(metadataId);
+        final Envelope extent = SpatialIndex.extent(featureType);
+
+        ObjectId baseTreeId = RevTree.EMPTY_TREE_ID;
+        RevTree baseIndex = RevTree.EMPTY;
+        // cells depend on the feature type CRS, an index of another type can't be reused
+        if (oldTree != null && oldTree.getMetadataId().equals(metadataId)) {
+            Optional<ObjectId> oldIndex = registry.get().get(indexName, oldTree.objectId());
+            if (oldIndex.isPresent()) {
+                baseTreeId = oldTree.objectId();
+                baseIndex = db.getTree(oldIndex.get());
+            }
+        }
+
+        // the nodes to remove and add, by leaf cell path
+        ListMultimap<String, String> removes = ArrayListMultimap.create();
+        ListMultimap<String, Node> puts = ArrayListMultimap.create();
+
+        Iterator<DiffEntry> diffs = command(DiffTree.class).setOldTree(baseTreeId)
+                .setNewTree(newTree.objectId()).call();
+        Envelope bounds = new Envelope();
+        while (diffs.hasNext()) {
+            DiffEntry diff = diffs.next();
+            if (diff.getOldObject() != null) {
+                Node oldNode = diff.getOldObject().getNode();
+                bounds.setToNull();
+                oldNode.expand(bounds);
+                if (TYPE.FEATURE.equals(oldNode.getType()) && !bounds.isNull()) {
+                    removes.put(SpatialIndex.cellPath(extent, bounds), oldNode.getName());
+                }
+            }
+            if (diff.getNewObject() != null) {
+                Node newNode = diff.getNewObject().getNode();
+                bounds.setToNull();
+                newNode.expand(bounds);
+                if (TYPE.FEATURE.equals(newNode.getType()) && !bounds.isNull()) {
+                    puts.put(SpatialIndex.cellPath(extent, bounds),
+                            Node.create(newNode.getName(), newNode.getObjectId(), newNode
+                                    .getMetadataId().or(ObjectId.NULL), TYPE.FEATURE, bounds));
+                }
+            }
+        }
+
+        final DepthSearch search = new DepthSearch(db);
+
+        // rewrite the changed leaf cells, then their parents up to the root
+        Map<String, Optional<Node>> changed = Maps.newHashMap();
+        for (String cellPath : Sets.union(removes.keySet(), puts.keySet())) {
+            RevTreeBuilder builder = new RevTreeBuilder(db, cell(search, baseIndex, cellPath));
+            for (String name : removes.get(cellPath)) {
+                builder.remove(name);
+            }
+            for (Node node : puts.get(cellPath)) {
+                builder.put(node);
+            }
+            changed.put(cellPath, cellNode(db, NodeRef.nodeFromPath(cellPath), builder.build()));
+        }
+        final int changedCells = changed.size();
+
+        RevTree index = baseIndex;
+        while (!changed.isEmpty()) {
+            ListMultimap<String, String> byParent = ArrayListMultimap.create();
+            for (String cellPath : changed.keySet()) {
+                byParent.put(NodeRef.parentPath(cellPath), cellPath);
+            }
+            Map<String, Optional<Node>> changedParents = Maps.newHashMap();
+            for (String parentPath : byParent.keySet()) {
+                RevTree parent = cell(search, baseIndex, parentPath);
+                RevTreeBuilder builder = new RevTreeBuilder(db, parent);
+                for (String cellPath : byParent.get(parentPath)) {
+                    Optional<Node> cellNode = changed.get(cellPath);
+                    if (cellNode.isPresent()) {
+                        builder.put(cellNode.get());
+                    } else {
+                        builder.remove(NodeRef.nodeFromPath(cellPath));
+                    }
+                }
+                RevTree newParent = builder.build();
+                if (NodeRef.ROOT.equals(parentPath)) {
+                    index = newParent;
+                } else {
+                    changedParents.put(parentPath,
+                            cellNode(db, NodeRef.nodeFromPath(parentPath), newParent));
+                }
+            }
+            changed = changedParents;
+        }
+        db.put(index);
+
+        LOGGER.debug("Updated spatial index for tree {} with {} changed cells", newTree.path(),
+                changedCells);
+
+        registry.get().put(indexName, newTree.objectId(), index.getId());
+        return Optional.of(index.getId());
+    }
+
+    private RevTree cell(DepthSearch search, RevTree index, String cellPath) {
+        if (NodeRef.ROOT.equals(cellPath)) {
+            return index;
+        }
+        Optional<NodeRef> cell = search.find(index, cellPath);
+        return cell.isPresent() ? objectDatabase().getTree(cell.get().objectId()) : RevTree.EMPTY;
+    }
+
+    /**
+     * Saves {@code tree} and returns the node to reference it from its parent cell, or
+     * {@link Optional#absent() absent} if it's empty and hence shall be removed
+     */
+    private Optional<Node> cellNode(ObjectDatabase db, String name, RevTree tree) {
+        if (tree.isEmpty()) {
+            return Optional.absent();
+        }
+        db.put(tree);
+        Envelope bounds = SpatialOps.boundsOf(tree);
+        return Optional.of(Node.create(name, tree.getId(), ObjectId.NULL, TYPE.TREE, bounds));
+    }
+}
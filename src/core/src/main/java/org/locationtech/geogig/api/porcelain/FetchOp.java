@@ -11,8 +11,11 @@ package org.locationtech.geogig.api.porcelain;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 import org.locationtech.geogig.api.AbstractGeoGigOp;
 import org.locationtech.geogig.api.GlobalContextBuilder;
 import org.locationtech.geogig.api.ObjectId;
@@ -60,6 +63,10 @@ public class FetchOp extends AbstractGeoGigOp<TransferSummary> {
 
     private Optional<Integer> depth = Optional.absent();
 
+    private Optional<Integer> deepen = Optional.absent();
+
+    private Optional<Long> shallowSince = Optional.absent();
+
     /**
      * @param all if {@code true}, fetch from all remotes.
      * @return {@code this}
@@ -120,6 +127,42 @@ public class FetchOp extends AbstractGeoGigOp<TransferSummary> {
         return fullDepth;
     }
 
+    /**
+     * Deepens a shallow clone by the given number of commits, fetching only the commits between
+     * its current depth and the new one.
+     * 
+     * @param deepen how many commits to add to the current depth of the repository
+     * @return {@code this}
+     */
+    public FetchOp setDeepen(final int deepen) {
+        if (deepen > 0) {
+            this.deepen = Optional.of(deepen);
+        }
+        return this;
+    }
+
+    public Integer getDeepen() {
+        return this.deepen.orNull();
+    }
+
+    /**
+     * Extends the history of a shallow clone down to the given date, fetching only the commits
+     * made since then that are missing.
+     * 
+     * @param since the date of the oldest commits to fetch, or {@code null} to not bound the fetch
+     *        by date
+     * @return {@code this}
+     */
+    public FetchOp setShallowSince(@Nullable Date since) {
+        this.shallowSince = since == null ? Optional.<Long> absent() : Optional.of(since
+                .getTime());
+        return this;
+    }
+
+    public Date getShallowSince() {
+        return shallowSince.isPresent() ? new Date(shallowSince.get()) : null;
+    }
+
     /**
      * @param remoteName the name or URL of a remote repository to fetch from
      * @return {@code this}
@@ -184,6 +227,9 @@ public class FetchOp extends AbstractGeoGigOp<TransferSummary> {
         if (repoDepth.isPresent()) {
             if (fullDepth) {
                 depth = Optional.of(Integer.MAX_VALUE);
+                shallowSince = Optional.absent();
+            } else if (deepen.isPresent()) {
+                depth = Optional.of(repoDepth.get() + deepen.get());
             }
             if (depth.isPresent()) {
                 if (depth.get() > repoDepth.get()) {
@@ -193,9 +239,12 @@ public class FetchOp extends AbstractGeoGigOp<TransferSummary> {
                     repoDepth = depth;
                 }
             }
-        } else if (depth.isPresent() || fullDepth) {
+        } else if (depth.isPresent() || deepen.isPresent() || shallowSince.isPresent()
+                || fullDepth) {
             // Ignore depth, this is a full repository
             depth = Optional.absent();
+            deepen = Optional.absent();
+            shallowSince = Optional.absent();
             fullDepth = false;
         }
 
@@ -213,7 +262,7 @@ public class FetchOp extends AbstractGeoGigOp<TransferSummary> {
             // If we have specified a depth to pull, we may have more history to pull from existing
             // refs.
             List<ChangedRef> needUpdate = findOutdatedRefs(remote, remoteRemoteRefs,
-                    localRemoteRefs, depth);
+                    localRemoteRefs, depth, shallowSince.isPresent());
 
             if (prune) {
                 // Delete local refs that aren't in the remote
@@ -258,13 +307,15 @@ public class FetchOp extends AbstractGeoGigOp<TransferSummary> {
                         // If we haven't specified a depth, but this is a shallow repository, set
                         // the
                         // fetch limit to the current repository depth.
-                        if (!newFetchLimit.isPresent() && repoDepth.isPresent()
+                        if (!newFetchLimit.isPresent() && !shallowSince.isPresent()
+                                && repoDepth.isPresent()
                                 && ref.getType() == ChangeTypes.ADDED_REF) {
                             newFetchLimit = repoDepth;
                         }
                         // Fetch updated data from this ref
                         Ref newRef = ref.getNewRef();
-                        remoteRepoInstance.fetchNewData(newRef, newFetchLimit, progressListener);
+                        remoteRepoInstance.fetchNewData(newRef, newFetchLimit, shallowSince,
+                                progressListener);
 
                         if (repoDepth.isPresent() && !fullDepth) {
                             // Update the repository depth if it is deeper than before.
@@ -361,7 +412,7 @@ public class FetchOp extends AbstractGeoGigOp<TransferSummary> {
      * local repository
      */
     private List<ChangedRef> findOutdatedRefs(Remote remote, ImmutableSet<Ref> remoteRefs,
-            ImmutableSet<Ref> localRemoteRefs, Optional<Integer> depth) {
+            ImmutableSet<Ref> localRemoteRefs, Optional<Integer> depth, boolean shallowSince) {
 
         List<ChangedRef> changedRefs = Lists.newLinkedList();
 
@@ -378,6 +429,11 @@ public class FetchOp extends AbstractGeoGigOp<TransferSummary> {
                     ChangedRef changedRef = new ChangedRef(local.get(), remoteRef,
                             ChangeTypes.CHANGED_REF);
                     changedRefs.add(changedRef);
+                } else if (shallowSince) {
+                    // whether there's older history to fetch is only known by the remote
+                    ChangedRef changedRef = new ChangedRef(local.get(), remoteRef,
+                            ChangeTypes.DEEPENED_REF);
+                    changedRefs.add(changedRef);
                 } else if (depth.isPresent()) {
                     int commitDepth = graphDatabase().getDepth(local.get().getObjectId());
                     if (depth.get() > commitDepth) {
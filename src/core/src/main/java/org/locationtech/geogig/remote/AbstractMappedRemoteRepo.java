@@ -53,6 +53,8 @@ import com.google.common.base.Suppliers;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 /**
  * Abstract base implementation for mapped (sparse) clone.
@@ -61,6 +63,11 @@ public abstract class AbstractMappedRemoteRepo implements IRemoteRepo {
 
     public static String PLACEHOLDER_COMMIT_MESSAGE = "Placeholder Sparse Commit";
 
+    /**
+     * Number of commits retrieved from the remote at once when fetching
+     */
+    private static final int PREFETCH_SIZE = 1000;
+
     protected Repository localRepository;
 
     protected RepositoryFilter filter;
@@ -140,13 +147,16 @@ public abstract class AbstractMappedRemoteRepo implements IRemoteRepo {
 
         Repository source;
 
+        CommitMappingCache mappings;
+
         public PushCommitGatherer(Repository source) {
             this.source = source;
+            this.mappings = CommitMappingCache.of(source.graphDatabase());
         }
 
         @Override
         protected Evaluation evaluate(CommitNode commitNode) {
-            if (!source.graphDatabase().getMapping(commitNode.getObjectId()).equals(ObjectId.NULL)) {
+            if (!mappings.getMapping(commitNode.getObjectId()).equals(ObjectId.NULL)) {
                 return Evaluation.EXCLUDE_AND_PRUNE;
             }
             return Evaluation.INCLUDE_AND_CONTINUE;
@@ -160,11 +170,18 @@ public abstract class AbstractMappedRemoteRepo implements IRemoteRepo {
         @Override
         protected boolean existsInDestination(ObjectId commitId) {
             // If the commit has not been mapped, it hasn't been pushed to the remote yet
-            return !source.graphDatabase().getMapping(commitId).equals(ObjectId.NULL);
+            return !mappings.getMapping(commitId).equals(ObjectId.NULL);
         }
 
     };
 
+    /**
+     * @return the cached mappings between the local sparse commits and the remote ones
+     */
+    protected CommitMappingCache mappings() {
+        return CommitMappingCache.of(localRepository.graphDatabase());
+    }
+
     /**
      * @return the {@link RepositoryWrapper} for this remote
      */
@@ -175,20 +192,32 @@ public abstract class AbstractMappedRemoteRepo implements IRemoteRepo {
      * 
      * @param ref the remote ref that points to new commit data
      * @param fetchLimit the maximum depth to fetch, note, a sparse clone cannot be a shallow clone
+     * @param shallowSince the oldest commits to fetch, must be absent for the same reason
      */
     @Override
-    public final void fetchNewData(Ref ref, Optional<Integer> fetchLimit, ProgressListener progress) {
-        Preconditions.checkState(!fetchLimit.isPresent(), "A sparse clone cannot be shallow.");
+    public final void fetchNewData(Ref ref, Optional<Integer> fetchLimit,
+            Optional<Long> shallowSince, ProgressListener progress) {
+        Preconditions.checkState(!fetchLimit.isPresent() && !shallowSince.isPresent(),
+                "A sparse clone cannot be shallow.");
         FetchCommitGatherer gatherer = new FetchCommitGatherer(getRemoteWrapper(), localRepository);
 
         try {
             gatherer.traverse(ref.getObjectId());
             Stack<ObjectId> needed = gatherer.commits;
+            List<ObjectId> ordered = Lists.newArrayListWithCapacity(needed.size());
             while (!needed.empty()) {
-                ObjectId commitId = needed.pop();
-                // If the last commit is empty, add it anyways to preserve parentage of new commits.
-                boolean allowEmpty = needed.isEmpty();
-                fetchSparseCommit(commitId, allowEmpty);
+                ordered.add(needed.pop());
+            }
+            int remaining = ordered.size();
+            for (List<ObjectId> batch : Lists.partition(ordered, PREFETCH_SIZE)) {
+                Map<ObjectId, RevObject> commits = getObjects(batch);
+                for (ObjectId commitId : batch) {
+                    remaining--;
+                    // If the last commit is empty, add it anyways to preserve parentage of new
+                    // commits.
+                    boolean allowEmpty = remaining == 0;
+                    fetchSparseCommit(Optional.fromNullable(commits.get(commitId)), allowEmpty);
+                }
             }
 
         } catch (Exception e) {
@@ -202,18 +231,18 @@ public abstract class AbstractMappedRemoteRepo implements IRemoteRepo {
      * based on the repository filter. It then uses the filtered results to construct a new commit
      * that is the descendant of commits that the original's parents are mapped to.
      * 
-     * @param commitId the commit id of the original, non-sparse commit
+     * @param object the original, non-sparse commit, as retrieved from the remote
      * @param allowEmpty allow the function to create an empty sparse commit
      */
-    private void fetchSparseCommit(ObjectId commitId, boolean allowEmpty) {
+    private void fetchSparseCommit(Optional<RevObject> object, boolean allowEmpty) {
 
-        Optional<RevObject> object = getObject(commitId);
         if (object.isPresent() && object.get().getType().equals(TYPE.COMMIT)) {
             RevCommit commit = (RevCommit) object.get();
 
             FilteredDiffIterator changes = getFilteredChanges(commit);
 
             GraphDatabase graphDatabase = localRepository.graphDatabase();
+            CommitMappingCache mappings = mappings();
             ObjectDatabase objectDatabase = localRepository.objectDatabase();
             graphDatabase.put(commit.getId(), commit.getParentIds());
 
@@ -221,8 +250,8 @@ public abstract class AbstractMappedRemoteRepo implements IRemoteRepo {
 
             if (commit.getParentIds().size() > 0) {
                 // Map this commit to the last "sparse" commit in my ancestry
-                ObjectId mappedCommit = graphDatabase.getMapping(commit.getParentIds().get(0));
-                graphDatabase.map(commit.getId(), mappedCommit);
+                ObjectId mappedCommit = mappings.getMapping(commit.getParentIds().get(0));
+                mappings.map(commit.getId(), mappedCommit);
                 Optional<ObjectId> treeId = localRepository.command(ResolveTreeish.class)
                         .setTreeish(mappedCommit).call();
                 if (treeId.isPresent()) {
@@ -230,7 +259,7 @@ public abstract class AbstractMappedRemoteRepo implements IRemoteRepo {
                 }
 
             } else {
-                graphDatabase.map(commit.getId(), ObjectId.NULL);
+                mappings.map(commit.getId(), ObjectId.NULL);
             }
 
             Iterator<DiffEntry> it = Iterators.filter(changes, new Predicate<DiffEntry>() {
@@ -256,7 +285,7 @@ public abstract class AbstractMappedRemoteRepo implements IRemoteRepo {
                 CommitBuilder builder = new CommitBuilder(commit);
                 List<ObjectId> newParents = new LinkedList<ObjectId>();
                 for (ObjectId parentCommitId : commit.getParentIds()) {
-                    newParents.add(graphDatabase.getMapping(parentCommitId));
+                    newParents.add(mappings.getMapping(parentCommitId));
                 }
                 builder.setParentIds(newParents);
                 builder.setTreeId(newTreeId);
@@ -268,14 +297,14 @@ public abstract class AbstractMappedRemoteRepo implements IRemoteRepo {
                     graphDatabase.setProperty(mapped.getId(), GraphDatabase.SPARSE_FLAG, "true");
                 }
 
-                graphDatabase.map(mapped.getId(), commit.getId());
+                mappings.map(mapped.getId(), commit.getId());
                 // Replace the old mapping with the new commit Id.
-                graphDatabase.map(commit.getId(), mapped.getId());
+                mappings.map(commit.getId(), mapped.getId());
             } else if (allowEmpty) {
                 CommitBuilder builder = new CommitBuilder(commit);
                 List<ObjectId> newParents = new LinkedList<ObjectId>();
                 for (ObjectId parentCommitId : commit.getParentIds()) {
-                    newParents.add(graphDatabase.getMapping(parentCommitId));
+                    newParents.add(mappings.getMapping(parentCommitId));
                 }
                 builder.setParentIds(newParents);
                 builder.setTreeId(rootTree.getId());
@@ -286,12 +315,12 @@ public abstract class AbstractMappedRemoteRepo implements IRemoteRepo {
 
                 graphDatabase.setProperty(mapped.getId(), GraphDatabase.SPARSE_FLAG, "true");
 
-                graphDatabase.map(mapped.getId(), commit.getId());
+                mappings.map(mapped.getId(), commit.getId());
                 // Replace the old mapping with the new commit Id.
-                graphDatabase.map(commit.getId(), mapped.getId());
+                mappings.map(commit.getId(), mapped.getId());
             } else {
                 // Mark the mapped commit as sparse, since it wont have these changes
-                graphDatabase.setProperty(graphDatabase.getMapping(commit.getId()),
+                graphDatabase.setProperty(mappings.getMapping(commit.getId()),
                         GraphDatabase.SPARSE_FLAG, "true");
             }
         }
@@ -305,6 +334,24 @@ public abstract class AbstractMappedRemoteRepo implements IRemoteRepo {
      */
     protected abstract Optional<RevObject> getObject(ObjectId objectId);
 
+    /**
+     * Retrieves the objects with the specified ids from the remote. Implementations backed by a
+     * network connection should override it to avoid a round trip per object.
+     * 
+     * @param objectIds the objects to get
+     * @return the fetched objects, keyed by id, objects not found are absent from the map
+     */
+    protected Map<ObjectId, RevObject> getObjects(List<ObjectId> objectIds) {
+        Map<ObjectId, RevObject> objects = Maps.newHashMap();
+        for (ObjectId id : objectIds) {
+            Optional<RevObject> object = getObject(id);
+            if (object.isPresent()) {
+                objects.put(id, object.get());
+            }
+        }
+        return objects;
+    }
+
     /**
      * Gets all of the changes from the target commit that should be applied to the sparse clone.
      * 
@@ -348,7 +395,7 @@ public abstract class AbstractMappedRemoteRepo implements IRemoteRepo {
                 pushSparseCommit(commitToPush);
             }
 
-            ObjectId newCommitId = localRepository.graphDatabase().getMapping(ref.getObjectId());
+            ObjectId newCommitId = mappings().getMapping(ref.getObjectId());
 
             ObjectId originalRemoteRefValue = ObjectId.NULL;
             if (remoteRef.isPresent()) {
@@ -420,8 +467,7 @@ public abstract class AbstractMappedRemoteRepo implements IRemoteRepo {
             if (remoteRef.get() instanceof SymRef) {
                 throw new SynchronizationException(StatusCode.CANNOT_PUSH_TO_SYMBOLIC_REF);
             }
-            ObjectId mappedId = localRepository.graphDatabase().getMapping(
-                    remoteRef.get().getObjectId());
+            ObjectId mappedId = mappings().getMapping(remoteRef.get().getObjectId());
             if (mappedId.equals(ref.getObjectId())) {
                 // The branches are equal, no need to push.
                 throw new SynchronizationException(StatusCode.NOTHING_TO_PUSH);
@@ -86,21 +86,30 @@ abstract class AbstractRemoteRepo implements IRemoteRepo {
      * CommitTraverser for transfering data to a shallow clone. This traverser will fetch data up to
      * the fetch limit. If no fetch limit is defined, one will be calculated when a commit is
      * fetched that I already have. The new fetch depth will be the depth from the starting commit
-     * to beginning of the orphaned branch.
+     * to beginning of the orphaned branch. If a date is given, commits older than it are not
+     * fetched either.
      */
     protected class ShallowCommitTraverser extends CommitTraverser {
 
         Optional<Integer> limit;
 
+        private Optional<Long> since;
+
         private RepositoryWrapper source;
 
         private RepositoryWrapper destination;
 
         public ShallowCommitTraverser(RepositoryWrapper source, RepositoryWrapper destination,
                 Optional<Integer> limit) {
+            this(source, destination, limit, Optional.<Long> absent());
+        }
+
+        public ShallowCommitTraverser(RepositoryWrapper source, RepositoryWrapper destination,
+                Optional<Integer> limit, Optional<Long> since) {
             this.source = source;
             this.destination = destination;
             this.limit = limit;
+            this.since = since;
         }
 
         @Override
@@ -110,10 +119,14 @@ abstract class AbstractRemoteRepo implements IRemoteRepo {
             } else if (!source.objectExists(commitNode.getObjectId())) {
                 // remote history is shallow
                 return Evaluation.EXCLUDE_AND_PRUNE;
+            } else if (since.isPresent()
+                    && source.getCommitTime(commitNode.getObjectId()).or(Long.MIN_VALUE) < since
+                            .get()) {
+                return Evaluation.EXCLUDE_AND_PRUNE;
             }
 
             boolean exists = destination.objectExists(commitNode.getObjectId());
-            if (!limit.isPresent() && exists) {
+            if (!limit.isPresent() && !since.isPresent() && exists) {
                 // calculate the new fetch limit
                 limit = Optional.of(destination.getDepth(commitNode.getObjectId())
                         + commitNode.getDepth() - 1);
@@ -184,13 +197,26 @@ abstract class AbstractRemoteRepo implements IRemoteRepo {
      * @return the {@link CommitTraverser} to use.
      */
     protected CommitTraverser getFetchTraverser(Optional<Integer> fetchLimit) {
+        return getFetchTraverser(fetchLimit, Optional.<Long> absent());
+    }
+
+    /**
+     * Returns the appropriate commit traverser to use for the fetch operation.
+     * 
+     * @param fetchLimit the fetch limit to use
+     * @param shallowSince the oldest commit timestamp to fetch, only used by shallow clones
+     * @return the {@link CommitTraverser} to use.
+     */
+    protected CommitTraverser getFetchTraverser(Optional<Integer> fetchLimit,
+            Optional<Long> shallowSince) {
 
         RepositoryWrapper localWrapper = new LocalRepositoryWrapper(localRepository);
         RepositoryWrapper remoteWrapper = getRemoteWrapper();
 
         CommitTraverser traverser;
         if (localWrapper.getRepoDepth().isPresent()) {
-            traverser = new ShallowCommitTraverser(remoteWrapper, localWrapper, fetchLimit);
+            traverser = new ShallowCommitTraverser(remoteWrapper, localWrapper, fetchLimit,
+                    shallowSince);
         } else if (remoteWrapper.getRepoDepth().isPresent()) {
             traverser = new ShallowFullCommitTraverser(remoteWrapper, localWrapper);
         } else {
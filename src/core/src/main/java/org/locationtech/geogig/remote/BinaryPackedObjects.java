@@ -14,18 +14,25 @@ import static java.lang.String.format;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
 import javax.annotation.Nullable;
 
+import org.locationtech.geogig.api.Bucket;
+import org.locationtech.geogig.api.Node;
 import org.locationtech.geogig.api.ObjectId;
 import org.locationtech.geogig.api.RevCommit;
 import org.locationtech.geogig.api.RevObject;
+import org.locationtech.geogig.api.RevTag;
+import org.locationtech.geogig.api.RevTree;
+import org.locationtech.geogig.api.plumbing.diff.PreOrderDiffWalk;
 import org.locationtech.geogig.repository.PostOrderIterator;
 import org.locationtech.geogig.storage.BulkOpListener;
 import org.locationtech.geogig.storage.BulkOpListener.CountingListener;
@@ -38,27 +45,47 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import com.google.common.base.Throwables;
 import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
 
 public final class BinaryPackedObjects {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BinaryPackedObjects.class);
 
+    /**
+     * Default minimum number of objects ingested between {@link CheckpointSegment checkpoints}
+     */
+    private static final int DEFAULT_CHECKPOINT_SIZE = 10 * 1000;
+
     private final ObjectSerializingFactory factory;
 
     private final ObjectReader<RevObject> objectReader;
 
     private final ObjectDatabase database;
 
+    private final int checkpointSize;
+
     public BinaryPackedObjects(ObjectDatabase database) {
+        this(database, DEFAULT_CHECKPOINT_SIZE);
+    }
+
+    /**
+     * @param checkpointSize the minimum number of objects ingested between checkpoints
+     */
+    BinaryPackedObjects(ObjectDatabase database, int checkpointSize) {
+        Preconditions.checkArgument(checkpointSize > 0, "checkpointSize must be positive");
         this.database = database;
+        this.checkpointSize = checkpointSize;
         this.factory = DataStreamSerializationFactoryV1.INSTANCE;
         this.objectReader = factory.createObjectReader();
     }
@@ -127,6 +154,241 @@ public final class BinaryPackedObjects {
         return objectCount;
     }
 
+    /**
+     * Shorthand for
+     * {@link #writeIncremental(ObjectFunnel, List, List, Set, Callback, boolean, Deduplicator)}
+     * with an empty {@code sent} set and no callback.
+     * 
+     * @return the number of objects written
+     */
+    public long writeIncremental(ObjectFunnel funnel, List<ObjectId> want, List<ObjectId> have,
+            boolean traverseCommits, Deduplicator deduplicator) throws IOException {
+        return writeIncremental(funnel, want, have, new HashSet<ObjectId>(), DEFAULT_CALLBACK,
+                traverseCommits, deduplicator);
+    }
+
+    /**
+     * Writes the same objects as
+     * {@link #write(ObjectFunnel, List, List, Set, Callback, boolean, Deduplicator) write}, but
+     * finds out what needs to be sent by diffing trees instead of walking all the contents
+     * reachable from the {@code have} commits.
+     * <p>
+     * The root tree of each wanted commit is compared against a tree the receiving end is known to
+     * have: the tree of its first parent if that parent is in {@code have} or was already written,
+     * the tree of any of the {@code have} commits otherwise, or the empty tree if there are none.
+     * Only the trees, buckets, features, and feature types that differ are written, followed by
+     * the commit itself, so the cost of an incremental push or fetch depends on the size of the
+     * changes rather than on the size of the repository.
+     * <p>
+     * Commits are processed in the order given, oldest first yields the smallest packs. If
+     * {@code traverseCommits} is {@code true}, the ancestry of the wanted commits up to the
+     * {@code have} commits is written too, parents first. Objects other than commits in the
+     * {@code want} list (e.g. tags) are written as is.
+     * 
+     * @param sent receives the ids of the commits written
+     * @return the number of objects written
+     */
+    public long writeIncremental(ObjectFunnel funnel, List<ObjectId> want, List<ObjectId> have,
+            Set<ObjectId> sent, Callback callback, boolean traverseCommits,
+            Deduplicator deduplicator) throws IOException {
+
+        for (ObjectId i : want) {
+            if (!database.exists(i)) {
+                throw new NoSuchElementException(format("Wanted commit: '%s' is not known", i));
+            }
+        }
+
+        Stopwatch sw = Stopwatch.createStarted();
+        List<ObjectId> toWrite = want;
+        if (traverseCommits) {
+            toWrite = Lists.newArrayList(Iterators.transform(
+                    PostOrderIterator.rangeOfCommits(want, have, database, deduplicator),
+                    new Function<RevObject, ObjectId>() {
+                        @Override
+                        public ObjectId apply(RevObject input) {
+                            return input.getId();
+                        }
+                    }));
+            deduplicator.reset();
+            LOGGER.info(String.format("Commit range of %,d commits computed in %s",
+                    toWrite.size(), sw));
+        }
+
+        final Set<ObjectId> known = new HashSet<ObjectId>(have);
+        final RevTree fallbackBase = fallbackBaseTree(have);
+
+        long objectCount = 0;
+        try {
+            for (ObjectId id : toWrite) {
+                final RevObject object = database.get(id);
+                Iterator<RevObject> objects;
+                if (object instanceof RevCommit) {
+                    final RevCommit commit = (RevCommit) object;
+                    final RevTree base = baseTree(commit, known, fallbackBase);
+                    final RevTree tree = database.getTree(commit.getTreeId());
+
+                    NewContentsCollector collector = new NewContentsCollector(database,
+                            deduplicator);
+                    new PreOrderDiffWalk(base, tree, database, database).walk(collector);
+                    if (tree.isEmpty()) {
+                        collector.add(tree.getId());
+                    }
+
+                    objects = Iterators.concat(database.getAll(collector.ids),
+                            Iterators.singletonIterator(object));
+                } else {
+                    objects = PostOrderIterator.contentsOf(ImmutableList.of(id), database,
+                            deduplicator);
+                }
+                while (objects.hasNext()) {
+                    RevObject next = objects.next();
+                    funnel.funnel(next);
+                    objectCount++;
+                    callback.callback(Suppliers.ofInstance(next));
+                }
+                known.add(id);
+                sent.add(id);
+            }
+        } catch (IOException e) {
+            String causeMessage = Throwables.getRootCause(e).getMessage();
+            LOGGER.info(String.format("writing of objects failed after %,d objects. Cause: '%s'",
+                    objectCount, causeMessage));
+            throw e;
+        }
+        LOGGER.info(String.format("Wrote %,d objects for %,d commits in %s", objectCount,
+                toWrite.size(), sw.stop()));
+        return objectCount;
+    }
+
+    private RevTree baseTree(RevCommit commit, Set<ObjectId> known, RevTree fallback) {
+        Optional<ObjectId> parentId = commit.parentN(0);
+        if (parentId.isPresent() && known.contains(parentId.get())) {
+            RevCommit parent = database.getIfPresent(parentId.get(), RevCommit.class);
+            if (parent != null) {
+                return database.getTree(parent.getTreeId());
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * @return the tree of the first {@code have} commit present in the local database, or the
+     *         empty tree if there's none
+     */
+    private RevTree fallbackBaseTree(List<ObjectId> have) {
+        for (ObjectId id : have) {
+            RevObject object = database.getIfPresent(id);
+            if (object instanceof RevCommit) {
+                return database.getTree(((RevCommit) object).getTreeId());
+            }
+        }
+        return RevTree.EMPTY;
+    }
+
+    /**
+     * Collects, in post order, the ids of the objects at the right side of a diff walk that are
+     * not at the left side, skipping whole trees and buckets already seen by the deduplicator,
+     * since they were written before together with all their contents.
+     * <p>
+     * The diff walk doesn't report the buckets of a tree that was split into buckets when compared
+     * against a leaf tree, so the bucket trees of each changed tree are collected by comparing its
+     * bucket structure against the one of the left tree at {@link #endTree} instead.
+     */
+    private static class NewContentsCollector implements PreOrderDiffWalk.Consumer {
+
+        private final ObjectDatabase database;
+
+        private final Deduplicator deduplicator;
+
+        final List<ObjectId> ids = new ArrayList<ObjectId>();
+
+        NewContentsCollector(ObjectDatabase database, Deduplicator deduplicator) {
+            this.database = database;
+            this.deduplicator = deduplicator;
+        }
+
+        @Override
+        public void feature(@Nullable Node left, @Nullable Node right) {
+            if (right != null) {
+                addMetadata(left, right);
+                add(right.getObjectId());
+            }
+        }
+
+        @Override
+        public boolean tree(@Nullable Node left, @Nullable Node right) {
+            if (right == null || deduplicator.isDuplicate(right.getObjectId())) {
+                return false;
+            }
+            addMetadata(left, right);
+            return true;
+        }
+
+        @Override
+        public void endTree(@Nullable Node left, @Nullable Node right) {
+            if (right != null) {
+                if (!deduplicator.isDuplicate(right.getObjectId())) {
+                    RevTree rightTree = database.getTree(right.getObjectId());
+                    RevTree leftTree = left == null ? RevTree.EMPTY : database.getTree(left
+                            .getObjectId());
+                    addBuckets(leftTree, rightTree);
+                }
+                add(right.getObjectId());
+            }
+        }
+
+        @Override
+        public boolean bucket(int bucketIndex, int bucketDepth, @Nullable Bucket left,
+                @Nullable Bucket right) {
+            return right != null && !deduplicator.isDuplicate(right.id());
+        }
+
+        @Override
+        public void endBucket(int bucketIndex, int bucketDepth, @Nullable Bucket left,
+                @Nullable Bucket right) {
+            // bucket trees are collected by addBuckets once the whole tree was walked
+        }
+
+        /**
+         * Adds the ids of the bucket trees of {@code right}, at any depth, that are not at the
+         * same position in {@code left}, children first. Buckets equal at both sides are shared
+         * subtrees and aren't descended into.
+         */
+        private void addBuckets(RevTree left, RevTree right) {
+            if (!right.buckets().isPresent()) {
+                return;
+            }
+            final Map<Integer, Bucket> leftBuckets = left.buckets().isPresent() ? left.buckets()
+                    .get() : ImmutableMap.<Integer, Bucket> of();
+            for (Map.Entry<Integer, Bucket> e : right.buckets().get().entrySet()) {
+                final Bucket rightBucket = e.getValue();
+                final Bucket leftBucket = leftBuckets.get(e.getKey());
+                if (rightBucket.equals(leftBucket) || deduplicator.isDuplicate(rightBucket.id())) {
+                    continue;
+                }
+                RevTree rightTree = database.getTree(rightBucket.id());
+                RevTree leftTree = leftBucket == null ? RevTree.EMPTY : database
+                        .getTree(leftBucket.id());
+                addBuckets(leftTree, rightTree);
+                add(rightBucket.id());
+            }
+        }
+
+        private void addMetadata(@Nullable Node left, Node right) {
+            Optional<ObjectId> metadataId = right.getMetadataId();
+            if (metadataId.isPresent()
+                    && (left == null || !metadataId.equals(left.getMetadataId()))) {
+                add(metadataId.get());
+            }
+        }
+
+        private void add(ObjectId id) {
+            if (!deduplicator.visit(id)) {
+                ids.add(id);
+            }
+        }
+    }
+
     /**
      * Find commits which should be previsited to avoid resending objects that are already on the
      * receiving end. A commit should be previsited if:
@@ -212,10 +474,34 @@ public final class BinaryPackedObjects {
     }
 
     /**
+     * Inserts the objects in the stream in the database. Both plain streams of objects and
+     * {@link PipelinedPackFormat pipelined} ones are accepted, pipelined streams being parsed by
+     * worker threads while the objects already parsed are being inserted.
+     * 
      * @return the number of objects parsed from the input stream
      */
     public IngestResults ingest(final InputStream in, final Callback callback) {
-        Iterator<RevObject> objects = streamToObjects(in);
+        final PushbackInputStream pushbackIn = new PushbackInputStream(in,
+                PipelinedPackFormat.MAGIC.length);
+        final boolean pipelined;
+        try {
+            pipelined = PipelinedPackFormat.isPipelined(pushbackIn);
+        } catch (IOException e) {
+            throw Throwables.propagate(e);
+        }
+        if (pipelined) {
+            PipelinedPackFormat.ObjectStream objects = PipelinedPackFormat.newReader(pushbackIn,
+                    factory, PipelinedPackFormat.DEFAULT_WORKERS);
+            try {
+                return ingest(objects, callback);
+            } finally {
+                objects.close();
+            }
+        }
+        return ingest(streamToObjects(pushbackIn), callback);
+    }
+
+    private IngestResults ingest(final Iterator<RevObject> objects, final Callback callback) {
 
         BulkOpListener listener = new BulkOpListener() {
             @Override
@@ -231,10 +517,57 @@ public final class BinaryPackedObjects {
 
         CountingListener countingListener = BulkOpListener.newCountingListener();
         listener = BulkOpListener.composite(countingListener, listener);
-        database.putAll(objects, listener);
+        while (objects.hasNext()) {
+            CheckpointSegment segment = new CheckpointSegment(objects, checkpointSize);
+            database.putAll(segment, listener);
+            database.putAll(segment.commits.iterator(), listener);
+        }
         return new IngestResults(countingListener.inserted(), countingListener.found());
     }
 
+    /**
+     * A run of at least {@code size} objects from the incoming stream, ending right after a
+     * commit or tag (or at the end of the stream).
+     * <p>
+     * Commits and tags are set aside instead of returned, so that they're inserted only once
+     * everything before them is in the database. Since senders always write a commit after its
+     * contents, a commit present in the database after an interrupted transfer is a checkpoint
+     * guaranteeing all its contents are too, and a new fetch (or push) resumes from it instead of
+     * starting over.
+     */
+    private static class CheckpointSegment extends AbstractIterator<RevObject> {
+
+        private final Iterator<RevObject> source;
+
+        private final int size;
+
+        private int count;
+
+        final List<RevObject> commits = new ArrayList<RevObject>();
+
+        CheckpointSegment(Iterator<RevObject> source, int size) {
+            this.source = source;
+            this.size = size;
+        }
+
+        @Override
+        protected RevObject computeNext() {
+            while (source.hasNext()) {
+                RevObject next = source.next();
+                count++;
+                if (next instanceof RevCommit || next instanceof RevTag) {
+                    commits.add(next);
+                    if (count >= size) {
+                        break;
+                    }
+                } else {
+                    return next;
+                }
+            }
+            return endOfData();
+        }
+    }
+
     private Iterator<RevObject> streamToObjects(final InputStream in) {
         return new AbstractIterator<RevObject>() {
             @Override
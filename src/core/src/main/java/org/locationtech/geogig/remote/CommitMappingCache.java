@@ -0,0 +1,86 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.remote;
+
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.storage.GraphDatabase;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Caches the mappings between the commits of a sparse repository and the commits of its full
+ * remote, as kept by {@link GraphDatabase#map} and {@link GraphDatabase#getMapping}, so that the
+ * mapped history walked on every sparse fetch and push is not looked up in the graph database
+ * commit by commit each time.
+ * <p>
+ * One cache is kept per graph database, for as long as the graph database is in use: the caches
+ * are weakly keyed by the graph database and don't refer back to it, so they're released together
+ * with it. Mappings are written through to the graph database; unmapped commits are not cached, so
+ * mappings set directly on the graph database are picked up.
+ */
+final class CommitMappingCache {
+
+    private static final int MAX_MAPPINGS = 100_000;
+
+    private static final CacheLoader<GraphDatabase, Cache<ObjectId, ObjectId>> NEW_MAPPINGS = new CacheLoader<GraphDatabase, Cache<ObjectId, ObjectId>>() {
+        @Override
+        public Cache<ObjectId, ObjectId> load(GraphDatabase graphDatabase) {
+            return CacheBuilder.newBuilder().maximumSize(MAX_MAPPINGS).build();
+        }
+    };
+
+    /**
+     * The cached mappings of each graph database. The values must not hold a reference to their
+     * key, or it would never be weakly reachable.
+     */
+    private static final LoadingCache<GraphDatabase, Cache<ObjectId, ObjectId>> CACHES = CacheBuilder
+            .newBuilder().weakKeys().build(NEW_MAPPINGS);
+
+    private final GraphDatabase graphDatabase;
+
+    private final Cache<ObjectId, ObjectId> mappings;
+
+    private CommitMappingCache(GraphDatabase graphDatabase, Cache<ObjectId, ObjectId> mappings) {
+        this.graphDatabase = graphDatabase;
+        this.mappings = mappings;
+    }
+
+    /**
+     * @return the mapping cache for the given graph database
+     */
+    public static CommitMappingCache of(GraphDatabase graphDatabase) {
+        return new CommitMappingCache(graphDatabase, CACHES.getUnchecked(graphDatabase));
+    }
+
+    /**
+     * @see GraphDatabase#getMapping(ObjectId)
+     */
+    public ObjectId getMapping(ObjectId commitId) {
+        ObjectId mapping = mappings.getIfPresent(commitId);
+        if (mapping == null) {
+            mapping = graphDatabase.getMapping(commitId);
+            if (mapping != null && !mapping.isNull()) {
+                mappings.put(commitId, mapping);
+            }
+        }
+        return mapping;
+    }
+
+    /**
+     * @see GraphDatabase#map(ObjectId, ObjectId)
+     */
+    public void map(ObjectId mapped, ObjectId original) {
+        graphDatabase.map(mapped, original);
+        mappings.put(mapped, original);
+    }
+}
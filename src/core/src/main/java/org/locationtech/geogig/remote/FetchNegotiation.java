@@ -0,0 +1,633 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.remote;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.Ref;
+import org.locationtech.geogig.api.RevCommit;
+import org.locationtech.geogig.api.RevObject;
+import org.locationtech.geogig.api.RevTag;
+import org.locationtech.geogig.api.plumbing.ForEachRef;
+import org.locationtech.geogig.repository.Repository;
+import org.locationtech.geogig.storage.GraphDatabase;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Binary want/have negotiation run before a fetch to find out which commits the remote has to
+ * send, without listing the whole history of either side.
+ * <p>
+ * The client advertises the commits it has in rounds of {@value #ROUND_SIZE}, most recent first,
+ * starting at the tips of its refs. The remote acknowledges the ones it has too, and the client
+ * stops advertising the history behind them, so the rounds walk down from the tips to the common
+ * frontier only. Once it runs out of commits to advertise, or no commit has been acknowledged for
+ * {@value #MAX_HAVES_WITHOUT_ACK} haves, the client sends a final round flagged as done, and the
+ * remote answers with the commits reachable from the wanted ones but not from the common ones,
+ * parents first.
+ * <p>
+ * A request is made of the protocol version and flags bytes, the number of wanted ids as a big
+ * endian int, the raw wanted ids, and then raw have ids up to the end of the stream. A response is
+ * a sequence of records, each made of a tag byte followed by a raw id: {@code A} for an
+ * acknowledged have, and {@code C} for a commit to send, which only done rounds carry. Responses
+ * end with an {@code E} byte. Ids are streamed on both ends, so neither has to hold a serialized
+ * copy of the negotiation in memory.
+ * <p>
+ * Shallow clones can't use the common commits as a boundary, since they lack the history behind
+ * them. They instead send a single done request bounded by a depth, a commit date, or both, given
+ * as a big endian int and long right after the flags. The remote answers with all the commits
+ * within those bounds, computed from its graph database, and the client skips the ones it
+ * already has. That's how a shallow clone is deepened, or extended down to a date, receiving only
+ * the commits between its old and its new boundary.
+ */
+public final class FetchNegotiation {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FetchNegotiation.class);
+
+    /**
+     * Version of the protocol requests start with
+     */
+    public static final byte VERSION = 1;
+
+    static final byte FLAG_DONE = 1;
+
+    static final byte FLAG_DEPTH = 2;
+
+    static final byte FLAG_SINCE = 4;
+
+    static final byte ACK = 'A';
+
+    static final byte COMMIT = 'C';
+
+    static final byte END = 'E';
+
+    static final int ROUND_SIZE = 256;
+
+    static final int MAX_HAVES_WITHOUT_ACK = 2048;
+
+    private static final Comparator<RevCommit> MOST_RECENT_FIRST = new Comparator<RevCommit>() {
+        @Override
+        public int compare(RevCommit c1, RevCommit c2) {
+            long t1 = c1.getCommitter().getTimestamp();
+            long t2 = c2.getCommitter().getTimestamp();
+            return t1 < t2 ? 1 : (t1 == t2 ? c1.getId().compareTo(c2.getId()) : -1);
+        }
+    };
+
+    private FetchNegotiation() {
+    }
+
+    /**
+     * A parsed negotiation request
+     */
+    public static class Request {
+
+        private final List<ObjectId> wants;
+
+        private final List<ObjectId> haves;
+
+        private final boolean done;
+
+        private final Optional<Integer> depth;
+
+        private final Optional<Long> since;
+
+        Request(List<ObjectId> wants, List<ObjectId> haves, boolean done) {
+            this(wants, haves, done, Optional.<Integer> absent(), Optional.<Long> absent());
+        }
+
+        Request(List<ObjectId> wants, List<ObjectId> haves, boolean done,
+                Optional<Integer> depth, Optional<Long> since) {
+            this.wants = wants;
+            this.haves = haves;
+            this.done = done;
+            this.depth = depth;
+            this.since = since;
+        }
+
+        public List<ObjectId> getWants() {
+            return wants;
+        }
+
+        public List<ObjectId> getHaves() {
+            return haves;
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+
+        /**
+         * @return the maximum depth of the commits to send, counting the wanted ones as depth 1
+         */
+        public Optional<Integer> getDepth() {
+            return depth;
+        }
+
+        /**
+         * @return the minimum commit timestamp of the commits to send
+         */
+        public Optional<Long> getSince() {
+            return since;
+        }
+
+        public boolean isShallow() {
+            return depth.isPresent() || since.isPresent();
+        }
+    }
+
+    /**
+     * The outcome of a negotiation, as seen by the client
+     */
+    static class Result {
+
+        /**
+         * The commits to fetch, parents first
+         */
+        final ImmutableList<ObjectId> commits;
+
+        /**
+         * The commits both ends have in common
+         */
+        final ImmutableSet<ObjectId> common;
+
+        Result(ImmutableList<ObjectId> commits, ImmutableSet<ObjectId> common) {
+            this.commits = commits;
+            this.common = common;
+        }
+    }
+
+    /**
+     * Parses a negotiation request
+     *
+     * @throws IllegalArgumentException if the stream doesn't hold a request this version of the
+     *         protocol understands
+     */
+    public static Request readRequest(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        final byte version = in.readByte();
+        checkArgument(version == VERSION, "Unsupported negotiation version: %s", version);
+        final byte flags = in.readByte();
+        final boolean done = (flags & FLAG_DONE) != 0;
+        Optional<Integer> depth = Optional.absent();
+        Optional<Long> since = Optional.absent();
+        if ((flags & FLAG_DEPTH) != 0) {
+            depth = Optional.of(in.readInt());
+            checkArgument(depth.get() > 0, "Invalid depth: %s", depth.get());
+        }
+        if ((flags & FLAG_SINCE) != 0) {
+            since = Optional.of(in.readLong());
+        }
+        final int wantCount = in.readInt();
+        checkArgument(wantCount >= 0, "Invalid number of wants: %s", wantCount);
+        List<ObjectId> wants = new ArrayList<ObjectId>(Math.min(wantCount, ROUND_SIZE));
+        for (int i = 0; i < wantCount; i++) {
+            wants.add(readId(in));
+        }
+        List<ObjectId> haves = new ArrayList<ObjectId>();
+        int first;
+        while ((first = in.read()) != -1) {
+            byte[] raw = new byte[ObjectId.NUM_BYTES];
+            raw[0] = (byte) first;
+            in.readFully(raw, 1, raw.length - 1);
+            haves.add(ObjectId.createNoClone(raw));
+        }
+        return new Request(wants, haves, done, depth, since);
+    }
+
+    static void writeRequest(Request request, OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        byte flags = request.isDone() ? FLAG_DONE : 0;
+        if (request.getDepth().isPresent()) {
+            flags |= FLAG_DEPTH;
+        }
+        if (request.getSince().isPresent()) {
+            flags |= FLAG_SINCE;
+        }
+        out.writeByte(VERSION);
+        out.writeByte(flags);
+        if (request.getDepth().isPresent()) {
+            out.writeInt(request.getDepth().get().intValue());
+        }
+        if (request.getSince().isPresent()) {
+            out.writeLong(request.getSince().get().longValue());
+        }
+        out.writeInt(request.getWants().size());
+        for (ObjectId id : request.getWants()) {
+            out.write(id.getRawValue());
+        }
+        for (ObjectId id : request.getHaves()) {
+            out.write(id.getRawValue());
+        }
+        out.flush();
+    }
+
+    /**
+     * Answers a negotiation request on behalf of the given repository: acknowledges the haves it
+     * has, and for done requests lists the commits to send.
+     */
+    public static void writeResponse(Repository repository, Request request, OutputStream stream)
+            throws IOException {
+        final ObjectDatabase database = repository.objectDatabase();
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        List<ObjectId> common = new ArrayList<ObjectId>();
+        for (ObjectId have : request.getHaves()) {
+            if (database.exists(have)) {
+                common.add(have);
+                out.writeByte(ACK);
+                out.write(have.getRawValue());
+            }
+        }
+        if (request.isDone()) {
+            List<ObjectId> toSend;
+            if (request.isShallow()) {
+                toSend = commitsWithinBounds(repository, request.getWants(), request.getDepth(),
+                        request.getSince());
+            } else {
+                toSend = commitsToSend(database, request.getWants(), common);
+            }
+            for (ObjectId id : toSend) {
+                out.writeByte(COMMIT);
+                out.write(id.getRawValue());
+            }
+        }
+        out.writeByte(END);
+        out.flush();
+    }
+
+    /**
+     * Walks the history from the wanted commits and the common ones at the same time, most recent
+     * commits first, until every pending commit is known to be reachable from a common one. Tags
+     * in {@code wants} are listed right after the commit they point to.
+     *
+     * @return the commits reachable from {@code wants} but not from {@code common}, parents first
+     */
+    private static List<ObjectId> commitsToSend(ObjectDatabase database, List<ObjectId> wants,
+            List<ObjectId> common) {
+
+        // commit id -> whether it's reachable from a common commit
+        final Map<ObjectId, Boolean> reachableFromCommon = new HashMap<ObjectId, Boolean>();
+        final Set<ObjectId> queued = new HashSet<ObjectId>();
+        final PriorityQueue<RevCommit> queue = new PriorityQueue<RevCommit>(64, MOST_RECENT_FIRST);
+        final Map<ObjectId, List<ObjectId>> parents = new HashMap<ObjectId, List<ObjectId>>();
+        final Map<ObjectId, ObjectId> tags = new HashMap<ObjectId, ObjectId>();
+        int pending = 0;
+
+        for (ObjectId id : common) {
+            RevCommit commit = database.getIfPresent(id, RevCommit.class);
+            if (commit != null && queued.add(id)) {
+                reachableFromCommon.put(id, Boolean.TRUE);
+                queue.add(commit);
+            }
+        }
+        final List<ObjectId> roots = new ArrayList<ObjectId>();
+        for (ObjectId id : wants) {
+            RevObject object = database.getIfPresent(id);
+            if (object instanceof RevTag) {
+                ObjectId commitId = ((RevTag) object).getCommitId();
+                tags.put(commitId, id);
+                object = database.getIfPresent(commitId);
+            }
+            if (object instanceof RevCommit) {
+                roots.add(object.getId());
+                if (queued.add(object.getId())) {
+                    reachableFromCommon.put(object.getId(), Boolean.FALSE);
+                    queue.add((RevCommit) object);
+                    pending++;
+                }
+            }
+        }
+
+        while (pending > 0 && !queue.isEmpty()) {
+            final RevCommit commit = queue.poll();
+            final ObjectId id = commit.getId();
+            queued.remove(id);
+            final boolean isCommon = reachableFromCommon.get(id).booleanValue();
+            if (!isCommon) {
+                pending--;
+                parents.put(id, commit.getParentIds());
+            }
+            for (ObjectId parentId : commit.getParentIds()) {
+                Boolean parentIsCommon = reachableFromCommon.get(parentId);
+                if (parentIsCommon == null) {
+                    // missing parents are the boundary of a shallow repository
+                    RevCommit parent = database.getIfPresent(parentId, RevCommit.class);
+                    if (parent != null) {
+                        reachableFromCommon.put(parentId, Boolean.valueOf(isCommon));
+                        queued.add(parentId);
+                        queue.add(parent);
+                        if (!isCommon) {
+                            pending++;
+                        }
+                    }
+                } else if (isCommon && !parentIsCommon.booleanValue()) {
+                    reachableFromCommon.put(parentId, Boolean.TRUE);
+                    if (queued.contains(parentId)) {
+                        pending--;
+                    } else {
+                        // already visited, walk it again to carry the mark to its own parents
+                        queued.add(parentId);
+                        queue.add(database.getCommit(parentId));
+                    }
+                }
+            }
+        }
+
+        Map<ObjectId, List<ObjectId>> included = new HashMap<ObjectId, List<ObjectId>>();
+        for (Map.Entry<ObjectId, List<ObjectId>> entry : parents.entrySet()) {
+            if (!reachableFromCommon.get(entry.getKey()).booleanValue()) {
+                included.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return parentsFirst(roots, included, tags);
+    }
+
+    /**
+     * Walks the history from the wanted commits breadth first, as the commit traversers do, down
+     * to the given depth and commit date, using the graph database to avoid loading commits when
+     * only the depth bounds the walk. Tags in {@code wants} are listed right after the commit they
+     * point to.
+     *
+     * @return the commits within bounds, parents first
+     */
+    private static List<ObjectId> commitsWithinBounds(Repository repository, List<ObjectId> wants,
+            Optional<Integer> depth, Optional<Long> since) {
+
+        final ObjectDatabase database = repository.objectDatabase();
+        final GraphDatabase graph = repository.graphDatabase();
+        final Map<ObjectId, List<ObjectId>> included = new HashMap<ObjectId, List<ObjectId>>();
+        final Map<ObjectId, ObjectId> tags = new HashMap<ObjectId, ObjectId>();
+        final List<ObjectId> roots = new ArrayList<ObjectId>();
+
+        List<ObjectId> level = new ArrayList<ObjectId>();
+        for (ObjectId id : wants) {
+            RevObject object = database.getIfPresent(id);
+            if (object instanceof RevTag) {
+                ObjectId commitId = ((RevTag) object).getCommitId();
+                tags.put(commitId, id);
+                object = database.getIfPresent(commitId);
+            }
+            if (object instanceof RevCommit && withinDate((RevCommit) object, since)) {
+                roots.add(object.getId());
+                level.add(object.getId());
+            }
+        }
+        final int maxDepth = depth.or(Integer.MAX_VALUE);
+        for (int d = 1; d <= maxDepth && !level.isEmpty(); d++) {
+            List<ObjectId> next = new ArrayList<ObjectId>();
+            for (ObjectId id : level) {
+                if (included.containsKey(id)) {
+                    continue;
+                }
+                ImmutableList<ObjectId> parents = graph.getParents(id);
+                included.put(id, parents);
+                for (ObjectId parentId : parents) {
+                    // missing parents are the boundary of a shallow repository
+                    if (!included.containsKey(parentId) && graph.exists(parentId)
+                            && (!since.isPresent() || withinDate(
+                                    database.getIfPresent(parentId, RevCommit.class), since))) {
+                        next.add(parentId);
+                    }
+                }
+            }
+            level = next;
+        }
+        return parentsFirst(roots, included, tags);
+    }
+
+    private static boolean withinDate(@Nullable RevCommit commit, Optional<Long> since) {
+        return commit != null
+                && (!since.isPresent() || commit.getCommitter().getTimestamp() >= since.get());
+    }
+
+    /**
+     * @param included the commits to sort and their parents
+     * @return the {@code included} commits reachable from {@code roots}, parents first
+     */
+    private static List<ObjectId> parentsFirst(List<ObjectId> roots,
+            Map<ObjectId, List<ObjectId>> included, Map<ObjectId, ObjectId> tags) {
+        Set<ObjectId> toSend = new LinkedHashSet<ObjectId>();
+        Set<ObjectId> visited = new HashSet<ObjectId>();
+        for (ObjectId root : roots) {
+            addParentsFirst(root, included, visited, tags, toSend);
+        }
+        return new ArrayList<ObjectId>(toSend);
+    }
+
+    private static void addParentsFirst(ObjectId root, Map<ObjectId, List<ObjectId>> included,
+            Set<ObjectId> visited, Map<ObjectId, ObjectId> tags, Set<ObjectId> target) {
+
+        // iterative post order traversal, histories can be too deep to recurse
+        List<ObjectId> stack = new ArrayList<ObjectId>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            ObjectId id = stack.get(stack.size() - 1);
+            if (!visited.add(id)) {
+                stack.remove(stack.size() - 1);
+                if (included.containsKey(id) && target.add(id)) {
+                    if (tags.containsKey(id)) {
+                        target.add(tags.get(id));
+                    }
+                }
+                continue;
+            }
+            List<ObjectId> commitParents = included.get(id);
+            if (commitParents != null) {
+                for (ObjectId parentId : commitParents) {
+                    if (!visited.contains(parentId)) {
+                        stack.add(parentId);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Negotiates with the remote repository which commits have to be fetched to get the given
+     * commits or tags.
+     *
+     * @return the outcome of the negotiation, or {@link Optional#absent()} if the remote doesn't
+     *         support it
+     */
+    static Optional<Result> negotiate(URL repositoryURL, Repository localRepository,
+            List<ObjectId> wants) throws IOException {
+
+        final ObjectDatabase database = localRepository.objectDatabase();
+        final PriorityQueue<RevCommit> queue = new PriorityQueue<RevCommit>(64, MOST_RECENT_FIRST);
+        final Set<ObjectId> seen = new HashSet<ObjectId>();
+        // commits reachable from an acknowledged one, their history is not advertised
+        final Set<ObjectId> knownCommon = new HashSet<ObjectId>();
+        final Set<ObjectId> common = new LinkedHashSet<ObjectId>();
+
+        for (Ref ref : localRepository.command(ForEachRef.class)
+                .setFilter(new Predicate<Ref>() {
+                    @Override
+                    public boolean apply(Ref ref) {
+                        return ref.getName().startsWith(Ref.HEADS_PREFIX)
+                                || ref.getName().startsWith(Ref.REMOTES_PREFIX)
+                                || ref.getName().startsWith(Ref.TAGS_PREFIX);
+                    }
+                }).call()) {
+            RevObject tip = database.getIfPresent(ref.getObjectId());
+            if (tip instanceof RevTag) {
+                tip = database.getIfPresent(((RevTag) tip).getCommitId());
+            }
+            if (tip instanceof RevCommit && seen.add(tip.getId())) {
+                queue.add((RevCommit) tip);
+            }
+        }
+
+        int sinceLastAck = 0;
+        while (!queue.isEmpty() && sinceLastAck < MAX_HAVES_WITHOUT_ACK) {
+            List<ObjectId> round = new ArrayList<ObjectId>(ROUND_SIZE);
+            while (round.size() < ROUND_SIZE && !queue.isEmpty()) {
+                RevCommit commit = queue.poll();
+                if (knownCommon.contains(commit.getId())) {
+                    knownCommon.addAll(commit.getParentIds());
+                    continue;
+                }
+                round.add(commit.getId());
+                for (ObjectId parentId : commit.getParentIds()) {
+                    if (seen.add(parentId)) {
+                        RevCommit parent = database.getIfPresent(parentId, RevCommit.class);
+                        if (parent != null) {
+                            queue.add(parent);
+                        }
+                    }
+                }
+            }
+            if (round.isEmpty()) {
+                break;
+            }
+            Optional<Result> response = post(repositoryURL, new Request(wants, round, false));
+            if (!response.isPresent()) {
+                return response;
+            }
+            ImmutableSet<ObjectId> acked = response.get().common;
+            if (acked.isEmpty()) {
+                sinceLastAck += round.size();
+            } else {
+                sinceLastAck = 0;
+                common.addAll(acked);
+                for (ObjectId id : acked) {
+                    RevCommit commit = database.getCommit(id);
+                    knownCommon.addAll(commit.getParentIds());
+                }
+            }
+        }
+        LOGGER.debug("Found {} common commits with {}", common.size(), repositoryURL);
+        return post(repositoryURL, new Request(wants, new ArrayList<ObjectId>(common), true));
+    }
+
+    /**
+     * Asks the remote repository for the commits reachable from the given commits or tags within
+     * the given depth and commit date, in a single request.
+     *
+     * @return the outcome of the negotiation, or {@link Optional#absent()} if the remote doesn't
+     *         support it
+     */
+    static Optional<Result> negotiateShallow(URL repositoryURL, List<ObjectId> wants,
+            Optional<Integer> depth, Optional<Long> since) throws IOException {
+        checkArgument(depth.isPresent() || since.isPresent(), "no depth nor date given");
+        return post(repositoryURL, new Request(wants, ImmutableList.<ObjectId> of(), true, depth,
+                since));
+    }
+
+    private static Optional<Result> post(URL repositoryURL, Request request) throws IOException {
+
+        URL url = new URL(repositoryURL.toString() + "/repo/negotiate");
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setUseCaches(false);
+            connection.setChunkedStreamingMode(0);
+            connection.setRequestProperty("Content-Type", "application/octet-stream");
+            OutputStream out = connection.getOutputStream();
+            try {
+                writeRequest(request, out);
+            } finally {
+                out.close();
+            }
+            if (connection.getResponseCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+                return Optional.absent();
+            }
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    HttpUtils.getResponseStream(connection)));
+            try {
+                ImmutableList.Builder<ObjectId> commits = ImmutableList.builder();
+                ImmutableSet.Builder<ObjectId> acked = ImmutableSet.builder();
+                byte tag;
+                while ((tag = in.readByte()) != END) {
+                    ObjectId id = readId(in);
+                    if (tag == ACK) {
+                        acked.add(id);
+                    } else if (tag == COMMIT) {
+                        commits.add(id);
+                    } else {
+                        throw new IOException("Unexpected negotiation record: " + tag);
+                    }
+                }
+                return Optional.of(new Result(commits.build(), acked.build()));
+            } finally {
+                HttpUtils.consumeAndCloseStream(in);
+            }
+        } finally {
+            HttpUtils.consumeErrStreamAndCloseConnection(connection);
+        }
+    }
+
+    private static ObjectId readId(DataInputStream in) throws IOException {
+        byte[] raw = new byte[ObjectId.NUM_BYTES];
+        in.readFully(raw);
+        return ObjectId.createNoClone(raw);
+    }
+
+    /**
+     * @return the ids in {@code ids} that don't exist in the given database, in the same order
+     */
+    static List<ObjectId> missing(ObjectDatabase database, List<ObjectId> ids) {
+        List<ObjectId> missing = new ArrayList<ObjectId>(ids.size());
+        for (ObjectId id : ids) {
+            if (!database.exists(id)) {
+                missing.add(id);
+            }
+        }
+        return missing;
+    }
+}
@@ -11,6 +11,10 @@ package org.locationtech.geogig.remote;
 
 import java.util.Iterator;
 
+import javax.annotation.Nullable;
+
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.CRS;
 import org.locationtech.geogig.api.NodeRef;
 import org.locationtech.geogig.api.ObjectId;
 import org.locationtech.geogig.api.RepositoryFilter;
@@ -20,8 +24,10 @@ import org.locationtech.geogig.api.RevObject.TYPE;
 import org.locationtech.geogig.api.plumbing.RevObjectParse;
 import org.locationtech.geogig.api.plumbing.diff.DiffEntry;
 import org.locationtech.geogig.repository.Repository;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
 
 import com.google.common.collect.AbstractIterator;
+import com.vividsolutions.jts.geom.Envelope;
 
 /**
  * An implementation of a {@link DiffEntry} iterator that filters entries based on a provided
@@ -37,6 +43,9 @@ public abstract class FilteredDiffIterator extends AbstractIterator<DiffEntry> {
 
     private RepositoryFilter repoFilter;
 
+    @Nullable
+    private ReferencedEnvelope filterBounds;
+
     public final boolean wasFiltered() {
         return filtered;
     }
@@ -59,6 +68,7 @@ public abstract class FilteredDiffIterator extends AbstractIterator<DiffEntry> {
         this.source = source;
         this.sourceRepo = sourceRepo;
         this.repoFilter = repoFilter;
+        this.filterBounds = repoFilter == null ? null : repoFilter.getBounds().orNull();
         filtered = false;
     }
 
@@ -113,14 +123,22 @@ public abstract class FilteredDiffIterator extends AbstractIterator<DiffEntry> {
             return null;
         }
 
-        RevObject object = sourceRepo.objectDatabase().get(node.objectId());
-
         RevObject metadata = null;
         if (!node.getMetadataId().isNull()) {
             metadata = sourceRepo.objectDatabase().get(node.getMetadataId());
         }
+        final boolean tracking = node.getType() == TYPE.FEATURE
+                && trackingObject(node.objectId());
+        if (node.getType() == TYPE.FEATURE && !tracking
+                && outsideFilterBounds(node, (RevFeatureType) metadata)) {
+            // can't pass the filter, no need to fetch the feature to evaluate it
+            return null;
+        }
+
+        RevObject object = sourceRepo.objectDatabase().get(node.objectId());
+
         if (node.getType() == TYPE.FEATURE) {
-            if (trackingObject(object.getId())) {
+            if (tracking) {
                 // We are already tracking this object, continue to do so
                 return node;
             }
@@ -137,6 +155,30 @@ public abstract class FilteredDiffIterator extends AbstractIterator<DiffEntry> {
         return node;
     }
 
+    /**
+     * Checks the bounds of the feature node against the bounds of the repository filter, if both
+     * are known and use the same coordinate reference system.
+     * 
+     * @return {@code true} if the feature can't pass the filter
+     */
+    private boolean outsideFilterBounds(NodeRef node, @Nullable RevFeatureType featureType) {
+        if (filterBounds == null || featureType == null) {
+            return false;
+        }
+        CoordinateReferenceSystem filterCrs = filterBounds.getCoordinateReferenceSystem();
+        if (filterCrs != null
+                && !CRS.equalsIgnoreMetadata(filterCrs, featureType.type()
+                        .getCoordinateReferenceSystem())) {
+            return false;
+        }
+        Envelope nodeBounds = new Envelope();
+        node.getNode().expand(nodeBounds);
+        if (nodeBounds.isNull()) {
+            return false;
+        }
+        return !filterBounds.intersects(nodeBounds);
+    }
+
     /**
      * An overridable method for hinting that the given object should be tracked, regardless of
      * whether or not it matches the filter.
@@ -22,6 +22,7 @@ import java.net.URL;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.locationtech.geogig.api.ObjectId;
 import org.locationtech.geogig.api.Ref;
@@ -128,8 +129,7 @@ class HttpMappedRemoteRepo extends AbstractMappedRemoteRepo {
                         Ref newRef = remoteRef;
                         if (!(newRef instanceof SymRef)
                                 && localRepository.graphDatabase().exists(remoteRef.getObjectId())) {
-                            ObjectId mappedCommit = localRepository.graphDatabase().getMapping(
-                                    remoteRef.getObjectId());
+                            ObjectId mappedCommit = mappings().getMapping(remoteRef.getObjectId());
                             if (mappedCommit != null) {
                                 newRef = new Ref(remoteRef.getName(), mappedCommit);
                             }
@@ -341,15 +341,15 @@ class HttpMappedRemoteRepo extends AbstractMappedRemoteRepo {
                                 .setEnd(commonAncestor.get()).call()) {
                             // This should be the base commit to preserve changes that were filtered
                             // out.
-                            newParents.add(0, from.graphDatabase().getMapping(parentId));
+                            newParents.add(0, mappings().getMapping(parentId));
                             continue;
                         }
                     }
                 }
-                newParents.add(from.graphDatabase().getMapping(parentId));
+                newParents.add(mappings().getMapping(parentId));
             }
             if (newParents.size() > 0) {
-                parent = from.graphDatabase().getMapping(newParents.get(0));
+                parent = mappings().getMapping(newParents.get(0));
             }
             Iterator<DiffEntry> diffIter = from.command(DiffOp.class).setNewVersion(commitId)
                     .setOldVersion(parent).setReportTrees(true).call();
@@ -396,8 +396,8 @@ class HttpMappedRemoteRepo extends AbstractMappedRemoteRepo {
                 String line = rd.readLine();
                 if (line != null) {
                     ObjectId remoteCommitId = ObjectId.valueOf(line);
-                    from.graphDatabase().map(commit.getId(), remoteCommitId);
-                    from.graphDatabase().map(remoteCommitId, commit.getId());
+                    mappings().map(commit.getId(), remoteCommitId);
+                    mappings().map(remoteCommitId, commit.getId());
                 }
 
             } catch (IOException e) {
@@ -418,6 +418,17 @@ class HttpMappedRemoteRepo extends AbstractMappedRemoteRepo {
         return HttpUtils.getNetworkObject(repositoryURL, null, objectId);
     }
 
+    /**
+     * Retrieves the objects with the specified ids from the remote, in batches.
+     * 
+     * @param objectIds the objects to get
+     * @return the fetched objects, keyed by id
+     */
+    @Override
+    protected Map<ObjectId, RevObject> getObjects(List<ObjectId> objectIds) {
+        return HttpUtils.getNetworkObjects(repositoryURL, objectIds);
+    }
+
     /**
      * Updates the remote ref that matches the given refspec.
      * 
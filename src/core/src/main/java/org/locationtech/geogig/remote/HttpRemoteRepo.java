@@ -10,6 +10,7 @@
 package org.locationtech.geogig.remote;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -20,11 +21,22 @@ import java.io.Writer;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
 
 import org.locationtech.geogig.api.ObjectId;
 import org.locationtech.geogig.api.ProgressListener;
@@ -39,6 +51,7 @@ import org.locationtech.geogig.remote.HttpUtils.ReportingOutputStream;
 import org.locationtech.geogig.repository.Repository;
 import org.locationtech.geogig.storage.DeduplicationService;
 import org.locationtech.geogig.storage.Deduplicator;
+import org.locationtech.geogig.storage.GraphDatabase;
 import org.locationtech.geogig.storage.ObjectDatabase;
 import org.locationtech.geogig.storage.ObjectSerializingFactory;
 import org.locationtech.geogig.storage.datastream.DataStreamSerializationFactoryV1;
@@ -51,6 +64,7 @@ import com.google.common.base.Supplier;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
@@ -69,6 +83,12 @@ class HttpRemoteRepo extends AbstractRemoteRepo {
     /** Default limit in bytes for push to split the sent objects */
     private static final int DEFAULT_PUSH_BATCH_LIMIT = 4 * 1024 * 1024;
 
+    /** Default number of push batches sent concurrently */
+    private static final int DEFAULT_PUSH_PARALLELISM = 4;
+
+    /** Default number of times an interrupted fetch is resumed before giving up */
+    private static final int DEFAULT_FETCH_RETRIES = 3;
+
     private URL repositoryURL;
 
     final private DeduplicationService deduplicationService;
@@ -193,29 +213,163 @@ class HttpRemoteRepo extends AbstractRemoteRepo {
      * 
      * @param ref the remote ref that points to new commit data
      * @param fetchLimit the maximum depth to fetch
+     * @param shallowSince the timestamp of the oldest commits to fetch
      */
     @Override
-    public void fetchNewData(Ref ref, Optional<Integer> fetchLimit, ProgressListener progress) {
-
-        CommitTraverser traverser = getFetchTraverser(fetchLimit);
+    public void fetchNewData(Ref ref, Optional<Integer> fetchLimit, Optional<Long> shallowSince,
+            ProgressListener progress) {
 
         try {
             progress.setDescription("Fetching objects from " + ref.getName());
-            traverser.traverse(ref.getObjectId());
             List<ObjectId> want = new LinkedList<ObjectId>();
-            want.addAll(traverser.commits);
-            Collections.reverse(want);
             Set<ObjectId> have = new HashSet<ObjectId>();
-            have.addAll(traverser.have);
+            final boolean shallow = localRepository.getDepth().isPresent();
+            final boolean bounded = fetchLimit.isPresent() || shallowSince.isPresent();
+            final boolean negotiated;
+            if (shallow) {
+                negotiated = bounded
+                        && negotiateShallowFetchSets(ref, fetchLimit, shallowSince, want, have);
+            } else {
+                negotiated = !fetchLimit.isPresent() && !getDepth().isPresent()
+                        && negotiateFetchSets(ref, want, have);
+            }
+            if (!negotiated) {
+                computeFetchSets(ref, fetchLimit, shallowSince, want, have);
+            }
+
+            final int maxRetries = parseFetchRetries();
+            int failures = 0;
             while (!want.isEmpty()) {
                 progress.setProgress(0);
-                fetchMoreData(want, have, progress);
+                try {
+                    fetchMoreData(want, have, progress);
+                    failures = 0;
+                } catch (RuntimeException e) {
+                    final int pending = want.size();
+                    if (++failures > maxRetries) {
+                        throw e;
+                    }
+                    LOGGER.warn(String.format("Fetch interrupted, resuming from the last "
+                            + "checkpoint (attempt %d of %d)", failures, maxRetries), e);
+                    Thread.sleep(1000L * failures);
+                    // commits are only stored after their contents, so the commits already
+                    // present locally tell where to resume from
+                    if (negotiated && shallow) {
+                        negotiateShallowFetchSets(ref, fetchLimit, shallowSince, want, have);
+                    } else if (negotiated) {
+                        negotiateFetchSets(ref, want, have);
+                    } else {
+                        computeFetchSets(ref, fetchLimit, shallowSince, want, have);
+                    }
+                    if (want.size() < pending) {
+                        failures = 0;
+                    }
+                }
             }
         } catch (Exception e) {
             Throwables.propagate(e);
         }
     }
 
+    /**
+     * Computes the commits to fetch, oldest first, and the ones the remote can assume this
+     * repository already has.
+     */
+    private void computeFetchSets(Ref ref, Optional<Integer> fetchLimit,
+            Optional<Long> shallowSince, List<ObjectId> want, Set<ObjectId> have) {
+        CommitTraverser traverser = getFetchTraverser(fetchLimit, shallowSince);
+        traverser.traverse(ref.getObjectId());
+        want.clear();
+        want.addAll(traverser.commits);
+        Collections.reverse(want);
+        have.clear();
+        have.addAll(traverser.have);
+    }
+
+    /**
+     * Computes the commits to fetch, oldest first, and the ones the remote can assume this
+     * repository already has, through a {@link FetchNegotiation} with the remote instead of
+     * checking the remote history commit by commit.
+     * 
+     * @return {@code false} if the remote doesn't support negotiating
+     */
+    private boolean negotiateFetchSets(Ref ref, List<ObjectId> want, Set<ObjectId> have)
+            throws IOException {
+        want.clear();
+        have.clear();
+        final ObjectDatabase database = localRepository.objectDatabase();
+        if (database.exists(ref.getObjectId())) {
+            return true;
+        }
+        Optional<FetchNegotiation.Result> result = FetchNegotiation.negotiate(repositoryURL,
+                localRepository, ImmutableList.of(ref.getObjectId()));
+        if (!result.isPresent()) {
+            LOGGER.debug("{} doesn't support fetch negotiation", repositoryURL);
+            return false;
+        }
+        List<ObjectId> missing = FetchNegotiation.missing(database, result.get().commits);
+        want.addAll(missing);
+        have.addAll(result.get().common);
+        // commits fetched by an interrupted attempt are bases for the ones still missing
+        have.addAll(result.get().commits);
+        have.removeAll(new HashSet<ObjectId>(missing));
+        return true;
+    }
+
+    /**
+     * Computes the commits a shallow clone has to fetch, oldest first, asking the remote for the
+     * commits within the given bounds in a single request. The commits this repository already has
+     * that are children of the ones to fetch are its current boundary; they are the ones the remote
+     * can assume this repository has, so that only the objects introduced between the old and the
+     * new boundary are sent.
+     * 
+     * @return {@code false} if the remote doesn't support negotiating
+     */
+    private boolean negotiateShallowFetchSets(Ref ref, Optional<Integer> fetchLimit,
+            Optional<Long> shallowSince, List<ObjectId> want, Set<ObjectId> have)
+            throws IOException {
+        want.clear();
+        have.clear();
+        Optional<FetchNegotiation.Result> result = FetchNegotiation.negotiateShallow(
+                repositoryURL, ImmutableList.of(ref.getObjectId()), fetchLimit, shallowSince);
+        if (!result.isPresent()) {
+            LOGGER.debug("{} doesn't support fetch negotiation", repositoryURL);
+            return false;
+        }
+        final GraphDatabase graph = localRepository.graphDatabase();
+        final List<ObjectId> missing = FetchNegotiation.missing(localRepository.objectDatabase(),
+                result.get().commits);
+        final Set<ObjectId> missingSet = new HashSet<ObjectId>(missing);
+        want.addAll(missing);
+        for (ObjectId id : result.get().commits) {
+            if (!missingSet.contains(id) && graph.exists(id)) {
+                for (ObjectId parentId : graph.getParents(id)) {
+                    if (missingSet.contains(parentId)) {
+                        have.add(id);
+                        break;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private int parseFetchRetries() {
+        final String confKey = "fetch.retries";
+        Optional<String> configRetries = localRepository.command(ConfigGet.class)
+                .setName(confKey).call();
+        int retries = DEFAULT_FETCH_RETRIES;
+        if (configRetries.isPresent()) {
+            try {
+                retries = Math.max(0, Integer.parseInt(configRetries.get()));
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Invalid config value for {}, using the default of {} retries",
+                        confKey, retries);
+            }
+        }
+        return retries;
+    }
+
     /**
      * Push all new objects from the specified {@link Ref} to the remote.
      * 
@@ -287,16 +441,41 @@ class HttpRemoteRepo extends AbstractRemoteRepo {
                 SendObjectsConnectionFactory outFactory;
                 ObjectFunnel objectFunnel;
 
-                outFactory = new SendObjectsConnectionFactory(repositoryURL);
+                final boolean pipelined = isPipelinedTransfer();
+                final int parallelism = parsePushParallelism();
+                outFactory = new SendObjectsConnectionFactory(repositoryURL, !pipelined,
+                        parallelism);
                 int pushBytesLimit = parsePushLimit();
-                objectFunnel = ObjectFunnels.newFunnel(outFactory, serializer, pushBytesLimit);
-                final long writtenObjectsCount = packer.write(objectFunnel, toSend, have, sent,
-                        callback, traverseCommits, deduplicator);
-                objectFunnel.close();
+                objectFunnel = newFunnel(outFactory, serializer, pipelined, pushBytesLimit);
+                CommitsLastFunnel commitsLast = null;
+                if (parallelism > 1) {
+                    commitsLast = new CommitsLastFunnel(objectFunnel);
+                    objectFunnel = commitsLast;
+                }
+                final long writtenObjectsCount;
+                try {
+                    writtenObjectsCount = packer.writeIncremental(objectFunnel, toSend, have,
+                            sent, callback, traverseCommits, deduplicator);
+                    objectFunnel.close();
+                    outFactory.awaitCompletion();
+                    if (commitsLast != null && !commitsLast.commits.isEmpty()) {
+                        // concurrent batches may be stored in any order, so the commits are only
+                        // sent once all the contents they refer to were acknowledged
+                        ObjectFunnel commitsFunnel = newFunnel(outFactory, serializer,
+                                pipelined, Integer.MAX_VALUE);
+                        for (RevCommit commit : commitsLast.commits) {
+                            commitsFunnel.funnel(commit);
+                        }
+                        commitsFunnel.close();
+                        outFactory.awaitCompletion();
+                    }
+                } finally {
+                    outFactory.dispose();
+                }
                 sw.stop();
 
-                long compressedSize = outFactory.compressedSize;
-                long uncompressedSize = outFactory.uncompressedSize;
+                long compressedSize = outFactory.compressedSize.get();
+                long uncompressedSize = outFactory.uncompressedSize.get();
                 LOGGER.info(String.format("HttpRemoteRepo: Written %,d objects."
                         + " Time to process: %s."
                         + " Compressed size: %,d bytes. Uncompressed size: %,d bytes.",
@@ -307,6 +486,60 @@ class HttpRemoteRepo extends AbstractRemoteRepo {
         }
     }
 
+    private static ObjectFunnel newFunnel(Supplier<OutputStream> outFactory,
+            ObjectSerializingFactory serializer, boolean pipelined, int pushBytesLimit) {
+        if (pipelined) {
+            return PipelinedPackFormat.newFunnel(outFactory, serializer, pushBytesLimit,
+                    PipelinedPackFormat.DEFAULT_WORKERS);
+        }
+        return ObjectFunnels.newFunnel(outFactory, serializer, pushBytesLimit);
+    }
+
+    /**
+     * Funnel that passes everything but commits through to its delegate, holding the commits back
+     * so that they can be sent after all the other objects were stored by the remote.
+     */
+    private static class CommitsLastFunnel implements ObjectFunnel {
+
+        private final ObjectFunnel delegate;
+
+        final List<RevCommit> commits = new ArrayList<RevCommit>();
+
+        CommitsLastFunnel(ObjectFunnel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void funnel(RevObject object) throws IOException {
+            if (object instanceof RevCommit) {
+                commits.add((RevCommit) object);
+            } else {
+                delegate.funnel(object);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
+    private int parsePushParallelism() {
+        final String confKey = "push.parallelism";
+        Optional<String> configValue = localRepository.command(ConfigGet.class).setName(confKey)
+                .call();
+        int parallelism = DEFAULT_PUSH_PARALLELISM;
+        if (configValue.isPresent()) {
+            try {
+                parallelism = Math.max(1, Integer.parseInt(configValue.get()));
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Invalid config value for {}, using the default of {}", confKey,
+                        parallelism);
+            }
+        }
+        return parallelism;
+    }
+
     private int parsePushLimit() {
         final String confKey = "push.chunk.limit";
         Optional<String> configLimit = localRepository.command(ConfigGet.class).setName(confKey)
@@ -337,18 +570,160 @@ class HttpRemoteRepo extends AbstractRemoteRepo {
         return limit;
     }
 
+    /**
+     * Whether to transfer objects using the {@link PipelinedPackFormat pipelined format}, as set
+     * by the {@code transfer.pipelined} config option. Defaults to {@code false} since servers
+     * predating the format can't read pipelined pushes.
+     */
+    private boolean isPipelinedTransfer() {
+        Optional<String> value = localRepository.command(ConfigGet.class)
+                .setName("transfer.pipelined").call();
+        return value.isPresent() && Boolean.parseBoolean(value.get());
+    }
+
+    /**
+     * Provides the output streams push batches are written to, each one sent to the remote's
+     * {@code sendobject} endpoint through its own connection.
+     * <p>
+     * With a parallelism of one, each batch is streamed to the remote as it's written. With a
+     * higher parallelism, each batch is buffered in memory and, once complete, sent from a
+     * worker thread while the next ones are being written, with at most {@code parallelism}
+     * batches in flight, so that pushes over high latency links aren't bound by the time each
+     * batch takes to be acknowledged. Since the remote may then store the batches in any order,
+     * commits are held back by a {@link CommitsLastFunnel} and sent in a batch of their own once
+     * all the others were acknowledged. {@link #awaitCompletion()} must be called once all the
+     * batches were written, before the push is ended.
+     */
     private static class SendObjectsConnectionFactory implements Supplier<OutputStream> {
         private URL repositoryURL;
 
-        public SendObjectsConnectionFactory(URL repositoryURL) {
+        private final boolean gzipEncode;
+
+        private final int parallelism;
+
+        @Nullable
+        private final ExecutorService executor;
+
+        private final Semaphore inFlight;
+
+        private final List<Future<?>> sent = new ArrayList<Future<?>>();
+
+        /**
+         * @param gzipEncode whether to gzip the request bodies, {@code false} for streams that
+         *        are already compressed
+         * @param parallelism maximum number of batches sent concurrently
+         */
+        public SendObjectsConnectionFactory(URL repositoryURL, boolean gzipEncode,
+                int parallelism) {
             this.repositoryURL = repositoryURL;
+            this.gzipEncode = gzipEncode;
+            this.parallelism = parallelism;
+            this.inFlight = new Semaphore(parallelism);
+            this.executor = parallelism == 1 ? null : Executors.newFixedThreadPool(parallelism,
+                    new ThreadFactoryBuilder().setNameFormat("geogig-push-%d").setDaemon(true)
+                            .build());
         }
 
-        private long compressedSize, uncompressedSize;
+        private final AtomicLong compressedSize = new AtomicLong();
+
+        private final AtomicLong uncompressedSize = new AtomicLong();
 
         @Override
         public OutputStream get() {
-            String expanded = repositoryURL.toString() + "/repo/sendobject";
+            if (parallelism == 1) {
+                return open(-1);
+            }
+            return new ByteArrayOutputStream(DEFAULT_PUSH_BATCH_LIMIT) {
+                @Override
+                public void close() throws IOException {
+                    sendAsync(toByteArray());
+                }
+            };
+        }
+
+        private void sendAsync(final byte[] batch) throws IOException {
+            checkFailures();
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting to send push batch", e);
+            }
+            try {
+                sent.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws IOException {
+                        try {
+                            OutputStream out = open(gzipEncode ? -1 : batch.length);
+                            out.write(batch);
+                            out.close();
+                        } finally {
+                            inFlight.release();
+                        }
+                        return null;
+                    }
+                }));
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+        }
+
+        /**
+         * Fails fast if any of the batches sent so far failed
+         */
+        private void checkFailures() throws IOException {
+            for (Iterator<Future<?>> it = sent.iterator(); it.hasNext();) {
+                Future<?> future = it.next();
+                if (future.isDone()) {
+                    get(future);
+                    it.remove();
+                }
+            }
+        }
+
+        /**
+         * Waits for all the batches to be acknowledged by the remote.
+         * 
+         * @throws IOException if any of them failed
+         */
+        public void awaitCompletion() throws IOException {
+            try {
+                for (Future<?> future : sent) {
+                    get(future);
+                }
+            } finally {
+                sent.clear();
+            }
+        }
+
+        /**
+         * Releases the worker threads, cancelling any batch still in flight
+         */
+        public void dispose() {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+
+        private static void get(Future<?> future) throws IOException {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for push batch", e);
+            } catch (ExecutionException e) {
+                Throwables.propagateIfInstanceOf(e.getCause(), IOException.class);
+                throw Throwables.propagate(e.getCause());
+            }
+        }
+
+        /**
+         * @param contentLength the length of the request body, or {@code -1} if unknown
+         */
+        private OutputStream open(final int contentLength) {
+            String expanded = repositoryURL.toString() + "/repo/sendobject?internalIp="
+                    + HttpUtils.localHostName();
             try {
                 HttpURLConnection connection = (HttpURLConnection) new URL(expanded)
                         .openConnection();
@@ -356,18 +731,31 @@ class HttpRemoteRepo extends AbstractRemoteRepo {
                 connection.setDoInput(true);
                 connection.setUseCaches(false);
                 connection.setRequestMethod("POST");
-                connection.setChunkedStreamingMode(4096);
-                connection.setRequestProperty("content-length", "-1");
-                connection.setRequestProperty("content-encoding", "gzip");
+                if (contentLength < 0) {
+                    connection.setChunkedStreamingMode(4096);
+                    connection.setRequestProperty("content-length", "-1");
+                } else {
+                    connection.setFixedLengthStreamingMode(contentLength);
+                }
+                if (gzipEncode) {
+                    connection.setRequestProperty("content-encoding", "gzip");
+                }
                 OutputStream out = connection.getOutputStream();
                 final ReportingOutputStream rout = HttpUtils.newReportingOutputStream(connection,
-                        out, true);
+                        out, gzipEncode);
                 return new FilterOutputStream(rout) {
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        super.out.write(b, off, len);
+                    }
+
                     @Override
                     public void close() throws IOException {
                         super.close();
-                        compressedSize += ((ReportingOutputStream) super.out).compressedSize();
-                        uncompressedSize += ((ReportingOutputStream) super.out).unCompressedSize();
+                        compressedSize.addAndGet(((ReportingOutputStream) super.out)
+                                .compressedSize());
+                        uncompressedSize.addAndGet(((ReportingOutputStream) super.out)
+                                .unCompressedSize());
                     }
                 };
             } catch (Exception e) {
@@ -408,7 +796,11 @@ class HttpRemoteRepo extends AbstractRemoteRepo {
      */
     private void fetchMoreData(final List<ObjectId> want, final Set<ObjectId> have,
             final ProgressListener progress) {
+        final boolean pipelined = isPipelinedTransfer();
         final JsonObject message = createFetchMessage(want, have);
+        if (pipelined) {
+            message.addProperty("pipelined", true);
+        }
         final URL resourceURL;
         try {
             resourceURL = new URL(repositoryURL.toString() + "/repo/batchobjects");
@@ -424,7 +816,10 @@ class HttpRemoteRepo extends AbstractRemoteRepo {
             connection = (HttpURLConnection) resourceURL.openConnection();
             connection.setDoOutput(true);
             connection.setDoInput(true);
-            connection.addRequestProperty("Accept-Encoding", "gzip");
+            if (!pipelined) {
+                // pipelined responses are compressed already
+                connection.addRequestProperty("Accept-Encoding", "gzip");
+            }
             out = connection.getOutputStream();
             writer = new OutputStreamWriter(out);
             gson.toJson(message, writer);
@@ -488,7 +883,7 @@ class HttpRemoteRepo extends AbstractRemoteRepo {
      */
     @Override
     public RepositoryWrapper getRemoteWrapper() {
-        return new HttpRepositoryWrapper(repositoryURL);
+        return new HttpRepositoryWrapper(repositoryURL, localRepository);
     }
 
     /**
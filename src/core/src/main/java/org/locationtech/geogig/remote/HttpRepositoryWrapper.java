@@ -10,26 +10,62 @@
 package org.locationtech.geogig.remote;
 
 import java.net.URL;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import javax.annotation.Nullable;
 
 import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevCommit;
+import org.locationtech.geogig.api.RevObject;
+import org.locationtech.geogig.repository.Repository;
+import org.locationtech.geogig.storage.GraphDatabase;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 /**
  * Provides an interface to make basic queries to a remote repository over http.
+ * <p>
+ * Object existence is queried in batches: when asked about an object it doesn't know about yet,
+ * the wrapper also asks about the ancestors of that commit in the local repository, if given one,
+ * which are the ones a commit traversal checks next. The answers are remembered for the lifetime
+ * of the wrapper, which is meant to be used for a single traversal.
  */
 class HttpRepositoryWrapper implements RepositoryWrapper {
 
     private URL repositoryURL;
 
+    @Nullable
+    private final Repository localRepository;
+
+    private final Map<ObjectId, Boolean> existence = new HashMap<ObjectId, Boolean>();
+
     /**
      * Constructs a new {@code HttpRepositoryWrapper} with the provided URL.
      * 
      * @param repositoryURL the URL of the repository
      */
     public HttpRepositoryWrapper(final URL repositoryURL) {
+        this(repositoryURL, null);
+    }
+
+    /**
+     * Constructs a new {@code HttpRepositoryWrapper} with the provided URL.
+     * 
+     * @param repositoryURL the URL of the repository
+     * @param localRepository the repository whose commit graph is used to find out which commits
+     *        to query along with the one asked for, or {@code null} to query one at a time
+     */
+    public HttpRepositoryWrapper(final URL repositoryURL, @Nullable Repository localRepository) {
         this.repositoryURL = repositoryURL;
+        this.localRepository = localRepository;
     }
 
     /**
@@ -40,7 +76,51 @@ class HttpRepositoryWrapper implements RepositoryWrapper {
      */
     @Override
     public boolean objectExists(ObjectId objectId) {
-        return objectId.isNull() || HttpUtils.networkObjectExists(repositoryURL, objectId);
+        if (objectId.isNull()) {
+            return true;
+        }
+        Boolean exists = existence.get(objectId);
+        if (exists == null) {
+            List<ObjectId> batch = candidates(objectId);
+            Set<ObjectId> found = HttpUtils.networkObjectsExist(repositoryURL, batch);
+            for (ObjectId id : batch) {
+                existence.put(id, Boolean.valueOf(found.contains(id)));
+            }
+            exists = existence.get(objectId);
+        }
+        return exists.booleanValue();
+    }
+
+    /**
+     * @return the given commit followed by up to {@link HttpUtils#BATCH_SIZE} - 1 of its local
+     *         ancestors not queried yet, breadth first; just the given commit if the server
+     *         would be queried one object at a time anyway
+     */
+    private List<ObjectId> candidates(ObjectId commitId) {
+        List<ObjectId> batch = Lists.newArrayList(commitId);
+        if (localRepository == null || !HttpUtils.supportsBatchRequests(repositoryURL)) {
+            return batch;
+        }
+        final GraphDatabase graph = localRepository.graphDatabase();
+        Set<ObjectId> seen = Sets.newHashSet(commitId);
+        Queue<ObjectId> queue = new LinkedList<ObjectId>(batch);
+        while (!queue.isEmpty() && batch.size() < HttpUtils.BATCH_SIZE) {
+            ObjectId next = queue.remove();
+            List<ObjectId> parents;
+            try {
+                parents = graph.getParents(next);
+            } catch (IllegalArgumentException notInLocalGraph) {
+                continue;
+            }
+            for (ObjectId parent : parents) {
+                if (batch.size() < HttpUtils.BATCH_SIZE && seen.add(parent)
+                        && !existence.containsKey(parent)) {
+                    batch.add(parent);
+                    queue.add(parent);
+                }
+            }
+        }
+        return batch;
     }
 
     /**
@@ -67,6 +147,21 @@ class HttpRepositoryWrapper implements RepositoryWrapper {
         return depth.or(0);
     }
 
+    /**
+     * Gets the committer timestamp of the given commit.
+     * 
+     * @param commitId the commit id
+     * @return the commit timestamp, or {@link Optional#absent()} if the commit was not found
+     */
+    @Override
+    public Optional<Long> getCommitTime(ObjectId commitId) {
+        Optional<RevObject> commit = HttpUtils.getNetworkObject(repositoryURL, null, commitId);
+        if (!commit.isPresent() || !(commit.get() instanceof RevCommit)) {
+            return Optional.absent();
+        }
+        return Optional.of(((RevCommit) commit.get()).getCommitter().getTimestamp());
+    }
+
     /**
      * Gets the depth of the repository.
      * 
@@ -10,15 +10,27 @@
 package org.locationtech.geogig.remote;
 
 import java.io.BufferedReader;
+import java.io.DataInputStream;
 import java.io.FilterInputStream;
 import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.URL;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
@@ -37,22 +49,75 @@ import org.locationtech.geogig.storage.datastream.DataStreamSerializationFactory
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Charsets;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.common.io.Closeables;
 import com.google.common.io.CountingInputStream;
 import com.google.common.io.CountingOutputStream;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Utility functions for performing common communications and operations with http remotes.
+ * <p>
+ * Connections are left to the JVM's keep-alive cache once their responses have been fully
+ * consumed (see {@link #consumeErrStreamAndCloseConnection}), so consecutive requests to the same
+ * remote reuse the same sockets instead of paying a new TCP (and TLS) handshake each. The number
+ * of idle connections kept per remote is controlled by the standard {@code http.maxConnections}
+ * system property.
+ * <p>
+ * Lookups of many objects should use the batched {@link #networkObjectsExist} and
+ * {@link #getNetworkObjects} methods, which send up to {@value #BATCH_SIZE} ids per request and
+ * run at most {@value #MAX_CONCURRENT_REQUESTS} requests at a time. Servers that predate the
+ * batched endpoints answer them with a 404 or 405 status, in which case these methods fall back to
+ * one request per object for that server from then on.
  */
 class HttpUtils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpUtils.class);
 
+    /**
+     * Maximum number of object ids sent in a single batched request
+     */
+    static final int BATCH_SIZE = 1000;
+
+    /**
+     * Maximum number of batched requests run concurrently
+     */
+    static final int MAX_CONCURRENT_REQUESTS = 4;
+
+    private static final ExecutorService BATCH_EXECUTOR = Executors.newFixedThreadPool(
+            MAX_CONCURRENT_REQUESTS,
+            new ThreadFactoryBuilder().setNameFormat("geogig-http-batch-%d").setDaemon(true)
+                    .build());
+
+    /**
+     * Repository URLs whose servers don't support the batched {@code POST} requests
+     */
+    private static final Set<String> UNBATCHED_REPOSITORIES = Sets.newConcurrentHashSet();
+
+    private static final Supplier<String> HOST_NAME = Suppliers.memoize(new Supplier<String>() {
+        @Override
+        public String get() {
+            try {
+                return InetAddress.getLocalHost().getHostName();
+            } catch (UnknownHostException e) {
+                throw Throwables.propagate(e);
+            }
+        }
+    });
+
     /**
      * Parse the provided ref string to a {@link Ref}. The input string should be in the following
      * format:
@@ -86,8 +151,19 @@ class HttpUtils {
         return ref;
     }
 
+    /**
+     * @return the name of the local host, sent to remotes as {@code internalIp} to tell apart
+     *         pushes from different machines behind the same external address
+     */
+    static String localHostName() {
+        return HOST_NAME.get();
+    }
+
     /**
      * Consumes the error stream of the provided connection and then closes it.
+     * <p>
+     * The underlying socket is not closed but returned to the JVM's keep-alive cache, provided the
+     * response body was fully consumed, so that following requests to the same host can reuse it.
      * 
      * @param connection the connection to close
      */
@@ -99,9 +175,9 @@ class HttpUtils {
             InputStream es = ((HttpURLConnection) connection).getErrorStream();
             consumeAndCloseStream(es);
         } catch (IOException ex) {
-            throw Throwables.propagate(ex);
-        } finally {
+            // the connection can't be reused, make sure its socket is released
             connection.disconnect();
+            throw Throwables.propagate(ex);
         }
     }
 
@@ -195,7 +271,7 @@ class HttpUtils {
         HttpURLConnection connection = null;
         boolean exists = false;
         try {
-            String internalIp = InetAddress.getLocalHost().getHostName();
+            String internalIp = HOST_NAME.get();
             String expanded = repositoryURL.toString() + "/repo/exists?oid=" + objectId.toString()
                     + "&internalIp=" + internalIp;
 
@@ -465,7 +541,7 @@ class HttpUtils {
     public static void beginPush(URL repositoryURL) {
         HttpURLConnection connection = null;
         try {
-            String internalIp = InetAddress.getLocalHost().getHostName();
+            String internalIp = HOST_NAME.get();
             String expanded = repositoryURL.toString() + "/repo/beginpush?internalIp=" + internalIp;
 
             connection = connect(expanded);
@@ -479,6 +555,199 @@ class HttpUtils {
         }
     }
 
+    /**
+     * Determines which of the given objects exist in the remote repository, querying them in
+     * batches instead of one request per object.
+     * 
+     * @param repositoryURL the URL of the repository
+     * @param objectIds the ids to check for
+     * @return the subset of {@code objectIds} that exist in the remote repository
+     */
+    public static ImmutableSet<ObjectId> networkObjectsExist(final URL repositoryURL,
+            Iterable<ObjectId> objectIds) {
+
+        final String url = repositoryURL.toString() + "/repo/exists";
+        List<Future<List<ObjectId>>> results = Lists.newArrayList();
+        for (final List<ObjectId> batch : Iterables.partition(objectIds, BATCH_SIZE)) {
+            results.add(BATCH_EXECUTOR.submit(new Callable<List<ObjectId>>() {
+                @Override
+                public List<ObjectId> call() throws IOException {
+                    List<ObjectId> found = Lists.newArrayListWithCapacity(batch.size());
+                    HttpURLConnection connection = post(repositoryURL, url, batch);
+                    if (connection == null) {
+                        for (ObjectId id : batch) {
+                            if (id.isNull() || networkObjectExists(repositoryURL, id)) {
+                                found.add(id);
+                            }
+                        }
+                        return found;
+                    }
+                    try {
+                        InputStream is = getResponseStream(connection);
+                        try {
+                            BufferedReader rd = new BufferedReader(new InputStreamReader(is,
+                                    Charsets.UTF_8));
+                            for (ObjectId id : batch) {
+                                String line = rd.readLine();
+                                Preconditions.checkState(line != null,
+                                        "%s returned less results than requested", url);
+                                if (id.isNull() || line.startsWith("1")) {
+                                    found.add(id);
+                                }
+                            }
+                        } finally {
+                            consumeAndCloseStream(is);
+                        }
+                    } finally {
+                        consumeErrStreamAndCloseConnection(connection);
+                    }
+                    return found;
+                }
+            }));
+        }
+        ImmutableSet.Builder<ObjectId> builder = ImmutableSet.builder();
+        for (List<ObjectId> found : getAll(results)) {
+            builder.addAll(found);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Retrieves the given objects from the remote repository, in batches instead of one request
+     * per object.
+     * 
+     * @param repositoryURL the URL of the repository
+     * @param objectIds the ids of the objects to retrieve
+     * @return the retrieved objects, keyed by id; objects not found in the remote repository are
+     *         absent from the map
+     */
+    public static ImmutableMap<ObjectId, RevObject> getNetworkObjects(final URL repositoryURL,
+            Iterable<ObjectId> objectIds) {
+
+        final String url = repositoryURL.toString() + "/repo/getobjects";
+        List<Future<List<RevObject>>> results = Lists.newArrayList();
+        for (final List<ObjectId> batch : Iterables.partition(objectIds, BATCH_SIZE)) {
+            results.add(BATCH_EXECUTOR.submit(new Callable<List<RevObject>>() {
+                @Override
+                public List<RevObject> call() throws IOException {
+                    List<RevObject> objects = Lists.newArrayListWithCapacity(batch.size());
+                    HttpURLConnection connection = post(repositoryURL, url, batch);
+                    if (connection == null) {
+                        for (ObjectId id : batch) {
+                            objects.addAll(getNetworkObject(repositoryURL, null, id).asSet());
+                        }
+                        return objects;
+                    }
+                    try {
+                        InputStream is = getResponseStream(connection);
+                        try {
+                            ObjectReader<RevObject> reader;
+                            reader = DataStreamSerializationFactoryV1.INSTANCE.createObjectReader();
+                            DataInputStream in = new DataInputStream(is);
+                            byte[] rawId = new byte[ObjectId.NUM_BYTES];
+                            while (readId(in, rawId)) {
+                                ObjectId id = ObjectId.createNoClone(rawId.clone());
+                                objects.add(reader.read(id, in));
+                            }
+                        } finally {
+                            consumeAndCloseStream(is);
+                        }
+                    } finally {
+                        consumeErrStreamAndCloseConnection(connection);
+                    }
+                    return objects;
+                }
+            }));
+        }
+        Map<ObjectId, RevObject> objects = Maps.newHashMap();
+        for (List<RevObject> batch : getAll(results)) {
+            for (RevObject object : batch) {
+                objects.put(object.getId(), object);
+            }
+        }
+        return ImmutableMap.copyOf(objects);
+    }
+
+    /**
+     * @return {@code false} if the stream ended before the first byte of the id
+     */
+    private static boolean readId(DataInputStream in, byte[] rawId) throws IOException {
+        int first = in.read();
+        if (first == -1) {
+            return false;
+        }
+        rawId[0] = (byte) first;
+        in.readFully(rawId, 1, rawId.length - 1);
+        return true;
+    }
+
+    private static <T> List<T> getAll(List<Future<T>> futures) {
+        List<T> results = Lists.newArrayListWithCapacity(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Throwables.propagate(e);
+        } catch (ExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return whether the server of the given repository is known to support the batched
+     *         {@link #networkObjectsExist} and {@link #getNetworkObjects} requests; it is assumed
+     *         to until one of them was rejected
+     */
+    public static boolean supportsBatchRequests(URL repositoryURL) {
+        return !UNBATCHED_REPOSITORIES.contains(repositoryURL.toString());
+    }
+
+    /**
+     * Posts the given ids to the given URL, one per line
+     * 
+     * @return the connection, or {@code null} if the server of the repository doesn't support
+     *         batched requests
+     */
+    @Nullable
+    private static HttpURLConnection post(URL repositoryURL, String url, List<ObjectId> ids)
+            throws IOException {
+        if (!supportsBatchRequests(repositoryURL)) {
+            return null;
+        }
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setUseCaches(false);
+        connection.setRequestProperty("Content-Type", "text/plain; charset=UTF-8");
+        LOGGER.debug("Posting {} ids to '{}'...", ids.size(), url);
+        Writer writer = new OutputStreamWriter(connection.getOutputStream(), Charsets.UTF_8);
+        try {
+            for (ObjectId id : ids) {
+                writer.write(id.toString());
+                writer.write('\n');
+            }
+        } finally {
+            writer.close();
+        }
+        final int responseCode = connection.getResponseCode();
+        if (responseCode == HttpURLConnection.HTTP_NOT_FOUND
+                || responseCode == HttpURLConnection.HTTP_BAD_METHOD) {
+            LOGGER.info("{} doesn't support batched requests ({}), querying objects one by one",
+                    repositoryURL, responseCode);
+            consumeErrStreamAndCloseConnection(connection);
+            UNBATCHED_REPOSITORIES.add(repositoryURL.toString());
+            return null;
+        }
+        return connection;
+    }
+
     /**
      * Connects to the given URL using HTTP GET method
      */
@@ -508,7 +777,7 @@ class HttpUtils {
             String originalRefValue) {
         HttpURLConnection connection = null;
         try {
-            String internalIp = InetAddress.getLocalHost().getHostName();
+            String internalIp = HOST_NAME.get();
             String expanded = repositoryURL.toString() + "/repo/endpush?refspec=" + refspec
                     + "&objectId=" + newCommitId.toString() + "&internalIp=" + internalIp
                     + "&originalRefValue=" + originalRefValue;
@@ -63,9 +63,12 @@ public interface IRemoteRepo {
      * @param ref the remote ref that points to new commit data
      * @param newRef
      * @param fetchLimit the maximum depth to fetch
+     * @param shallowSince the timestamp of the oldest commits to fetch, only used by shallow
+     *        clones
      * @param subProgress
      */
-    public void fetchNewData(Ref newRef, Optional<Integer> fetchLimit, ProgressListener progress);
+    public void fetchNewData(Ref newRef, Optional<Integer> fetchLimit,
+            Optional<Long> shallowSince, ProgressListener progress);
 
     /**
      * Push all new objects from the specified {@link Ref} by invoking {@link ReceivePack} in the
@@ -144,8 +144,7 @@ public class LocalMappedRemoteRepo extends AbstractMappedRemoteRepo {
             Ref newRef = remoteRef;
             if (!(newRef instanceof SymRef)
                     && localRepository.graphDatabase().exists(remoteRef.getObjectId())) {
-                ObjectId mappedCommit = localRepository.graphDatabase().getMapping(
-                        remoteRef.getObjectId());
+                ObjectId mappedCommit = mappings().getMapping(remoteRef.getObjectId());
                 if (mappedCommit != null) {
                     newRef = new Ref(remoteRef.getName(), mappedCommit);
                 }
@@ -234,15 +233,15 @@ public class LocalMappedRemoteRepo extends AbstractMappedRemoteRepo {
                             // This should be the base commit to preserve the sparse changes that
                             // were filtered
                             // out.
-                            newParents.add(0, from.graphDatabase().getMapping(parentId));
+                            newParents.add(0, mappings().getMapping(parentId));
                             continue;
                         }
                     }
                 }
-                newParents.add(from.graphDatabase().getMapping(parentId));
+                newParents.add(mappings().getMapping(parentId));
             }
             if (newParents.size() > 0) {
-                parent = from.graphDatabase().getMapping(newParents.get(0));
+                parent = mappings().getMapping(newParents.get(0));
             }
             Iterator<DiffEntry> diffIter = from.command(DiffOp.class).setNewVersion(commitId)
                     .setOldVersion(parent).setReportTrees(true).call();
@@ -273,8 +272,8 @@ public class LocalMappedRemoteRepo extends AbstractMappedRemoteRepo {
             RevCommit mapped = builder.build();
             to.objectDatabase().put(mapped);
 
-            from.graphDatabase().map(commit.getId(), mapped.getId());
-            from.graphDatabase().map(mapped.getId(), commit.getId());
+            mappings().map(commit.getId(), mapped.getId());
+            mappings().map(mapped.getId(), commit.getId());
 
         }
     }
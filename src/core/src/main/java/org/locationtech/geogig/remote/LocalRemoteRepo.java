@@ -44,8 +44,10 @@ import org.locationtech.geogig.api.plumbing.diff.PostOrderDiffWalk;
 import org.locationtech.geogig.api.plumbing.diff.PostOrderDiffWalk.Consumer;
 import org.locationtech.geogig.api.porcelain.SynchronizationException;
 import org.locationtech.geogig.repository.Repository;
+import org.locationtech.geogig.storage.AbstractObjectDatabase;
 import org.locationtech.geogig.storage.BulkOpListener;
 import org.locationtech.geogig.storage.BulkOpListener.CountingListener;
+import org.locationtech.geogig.storage.ForwardingObjectDatabase;
 import org.locationtech.geogig.storage.ObjectDatabase;
 
 import com.google.common.base.Optional;
@@ -164,11 +166,13 @@ class LocalRemoteRepo extends AbstractRemoteRepo {
      * 
      * @param ref the remote ref that points to new commit data
      * @param fetchLimit the maximum depth to fetch
+     * @param shallowSince the timestamp of the oldest commits to fetch
      */
     @Override
-    public void fetchNewData(Ref ref, Optional<Integer> fetchLimit, ProgressListener progress) {
+    public void fetchNewData(Ref ref, Optional<Integer> fetchLimit, Optional<Long> shallowSince,
+            ProgressListener progress) {
 
-        CommitTraverser traverser = getFetchTraverser(fetchLimit);
+        CommitTraverser traverser = getFetchTraverser(fetchLimit, shallowSince);
 
         try {
             progress.setDescription("Fetching objects from " + ref.getName());
@@ -396,11 +400,32 @@ class LocalRemoteRepo extends AbstractRemoteRepo {
             return;
         }
         CountingListener countingListener = BulkOpListener.newCountingListener();
-        to.putAll(from.getAll(ids), countingListener);
+        if (!copyRaw(ids, from, to, countingListener)) {
+            to.putAll(from.getAll(ids), countingListener);
+        }
         int inserted = countingListener.inserted();
         progress.setProgress(progress.getProgress() + inserted);
     }
 
+    /**
+     * Copies the objects without decoding and encoding them back when both databases use the
+     * same storage backend and serialization format, which makes cloning a large repository in
+     * the same machine bound by I/O rather than by serialization. Only trees, features, and
+     * feature types are copied through here; commits and tags still go through
+     * {@link ObjectDatabase#put} so that the target's graph database gets updated.
+     * 
+     * @return {@code false} if the objects can't be copied raw, and hence weren't copied
+     */
+    private boolean copyRaw(Set<ObjectId> ids, ObjectDatabase from, ObjectDatabase to,
+            BulkOpListener listener) {
+        ObjectDatabase fromDb = ForwardingObjectDatabase.unwrap(from);
+        ObjectDatabase toDb = ForwardingObjectDatabase.unwrap(to);
+        if (fromDb instanceof AbstractObjectDatabase) {
+            return ((AbstractObjectDatabase) fromDb).copyRawTo(ids, toDb, listener);
+        }
+        return false;
+    }
+
     /**
      * @return the {@link RepositoryWrapper} for this remote
      */
@@ -10,6 +10,7 @@
 package org.locationtech.geogig.remote;
 
 import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevCommit;
 import org.locationtech.geogig.repository.Repository;
 
 import com.google.common.base.Optional;
@@ -64,6 +65,22 @@ class LocalRepositoryWrapper implements RepositoryWrapper {
         return localRepository.graphDatabase().getDepth(commitId);
     }
 
+    /**
+     * Gets the committer timestamp of the given commit.
+     * 
+     * @param commitId the commit id
+     * @return the commit timestamp, or {@link Optional#absent()} if the commit was not found
+     */
+    @Override
+    public Optional<Long> getCommitTime(ObjectId commitId) {
+        RevCommit commit = localRepository.objectDatabase().getIfPresent(commitId,
+                RevCommit.class);
+        if (commit == null) {
+            return Optional.absent();
+        }
+        return Optional.of(commit.getCommitter().getTimestamp());
+    }
+
     /**
      * Gets the depth of the repository.
      * 
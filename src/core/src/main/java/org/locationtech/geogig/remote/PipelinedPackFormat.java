@@ -0,0 +1,424 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevObject;
+import org.locationtech.geogig.storage.ObjectReader;
+import org.locationtech.geogig.storage.ObjectSerializingFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Supplier;
+import com.google.common.base.Throwables;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.io.CountingOutputStream;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Framed object stream format that lets both ends of a transfer spread the serialization and
+ * compression work over several threads.
+ * <p>
+ * A stream starts with the {@link #MAGIC} header, followed by any number of frames, and ends with
+ * an empty frame. Each frame is made of the number of objects it holds and the length of its
+ * payload, both as big endian ints, followed by the payload itself: the deflated sequence of
+ * {@code <raw object id><serialized object>} pairs, as written by the non pipelined format.
+ * <p>
+ * Frames are independent from each other, so the sender serializes and compresses them on worker
+ * threads while previous ones are being written out, and the receiver inflates and parses them on
+ * worker threads while previous ones are being inserted in the object database. Frames are always
+ * written and consumed in the order the objects were given to the sender.
+ * <p>
+ * The header can't be mistaken for the start of a non pipelined stream but with a negligible
+ * probability, so receivers {@link #isPipelined(PushbackInputStream) detect} the format on their
+ * own.
+ */
+public final class PipelinedPackFormat {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PipelinedPackFormat.class);
+
+    /**
+     * Header pipelined streams start with
+     */
+    public static final byte[] MAGIC = "GGPIPE\0\1".getBytes(Charsets.US_ASCII);
+
+    /**
+     * Number of objects per frame
+     */
+    public static final int DEFAULT_FRAME_SIZE = 1000;
+
+    /**
+     * Maximum number of objects a received frame may hold
+     */
+    static final int MAX_FRAME_OBJECTS = 100 * DEFAULT_FRAME_SIZE;
+
+    /**
+     * Maximum payload length of a received frame, checked before allocating it
+     */
+    static final int MAX_FRAME_LENGTH = 256 * 1024 * 1024;
+
+    /**
+     * Number of worker threads each end uses by default
+     */
+    public static final int DEFAULT_WORKERS = Math.max(1,
+            Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    private PipelinedPackFormat() {
+    }
+
+    /**
+     * Reads the format header of {@code in}, if there's one, pushing back whatever was read
+     * otherwise.
+     *
+     * @param in a stream able to push back at least {@code MAGIC.length} bytes
+     * @return {@code true} if the stream is a pipelined one, in which case the header has been
+     *         consumed
+     */
+    public static boolean isPipelined(PushbackInputStream in) throws IOException {
+        byte[] header = new byte[MAGIC.length];
+        int read = 0;
+        int n;
+        while (read < header.length && (n = in.read(header, read, header.length - read)) != -1) {
+            read += n;
+        }
+        if (read == header.length && Arrays.equals(MAGIC, header)) {
+            return true;
+        }
+        in.unread(header, 0, read);
+        return false;
+    }
+
+    /**
+     * Creates a funnel that writes pipelined streams to the outputs provided by
+     * {@code outputFactory}, starting a new stream once the current one reaches
+     * {@code byteSoftLimit} bytes.
+     */
+    public static ObjectFunnel newFunnel(Supplier<OutputStream> outputFactory,
+            ObjectSerializingFactory serializer, int byteSoftLimit, int numWorkers) {
+        return new PipelinedFunnel(outputFactory, serializer, byteSoftLimit, numWorkers);
+    }
+
+    /**
+     * Creates an iterator over the objects of a pipelined stream whose header has already been
+     * consumed. The iterator must be {@link Closeable#close() closed} to release its threads,
+     * whether it was fully consumed or not.
+     */
+    public static ObjectStream newReader(InputStream in, ObjectSerializingFactory serializer,
+            int numWorkers) {
+        return new ObjectStream(in, serializer, numWorkers);
+    }
+
+    private static byte[] encode(List<RevObject> objects, ObjectSerializingFactory serializer)
+            throws IOException {
+        ByteArrayOutputStream buff = new ByteArrayOutputStream(64 * objects.size());
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            DeflaterOutputStream out = new DeflaterOutputStream(buff, deflater, 8192);
+            for (RevObject object : objects) {
+                out.write(object.getId().getRawValue());
+                serializer.createObjectWriter(object.getType()).write(object, out);
+            }
+            out.finish();
+        } finally {
+            deflater.end();
+        }
+        return buff.toByteArray();
+    }
+
+    private static List<RevObject> decode(final int count, byte[] payload,
+            ObjectReader<RevObject> reader) throws IOException {
+        List<RevObject> objects = new ArrayList<RevObject>(count);
+        DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(
+                payload)));
+        try {
+            byte[] rawId = new byte[ObjectId.NUM_BYTES];
+            for (int i = 0; i < count; i++) {
+                in.readFully(rawId);
+                ObjectId id = ObjectId.createNoClone(rawId.clone());
+                objects.add(reader.read(id, in));
+            }
+        } finally {
+            in.close();
+        }
+        return objects;
+    }
+
+    private static ExecutorService newExecutor(String nameFormat, int numThreads) {
+        return Executors.newFixedThreadPool(numThreads, new ThreadFactoryBuilder()
+                .setNameFormat(nameFormat).setDaemon(true).build());
+    }
+
+    private static <T> T get(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a frame", e);
+        } catch (ExecutionException e) {
+            Throwables.propagateIfInstanceOf(e.getCause(), IOException.class);
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    private static class Frame {
+
+        final int count;
+
+        final byte[] payload;
+
+        Frame(int count, byte[] payload) {
+            this.count = count;
+            this.payload = payload;
+        }
+    }
+
+    private static class PipelinedFunnel implements ObjectFunnel {
+
+        private Supplier<OutputStream> outputFactory;
+
+        private final ObjectSerializingFactory serializer;
+
+        private final int byteSoftLimit;
+
+        private final int maxPending;
+
+        private final ExecutorService executor;
+
+        private final Queue<Future<Frame>> pending = new LinkedList<Future<Frame>>();
+
+        private List<RevObject> batch = new ArrayList<RevObject>(DEFAULT_FRAME_SIZE);
+
+        private CountingOutputStream currentTarget;
+
+        PipelinedFunnel(Supplier<OutputStream> outputFactory,
+                ObjectSerializingFactory serializer, int byteSoftLimit, int numWorkers) {
+            this.outputFactory = outputFactory;
+            this.serializer = serializer;
+            this.byteSoftLimit = byteSoftLimit;
+            this.maxPending = 2 * numWorkers;
+            this.executor = newExecutor("geogig-pack-writer-%d", numWorkers);
+        }
+
+        @Override
+        public void funnel(RevObject object) throws IOException {
+            batch.add(object);
+            if (batch.size() == DEFAULT_FRAME_SIZE) {
+                submit();
+            }
+        }
+
+        private void submit() throws IOException {
+            final List<RevObject> objects = batch;
+            batch = new ArrayList<RevObject>(DEFAULT_FRAME_SIZE);
+            pending.add(executor.submit(new Callable<Frame>() {
+                @Override
+                public Frame call() throws IOException {
+                    return new Frame(objects.size(), encode(objects, serializer));
+                }
+            }));
+            while (pending.size() >= maxPending) {
+                writeFrame(get(pending.remove()));
+            }
+        }
+
+        private void writeFrame(Frame frame) throws IOException {
+            DataOutputStream out = new DataOutputStream(getCurrentTarget());
+            out.writeInt(frame.count);
+            out.writeInt(frame.payload.length);
+            out.write(frame.payload);
+            out.flush();
+        }
+
+        private OutputStream getCurrentTarget() throws IOException {
+            if (currentTarget != null && currentTarget.getCount() >= byteSoftLimit) {
+                LOGGER.info(String.format(
+                        "Closing stream and opening a new one, reached %,d bytes.",
+                        currentTarget.getCount()));
+                endStream();
+            }
+            if (currentTarget == null) {
+                currentTarget = new CountingOutputStream(outputFactory.get());
+                currentTarget.write(MAGIC);
+            }
+            return currentTarget;
+        }
+
+        private void endStream() throws IOException {
+            CountingOutputStream target = this.currentTarget;
+            this.currentTarget = null;
+            DataOutputStream out = new DataOutputStream(target);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.close();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (outputFactory == null) {
+                return;
+            }
+            try {
+                if (!batch.isEmpty()) {
+                    submit();
+                }
+                while (!pending.isEmpty()) {
+                    writeFrame(get(pending.remove()));
+                }
+                if (currentTarget == null) {
+                    getCurrentTarget();
+                }
+                endStream();
+            } finally {
+                executor.shutdownNow();
+                outputFactory = null;
+            }
+        }
+    }
+
+    /**
+     * Iterator over the objects of a pipelined stream.
+     * <p>
+     * Frames are read from the stream by a dedicated thread and handed over to a pool of workers
+     * to be decoded, so that the thread consuming this iterator (usually inserting the objects in
+     * an object database) only waits for the network when the workers are ahead of it.
+     */
+    public static class ObjectStream extends AbstractIterator<RevObject> implements Closeable {
+
+        private static final Future<List<RevObject>> END = Futures
+                .immediateFuture((List<RevObject>) null);
+
+        private final ExecutorService reader;
+
+        private final ExecutorService decoders;
+
+        private final BlockingQueue<Future<List<RevObject>>> frames;
+
+        private List<RevObject> current = new ArrayList<RevObject>(0);
+
+        private int index;
+
+        ObjectStream(final InputStream in, final ObjectSerializingFactory serializer,
+                final int numWorkers) {
+            this.frames = new ArrayBlockingQueue<Future<List<RevObject>>>(2 * numWorkers);
+            this.decoders = newExecutor("geogig-pack-reader-%d", numWorkers);
+            this.reader = newExecutor("geogig-pack-frame-reader-%d", 1);
+            this.reader.submit(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    readFrames(in, serializer);
+                    return null;
+                }
+            });
+        }
+
+        /**
+         * Reads frames until the end frame and hands them over to the decoders, always queuing a
+         * terminal frame, either the end marker or the failure that stopped the reading, so that
+         * the consumer never waits forever.
+         */
+        private void readFrames(InputStream in, final ObjectSerializingFactory serializer) {
+            DataInputStream data = new DataInputStream(in);
+            Future<List<RevObject>> last;
+            try {
+                while (true) {
+                    final int count = data.readInt();
+                    final int length = data.readInt();
+                    if (count == 0 && length == 0) {
+                        break;
+                    }
+                    if (count <= 0 || count > MAX_FRAME_OBJECTS || length <= 0
+                            || length > MAX_FRAME_LENGTH) {
+                        throw new IOException(String.format(
+                                "Invalid frame of %,d objects and %,d bytes", count, length));
+                    }
+                    final byte[] payload = new byte[length];
+                    data.readFully(payload);
+                    frames.put(decoders.submit(new Callable<List<RevObject>>() {
+                        @Override
+                        public List<RevObject> call() throws IOException {
+                            return decode(count, payload, serializer.createObjectReader());
+                        }
+                    }));
+                }
+                last = END;
+            } catch (EOFException e) {
+                last = Futures.immediateFailedFuture(new EOFException(
+                        "Stream ended before its end frame"));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                last = Futures.immediateFailedFuture(e);
+            } catch (Throwable e) {
+                last = Futures.immediateFailedFuture(e);
+            }
+            try {
+                frames.put(last);
+            } catch (InterruptedException e) {
+                // the stream is being closed and nobody may be taking frames, make room anyway
+                frames.clear();
+                frames.offer(last);
+            }
+        }
+
+        @Override
+        protected RevObject computeNext() {
+            while (index == current.size()) {
+                List<RevObject> next;
+                try {
+                    next = get(frames.take());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw Throwables.propagate(e);
+                } catch (IOException e) {
+                    throw Throwables.propagate(e);
+                }
+                if (next == null) {
+                    return endOfData();
+                }
+                current = next;
+                index = 0;
+            }
+            return current.get(index++);
+        }
+
+        @Override
+        public void close() {
+            reader.shutdownNow();
+            decoders.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.remote;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import org.locationtech.geogig.api.Ref;
+import org.locationtech.geogig.api.Remote;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Watches the refs of a remote repository served by the web API through its long polling
+ * {@code refchanges} endpoint, notifying a {@link Listener} each time they change, so that
+ * replication jobs can fetch as soon as there are new commits instead of repeatedly listing the
+ * remote refs.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * <code>
+ * RefChangeWatcher watcher = RefChangeWatcher.forRemote(remote, new RefChangeWatcher.Listener() {
+ *     public void refsChanged(ImmutableSet&lt;Ref&gt; refs) {
+ *         geogig.command(FetchOp.class).addRemote(remote.getName()).call();
+ *     }
+ * });
+ * watcher.start();
+ * ...
+ * watcher.close();
+ * </code>
+ * </pre>
+ *
+ * The listener is called from the watcher's own thread, one change at a time. Connection errors
+ * are logged and the watch is resumed after a delay.
+ */
+public class RefChangeWatcher implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefChangeWatcher.class);
+
+    /**
+     * Notified of the changes to the remote refs
+     */
+    public static interface Listener {
+
+        /**
+         * @param refs the HEAD, branches, and tags of the remote after the change
+         */
+        public void refsChanged(ImmutableSet<Ref> refs);
+    }
+
+    static final int DEFAULT_POLL_TIMEOUT_SECONDS = 30;
+
+    private static final long RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private final URL repositoryURL;
+
+    private final Listener listener;
+
+    private final int pollTimeoutSeconds;
+
+    private volatile boolean closed;
+
+    @Nullable
+    private volatile HttpURLConnection connection;
+
+    private Thread thread;
+
+    /**
+     * @param repositoryURL the URL of the remote repository
+     * @param listener notified of the ref changes
+     */
+    public RefChangeWatcher(URL repositoryURL, Listener listener) {
+        this(repositoryURL, listener, DEFAULT_POLL_TIMEOUT_SECONDS);
+    }
+
+    /**
+     * Creates a watcher for the refs of a configured remote, for instance to run a
+     * {@link org.locationtech.geogig.api.porcelain.FetchOp FetchOp} or
+     * {@link org.locationtech.geogig.api.porcelain.PullOp PullOp} each time they change.
+     * 
+     * @param remote an http remote served by the web API
+     * @param listener notified of the ref changes
+     * @return the watcher, not started yet
+     * @throws IllegalArgumentException if the remote is not an http remote
+     */
+    public static RefChangeWatcher forRemote(Remote remote, Listener listener) {
+        checkNotNull(remote);
+        final URL fetchURL;
+        try {
+            fetchURL = new URL(remote.getFetchURL());
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid fetch URL for remote " + remote.getName(),
+                    e);
+        }
+        String protocol = fetchURL.getProtocol();
+        checkArgument("http".equals(protocol) || "https".equals(protocol),
+                "Only the refs of http remotes can be watched: %s", remote.getFetchURL());
+        return new RefChangeWatcher(fetchURL, listener);
+    }
+
+    RefChangeWatcher(URL repositoryURL, Listener listener, int pollTimeoutSeconds) {
+        checkNotNull(repositoryURL);
+        checkNotNull(listener);
+        String url = repositoryURL.toString();
+        try {
+            this.repositoryURL = url.endsWith("/") ? new URL(url.substring(0, url.length() - 1))
+                    : repositoryURL;
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+        this.listener = listener;
+        this.pollTimeoutSeconds = pollTimeoutSeconds;
+    }
+
+    /**
+     * Starts watching the remote refs. The current refs are taken as the starting point, so the
+     * listener is only notified of the changes that happen afterwards.
+     */
+    public synchronized void start() {
+        checkState(thread == null, "already started");
+        checkState(!closed, "closed");
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                watch();
+            }
+        }, "geogig-ref-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching the remote refs
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        HttpURLConnection current = connection;
+        if (current != null) {
+            current.disconnect();
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void watch() {
+        String version = null;
+        while (!closed) {
+            try {
+                RefState state = poll(version);
+                if (state.refs != null && version != null) {
+                    notifyListener(state.refs);
+                }
+                version = state.version;
+            } catch (IOException | RuntimeException e) {
+                if (closed) {
+                    break;
+                }
+                LOGGER.warn("Error watching refs of {}, retrying in {}ms", repositoryURL,
+                        RETRY_DELAY_MILLIS, e);
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private void notifyListener(ImmutableSet<Ref> refs) {
+        try {
+            listener.refsChanged(refs);
+        } catch (RuntimeException e) {
+            LOGGER.error("Error notifying ref changes of " + repositoryURL, e);
+        }
+    }
+
+    private static class RefState {
+
+        final String version;
+
+        @Nullable
+        final ImmutableSet<Ref> refs;
+
+        RefState(String version, @Nullable ImmutableSet<Ref> refs) {
+            this.version = version;
+            this.refs = refs;
+        }
+    }
+
+    /**
+     * Waits for the remote refs to differ from {@code version}, or for the poll timeout to expire.
+     *
+     * @return the current version of the remote refs, and the refs themselves if they changed
+     */
+    private RefState poll(@Nullable String version) throws IOException {
+        StringBuilder url = new StringBuilder(repositoryURL.toString())
+                .append("/repo/refchanges?timeout=").append(pollTimeoutSeconds);
+        if (version != null) {
+            url.append("&version=").append(URLEncoder.encode(version, "UTF-8"));
+        }
+        HttpURLConnection connection = (HttpURLConnection) new URL(url.toString())
+                .openConnection();
+        connection.setRequestMethod("GET");
+        connection.setUseCaches(false);
+        // leave the server some room to answer once the poll timeout expires
+        connection.setReadTimeout((int) TimeUnit.SECONDS.toMillis(2 * pollTimeoutSeconds));
+        this.connection = connection;
+        try {
+            InputStream in = HttpUtils.getResponseStream(connection);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, Charsets.UTF_8));
+            try {
+                String line = reader.readLine();
+                if (line == null || !line.startsWith("version ")) {
+                    throw new IOException("Unexpected response from " + url + ": " + line);
+                }
+                final String newVersion = line.substring("version ".length());
+                if (newVersion.equals(version)) {
+                    return new RefState(newVersion, null);
+                }
+                ImmutableSet.Builder<Ref> refs = ImmutableSet.builder();
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        refs.add(HttpUtils.parseRef(line));
+                    }
+                }
+                return new RefState(newVersion, refs.build());
+            } finally {
+                reader.close();
+            }
+        } finally {
+            this.connection = null;
+            HttpUtils.consumeErrStreamAndCloseConnection(connection);
+        }
+    }
+}
@@ -43,6 +43,14 @@ interface RepositoryWrapper {
      */
     public int getDepth(ObjectId commitId);
 
+    /**
+     * Gets the committer timestamp of the given commit.
+     * 
+     * @param commitId the commit id
+     * @return the commit timestamp, or {@link Optional#absent()} if the commit was not found
+     */
+    public Optional<Long> getCommitTime(ObjectId commitId);
+
     /**
      * Gets the depth of the repository.
      * 
@@ -446,6 +446,29 @@ public class WorkingTree {
 
         final NodeRef treeRef = findOrCreateTypeTree(treePath, source);
 
+        RevTree newFeatureTree = buildTypeTree(treeRef, source, query, listener);
+
+        ObjectId newTree = context.command(WriteBack.class).setAncestor(getTreeSupplier())
+                .setChildPath(treePath).setMetadataId(treeRef.getMetadataId()).setToIndex(true)
+                .setTree(newFeatureTree).call();
+
+        updateWorkHead(newTree);
+    }
+
+    /**
+     * Builds a new version of the feature type tree {@code treeRef} with the features of
+     * {@code source} added to it, without writing it back to the working tree.
+     * <p>
+     * Since WORK_HEAD is not touched, several type trees can be built concurrently and then
+     * written back at once with {@link #updateTypeTrees(Map)}.
+     * 
+     * @param treeRef the current version of the type tree
+     * @return the new type tree
+     */
+    public RevTree buildTypeTree(final NodeRef treeRef,
+            @SuppressWarnings("rawtypes") final FeatureSource source, final Query query,
+            ProgressListener listener) {
+
         Long collectionSize = null;
         try {
             // try for a fast count
@@ -509,12 +532,29 @@ public class WorkingTree {
         } finally {
             executorService.shutdown();
         }
-        ObjectId newTree = context.command(WriteBack.class).setAncestor(getTreeSupplier())
-                .setChildPath(treePath).setMetadataId(treeRef.getMetadataId()).setToIndex(true)
-                .setTree(newFeatureTree).call();
+        return newFeatureTree;
+    }
 
+    /**
+     * Writes the given feature type trees back to the working tree, updating WORK_HEAD once for
+     * all of them.
+     * 
+     * @param trees the new type trees, keyed by the refs of the type trees they replace
+     */
+    public synchronized void updateTypeTrees(Map<NodeRef, RevTree> trees) {
+        if (trees.isEmpty()) {
+            return;
+        }
+        // all the write backs share the same root builder
+        final Supplier<RevTreeBuilder> root = getTreeSupplier();
+        ObjectId newTree = null;
+        for (Map.Entry<NodeRef, RevTree> e : trees.entrySet()) {
+            NodeRef treeRef = e.getKey();
+            newTree = context.command(WriteBack.class).setAncestor(root)
+                    .setChildPath(treeRef.path()).setMetadataId(treeRef.getMetadataId())
+                    .setToIndex(true).setTree(e.getValue()).call();
+        }
         updateWorkHead(newTree);
-
     }
 
     private NodeRef findOrCreateTypeTree(final String treePath,
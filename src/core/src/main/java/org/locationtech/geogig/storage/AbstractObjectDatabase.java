@@ -259,6 +259,65 @@ public abstract class AbstractObjectDatabase implements ObjectDatabase {
      */
     protected abstract boolean putInternal(ObjectId id, byte[] rawData);
 
+    /**
+     * Copies the given objects to {@code target} as they're stored, without deserializing and
+     * serializing them back, as long as {@code target} is the same kind of database, uses the
+     * same serialization format as this one, and this database {@link #canCopyRawTo can copy}
+     * objects raw to it.
+     * <p>
+     * The copy bypasses any decorator of the target database, so it shall only be used for
+     * objects whose insertion has no side effects other than being stored, like trees, features,
+     * and feature types; not commits, which are also added to the graph database.
+     * 
+     * @param ids the ids of the objects to copy, those that don't exist in this database are
+     *        ignored
+     * @param target the database to copy the objects to
+     * @param listener notified of every object inserted into or already found in {@code target}
+     * @return {@code false} if the objects can't be copied raw to {@code target}, in which case
+     *         nothing was copied and callers should use {@link #putAll} instead
+     */
+    public boolean copyRawTo(final Iterable<ObjectId> ids, final ObjectDatabase target,
+            final BulkOpListener listener) {
+        Preconditions.checkNotNull(ids);
+        Preconditions.checkNotNull(target);
+        Preconditions.checkNotNull(listener);
+        if (!getClass().equals(target.getClass())) {
+            return false;
+        }
+        final AbstractObjectDatabase targetDb = (AbstractObjectDatabase) target;
+        if (!serializationFactory.getClass().equals(targetDb.serializationFactory.getClass())) {
+            return false;
+        }
+        if (!canCopyRawTo(targetDb)) {
+            return false;
+        }
+        for (ObjectId id : ids) {
+            copyRawInternal(id, targetDb, listener);
+        }
+        return true;
+    }
+
+    /**
+     * Whether {@link #copyRawInternal} is faster than a {@link #putAll batched insert} of the
+     * same objects into {@code target}, which is of the same kind as this database.
+     * <p>
+     * Defaults to {@code false}: copying one object at a time would cost most backends a write,
+     * or a transaction, per object, where {@code putAll} writes whole batches at once.
+     */
+    protected boolean canCopyRawTo(AbstractObjectDatabase target) {
+        return false;
+    }
+
+    /**
+     * Copies the stored representation of an object to a database of the same kind. Only called
+     * if {@link #canCopyRawTo} returned {@code true} for {@code target}, so subclasses that
+     * override one shall override the other.
+     */
+    protected void copyRawInternal(final ObjectId id, final AbstractObjectDatabase target,
+            final BulkOpListener listener) {
+        throw new UnsupportedOperationException("Raw copies not supported by " + getClass());
+    }
+
     /**
      * @return a newly constructed {@link ObjectInserter} for this database
      * @see org.locationtech.geogig.storage.ObjectDatabase#newObjectInserter()
@@ -31,6 +31,18 @@ public class ForwardingObjectDatabase implements ObjectDatabase {
         this.subject = odb;
     }
 
+    /**
+     * @return the database at the end of the chain of {@code ForwardingObjectDatabase}
+     *         decorators wrapping {@code odb}, or {@code odb} itself if it isn't decorated
+     */
+    public static ObjectDatabase unwrap(ObjectDatabase odb) {
+        ObjectDatabase unwrapped = odb;
+        while (unwrapped instanceof ForwardingObjectDatabase) {
+            unwrapped = ((ForwardingObjectDatabase) unwrapped).subject.get();
+        }
+        return unwrapped;
+    }
+
     @Override
     public void open() {
         subject.get().open();
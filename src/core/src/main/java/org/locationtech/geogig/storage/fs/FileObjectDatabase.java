@@ -21,6 +21,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
 import java.util.Iterator;
 import java.util.List;
 
@@ -195,6 +197,52 @@ public class FileObjectDatabase extends AbstractObjectDatabase implements Object
         return true;
     }
 
+    /**
+     * Linking or copying a file is as cheap as writing it, and there are no transactions to
+     * batch, so raw copies are always worth it.
+     */
+    @Override
+    protected boolean canCopyRawTo(AbstractObjectDatabase target) {
+        return true;
+    }
+
+    /**
+     * Hard links the object file into the target database, since objects are immutable once
+     * written, falling back to copying the file if the file system doesn't support hard links or
+     * both databases live in different file systems.
+     */
+    @Override
+    protected void copyRawInternal(final ObjectId id, final AbstractObjectDatabase target,
+            final BulkOpListener listener) {
+        final File source = filePath(id);
+        final File dest = ((FileObjectDatabase) target).filePath(id);
+        if (dest.exists()) {
+            listener.found(id, null);
+            return;
+        }
+        if (!source.exists()) {
+            listener.notFound(id);
+            return;
+        }
+        final File parent = dest.getParentFile();
+        if (!parent.exists() && !parent.mkdirs() && !parent.exists()) {
+            throw new RuntimeException("Can't create " + parent.getAbsolutePath());
+        }
+        try {
+            try {
+                Files.createLink(dest.toPath(), source.toPath());
+            } catch (UnsupportedOperationException | IOException linkFailed) {
+                Files.copy(source.toPath(), dest.toPath());
+            }
+        } catch (FileAlreadyExistsException e) {
+            listener.found(id, null);
+            return;
+        } catch (IOException e) {
+            throw Throwables.propagate(e);
+        }
+        listener.inserted(id, (int) source.length());
+    }
+
     /**
      * Deletes the object with the provided {@link ObjectId id} from the database.
      * 
@@ -0,0 +1,518 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.memory;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+
+import org.locationtech.geogig.api.ObjectId;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+
+/**
+ * Compact in memory directed commit graph backed by primitive arrays.
+ * <p>
+ * Every {@link ObjectId} added to the graph is interned to a dense {@code int} index, and its raw
+ * 20 bytes are stored in a single shared {@code byte[]} pool. Lookups by id go through an
+ * open-addressing hash table of node indexes, so no {@code ObjectId}, node, or edge objects are
+ * held per commit.
+ * <p>
+ * Parents are stored CSR style: since a commit's parents are all known at the time it's attached
+ * to the graph, they're appended contiguously to a single {@code int[]} and each node keeps the
+ * offset and count of its parent run, preserving parent order. Children, which are discovered
+ * incrementally, are kept as per node singly linked lists of {@code int} edge slots, appended at
+ * the tail to preserve insertion order.
+ * <p>
+ * This class is not thread safe. It can be used directly as a transient traversal structure (e.g.
+ * to load a commit history once and walk it by index), and it's the storage of
+ * {@link CompactHeapGraphDatabase}, which adds the required locking.
+ */
+public final class CompactGraph {
+
+    /**
+     * Index value meaning "no node" / "no edge"
+     */
+    public static final int NONE = -1;
+
+    private static final int ID_SIZE = ObjectId.NUM_BYTES;
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    /**
+     * raw ObjectId bytes, {@code ID_SIZE} bytes per node
+     */
+    private byte[] ids;
+
+    /**
+     * open addressing table, holds {@code nodeIndex + 1}, zero meaning empty slot
+     */
+    private int[] table;
+
+    private int size;
+
+    /**
+     * offset of the first parent of each node in {@link #parents}, {@link #NONE} if the node
+     * hasn't been attached to its parents yet
+     */
+    private int[] parentStart;
+
+    private int[] parentCount;
+
+    private int[] parents;
+
+    private int parentsSize;
+
+    private int[] childHead;
+
+    private int[] childTail;
+
+    /**
+     * per edge slot: index of the child node
+     */
+    private int[] childEdgeTarget;
+
+    /**
+     * per edge slot: next edge slot in the child list or {@link #NONE}
+     */
+    private int[] childEdgeNext;
+
+    private int childEdgesSize;
+
+    /**
+     * nodes explicitly flagged as root commits
+     */
+    private final BitSet roots = new BitSet();
+
+    /**
+     * Sparse extended properties, most nodes have none
+     */
+    private final Map<Integer, Map<String, String>> properties = Maps.newHashMap();
+
+    private final Map<ObjectId, ObjectId> mappings = Maps.newHashMap();
+
+    /**
+     * incremented by {@link #clear()}, node indexes obtained before are no longer valid
+     */
+    private int generation;
+
+    /**
+     * Creates an empty graph with a default initial capacity.
+     */
+    public CompactGraph() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty graph sized to hold {@code expectedNodes} without resizing.
+     */
+    public CompactGraph(final int expectedNodes) {
+        Preconditions.checkArgument(expectedNodes >= 0);
+        init(Math.max(16, expectedNodes));
+    }
+
+    private void init(final int capacity) {
+        ids = new byte[capacity * ID_SIZE];
+        table = new int[tableSizeFor(capacity)];
+        parentStart = new int[capacity];
+        parentCount = new int[capacity];
+        childHead = new int[capacity];
+        childTail = new int[capacity];
+        parents = new int[capacity];
+        childEdgeTarget = new int[capacity];
+        childEdgeNext = new int[capacity];
+        size = 0;
+        parentsSize = 0;
+        childEdgesSize = 0;
+    }
+
+    private static int tableSizeFor(final int capacity) {
+        int n = Integer.highestOneBit(Math.max(2, (int) (capacity / LOAD_FACTOR)) - 1) << 1;
+        return Math.max(n, 32);
+    }
+
+    /**
+     * @return the number of nodes in the graph
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Looks up a node index by object id.
+     *
+     * @return the node index, or {@link #NONE} if the id is not in the graph
+     */
+    public int indexOf(final ObjectId id) {
+        Preconditions.checkNotNull(id);
+        final int mask = table.length - 1;
+        int slot = mix(id.hashCode()) & mask;
+        int entry;
+        while ((entry = table[slot]) != 0) {
+            if (idEquals(entry - 1, id)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NONE;
+    }
+
+    /**
+     * Determines whether the given id is a node of this graph.
+     */
+    public boolean contains(final ObjectId id) {
+        return indexOf(id) != NONE;
+    }
+
+    /**
+     * Gets the index of the node for the given id, interning it as a new node if it's not yet in
+     * the graph.
+     */
+    public int getOrAdd(final ObjectId id) {
+        int index = indexOf(id);
+        if (index == NONE) {
+            index = add(id);
+        }
+        return index;
+    }
+
+    private int add(final ObjectId id) {
+        ensureNodeCapacity(size + 1);
+        final int index = size;
+        final int offset = index * ID_SIZE;
+        for (int i = 0; i < ID_SIZE; i++) {
+            ids[offset + i] = (byte) id.byteN(i);
+        }
+        parentStart[index] = NONE;
+        parentCount[index] = 0;
+        childHead[index] = NONE;
+        childTail[index] = NONE;
+        size++;
+        insertSlot(table, index, id.hashCode());
+        return index;
+    }
+
+    /**
+     * @return the object id of the node at the given index
+     */
+    public ObjectId getId(final int index) {
+        checkIndex(index);
+        byte[] raw = new byte[ID_SIZE];
+        System.arraycopy(ids, index * ID_SIZE, raw, 0, ID_SIZE);
+        return ObjectId.createNoClone(raw);
+    }
+
+    /**
+     * @return {@code true} if the node's parents have been set through
+     *         {@link #setParents(int, int[])}
+     */
+    public boolean isAttached(final int index) {
+        checkIndex(index);
+        return parentStart[index] != NONE;
+    }
+
+    /**
+     * Sets the parents of a node, and adds the node as a child of each parent. Parents can only be
+     * set once.
+     *
+     * @param index the child node
+     * @param parentIndexes the parent node indexes, in commit order
+     */
+    public void setParents(final int index, final int[] parentIndexes) {
+        checkIndex(index);
+        Preconditions.checkState(parentStart[index] == NONE, "Node %s already has parents",
+                getId(index));
+        ensureParentsCapacity(parentsSize + parentIndexes.length);
+        parentStart[index] = parentsSize;
+        parentCount[index] = parentIndexes.length;
+        for (int p : parentIndexes) {
+            checkIndex(p);
+            parents[parentsSize++] = p;
+            addChild(p, index);
+        }
+    }
+
+    private void addChild(final int parent, final int child) {
+        ensureChildEdgesCapacity(childEdgesSize + 1);
+        final int edge = childEdgesSize++;
+        childEdgeTarget[edge] = child;
+        childEdgeNext[edge] = NONE;
+        if (childHead[parent] == NONE) {
+            childHead[parent] = edge;
+        } else {
+            childEdgeNext[childTail[parent]] = edge;
+        }
+        childTail[parent] = edge;
+    }
+
+    /**
+     * @return the number of parents of the node at the given index
+     */
+    public int parentCount(final int index) {
+        checkIndex(index);
+        return parentCount[index];
+    }
+
+    /**
+     * @return the {@code n}th parent index of the node at {@code index}
+     */
+    public int parent(final int index, final int n) {
+        Preconditions.checkElementIndex(n, parentCount(index));
+        return parents[parentStart[index] + n];
+    }
+
+    /**
+     * @return the parent node indexes of the node at the given index, in commit order
+     */
+    public int[] parents(final int index) {
+        final int count = parentCount(index);
+        if (count == 0) {
+            return new int[0];
+        }
+        final int start = parentStart[index];
+        return Arrays.copyOfRange(parents, start, start + count);
+    }
+
+    /**
+     * @return the child node indexes of the node at the given index, in insertion order
+     */
+    public int[] children(final int index) {
+        checkIndex(index);
+        int count = 0;
+        for (int e = childHead[index]; e != NONE; e = childEdgeNext[e]) {
+            count++;
+        }
+        int[] children = new int[count];
+        int i = 0;
+        for (int e = childHead[index]; e != NONE; e = childEdgeNext[e]) {
+            children[i++] = childEdgeTarget[e];
+        }
+        return children;
+    }
+
+    /**
+     * @return the parent ids of the node at the given index, in commit order
+     */
+    public ImmutableList<ObjectId> parentIds(final int index) {
+        final int count = parentCount(index);
+        ImmutableList.Builder<ObjectId> builder = ImmutableList.builder();
+        final int start = parentStart[index];
+        for (int i = 0; i < count; i++) {
+            builder.add(getId(parents[start + i]));
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return the child ids of the node at the given index, in insertion order
+     */
+    public ImmutableList<ObjectId> childIds(final int index) {
+        checkIndex(index);
+        ImmutableList.Builder<ObjectId> builder = ImmutableList.builder();
+        for (int e = childHead[index]; e != NONE; e = childEdgeNext[e]) {
+            builder.add(getId(childEdgeTarget[e]));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Determines if the node at the given index is marked as a root node.
+     */
+    public boolean isRoot(final int index) {
+        checkIndex(index);
+        return roots.get(index);
+    }
+
+    /**
+     * Marks/unmarks the node at the given index as a root node.
+     */
+    public void setRoot(final int index, final boolean root) {
+        checkIndex(index);
+        roots.set(index, root);
+    }
+
+    /**
+     * Computes the number of ancestors of the node at the given index until it reaches one with no
+     * parents, following the shortest path.
+     */
+    public int depth(final int index) {
+        checkIndex(index);
+        BitSet seen = new BitSet(size);
+        int[] level = new int[] { index };
+        int levelSize = 1;
+        int depth = 0;
+        seen.set(index);
+        while (levelSize > 0) {
+            int[] next = new int[16];
+            int nextSize = 0;
+            for (int i = 0; i < levelSize; i++) {
+                final int node = level[i];
+                final int count = parentCount[node];
+                if (count == 0) {
+                    return depth;
+                }
+                final int start = parentStart[node];
+                for (int p = start; p < start + count; p++) {
+                    final int parent = parents[p];
+                    if (!seen.get(parent)) {
+                        seen.set(parent);
+                        if (nextSize == next.length) {
+                            next = Arrays.copyOf(next, nextSize * 2);
+                        }
+                        next[nextSize++] = parent;
+                    }
+                }
+            }
+            level = next;
+            levelSize = nextSize;
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * Associates a property with the node at the given index.
+     */
+    public void setProperty(final int index, final String key, final String value) {
+        checkIndex(index);
+        Map<String, String> props = properties.get(Integer.valueOf(index));
+        if (props == null) {
+            props = Maps.newHashMap();
+            properties.put(Integer.valueOf(index), props);
+        }
+        props.put(key, value);
+    }
+
+    /**
+     * Retrieves a property of the node at the given index, or {@code null} if not set.
+     */
+    public String getProperty(final int index, final String key) {
+        checkIndex(index);
+        Map<String, String> props = properties.get(Integer.valueOf(index));
+        return props == null ? null : props.get(key);
+    }
+
+    /**
+     * Creates an mapping/alias.
+     */
+    public void map(final ObjectId mapped, final ObjectId original) {
+        mappings.put(mapped, original);
+    }
+
+    /**
+     * Returns a mapping, or <code>null</code> if one does not exist.
+     */
+    public ObjectId getMapping(final ObjectId commitId) {
+        return mappings.get(commitId);
+    }
+
+    /**
+     * Clears the contents of the graph, releasing its storage.
+     * <p>
+     * Node indexes obtained before clearing the graph are no longer valid, and will be reused by
+     * the nodes added afterwards.
+     */
+    public void clear() {
+        init(16);
+        roots.clear();
+        properties.clear();
+        mappings.clear();
+        generation++;
+    }
+
+    /**
+     * @return a number that changes every time the graph is {@link #clear() cleared}, to tell
+     *         whether a node index obtained earlier still refers to the same node
+     */
+    public int generation() {
+        return generation;
+    }
+
+    private void checkIndex(final int index) {
+        Preconditions.checkElementIndex(index, size);
+    }
+
+    private boolean idEquals(final int index, final ObjectId id) {
+        final int offset = index * ID_SIZE;
+        for (int i = 0; i < ID_SIZE; i++) {
+            if ((ids[offset + i] & 0xFF) != id.byteN(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int hashAt(final int index) {
+        final int offset = index * ID_SIZE;
+        // same as ObjectId.hashCode()
+        return (ids[offset] & 0xFF)//
+                | ((ids[offset + 1] & 0xFF) << 8)//
+                | ((ids[offset + 2] & 0xFF) << 16)//
+                | ((ids[offset + 3] & 0xFF) << 24);
+    }
+
+    private static int mix(final int hash) {
+        // ObjectId hashes are already uniformly distributed, just spread the high bits
+        return hash ^ (hash >>> 16);
+    }
+
+    private static void insertSlot(final int[] table, final int index, final int hash) {
+        final int mask = table.length - 1;
+        int slot = mix(hash) & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = index + 1;
+    }
+
+    private void ensureNodeCapacity(final int required) {
+        final int capacity = parentStart.length;
+        if (required > capacity) {
+            final int newCapacity = grow(capacity, required);
+            ids = Arrays.copyOf(ids, newCapacity * ID_SIZE);
+            parentStart = Arrays.copyOf(parentStart, newCapacity);
+            parentCount = Arrays.copyOf(parentCount, newCapacity);
+            childHead = Arrays.copyOf(childHead, newCapacity);
+            childTail = Arrays.copyOf(childTail, newCapacity);
+        }
+        if (required > table.length * LOAD_FACTOR) {
+            int[] newTable = new int[table.length * 2];
+            for (int i = 0; i < size; i++) {
+                insertSlot(newTable, i, hashAt(i));
+            }
+            table = newTable;
+        }
+    }
+
+    private void ensureParentsCapacity(final int required) {
+        if (required > parents.length) {
+            parents = Arrays.copyOf(parents, grow(parents.length, required));
+        }
+    }
+
+    private void ensureChildEdgesCapacity(final int required) {
+        if (required > childEdgeTarget.length) {
+            final int newCapacity = grow(childEdgeTarget.length, required);
+            childEdgeTarget = Arrays.copyOf(childEdgeTarget, newCapacity);
+            childEdgeNext = Arrays.copyOf(childEdgeNext, newCapacity);
+        }
+    }
+
+    private static int grow(final int capacity, final int required) {
+        long newCapacity = Math.max((long) required, capacity + (capacity >> 1) + 1L);
+        Preconditions.checkState(newCapacity <= Integer.MAX_VALUE / ID_SIZE,
+                "Graph capacity exceeded");
+        return (int) newCapacity;
+    }
+}
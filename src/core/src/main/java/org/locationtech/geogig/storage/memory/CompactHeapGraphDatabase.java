@@ -0,0 +1,361 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.memory;
+
+import java.net.URL;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.Platform;
+import org.locationtech.geogig.api.plumbing.ResolveGeogigDir;
+import org.locationtech.geogig.storage.GraphDatabase;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.inject.Inject;
+
+/**
+ * A {@link GraphDatabase} that keeps the commit graph in memory using a {@link CompactGraph}.
+ * <p>
+ * Behaves like {@link HeapGraphDatabase} but with a much smaller per commit footprint, which makes
+ * it suitable for very large in memory histories (e.g. while rebuilding the graph or replaying a
+ * production history in tests). Access to the shared graph is guarded by a read/write lock so
+ * concurrent readers don't block each other.
+ */
+public class CompactHeapGraphDatabase implements GraphDatabase {
+
+    static final Map<URL, SharedGraph> graphs = Maps.newConcurrentMap();
+
+    final Platform platform;
+
+    SharedGraph shared;
+
+    @Inject
+    public CompactHeapGraphDatabase(Platform platform) {
+        this.platform = platform;
+    }
+
+    @Override
+    public void open() {
+        if (isOpen()) {
+            return;
+        }
+
+        Optional<URL> url = new ResolveGeogigDir(platform).call();
+        if (url.isPresent()) {
+            synchronized (graphs) {
+                URL key = url.get();
+                if (!graphs.containsKey(key)) {
+                    graphs.put(key, new SharedGraph());
+                }
+                shared = graphs.get(key).acquire();
+            }
+        } else {
+            shared = new SharedGraph();
+        }
+    }
+
+    @Override
+    public void configure() {
+        // No-op
+    }
+
+    @Override
+    public void checkConfig() {
+        // No-op
+    }
+
+    @Override
+    public boolean isOpen() {
+        return shared != null;
+    }
+
+    @Override
+    public void close() {
+        if (!isOpen()) {
+            return;
+        }
+        shared = null;
+        Optional<URL> url = new ResolveGeogigDir(platform).call();
+        if (url.isPresent()) {
+            synchronized (graphs) {
+                URL key = url.get();
+                SharedGraph ref = graphs.get(key);
+                if (ref != null && ref.release() <= -1) {
+                    graphs.remove(key);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean exists(ObjectId commitId) {
+        Lock lock = readLock();
+        try {
+            return graph().contains(commitId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public ImmutableList<ObjectId> getParents(ObjectId commitId) throws IllegalArgumentException {
+        Lock lock = readLock();
+        try {
+            CompactGraph graph = graph();
+            int index = graph.indexOf(commitId);
+            return index == CompactGraph.NONE ? ImmutableList.<ObjectId> of() : graph
+                    .parentIds(index);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public ImmutableList<ObjectId> getChildren(ObjectId commitId) throws IllegalArgumentException {
+        Lock lock = readLock();
+        try {
+            CompactGraph graph = graph();
+            int index = graph.indexOf(commitId);
+            return index == CompactGraph.NONE ? ImmutableList.<ObjectId> of() : graph
+                    .childIds(index);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean put(ObjectId commitId, ImmutableList<ObjectId> parentIds) {
+        Lock lock = writeLock();
+        try {
+            CompactGraph graph = graph();
+            final int index = graph.getOrAdd(commitId);
+
+            if (parentIds.isEmpty()) {
+                // the root node, only update on first addition
+                if (!graph.isRoot(index)) {
+                    graph.setRoot(index, true);
+                    return true;
+                }
+            }
+
+            // has the node been attached to graph?
+            if (graph.parentCount(index) == 0) {
+                if (parentIds.isEmpty()) {
+                    return false;
+                }
+                // nope, attach it
+                int[] parents = new int[parentIds.size()];
+                for (int i = 0; i < parents.length; i++) {
+                    parents[i] = graph.getOrAdd(parentIds.get(i));
+                }
+                graph.setParents(index, parents);
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void map(ObjectId mapped, ObjectId original) {
+        Lock lock = writeLock();
+        try {
+            graph().map(mapped, original);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public ObjectId getMapping(ObjectId commitId) {
+        Lock lock = readLock();
+        try {
+            return Optional.fromNullable(graph().getMapping(commitId)).or(ObjectId.NULL);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getDepth(ObjectId commitId) {
+        Preconditions.checkNotNull(commitId);
+        Lock lock = readLock();
+        try {
+            CompactGraph graph = graph();
+            int index = graph.indexOf(commitId);
+            Preconditions.checkArgument(index != CompactGraph.NONE,
+                    "No graph entry for commit %s on %s", commitId, this.toString());
+            return graph.depth(index);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void setProperty(ObjectId commitId, String propertyName, String propertyValue) {
+        Lock lock = writeLock();
+        try {
+            CompactGraph graph = graph();
+            int index = graph.indexOf(commitId);
+            Preconditions.checkArgument(index != CompactGraph.NONE, "No graph entry for commit %s",
+                    commitId);
+            graph.setProperty(index, propertyName, propertyValue);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void truncate() {
+        Lock lock = writeLock();
+        try {
+            graph().clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public GraphNode getNode(ObjectId id) {
+        Lock lock = readLock();
+        try {
+            CompactGraph graph = graph();
+            int index = graph.indexOf(id);
+            Preconditions.checkArgument(index != CompactGraph.NONE, "No graph entry for commit %s",
+                    id);
+            return new CompactGraphNode(shared, index, graph.generation());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CompactGraph graph() {
+        Preconditions.checkState(isOpen(), "Database is closed");
+        return shared.graph;
+    }
+
+    private Lock readLock() {
+        Preconditions.checkState(isOpen(), "Database is closed");
+        Lock lock = shared.lock.readLock();
+        lock.lock();
+        return lock;
+    }
+
+    private Lock writeLock() {
+        Preconditions.checkState(isOpen(), "Database is closed");
+        Lock lock = shared.lock.writeLock();
+        lock.lock();
+        return lock;
+    }
+
+    /**
+     * A reference counted graph shared by all the databases open against the same repository
+     */
+    static class SharedGraph {
+
+        final CompactGraph graph = new CompactGraph();
+
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        int count;
+
+        SharedGraph acquire() {
+            count++;
+            return this;
+        }
+
+        int release() {
+            return --count;
+        }
+    }
+
+    /**
+     * A node of the shared graph, by node index. Since {@link #truncate()} resets the node indexes,
+     * a node obtained before truncating the graph can't be used afterwards.
+     */
+    private static class CompactGraphNode extends GraphNode {
+
+        private final SharedGraph shared;
+
+        private final int index;
+
+        private final int generation;
+
+        CompactGraphNode(SharedGraph shared, int index, int generation) {
+            this.shared = shared;
+            this.index = index;
+            this.generation = generation;
+        }
+
+        private CompactGraph graph() {
+            CompactGraph graph = shared.graph;
+            Preconditions.checkState(graph.generation() == generation,
+                    "The graph was truncated after the node was obtained");
+            return graph;
+        }
+
+        @Override
+        public ObjectId getIdentifier() {
+            Lock lock = shared.lock.readLock();
+            lock.lock();
+            try {
+                return graph().getId(index);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public Iterator<GraphEdge> getEdges(final Direction direction) {
+            Lock lock = shared.lock.readLock();
+            lock.lock();
+            try {
+                final CompactGraph graph = graph();
+                List<GraphEdge> edges = Lists.newArrayList();
+                if (direction == Direction.IN || direction == Direction.BOTH) {
+                    for (int child : graph.children(index)) {
+                        edges.add(new GraphEdge(new CompactGraphNode(shared, child, generation),
+                                this));
+                    }
+                }
+                if (direction == Direction.OUT || direction == Direction.BOTH) {
+                    for (int parent : graph.parents(index)) {
+                        edges.add(new GraphEdge(this, new CompactGraphNode(shared, parent,
+                                generation)));
+                    }
+                }
+                return edges.iterator();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public boolean isSparse() {
+            Lock lock = shared.lock.readLock();
+            lock.lock();
+            try {
+                return Boolean.valueOf(graph().getProperty(index, SPARSE_FLAG));
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
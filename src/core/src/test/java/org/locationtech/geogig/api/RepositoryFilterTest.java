@@ -0,0 +1,59 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.junit.Test;
+
+import com.google.common.base.Optional;
+
+public class RepositoryFilterTest {
+
+    @Test
+    public void testBoundsOfSpatialFilter() {
+        RepositoryFilter filter = new RepositoryFilter();
+        filter.addFilter("default", "CQL", "BBOX(pp,0,0,10,10)");
+
+        Optional<ReferencedEnvelope> bounds = filter.getBounds();
+        assertTrue(bounds.isPresent());
+        assertEquals(0, bounds.get().getMinX(), 0);
+        assertEquals(0, bounds.get().getMinY(), 0);
+        assertEquals(10, bounds.get().getMaxX(), 0);
+        assertEquals(10, bounds.get().getMaxY(), 0);
+    }
+
+    @Test
+    public void testBoundsAreTheUnionOfAllFilters() {
+        RepositoryFilter filter = new RepositoryFilter();
+        filter.addFilter("default", "CQL", "BBOX(pp,0,0,10,10)");
+        filter.addFilter("Points", "CQL", "BBOX(pp,20,20,30,30) AND sp = 'StringProp1_1'");
+
+        Optional<ReferencedEnvelope> bounds = filter.getBounds();
+        assertTrue(bounds.isPresent());
+        assertEquals(0, bounds.get().getMinX(), 0);
+        assertEquals(30, bounds.get().getMaxX(), 0);
+    }
+
+    @Test
+    public void testNoBoundsForNonSpatialFilter() {
+        RepositoryFilter filter = new RepositoryFilter();
+        filter.addFilter("default", "CQL", "BBOX(pp,0,0,10,10)");
+        filter.addFilter("Points", "CQL", "sp = 'StringProp1_1'");
+        assertFalse(filter.getBounds().isPresent());
+
+        filter = new RepositoryFilter();
+        filter.addFilter("default", "CQL", "BBOX(pp,0,0,10,10) OR ip = 1000");
+        assertFalse(filter.getBounds().isPresent());
+    }
+}
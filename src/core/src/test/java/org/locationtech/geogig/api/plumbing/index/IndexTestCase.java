@@ -0,0 +1,74 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.api.plumbing.index;
+
+import java.util.Iterator;
+import java.util.Set;
+
+import org.locationtech.geogig.api.NodeRef;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevTree;
+import org.locationtech.geogig.api.plumbing.FindTreeChild;
+import org.locationtech.geogig.test.integration.RepositoryTestCase;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Sets;
+
+/**
+ * Base class for the tests of the indexes of the points tree, configured with the attributes
+ * returned by {@link #indexedAttributes()}
+ */
+public abstract class IndexTestCase extends RepositoryTestCase {
+
+    protected IndexRegistry registry;
+
+    @Override
+    protected void setUpInternal() throws Exception {
+        repo.configDatabase().put(AttributeIndex.CONFIG_SECTION + "." + pointsName,
+                indexedAttributes());
+        registry = IndexRegistry.of(geogig.getContext()).get();
+    }
+
+    /**
+     * @return the value of the index config of the points tree
+     */
+    protected abstract String indexedAttributes();
+
+    protected NodeRef pointsTree() {
+        return tree(pointsName);
+    }
+
+    protected NodeRef linesTree() {
+        return tree(linesName);
+    }
+
+    protected NodeRef tree(String path) {
+        Optional<NodeRef> ref = geogig.command(FindTreeChild.class).setChildPath(path).call();
+        assertTrue(ref.isPresent());
+        return ref.get();
+    }
+
+    /**
+     * @return the index named {@code indexName} of {@code tree}, which must have been built
+     */
+    protected RevTree registeredIndex(String indexName, NodeRef tree) {
+        Optional<ObjectId> indexId = registry.get(indexName, tree.objectId());
+        assertTrue(indexId.isPresent());
+        return repo.objectDatabase().getTree(indexId.get());
+    }
+
+    protected static Set<String> names(Iterator<NodeRef> refs) {
+        Set<String> names = Sets.newHashSet();
+        while (refs.hasNext()) {
+            names.add(refs.next().name());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,105 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.api.plumbing.index;
+
+import java.util.Iterator;
+import java.util.Set;
+
+import org.junit.Test;
+import org.locationtech.geogig.api.NodeRef;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevTree;
+import org.locationtech.geogig.api.porcelain.CommitOp;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableSet;
+
+public class UpdateAttributeIndexTest extends IndexTestCase {
+
+    @Override
+    protected String indexedAttributes() {
+        return "ip, sp";
+    }
+
+    @Test
+    public void testIndexIsBuiltOnCommit() throws Exception {
+        insertAndAdd(points1, points2, points3, lines1);
+        geogig.command(CommitOp.class).setMessage("initial").call();
+
+        NodeRef points = pointsTree();
+        RevTree index = index("ip", points);
+        assertEquals(3, index.size());
+        assertEquals(ImmutableSet.of(idP2), lookup(index, Integer.valueOf(2000), points));
+        assertEquals(ImmutableSet.of(idP3), lookup(index, Integer.valueOf(3000), points));
+        assertTrue(lookup(index, Integer.valueOf(4000), points).isEmpty());
+
+        index = index("sp", points);
+        assertEquals(ImmutableSet.of(idP1), lookup(index, "StringProp1_1", points));
+
+        assertFalse(registry.get(AttributeIndex.indexName("ip"), linesTree().objectId())
+                .isPresent());
+    }
+
+    @Test
+    public void testIndexIsUpdatedIncrementally() throws Exception {
+        insertAndAdd(points1, points2);
+        geogig.command(CommitOp.class).setMessage("initial").call();
+        ObjectId oldIndexId = registry.get(AttributeIndex.indexName("ip"),
+                pointsTree().objectId()).get();
+
+        insertAndAdd(points1_modified, points3);
+        geogig.command(CommitOp.class).setMessage("changes").call();
+
+        NodeRef points = pointsTree();
+        RevTree index = index("ip", points);
+        assertFalse(oldIndexId.equals(index.getId()));
+        assertTrue(lookup(index, Integer.valueOf(1000), points).isEmpty());
+        assertEquals(ImmutableSet.of(idP1), lookup(index, Integer.valueOf(1001), points));
+        assertEquals(ImmutableSet.of(idP2), lookup(index, Integer.valueOf(2000), points));
+        assertEquals(ImmutableSet.of(idP3), lookup(index, Integer.valueOf(3000), points));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testRangeLookup() throws Exception {
+        insertAndAdd(points1, points2, points3);
+        geogig.command(CommitOp.class).setMessage("initial").call();
+
+        NodeRef points = pointsTree();
+        RevTree index = index("ip", points);
+        Iterator<NodeRef> refs = AttributeIndex.lookup(repo.objectDatabase(), index,
+                new Predicate<String>() {
+                    @Override
+                    public boolean apply(String key) {
+                        Integer value = (Integer) AttributeIndex.value(key, Integer.class);
+                        return value.intValue() >= 2000;
+                    }
+                }, points.path(), points.getMetadataId());
+        assertEquals(ImmutableSet.of(idP2, idP3), names(refs));
+    }
+
+    @Test
+    public void testKeys() {
+        assertEquals(Integer.valueOf(12), AttributeIndex.value(AttributeIndex.key(12),
+                Integer.class));
+        assertEquals("a/b%2Fc", AttributeIndex.value(AttributeIndex.key("a/b%2Fc"),
+                String.class));
+        assertFalse(AttributeIndex.key("a/b").contains("/"));
+    }
+
+    private RevTree index(String attribute, NodeRef tree) {
+        return registeredIndex(AttributeIndex.indexName(attribute), tree);
+    }
+
+    private Set<String> lookup(RevTree index, Object value, NodeRef tree) {
+        return names(AttributeIndex.lookup(repo.objectDatabase(), index,
+                AttributeIndex.key(value), tree.path(), tree.getMetadataId()));
+    }
+}
@@ -0,0 +1,98 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.api.plumbing.index;
+
+import java.io.File;
+import java.util.Set;
+
+import org.junit.Test;
+import org.locationtech.geogig.api.NodeRef;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevTree;
+import org.locationtech.geogig.api.plumbing.ResolveGeogigDir;
+import org.locationtech.geogig.api.porcelain.CommitOp;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+import com.vividsolutions.jts.geom.Envelope;
+
+public class UpdateSpatialIndexTest extends IndexTestCase {
+
+    @Override
+    protected String indexedAttributes() {
+        return "pp";
+    }
+
+    @Test
+    public void testIndexIsBuiltOnCommit() throws Exception {
+        insertAndAdd(points1, points2, points3, lines1);
+        geogig.command(CommitOp.class).setMessage("initial").call();
+
+        NodeRef points = pointsTree();
+        RevTree index = index(points);
+        assertEquals(ImmutableSet.of(idP1), query(index, new Envelope(0.5, 1.5, 0.5, 1.5), points));
+        assertEquals(ImmutableSet.of(idP2, idP3),
+                query(index, new Envelope(1.5, 3.5, 1.5, 3.5), points));
+        assertTrue(query(index, new Envelope(10, 11, 10, 11), points).isEmpty());
+
+        // the geometry attribute gets no attribute index
+        assertFalse(registry.get(AttributeIndex.indexName("pp"), points.objectId()).isPresent());
+        assertFalse(registry.get(SpatialIndex.INDEX_NAME, linesTree().objectId()).isPresent());
+    }
+
+    @Test
+    public void testIndexIsUpdatedIncrementally() throws Exception {
+        insertAndAdd(points1, points2);
+        geogig.command(CommitOp.class).setMessage("initial").call();
+        ObjectId oldIndexId = registry.get(SpatialIndex.INDEX_NAME, pointsTree().objectId())
+                .get();
+
+        insertAndAdd(points1_modified, points3);
+        deleteAndAdd(points2);
+        geogig.command(CommitOp.class).setMessage("changes").call();
+
+        NodeRef points = pointsTree();
+        RevTree index = index(points);
+        assertFalse(oldIndexId.equals(index.getId()));
+        assertTrue(query(index, new Envelope(0.5, 1.5, 0.5, 1.5), points).isEmpty());
+        assertEquals(ImmutableSet.of(idP1), query(index, new Envelope(0.5, 1.5, 1.5, 2.5), points));
+        assertEquals(ImmutableSet.of(idP1, idP3),
+                query(index, new Envelope(-180, 180, -90, 90), points));
+
+        // an index built from scratch is the same tree
+        File geogigDir = geogig.command(ResolveGeogigDir.class).getFile().get();
+        File entry = new File(new File(new File(geogigDir, "index"), SpatialIndex.INDEX_NAME),
+                points.objectId().toString());
+        assertTrue(entry.delete());
+        Optional<ObjectId> rebuilt = geogig.command(UpdateSpatialIndex.class).setNewTree(points)
+                .call();
+        assertEquals(index.getId(), rebuilt.get());
+    }
+
+    @Test
+    public void testCellPath() {
+        Envelope extent = new Envelope(0, 256, 0, 256);
+        assertEquals("0/0/0/0", SpatialIndex.cellPath(extent, new Envelope(0, 0, 0, 0)));
+        assertEquals("f/f/f/f", SpatialIndex.cellPath(extent, new Envelope(255, 256, 255, 256)));
+        assertEquals("1/0/0/5", SpatialIndex.cellPath(extent, new Envelope(65, 65, 1, 1)));
+        // out of the extent goes to the border cells
+        assertEquals("0/0/0/0", SpatialIndex.cellPath(extent, new Envelope(-10, -9, -10, -9)));
+        assertEquals("c/c/c/c", SpatialIndex.cellPath(extent, new Envelope(-10, -9, 300, 301)));
+    }
+
+    private RevTree index(NodeRef tree) {
+        return registeredIndex(SpatialIndex.INDEX_NAME, tree);
+    }
+
+    private Set<String> query(RevTree index, Envelope bounds, NodeRef tree) {
+        return names(SpatialIndex.query(repo.objectDatabase(), index, bounds, tree.path(),
+                tree.getMetadataId()));
+    }
+}
@@ -0,0 +1,333 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.locationtech.geogig.api.NodeRef;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevCommit;
+import org.locationtech.geogig.api.RevObject;
+import org.locationtech.geogig.api.RevTree;
+import org.locationtech.geogig.api.plumbing.CreateDeduplicator;
+import org.locationtech.geogig.api.plumbing.FindTreeChild;
+import org.locationtech.geogig.api.porcelain.CommitOp;
+import org.locationtech.geogig.remote.BinaryPackedObjects.Callback;
+import org.locationtech.geogig.remote.BinaryPackedObjects.IngestResults;
+import org.locationtech.geogig.storage.Deduplicator;
+import org.locationtech.geogig.storage.datastream.DataStreamSerializationFactoryV1;
+import org.locationtech.geogig.storage.memory.HeapObjectDatabse;
+import org.locationtech.geogig.test.integration.RepositoryTestCase;
+import org.opengis.feature.Feature;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+public class BinaryPackedObjectsTest extends RepositoryTestCase {
+
+    private static final Callback NO_CALLBACK = new Callback() {
+        @Override
+        public void callback(Supplier<RevObject> object) {
+        }
+    };
+
+    private BinaryPackedObjects packer;
+
+    @Override
+    protected void setUpInternal() throws Exception {
+        packer = new BinaryPackedObjects(repo.objectDatabase());
+    }
+
+    @Test
+    public void testWriteIncrementalSendsOnlyChanges() throws Exception {
+        final ObjectId p1 = insertAndAdd(points1);
+        final ObjectId l1 = insertAndAdd(lines1);
+        RevCommit commit1 = geogig.command(CommitOp.class).call();
+
+        final ObjectId p2 = insertAndAdd(points2);
+        RevCommit commit2 = geogig.command(CommitOp.class).call();
+
+        List<ObjectId> written = writeIncremental(ImmutableList.of(commit2.getId()),
+                ImmutableList.of(commit1.getId()));
+
+        assertEquals(commit2.getId(), written.get(written.size() - 1));
+        assertTrue(written.contains(p2));
+        assertTrue(written.contains(commit2.getTreeId()));
+        assertTrue(written.contains(childTreeId(commit2, pointsName)));
+
+        assertFalse(written.contains(p1));
+        assertFalse(written.contains(l1));
+        assertFalse(written.contains(commit1.getId()));
+        assertFalse(written.contains(childTreeId(commit2, linesName)));
+    }
+
+    @Test
+    public void testWriteIncrementalMatchesFullWalkWithNoHaves() throws Exception {
+        insertAndAdd(points1, lines1);
+        RevCommit commit1 = geogig.command(CommitOp.class).call();
+        insertAndAdd(points2);
+        RevCommit commit2 = geogig.command(CommitOp.class).call();
+
+        List<ObjectId> want = ImmutableList.of(commit1.getId(), commit2.getId());
+        List<ObjectId> have = ImmutableList.of();
+
+        CollectingFunnel full = new CollectingFunnel();
+        packer.write(full, want, have, false, dedup());
+
+        List<ObjectId> incremental = writeIncremental(want, have);
+
+        assertEquals(Sets.newHashSet(full.ids), Sets.newHashSet(incremental));
+        assertEquals(Sets.newHashSet(incremental).size(), incremental.size());
+    }
+
+    @Test
+    public void testWriteIncrementalTraversingCommits() throws Exception {
+        insertAndAdd(points1);
+        RevCommit commit1 = geogig.command(CommitOp.class).call();
+        final ObjectId p2 = insertAndAdd(points2);
+        RevCommit commit2 = geogig.command(CommitOp.class).call();
+        final ObjectId p3 = insertAndAdd(points3);
+        RevCommit commit3 = geogig.command(CommitOp.class).call();
+
+        CollectingFunnel funnel = new CollectingFunnel();
+        Set<ObjectId> sent = Sets.newHashSet();
+        packer.writeIncremental(funnel, ImmutableList.of(commit3.getId()),
+                ImmutableList.of(commit1.getId()), sent, NO_CALLBACK, true, dedup());
+
+        assertEquals(Sets.newHashSet(commit2.getId(), commit3.getId()), sent);
+        assertTrue(funnel.ids.contains(p2));
+        assertTrue(funnel.ids.contains(p3));
+        assertTrue(funnel.ids.indexOf(commit2.getId()) < funnel.ids.indexOf(p3));
+        assertFalse(funnel.ids.contains(commit1.getId()));
+    }
+
+    @Test
+    public void testWriteIncrementalSendsBucketsOfLeafTreeGrownIntoBucketTree()
+            throws Exception {
+        insertAndAdd(points1, points2, points3);
+        RevCommit commit1 = geogig.command(CommitOp.class).call();
+
+        List<Feature> added = Lists.newArrayList();
+        for (int i = 10; i < 10 + RevTree.NORMALIZED_SIZE_LIMIT + 100; i++) {
+            added.add(feature(pointsType, "Points." + i, "StringProp1_" + i, Integer.valueOf(i),
+                    "POINT(" + i + " " + i + ")"));
+        }
+        insertAndAdd(added.toArray(new Feature[added.size()]));
+        RevCommit commit2 = geogig.command(CommitOp.class).call();
+        assertTrue(repo.getTree(childTreeId(commit2, pointsName)).buckets().isPresent());
+
+        List<ObjectId> written = writeIncremental(ImmutableList.of(commit2.getId()),
+                ImmutableList.of(commit1.getId()));
+
+        CollectingFunnel before = new CollectingFunnel();
+        packer.write(before, ImmutableList.of(commit1.getId()), ImmutableList.<ObjectId> of(),
+                false, dedup());
+        CollectingFunnel after = new CollectingFunnel();
+        packer.write(after, ImmutableList.of(commit2.getId()), ImmutableList.<ObjectId> of(),
+                false, dedup());
+
+        Set<ObjectId> missing = Sets.newHashSet(after.ids);
+        missing.removeAll(before.ids);
+        missing.removeAll(written);
+        assertEquals(ImmutableSet.of(), missing);
+    }
+
+    @Test
+    public void testIngestPlainStream() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ObjectFunnel funnel = ObjectFunnels.newFunnel(out,
+                DataStreamSerializationFactoryV1.INSTANCE);
+        testIngest(funnel, out);
+    }
+
+    @Test
+    public void testIngestPipelinedStream() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ObjectFunnel funnel = PipelinedPackFormat.newFunnel(
+                Suppliers.<OutputStream> ofInstance(out),
+                DataStreamSerializationFactoryV1.INSTANCE, Integer.MAX_VALUE, 2);
+        testIngest(funnel, out);
+    }
+
+    @Test(timeout = 10000)
+    public void testPipelinedReaderRejectsInvalidFrameLength() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(1);
+        data.writeInt(Integer.MAX_VALUE);
+        data.flush();
+
+        PipelinedPackFormat.ObjectStream objects = PipelinedPackFormat.newReader(
+                new ByteArrayInputStream(out.toByteArray()),
+                DataStreamSerializationFactoryV1.INSTANCE, 2);
+        try {
+            objects.hasNext();
+            fail("Expected invalid frame");
+        } catch (RuntimeException expected) {
+            assertTrue(expected.getCause() instanceof IOException);
+        } finally {
+            objects.close();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testPipelinedReaderReportsUnexpectedReadErrors() throws Exception {
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() {
+                throw new IllegalStateException("read failed");
+            }
+        };
+        PipelinedPackFormat.ObjectStream objects = PipelinedPackFormat.newReader(failing,
+                DataStreamSerializationFactoryV1.INSTANCE, 2);
+        try {
+            objects.hasNext();
+            fail("Expected read failure");
+        } catch (IllegalStateException expected) {
+            assertEquals("read failed", expected.getMessage());
+        } finally {
+            objects.close();
+        }
+    }
+
+    @Test
+    public void testIngestTruncatedStreamDoesNotStoreIncompleteCommits() throws Exception {
+        insertAndAdd(points1);
+        RevCommit commit1 = geogig.command(CommitOp.class).call();
+        insertAndAdd(points2);
+        RevCommit commit2 = geogig.command(CommitOp.class).call();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ObjectFunnel funnel = ObjectFunnels.newFunnel(out,
+                DataStreamSerializationFactoryV1.INSTANCE);
+        packer.writeIncremental(funnel, ImmutableList.of(commit1.getId(), commit2.getId()),
+                ImmutableList.<ObjectId> of(), false, dedup());
+        funnel.close();
+        // cut the stream within commit2, the last object written
+        byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() - 10);
+
+        // a checkpoint after every commit: commit1 and its contents make it, commit2 doesn't
+        HeapObjectDatabse target = ingestInterrupted(truncated, 1);
+        assertTrue(target.exists(commit1.getId()));
+        for (ObjectId id : writeIncremental(ImmutableList.of(commit1.getId()),
+                ImmutableList.<ObjectId> of())) {
+            assertTrue(target.exists(id));
+        }
+        assertFalse(target.exists(commit2.getId()));
+
+        // no checkpoint before the cut: commit1 is held back along with commit2
+        target = ingestInterrupted(truncated, 1000);
+        assertFalse(target.exists(commit1.getId()));
+        assertFalse(target.exists(commit2.getId()));
+    }
+
+    /**
+     * Ingests the given bytes as if the connection dropped right after them
+     */
+    private HeapObjectDatabse ingestInterrupted(byte[] truncated, int checkpointSize) {
+        InputStream dropped = new FilterInputStream(new ByteArrayInputStream(truncated)) {
+            @Override
+            public int read() throws IOException {
+                return check(super.read());
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return check(super.read(b, off, len));
+            }
+
+            private int check(int read) throws IOException {
+                if (read == -1) {
+                    throw new IOException("Connection reset");
+                }
+                return read;
+            }
+        };
+        HeapObjectDatabse target = new HeapObjectDatabse();
+        target.open();
+        try {
+            new BinaryPackedObjects(target, checkpointSize).ingest(dropped);
+            fail("Expected the interrupted stream to fail");
+        } catch (RuntimeException expected) {
+            assertTrue(Throwables.getRootCause(expected) instanceof IOException);
+        }
+        return target;
+    }
+
+    private void testIngest(ObjectFunnel funnel, ByteArrayOutputStream out) throws Exception {
+        insertAndAdd(points1, points2, lines1);
+        RevCommit commit1 = geogig.command(CommitOp.class).call();
+        insertAndAdd(points3, lines2);
+        RevCommit commit2 = geogig.command(CommitOp.class).call();
+
+        List<ObjectId> want = ImmutableList.of(commit1.getId(), commit2.getId());
+        CollectingFunnel expected = new CollectingFunnel();
+        packer.writeIncremental(expected, want, ImmutableList.<ObjectId> of(), false, dedup());
+        packer.writeIncremental(funnel, want, ImmutableList.<ObjectId> of(), false, dedup());
+        funnel.close();
+
+        HeapObjectDatabse target = new HeapObjectDatabse();
+        target.open();
+        IngestResults results = new BinaryPackedObjects(target).ingest(new ByteArrayInputStream(
+                out.toByteArray()));
+
+        assertEquals(expected.ids.size(), results.getInserted());
+        assertEquals(0, results.getExisting());
+        for (ObjectId id : expected.ids) {
+            assertTrue(target.exists(id));
+        }
+    }
+
+    private ObjectId childTreeId(RevCommit commit, String path) {
+        NodeRef ref = geogig.command(FindTreeChild.class)
+                .setParent(repo.getTree(commit.getTreeId())).setChildPath(path).call().get();
+        return ref.getObjectId();
+    }
+
+    private List<ObjectId> writeIncremental(List<ObjectId> want, List<ObjectId> have)
+            throws IOException {
+        CollectingFunnel funnel = new CollectingFunnel();
+        packer.writeIncremental(funnel, want, have, false, dedup());
+        return funnel.ids;
+    }
+
+    private Deduplicator dedup() {
+        return geogig.command(CreateDeduplicator.class).call();
+    }
+
+    private static class CollectingFunnel implements ObjectFunnel {
+
+        final List<ObjectId> ids = Lists.newArrayList();
+
+        @Override
+        public void funnel(RevObject object) throws IOException {
+            ids.add(object.getId());
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.ref.WeakReference;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.TestPlatform;
+import org.locationtech.geogig.storage.GraphDatabase;
+import org.locationtech.geogig.storage.memory.HeapGraphDatabase;
+
+public class CommitMappingCacheTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private GraphDatabase graphDatabase;
+
+    private ObjectId mapped;
+
+    private ObjectId original;
+
+    @Before
+    public void setUp() {
+        graphDatabase = mock(GraphDatabase.class);
+        mapped = ObjectId.forString("mapped");
+        original = ObjectId.forString("original");
+    }
+
+    @Test
+    public void testMappingsAreCached() {
+        when(graphDatabase.getMapping(mapped)).thenReturn(original);
+
+        assertEquals(original, CommitMappingCache.of(graphDatabase).getMapping(mapped));
+        assertEquals(original, CommitMappingCache.of(graphDatabase).getMapping(mapped));
+
+        verify(graphDatabase, times(1)).getMapping(mapped);
+    }
+
+    @Test
+    public void testMapWritesThrough() {
+        CommitMappingCache.of(graphDatabase).map(mapped, original);
+
+        verify(graphDatabase).map(mapped, original);
+        assertEquals(original, CommitMappingCache.of(graphDatabase).getMapping(mapped));
+        verify(graphDatabase, times(0)).getMapping(mapped);
+    }
+
+    @Test
+    public void testUnmappedCommitsAreNotCached() {
+        when(graphDatabase.getMapping(mapped)).thenReturn(ObjectId.NULL, original);
+
+        assertEquals(ObjectId.NULL, CommitMappingCache.of(graphDatabase).getMapping(mapped));
+        assertEquals(original, CommitMappingCache.of(graphDatabase).getMapping(mapped));
+    }
+
+    @Test
+    public void testCachesArePerGraphDatabase() {
+        GraphDatabase other = mock(GraphDatabase.class);
+        CommitMappingCache.of(graphDatabase).map(mapped, original);
+
+        assertNull(CommitMappingCache.of(other).getMapping(mapped));
+        verify(other).getMapping(mapped);
+    }
+
+    @Test
+    public void testGraphDatabaseIsNotRetained() throws Exception {
+        // not a mock, mockito keeps track of the last mock invoked
+        GraphDatabase database = new HeapGraphDatabase(new TestPlatform(
+                tempFolder.getRoot()));
+        database.open();
+        CommitMappingCache.of(database).map(mapped, original);
+
+        WeakReference<GraphDatabase> ref = new WeakReference<GraphDatabase>(database);
+        database = null;
+        for (int i = 0; i < 50 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(ref.get());
+    }
+}
@@ -0,0 +1,193 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Test;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevCommit;
+import org.locationtech.geogig.test.integration.RepositoryTestCase;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+public class FetchNegotiationTest extends RepositoryTestCase {
+
+    private List<RevCommit> commits;
+
+    @Override
+    protected void setUpInternal() throws Exception {
+        commits = populate(true, points1, points2, points3, lines1);
+    }
+
+    @Test
+    public void testReadRequest() throws Exception {
+        ObjectId want = commits.get(3).getId();
+        ObjectId have = commits.get(1).getId();
+        FetchNegotiation.Request request = FetchNegotiation.readRequest(new ByteArrayInputStream(
+                request(true, ImmutableList.of(want), ImmutableList.of(have))));
+        assertTrue(request.isDone());
+        assertEquals(ImmutableList.of(want), request.getWants());
+        assertEquals(ImmutableList.of(have), request.getHaves());
+    }
+
+    @Test
+    public void testAcknowledgesKnownHaves() throws Exception {
+        ObjectId unknown = ObjectId.forString("unknown");
+        List<Record> records = respond(false, ImmutableList.of(commits.get(3).getId()),
+                ImmutableList.of(unknown, commits.get(1).getId()));
+        assertEquals(ImmutableList.of(new Record(FetchNegotiation.ACK, commits.get(1).getId())),
+                records);
+    }
+
+    @Test
+    public void testSendsCommitsAfterTheCommonOnesParentsFirst() throws Exception {
+        List<Record> records = respond(true, ImmutableList.of(commits.get(3).getId()),
+                ImmutableList.of(commits.get(1).getId()));
+        assertEquals(ImmutableList.of(//
+                new Record(FetchNegotiation.ACK, commits.get(1).getId()),//
+                new Record(FetchNegotiation.COMMIT, commits.get(2).getId()),//
+                new Record(FetchNegotiation.COMMIT, commits.get(3).getId())), records);
+    }
+
+    @Test
+    public void testSendsWholeHistoryWithNoCommonCommits() throws Exception {
+        List<Record> records = respond(true, ImmutableList.of(commits.get(3).getId()),
+                ImmutableList.<ObjectId> of());
+        assertEquals(4, records.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(new Record(FetchNegotiation.COMMIT, commits.get(i).getId()),
+                    records.get(i));
+        }
+    }
+
+    @Test
+    public void testSendsNothingForCommonWants() throws Exception {
+        List<Record> records = respond(true, ImmutableList.of(commits.get(2).getId()),
+                ImmutableList.of(commits.get(3).getId()));
+        assertEquals(ImmutableList.of(new Record(FetchNegotiation.ACK, commits.get(3).getId())),
+                records);
+    }
+
+    @Test
+    public void testShallowRequestRoundTrip() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        FetchNegotiation.writeRequest(new FetchNegotiation.Request(ImmutableList.of(commits.get(3)
+                .getId()), ImmutableList.<ObjectId> of(), true, Optional.of(2), Optional.of(1000L)),
+                bytes);
+        FetchNegotiation.Request request = FetchNegotiation.readRequest(new ByteArrayInputStream(
+                bytes.toByteArray()));
+        assertTrue(request.isShallow());
+        assertEquals(Optional.of(2), request.getDepth());
+        assertEquals(Optional.of(1000L), request.getSince());
+        assertEquals(ImmutableList.of(commits.get(3).getId()), request.getWants());
+        assertTrue(request.getHaves().isEmpty());
+    }
+
+    @Test
+    public void testSendsCommitsWithinDepth() throws Exception {
+        FetchNegotiation.Request request = new FetchNegotiation.Request(ImmutableList.of(commits
+                .get(3).getId()), ImmutableList.<ObjectId> of(), true, Optional.of(2),
+                Optional.<Long> absent());
+        assertEquals(ImmutableList.of(//
+                new Record(FetchNegotiation.COMMIT, commits.get(2).getId()),//
+                new Record(FetchNegotiation.COMMIT, commits.get(3).getId())), respond(request));
+    }
+
+    @Test
+    public void testSendsCommitsSinceDate() throws Exception {
+        long since = commits.get(1).getCommitter().getTimestamp();
+        FetchNegotiation.Request request = new FetchNegotiation.Request(ImmutableList.of(commits
+                .get(3).getId()), ImmutableList.<ObjectId> of(), true,
+                Optional.<Integer> absent(), Optional.of(since));
+        List<Record> records = respond(request);
+        for (Record record : records) {
+            RevCommit commit = repo.getCommit(record.id);
+            assertTrue(commit.getCommitter().getTimestamp() >= since);
+        }
+        assertEquals(new Record(FetchNegotiation.COMMIT, commits.get(3).getId()),
+                records.get(records.size() - 1));
+        assertTrue(records.contains(new Record(FetchNegotiation.COMMIT, commits.get(1).getId())));
+    }
+
+    private List<Record> respond(boolean done, List<ObjectId> wants, List<ObjectId> haves)
+            throws IOException {
+        return respond(FetchNegotiation.readRequest(new ByteArrayInputStream(request(done, wants,
+                haves))));
+    }
+
+    private List<Record> respond(FetchNegotiation.Request request) throws IOException {
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        FetchNegotiation.writeResponse(repo, request, response);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(
+                response.toByteArray()));
+        List<Record> records = Lists.newArrayList();
+        byte tag;
+        while ((tag = in.readByte()) != FetchNegotiation.END) {
+            byte[] raw = new byte[ObjectId.NUM_BYTES];
+            in.readFully(raw);
+            records.add(new Record(tag, ObjectId.createNoClone(raw)));
+        }
+        assertEquals(-1, in.read());
+        return records;
+    }
+
+    private byte[] request(boolean done, List<ObjectId> wants, List<ObjectId> haves)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(FetchNegotiation.VERSION);
+        out.writeByte(done ? FetchNegotiation.FLAG_DONE : 0);
+        out.writeInt(wants.size());
+        for (ObjectId id : wants) {
+            out.write(id.getRawValue());
+        }
+        for (ObjectId id : haves) {
+            out.write(id.getRawValue());
+        }
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    private static class Record {
+
+        final byte tag;
+
+        final ObjectId id;
+
+        Record(byte tag, ObjectId id) {
+            this.tag = tag;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Record && ((Record) o).tag == tag && ((Record) o).id.equals(id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * tag + id.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return (char) tag + " " + id;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.remote;
+
+import java.util.Iterator;
+import java.util.Set;
+
+import org.junit.Test;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RepositoryFilter;
+import org.locationtech.geogig.api.RevCommit;
+import org.locationtech.geogig.api.RevObject;
+import org.locationtech.geogig.api.plumbing.DiffTree;
+import org.locationtech.geogig.api.plumbing.diff.DiffEntry;
+import org.locationtech.geogig.api.porcelain.CommitOp;
+import org.locationtech.geogig.test.integration.RepositoryTestCase;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+
+public class FilteredDiffIteratorTest extends RepositoryTestCase {
+
+    private RepositoryFilter filter;
+
+    @Override
+    protected void setUpInternal() throws Exception {
+        filter = new RepositoryFilter();
+        filter.addFilter(pointsName, "CQL", "BBOX(pp,0.5,0.5,1.5,1.5)");
+    }
+
+    @Test
+    public void testFeaturesOutsideBoundsAreNotLoaded() throws Exception {
+        insertAndAdd(points1);
+        final ObjectId p2 = insertAndAdd(points2);
+        final ObjectId p3 = insertAndAdd(points3);
+        RevCommit commit = geogig.command(CommitOp.class).call();
+
+        // would fail if the filter had to be evaluated on them
+        repo.objectDatabase().delete(p2);
+        repo.objectDatabase().delete(p3);
+
+        FilteredDiffIterator filtered = filter(commit, ImmutableSet.<ObjectId> of());
+        assertEquals(ImmutableSet.of(idP1), newFeatures(filtered));
+        assertTrue(filtered.wasFiltered());
+    }
+
+    @Test
+    public void testTrackedFeaturesOutsideBoundsAreKept() throws Exception {
+        insertAndAdd(points1);
+        final ObjectId p2 = insertAndAdd(points2);
+        geogig.command(CommitOp.class).call();
+        insertAndAdd(feature(pointsType, idP2, "StringProp1_2a", Integer.valueOf(2001),
+                "POINT(2 3)"));
+        RevCommit commit = geogig.command(CommitOp.class).call();
+
+        FilteredDiffIterator filtered = filter(commit, ImmutableSet.of(p2));
+        assertEquals(ImmutableSet.of(idP2), newFeatures(filtered));
+
+        filtered = filter(commit, ImmutableSet.<ObjectId> of());
+        assertEquals(ImmutableSet.of(), newFeatures(filtered));
+        assertTrue(filtered.wasFiltered());
+    }
+
+    private FilteredDiffIterator filter(RevCommit commit, final Set<ObjectId> tracked) {
+        ObjectId parent = commit.parentN(0).or(ObjectId.NULL);
+        Iterator<DiffEntry> changes = geogig.command(DiffTree.class)
+                .setOldVersion(parent.toString()).setNewVersion(commit.getId().toString())
+                .setReportTrees(true).call();
+        return new FilteredDiffIterator(changes, repo, filter) {
+            @Override
+            protected boolean trackingObject(ObjectId objectId) {
+                return tracked.contains(objectId);
+            }
+
+            @Override
+            public boolean isAutoIngesting() {
+                return false;
+            }
+        };
+    }
+
+    private Set<String> newFeatures(Iterator<DiffEntry> changes) {
+        Set<String> names = Sets.newHashSet();
+        while (changes.hasNext()) {
+            DiffEntry entry = changes.next();
+            if (entry.getNewObject() != null
+                    && entry.getNewObject().getType() == RevObject.TYPE.FEATURE) {
+                names.add(entry.getNewObject().name());
+            }
+        }
+        return names;
+    }
+}
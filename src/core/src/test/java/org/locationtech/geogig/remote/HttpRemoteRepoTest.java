@@ -0,0 +1,117 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.remote;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.locationtech.geogig.api.DefaultProgressListener;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.Ref;
+import org.locationtech.geogig.api.RevCommit;
+import org.locationtech.geogig.api.RevObject;
+import org.locationtech.geogig.api.plumbing.CreateDeduplicator;
+import org.locationtech.geogig.api.plumbing.RefParse;
+import org.locationtech.geogig.api.porcelain.CommitOp;
+import org.locationtech.geogig.repository.PostOrderIterator;
+import org.locationtech.geogig.storage.memory.HeapDeduplicationService;
+import org.locationtech.geogig.storage.memory.HeapObjectDatabse;
+import org.locationtech.geogig.test.integration.RepositoryTestCase;
+import org.opengis.feature.Feature;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+public class HttpRemoteRepoTest extends RepositoryTestCase {
+
+    private HeapObjectDatabse remoteDatabase;
+
+    private RemoteStandInServer server;
+
+    private HttpRemoteRepo remote;
+
+    @Override
+    protected void setUpInternal() throws Exception {
+        remoteDatabase = new HeapObjectDatabse();
+        remoteDatabase.open();
+        server = new RemoteStandInServer(remoteDatabase);
+        server.start();
+        remote = new HttpRemoteRepo(server.getRepositoryURL(), repo,
+                new HeapDeduplicationService());
+    }
+
+    @Override
+    protected void tearDownInternal() throws Exception {
+        server.stop();
+        remoteDatabase.close();
+    }
+
+    @Test
+    public void testPushFailedMidwayLeavesNoIncompleteCommits() throws Exception {
+        repo.configDatabase().put("push.chunk.limit", "1024");
+        repo.configDatabase().put("push.parallelism", "4");
+
+        List<RevCommit> commits = Lists.newArrayList();
+        for (int c = 0; c < 5; c++) {
+            List<Feature> features = Lists.newArrayList();
+            for (int i = 0; i < 20; i++) {
+                int n = 100 * c + i;
+                features.add(feature(pointsType, "Points." + n, "StringProp1_" + n,
+                        Integer.valueOf(n), "POINT(" + n + " " + c + ")"));
+            }
+            insertAndAdd(features.toArray(new Feature[features.size()]));
+            commits.add(geogig.command(CommitOp.class).setMessage("commit " + c).call());
+        }
+        final Ref master = geogig.command(RefParse.class).setName(Ref.MASTER).call().get();
+
+        server.failSendObject(3);
+        try {
+            remote.pushNewData(master, "master", new DefaultProgressListener());
+            fail("Expected push to fail");
+        } catch (RuntimeException expected) {
+            // the failed batch is reported once all the batches in flight are done
+        }
+        assertNull(server.getPushedRef(Ref.MASTER));
+        for (RevCommit commit : commits) {
+            if (remoteDatabase.exists(commit.getId())) {
+                assertEquals(ImmutableSet.of(), missingContents(commit));
+            }
+        }
+
+        remote.pushNewData(master, "master", new DefaultProgressListener());
+
+        assertEquals(master.getObjectId(), server.getPushedRef(Ref.MASTER));
+        for (RevCommit commit : commits) {
+            assertTrue(remoteDatabase.exists(commit.getId()));
+            assertEquals(ImmutableSet.of(), missingContents(commit));
+        }
+    }
+
+    /**
+     * @return the objects reachable from the commit's tree that are not in the remote database
+     */
+    private Set<ObjectId> missingContents(RevCommit commit) {
+        Set<ObjectId> missing = Sets.newHashSet();
+        Iterator<RevObject> contents = PostOrderIterator.contentsOf(
+                ImmutableList.of(commit.getId()), repo.objectDatabase(),
+                geogig.command(CreateDeduplicator.class).call());
+        while (contents.hasNext()) {
+            ObjectId id = contents.next().getId();
+            if (!remoteDatabase.exists(id)) {
+                missing.add(id);
+            }
+        }
+        return missing;
+    }
+}
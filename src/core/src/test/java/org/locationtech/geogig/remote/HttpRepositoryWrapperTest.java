@@ -0,0 +1,79 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.remote;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevCommit;
+import org.locationtech.geogig.api.porcelain.CommitOp;
+import org.locationtech.geogig.storage.memory.HeapObjectDatabse;
+import org.locationtech.geogig.test.integration.RepositoryTestCase;
+
+import com.google.common.collect.Lists;
+
+public class HttpRepositoryWrapperTest extends RepositoryTestCase {
+
+    private HeapObjectDatabse remoteDatabase;
+
+    private RemoteStandInServer server;
+
+    @Override
+    protected void setUpInternal() throws Exception {
+        remoteDatabase = new HeapObjectDatabse();
+        remoteDatabase.open();
+        server = new RemoteStandInServer(remoteDatabase);
+        server.start();
+    }
+
+    @Override
+    protected void tearDownInternal() throws Exception {
+        server.stop();
+        remoteDatabase.close();
+    }
+
+    @Test
+    public void testObjectExistsQueriesAncestorsInOneRequest() throws Exception {
+        List<RevCommit> commits = Lists.newArrayList();
+        for (int i = 0; i < 10; i++) {
+            insertAndAdd(feature(pointsType, "Points." + i, "StringProp1_" + i,
+                    Integer.valueOf(i), "POINT(" + i + " " + i + ")"));
+            commits.add(geogig.command(CommitOp.class).setMessage("commit " + i).call());
+        }
+        // the remote has the first half of the history
+        for (RevCommit commit : commits.subList(0, 5)) {
+            remoteDatabase.put(commit);
+        }
+
+        HttpRepositoryWrapper wrapper = new HttpRepositoryWrapper(server.getRepositoryURL(),
+                repo);
+        for (int i = commits.size() - 1; i >= 0; i--) {
+            assertEquals(i < 5, wrapper.objectExists(commits.get(i).getId()));
+        }
+        assertTrue(wrapper.objectExists(ObjectId.NULL));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void testObjectExistsWithoutLocalRepository() throws Exception {
+        insertAndAdd(points1);
+        RevCommit commit1 = geogig.command(CommitOp.class).call();
+        insertAndAdd(points2);
+        RevCommit commit2 = geogig.command(CommitOp.class).call();
+        remoteDatabase.put(commit1);
+
+        HttpRepositoryWrapper wrapper = new HttpRepositoryWrapper(server.getRepositoryURL());
+        assertFalse(wrapper.objectExists(commit2.getId()));
+        assertTrue(wrapper.objectExists(commit1.getId()));
+        assertTrue(wrapper.objectExists(commit1.getId()));
+        assertEquals(2, server.getRequestCount());
+    }
+}
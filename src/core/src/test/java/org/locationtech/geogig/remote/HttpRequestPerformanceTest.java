@@ -0,0 +1,122 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.remote;
+
+import static org.junit.Assert.assertEquals;
+
+import java.net.URL;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.locationtech.geogig.api.CommitBuilder;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevCommit;
+import org.locationtech.geogig.storage.memory.HeapObjectDatabse;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.Lists;
+
+/**
+ * Compares the time it takes to check for the existence of many objects in a remote with one
+ * request per object versus {@link HttpUtils#networkObjectsExist batched} requests, against an
+ * in-process {@link RemoteStandInServer}.
+ */
+public class HttpRequestPerformanceTest {
+
+    private static final int NUM_IDS = 1000;
+
+    private static final int RUNS = 5;
+
+    private HeapObjectDatabse database;
+
+    private RemoteStandInServer server;
+
+    private URL repositoryURL;
+
+    private List<ObjectId> ids;
+
+    @Before
+    public void setUp() throws Exception {
+        database = new HeapObjectDatabse();
+        database.open();
+        ids = Lists.newArrayListWithCapacity(NUM_IDS);
+        for (int i = 0; i < NUM_IDS; i++) {
+            if (i % 2 == 0) {
+                RevCommit commit = commit(i);
+                database.put(commit);
+                ids.add(commit.getId());
+            } else {
+                ids.add(ObjectId.forString("missing-" + i));
+            }
+        }
+        server = new RemoteStandInServer(database);
+        server.start();
+        repositoryURL = server.getRepositoryURL();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+        database.close();
+    }
+
+    @Ignore
+    @Test
+    public void testExistsOneByOneVersusBatched() {
+        System.err.println("############### Warming up....");
+        existsOneByOne();
+        existsBatched();
+        System.err.println("############### Warm up done.");
+
+        Stopwatch oneByOne = Stopwatch.createUnstarted();
+        Stopwatch batched = Stopwatch.createUnstarted();
+        for (int i = 0; i < RUNS; i++) {
+            oneByOne.start();
+            assertEquals(NUM_IDS / 2, existsOneByOne());
+            oneByOne.stop();
+
+            batched.start();
+            assertEquals(NUM_IDS / 2, existsBatched());
+            batched.stop();
+        }
+        System.err.printf("%,d existence checks x %d: one by one %s, batched %s\n", NUM_IDS,
+                RUNS, oneByOne, batched);
+    }
+
+    private int existsOneByOne() {
+        int found = 0;
+        for (ObjectId id : ids) {
+            if (HttpUtils.networkObjectExists(repositoryURL, id)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private int existsBatched() {
+        return HttpUtils.networkObjectsExist(repositoryURL, ids).size();
+    }
+
+    private static RevCommit commit(int i) {
+        CommitBuilder builder = new CommitBuilder();
+        builder.setTreeId(ObjectId.forString("tree"));
+        builder.setAuthor("groldan");
+        builder.setAuthorEmail("groldan@boundlessgeo.com");
+        builder.setCommitter("groldan");
+        builder.setCommitterEmail("groldan@boundlessgeo.com");
+        builder.setMessage("commit " + i);
+        builder.setAuthorTimestamp(i);
+        builder.setCommitterTimestamp(i);
+        return builder.build();
+    }
+}
@@ -0,0 +1,142 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.geogig.api.CommitBuilder;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevCommit;
+import org.locationtech.geogig.api.RevObject;
+import org.locationtech.geogig.storage.memory.HeapObjectDatabse;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+public class HttpUtilsTest {
+
+    private HeapObjectDatabse database;
+
+    private RemoteStandInServer server;
+
+    private URL repositoryURL;
+
+    @Before
+    public void setUp() throws Exception {
+        database = new HeapObjectDatabse();
+        database.open();
+        server = new RemoteStandInServer(database);
+        server.start();
+        repositoryURL = server.getRepositoryURL();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+        database.close();
+    }
+
+    @Test
+    public void testNetworkObjectsExist() {
+        List<ObjectId> ids = Lists.newArrayList();
+        Set<ObjectId> expected = Sets.newHashSet();
+        for (int i = 0; i < 2 * HttpUtils.BATCH_SIZE + 10; i++) {
+            if (i % 2 == 0) {
+                RevCommit commit = commit(i);
+                database.put(commit);
+                ids.add(commit.getId());
+                expected.add(commit.getId());
+            } else {
+                ids.add(ObjectId.forString("missing-" + i));
+            }
+        }
+
+        Set<ObjectId> found = HttpUtils.networkObjectsExist(repositoryURL, ids);
+
+        assertEquals(expected, found);
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void testNetworkObjectsExistOnServerWithoutBatchRequests() {
+        server.rejectBatchRequests();
+        RevCommit commit = commit(0);
+        database.put(commit);
+        ObjectId missing = ObjectId.forString("missing");
+
+        Set<ObjectId> found = HttpUtils.networkObjectsExist(repositoryURL,
+                Lists.newArrayList(commit.getId(), missing));
+
+        assertEquals(Sets.newHashSet(commit.getId()), found);
+        assertFalse(HttpUtils.supportsBatchRequests(repositoryURL));
+        // the rejected batch, then one request per object
+        assertEquals(3, server.getRequestCount());
+
+        assertEquals(Sets.newHashSet(commit.getId()),
+                HttpUtils.networkObjectsExist(repositoryURL, Lists.newArrayList(commit.getId())));
+        assertEquals(4, server.getRequestCount());
+    }
+
+    @Test
+    public void testGetNetworkObjects() {
+        List<ObjectId> ids = Lists.newArrayList();
+        for (int i = 0; i < 10; i++) {
+            RevCommit commit = commit(i);
+            database.put(commit);
+            ids.add(commit.getId());
+        }
+        ObjectId missing = ObjectId.forString("missing");
+        ids.add(missing);
+
+        Map<ObjectId, RevObject> objects = HttpUtils.getNetworkObjects(repositoryURL, ids);
+
+        assertEquals(10, objects.size());
+        assertFalse(objects.containsKey(missing));
+        for (ObjectId id : ids.subList(0, 10)) {
+            assertEquals(database.get(id), objects.get(id));
+        }
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void testConnectionsAreReused() {
+        RevCommit commit = commit(0);
+        database.put(commit);
+        final int requests = 20;
+        for (int i = 0; i < requests; i++) {
+            assertTrue(HttpUtils.networkObjectExists(repositoryURL, commit.getId()));
+        }
+        assertEquals(requests, server.getRequestCount());
+        assertTrue(server.getConnectionCount() < requests);
+    }
+
+    private static RevCommit commit(int i) {
+        CommitBuilder builder = new CommitBuilder();
+        builder.setTreeId(ObjectId.forString("tree"));
+        builder.setAuthor("groldan");
+        builder.setAuthorEmail("groldan@boundlessgeo.com");
+        builder.setCommitter("groldan");
+        builder.setCommitterEmail("groldan@boundlessgeo.com");
+        builder.setMessage("commit " + i);
+        builder.setAuthorTimestamp(i);
+        builder.setCommitterTimestamp(i);
+        return builder.build();
+    }
+}
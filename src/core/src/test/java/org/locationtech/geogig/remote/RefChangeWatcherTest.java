@@ -0,0 +1,122 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.Ref;
+import org.locationtech.geogig.api.Remote;
+import org.locationtech.geogig.storage.memory.HeapObjectDatabse;
+
+import com.google.common.collect.ImmutableSet;
+
+public class RefChangeWatcherTest {
+
+    private HeapObjectDatabse database;
+
+    private RemoteStandInServer server;
+
+    private RefChangeWatcher watcher;
+
+    private BlockingQueue<ImmutableSet<Ref>> changes;
+
+    @Before
+    public void setUp() throws Exception {
+        database = new HeapObjectDatabse();
+        database.open();
+        server = new RemoteStandInServer(database);
+        server.start();
+        changes = new LinkedBlockingQueue<ImmutableSet<Ref>>();
+        watcher = new RefChangeWatcher(server.getRepositoryURL(),
+                new RefChangeWatcher.Listener() {
+                    @Override
+                    public void refsChanged(ImmutableSet<Ref> refs) {
+                        changes.add(refs);
+                    }
+                }, 1);
+    }
+
+    @After
+    public void tearDown() {
+        watcher.close();
+        server.stop();
+        database.close();
+    }
+
+    @Test
+    public void testNotifiesChanges() throws Exception {
+        ObjectId first = ObjectId.forString("first");
+        ObjectId second = ObjectId.forString("second");
+        server.setRefs("refs/heads/master " + first);
+        watcher.start();
+
+        // the refs at start up are not a change, and unchanged refs time out silently
+        assertNull(changes.poll(2, TimeUnit.SECONDS));
+
+        server.setRefs("refs/heads/master " + second);
+        ImmutableSet<Ref> refs = changes.poll(10, TimeUnit.SECONDS);
+        assertNotNull(refs);
+        assertEquals(ImmutableSet.of(new Ref("refs/heads/master", second)), refs);
+
+        server.setRefs("refs/heads/master " + second, "refs/heads/branch1 " + first);
+        refs = changes.poll(10, TimeUnit.SECONDS);
+        assertNotNull(refs);
+        assertEquals(2, refs.size());
+        assertNull(changes.poll(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testForRemote() throws Exception {
+        Remote remote = new Remote("origin", server.getRepositoryURL().toString(), null,
+                "+refs/heads/*:refs/remotes/origin/*", false, null, null, null);
+        RefChangeWatcher remoteWatcher = RefChangeWatcher.forRemote(remote,
+                new RefChangeWatcher.Listener() {
+                    @Override
+                    public void refsChanged(ImmutableSet<Ref> refs) {
+                        changes.add(refs);
+                    }
+                });
+        ObjectId first = ObjectId.forString("first");
+        server.setRefs("refs/heads/master " + first);
+        remoteWatcher.start();
+        try {
+            Thread.sleep(1000);
+            server.setRefs("refs/heads/master " + first, "refs/heads/branch1 " + first);
+            ImmutableSet<Ref> refs = changes.poll(10, TimeUnit.SECONDS);
+            assertNotNull(refs);
+            assertEquals(2, refs.size());
+        } finally {
+            remoteWatcher.close();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForRemoteRejectsLocalRemotes() {
+        Remote remote = new Remote("origin", "file:/tmp/repo", null,
+                "+refs/heads/*:refs/remotes/origin/*", false, null, null, null);
+        RefChangeWatcher.forRemote(remote, new RefChangeWatcher.Listener() {
+            @Override
+            public void refsChanged(ImmutableSet<Ref> refs) {
+                fail();
+            }
+        });
+    }
+}
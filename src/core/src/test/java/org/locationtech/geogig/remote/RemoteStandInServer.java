@@ -0,0 +1,339 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.remote;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.Ref;
+import org.locationtech.geogig.api.RevObject;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.locationtech.geogig.storage.datastream.DataStreamSerializationFactoryV1;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.io.ByteStreams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process stand-in for the {@code /repo/exists}, {@code /repo/getobjects}, and
+ * {@code /repo/refchanges} endpoints of the web API, serving the objects of an
+ * {@link ObjectDatabase} and a settable list of refs over the JDK's built-in HTTP server.
+ * <p>
+ * Also stands in for the endpoints used by a push ({@code /refparse}, {@code /repo/getdepth},
+ * {@code /repo/beginpush}, {@code /repo/sendobject}, and {@code /repo/endpush}), storing the
+ * pushed objects in the database and the pushed refs in memory. A given {@code sendobject}
+ * request can be made to {@link #failSendObject(int) fail} to simulate an interrupted push, and
+ * batched requests can be {@link #rejectBatchRequests() rejected} to simulate an older server.
+ * <p>
+ * Counts the requests served and the distinct client connections they came through, to verify
+ * connections are being reused.
+ */
+public class RemoteStandInServer {
+
+    private final ObjectDatabase database;
+
+    private final HttpServer server;
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private final Set<InetSocketAddress> connections = Sets.newConcurrentHashSet();
+
+    private volatile String manifest = "";
+
+    private final Map<String, ObjectId> pushedRefs = new ConcurrentHashMap<String, ObjectId>();
+
+    private final AtomicInteger sendObjectCountdown = new AtomicInteger();
+
+    private volatile boolean rejectBatchRequests;
+
+    public RemoteStandInServer(ObjectDatabase database) throws IOException {
+        this.database = database;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/repo/exists", new ExistsHandler());
+        this.server.createContext("/repo/getobjects", new GetObjectsHandler());
+        this.server.createContext("/repo/refchanges", new RefChangesHandler());
+        this.server.createContext("/refparse", new RefParseHandler());
+        this.server.createContext("/repo/getdepth", new EmptyResponseHandler());
+        this.server.createContext("/repo/beginpush", new EmptyResponseHandler());
+        this.server.createContext("/repo/sendobject", new SendObjectHandler());
+        this.server.createContext("/repo/endpush", new EndPushHandler());
+        this.server.setExecutor(Executors.newFixedThreadPool(4));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    public URL getRepositoryURL() {
+        try {
+            return new URL("http://localhost:" + server.getAddress().getPort());
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int getRequestCount() {
+        return requests.get();
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * @param refs the refs to serve, in the manifest format
+     */
+    public void setRefs(String... refs) {
+        StringBuilder sb = new StringBuilder();
+        for (String ref : refs) {
+            sb.append(ref).append('\n');
+        }
+        manifest = sb.toString();
+    }
+
+    /**
+     * Makes the {@code n}th {@code sendobject} request from now on fail without storing any of its
+     * objects
+     */
+    public void failSendObject(int n) {
+        sendObjectCountdown.set(n);
+    }
+
+    /**
+     * Makes the server answer batched {@code POST} requests with a 405 status, as servers that
+     * only know the per object {@code GET} requests do
+     */
+    public void rejectBatchRequests() {
+        rejectBatchRequests = true;
+    }
+
+    /**
+     * @return the value a push set the given ref to, or {@code null}
+     */
+    public ObjectId getPushedRef(String name) {
+        return pushedRefs.get(name);
+    }
+
+    private void received(HttpExchange exchange) {
+        requests.incrementAndGet();
+        connections.add(exchange.getRemoteAddress());
+    }
+
+    private static List<ObjectId> readIds(HttpExchange exchange) throws IOException {
+        List<ObjectId> ids = Lists.newArrayList();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+                exchange.getRequestBody(), Charsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isEmpty()) {
+                ids.add(ObjectId.valueOf(line));
+            }
+        }
+        reader.close();
+        return ids;
+    }
+
+    private static Map<String, String> queryParams(HttpExchange exchange) {
+        Map<String, String> params = Maps.newHashMap();
+        String query = exchange.getRequestURI().getQuery();
+        if (query != null) {
+            for (String param : query.split("&")) {
+                int idx = param.indexOf('=');
+                params.put(param.substring(0, idx), param.substring(idx + 1));
+            }
+        }
+        return params;
+    }
+
+    /**
+     * @return {@code true} if the request was a batched one and got rejected
+     */
+    private boolean rejected(HttpExchange exchange) throws IOException {
+        if (rejectBatchRequests && "POST".equals(exchange.getRequestMethod())) {
+            ByteStreams.toByteArray(exchange.getRequestBody());
+            exchange.sendResponseHeaders(405, -1);
+            exchange.close();
+            return true;
+        }
+        return false;
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(200, body.length);
+        OutputStream out = exchange.getResponseBody();
+        out.write(body);
+        out.close();
+    }
+
+    private class ExistsHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            received(exchange);
+            if (rejected(exchange)) {
+                return;
+            }
+            StringBuilder response = new StringBuilder();
+            if ("POST".equals(exchange.getRequestMethod())) {
+                for (ObjectId id : readIds(exchange)) {
+                    response.append(database.exists(id) ? '1' : '0').append('\n');
+                }
+            } else {
+                URI uri = exchange.getRequestURI();
+                String query = uri.getQuery();
+                String oid = query.substring(query.indexOf("oid=") + 4, query.indexOf("oid=")
+                        + 4 + 2 * ObjectId.NUM_BYTES);
+                response.append(database.exists(ObjectId.valueOf(oid)) ? '1' : '0');
+            }
+            respond(exchange, response.toString().getBytes(Charsets.UTF_8));
+        }
+    }
+
+    private class GetObjectsHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            received(exchange);
+            if (rejected(exchange)) {
+                return;
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ObjectFunnel funnel = ObjectFunnels.newFunnel(out,
+                    DataStreamSerializationFactoryV1.INSTANCE);
+            for (RevObject object : Lists.newArrayList(database.getAll(readIds(exchange)))) {
+                funnel.funnel(object);
+            }
+            funnel.close();
+            respond(exchange, out.toByteArray());
+        }
+    }
+
+    private class RefChangesHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            received(exchange);
+            String query = exchange.getRequestURI().getQuery();
+            String knownVersion = null;
+            int timeoutSeconds = 30;
+            for (String param : query.split("&")) {
+                if (param.startsWith("version=")) {
+                    knownVersion = param.substring("version=".length());
+                } else if (param.startsWith("timeout=")) {
+                    timeoutSeconds = Integer.parseInt(param.substring("timeout=".length()));
+                }
+            }
+            final long deadline = System.currentTimeMillis() + 1000L * timeoutSeconds;
+            String refs = manifest;
+            String version = ObjectId.forString(refs).toString();
+            while (version.equals(knownVersion) && System.currentTimeMillis() < deadline) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                refs = manifest;
+                version = ObjectId.forString(refs).toString();
+            }
+            String response = "version " + version + "\n";
+            if (!version.equals(knownVersion)) {
+                response += refs;
+            }
+            respond(exchange, response.getBytes(Charsets.UTF_8));
+        }
+    }
+
+    private class RefParseHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            received(exchange);
+            String name = queryParams(exchange).get("name");
+            if (!pushedRefs.containsKey(name)) {
+                name = Ref.HEADS_PREFIX + name;
+            }
+            ObjectId value = pushedRefs.get(name);
+            StringBuilder response = new StringBuilder("<response>");
+            if (value == null) {
+                response.append("<success>false</success>");
+            } else {
+                response.append("<success>true</success><Ref><name>").append(name)
+                        .append("</name><objectId>").append(value).append("</objectId></Ref>");
+            }
+            response.append("</response>");
+            respond(exchange, response.toString().getBytes(Charsets.UTF_8));
+        }
+    }
+
+    private class EmptyResponseHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            received(exchange);
+            respond(exchange, new byte[0]);
+        }
+    }
+
+    private class SendObjectHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            received(exchange);
+            InputStream in = exchange.getRequestBody();
+            if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst(
+                    "Content-Encoding"))) {
+                in = new GZIPInputStream(in);
+            }
+            if (sendObjectCountdown.get() > 0 && sendObjectCountdown.decrementAndGet() == 0) {
+                ByteStreams.toByteArray(in);
+                exchange.sendResponseHeaders(500, -1);
+                exchange.close();
+                return;
+            }
+            new BinaryPackedObjects(database).ingest(in);
+            respond(exchange, new byte[0]);
+        }
+    }
+
+    private class EndPushHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            received(exchange);
+            Map<String, String> params = queryParams(exchange);
+            ObjectId objectId = ObjectId.valueOf(params.get("objectId"));
+            if (!database.exists(objectId)) {
+                exchange.sendResponseHeaders(500, -1);
+                exchange.close();
+                return;
+            }
+            pushedRefs.put(params.get("refspec"), objectId);
+            respond(exchange, new byte[0]);
+        }
+    }
+}
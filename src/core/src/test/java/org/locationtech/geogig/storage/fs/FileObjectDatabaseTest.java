@@ -0,0 +1,144 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.fs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.locationtech.geogig.api.CommitBuilder;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevCommit;
+import org.locationtech.geogig.api.RevTree;
+import org.locationtech.geogig.api.TestPlatform;
+import org.locationtech.geogig.storage.BulkOpListener;
+import org.locationtech.geogig.storage.BulkOpListener.CountingListener;
+import org.locationtech.geogig.storage.memory.HeapObjectDatabse;
+
+import com.google.common.collect.ImmutableList;
+
+public class FileObjectDatabaseTest {
+
+    @Rule
+    public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+    private FileObjectDatabase source;
+
+    private FileObjectDatabase target;
+
+    @Before
+    public void setUp() throws Exception {
+        source = createDatabase("source");
+        target = createDatabase("target");
+    }
+
+    @After
+    public void tearDown() {
+        source.close();
+        target.close();
+    }
+
+    private FileObjectDatabase createDatabase(String name) throws Exception {
+        File root = tmpFolder.newFolder(name);
+        new File(root, ".geogig").mkdir();
+        TestPlatform platform = new TestPlatform(root);
+        platform.setUserHome(tmpFolder.newFolder(name + "_home"));
+        FileObjectDatabase database = new FileObjectDatabase(platform,
+                new IniFileConfigDatabase(platform));
+        database.open();
+        return database;
+    }
+
+    @Test
+    public void testCopyRawTo() {
+        RevCommit commit = commit("copied");
+        source.put(commit);
+        source.put(RevTree.EMPTY);
+        ObjectId missing = ObjectId.forString("missing");
+        List<ObjectId> ids = ImmutableList.of(commit.getId(), RevTree.EMPTY_TREE_ID, missing);
+
+        CountingListener listener = BulkOpListener.newCountingListener();
+        assertTrue(source.copyRawTo(ids, target, listener));
+
+        assertEquals(2, listener.inserted());
+        assertEquals(1, listener.notFound());
+        assertEquals(commit, target.getCommit(commit.getId()));
+        assertEquals(RevTree.EMPTY, target.getTree(RevTree.EMPTY_TREE_ID));
+        assertFalse(target.exists(missing));
+
+        listener = BulkOpListener.newCountingListener();
+        assertTrue(source.copyRawTo(ids, target, listener));
+        assertEquals(0, listener.inserted());
+        assertEquals(2, listener.found());
+    }
+
+    @Test
+    public void testCopiesAreIndependent() {
+        RevCommit commit = commit("deleted");
+        source.put(commit);
+        source.copyRawTo(ImmutableList.of(commit.getId()), target, BulkOpListener.NOOP_LISTENER);
+
+        assertTrue(source.delete(commit.getId()));
+        assertEquals(commit, target.getCommit(commit.getId()));
+    }
+
+    @Test
+    public void testCopyRawToOtherBackend() {
+        RevCommit commit = commit("not copied");
+        source.put(commit);
+        HeapObjectDatabse heapDb = new HeapObjectDatabse();
+        heapDb.open();
+        try {
+            assertFalse(source.copyRawTo(ImmutableList.of(commit.getId()), heapDb,
+                    BulkOpListener.NOOP_LISTENER));
+            assertFalse(heapDb.exists(commit.getId()));
+        } finally {
+            heapDb.close();
+        }
+    }
+
+    @Test
+    public void testBackendsWithoutRawCopyUseBatchedInserts() {
+        RevCommit commit = commit("batched");
+        HeapObjectDatabse heapSource = new HeapObjectDatabse();
+        HeapObjectDatabse heapTarget = new HeapObjectDatabse();
+        heapSource.open();
+        heapTarget.open();
+        try {
+            heapSource.put(commit);
+            // copying one object at a time would be slower than the caller's putAll batches
+            assertFalse(heapSource.copyRawTo(ImmutableList.of(commit.getId()), heapTarget,
+                    BulkOpListener.NOOP_LISTENER));
+            assertFalse(heapTarget.exists(commit.getId()));
+        } finally {
+            heapSource.close();
+            heapTarget.close();
+        }
+    }
+
+    private static RevCommit commit(String message) {
+        CommitBuilder builder = new CommitBuilder();
+        builder.setTreeId(RevTree.EMPTY_TREE_ID);
+        builder.setAuthor("groldan");
+        builder.setAuthorEmail("groldan@boundlessgeo.com");
+        builder.setCommitter("groldan");
+        builder.setCommitterEmail("groldan@boundlessgeo.com");
+        builder.setMessage(message);
+        return builder.build();
+    }
+}
@@ -0,0 +1,91 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.memory;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.locationtech.geogig.api.ObjectId;
+
+import com.google.common.collect.ImmutableList;
+
+public class CompactGraphTest {
+
+    @Test
+    public void testInternAndGrow() {
+        CompactGraph graph = new CompactGraph(0);
+        final int count = 10000;
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, graph.getOrAdd(ObjectId.forString("commit" + i)));
+        }
+        assertEquals(count, graph.size());
+        for (int i = 0; i < count; i++) {
+            ObjectId id = ObjectId.forString("commit" + i);
+            assertEquals(i, graph.indexOf(id));
+            assertEquals(id, graph.getId(i));
+        }
+        assertFalse(graph.contains(ObjectId.forString("not in graph")));
+    }
+
+    @Test
+    public void testParentsAndChildrenOrder() {
+        CompactGraph graph = new CompactGraph();
+        ObjectId root = ObjectId.forString("root");
+        ObjectId c1 = ObjectId.forString("c1");
+        ObjectId c2 = ObjectId.forString("c2");
+        ObjectId merge = ObjectId.forString("merge");
+
+        int r = graph.getOrAdd(root);
+        int i1 = graph.getOrAdd(c1);
+        int i2 = graph.getOrAdd(c2);
+        int m = graph.getOrAdd(merge);
+        graph.setParents(i1, new int[] { r });
+        graph.setParents(i2, new int[] { r });
+        graph.setParents(m, new int[] { i2, i1 });
+
+        assertTrue(graph.isAttached(m));
+        assertArrayEquals(new int[] { i2, i1 }, graph.parents(m));
+        assertEquals(ImmutableList.of(c2, c1), graph.parentIds(m));
+        assertEquals(ImmutableList.of(c1, c2), graph.childIds(r));
+        assertEquals(0, graph.depth(r));
+        assertEquals(2, graph.depth(m));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testParentsSetOnce() {
+        CompactGraph graph = new CompactGraph();
+        int r = graph.getOrAdd(ObjectId.forString("root"));
+        int c = graph.getOrAdd(ObjectId.forString("c"));
+        graph.setParents(c, new int[] { r });
+        graph.setParents(c, new int[] { r });
+    }
+
+    @Test
+    public void testClear() {
+        CompactGraph graph = new CompactGraph();
+        ObjectId id = ObjectId.forString("root");
+        graph.setProperty(graph.getOrAdd(id), "sparse", "true");
+        graph.map(id, ObjectId.forString("original"));
+        final int generation = graph.generation();
+        graph.clear();
+        assertEquals(0, graph.size());
+        assertFalse(graph.contains(id));
+        assertEquals(null, graph.getMapping(id));
+        assertTrue(generation != graph.generation());
+
+        ObjectId other = ObjectId.forString("other");
+        assertEquals(0, graph.getOrAdd(other));
+        assertEquals(null, graph.getProperty(0, "sparse"));
+        assertEquals(other, graph.getId(0));
+    }
+}
@@ -0,0 +1,67 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.Platform;
+import org.locationtech.geogig.storage.GraphDatabase.Direction;
+import org.locationtech.geogig.storage.GraphDatabase.GraphNode;
+import org.locationtech.geogig.storage.GraphDatabaseTest;
+
+import com.google.common.collect.ImmutableList;
+
+public class CompactHeapGraphDatabaseTest extends GraphDatabaseTest {
+
+    @Override
+    protected CompactHeapGraphDatabase createDatabase(Platform platform) {
+        return new CompactHeapGraphDatabase(platform);
+    }
+
+    @Test
+    public void testReuseAfterTruncate() {
+        ObjectId root = ObjectId.forString("root");
+        ObjectId commit1 = ObjectId.forString("c1");
+        database.put(root, ImmutableList.<ObjectId> of());
+        database.put(commit1, ImmutableList.of(root));
+        GraphNode staleNode = database.getNode(commit1);
+
+        database.truncate();
+        assertFalse(database.exists(root));
+        assertFalse(database.exists(commit1));
+
+        // the new commits take the node indexes of the truncated ones
+        ObjectId newRoot = ObjectId.forString("new root");
+        ObjectId commit2 = ObjectId.forString("c2");
+        database.put(newRoot, ImmutableList.<ObjectId> of());
+        database.put(commit2, ImmutableList.of(newRoot));
+
+        assertTrue(database.exists(commit2));
+        assertEquals(ImmutableList.of(newRoot), database.getParents(commit2));
+        assertEquals(ImmutableList.of(commit2), database.getChildren(newRoot));
+        assertEquals(1, database.getDepth(commit2));
+        assertEquals(commit2, database.getNode(commit2).getIdentifier());
+        assertEquals(newRoot, database.getNode(commit2).getEdges(Direction.OUT).next()
+                .getToNode().getIdentifier());
+
+        try {
+            staleNode.getIdentifier();
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("truncated"));
+        }
+    }
+
+}
@@ -13,6 +13,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Date;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -209,6 +210,59 @@ public class FetchOpTest extends RemoteRepositoryTestCase {
         verifyFetch();
     }
 
+    @Test
+    public void testFetchDeepen() throws Exception {
+        prepareForFetch(false);
+
+        // clone the repository
+        CloneOp clone = clone();
+        clone.setDepth(1);
+        clone.setRepositoryURL(remoteGeogig.envHome.getCanonicalPath()).call();
+
+        FetchOp fetch = fetch();
+        fetch.setDeepen(1);
+        fetch.call();
+
+        assertEquals(Optional.of(2), localGeogig.repo.getDepth());
+
+        // Make sure the local repository got one more commit from master
+        localGeogig.geogig.command(CheckoutOp.class).setSource("refs/remotes/origin/master").call();
+        Iterator<RevCommit> logs = localGeogig.geogig.command(LogOp.class).call();
+        List<RevCommit> logged = Lists.newArrayList(logs);
+
+        assertEquals(2, logged.size());
+
+        assertEquals(expectedMaster.get(0), logged.get(0));
+        assertEquals(expectedMaster.get(1), logged.get(1));
+    }
+
+    @Test
+    public void testFetchShallowSince() throws Exception {
+        prepareForFetch(false);
+
+        // clone the repository
+        CloneOp clone = clone();
+        clone.setDepth(1);
+        clone.setRepositoryURL(remoteGeogig.envHome.getCanonicalPath()).call();
+
+        final long since = expectedMaster.get(1).getCommitter().getTimestamp();
+        FetchOp fetch = fetch();
+        fetch.setShallowSince(new Date(since));
+        fetch.call();
+
+        // Make sure the local repository got the commits from master made since then
+        localGeogig.geogig.command(CheckoutOp.class).setSource("refs/remotes/origin/master").call();
+        Iterator<RevCommit> logs = localGeogig.geogig.command(LogOp.class).call();
+        List<RevCommit> logged = Lists.newArrayList(logs);
+
+        assertTrue(logged.size() >= 2);
+        assertEquals(expectedMaster.get(0), logged.get(0));
+        assertEquals(expectedMaster.get(1), logged.get(1));
+        for (RevCommit commit : logged) {
+            assertTrue(commit.getCommitter().getTimestamp() >= since);
+        }
+    }
+
     @Test
     public void testFetchNewCommitsWithShallowClone() throws Exception {
         prepareForFetch(false);
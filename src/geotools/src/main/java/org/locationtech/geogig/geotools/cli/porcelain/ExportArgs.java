@@ -0,0 +1,36 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.geotools.cli.porcelain;
+
+import org.locationtech.geogig.geotools.plumbing.ExportOp;
+
+import com.beust.jcommander.Parameter;
+
+/**
+ * Common arguments for the commands exporting to a database.
+ *
+ * @see ExportOp#setFetchThreads(int)
+ * @see ExportOp#setCommitInterval(int)
+ */
+public class ExportArgs {
+
+    /**
+     * Number of threads to read the exported features with. Default: 1
+     */
+    @Parameter(names = "--fetch-threads", description = "Number of threads to read the exported features with. If more than one, features are exported in no particular order.  Default: 1")
+    public int fetchThreads = 1;
+
+    /**
+     * Number of features to export between commits. Default: 0, a single commit at the end
+     */
+    @Parameter(names = "--commit-interval", description = "Commit to the database every this many features, instead of once at the end.  Default: 0, a single commit")
+    public int commitInterval = 0;
+
+}
@@ -44,6 +44,7 @@ import org.opengis.filter.Filter;
 
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
+import com.beust.jcommander.ParametersDelegate;
 import com.google.common.base.Optional;
 
 /**
@@ -71,6 +72,9 @@ public class PGExport extends AbstractPGCommand implements CLICommand {
     @Nullable
     public String sFeatureTypeId;
 
+    @ParametersDelegate
+    public ExportArgs exportArgs = new ExportArgs();
+
     /**
      * Executes the export command using the provided options.
      */
@@ -86,6 +90,8 @@ public class PGExport extends AbstractPGCommand implements CLICommand {
         String tableName = args.get(1);
 
         checkParameter(tableName != null && !tableName.isEmpty(), "No table name specified");
+        checkParameter(exportArgs.fetchThreads > 0, "--fetch-threads must be positive");
+        checkParameter(exportArgs.commitInterval >= 0, "--commit-interval can't be negative");
 
         DataStore dataStore = getDataStore();
 
@@ -144,7 +150,9 @@ public class PGExport extends AbstractPGCommand implements CLICommand {
                 }
             }
             ExportOp op = cli.getGeogig().command(ExportOp.class).setFeatureStore(featureStore)
-                    .setPath(path).setFilterFeatureTypeId(featureTypeId).setAlter(alter);
+                    .setPath(path).setFilterFeatureTypeId(featureTypeId).setAlter(alter)
+                    .setFetchThreads(exportArgs.fetchThreads)
+                    .setCommitInterval(exportArgs.commitInterval);
             if (defaultType) {
                 op.exportDefaultFeatureType();
             }
@@ -77,11 +77,18 @@ public class PGImport extends AbstractPGCommand implements CLICommand {
     @Parameter(names = { "--fid-attrib" }, description = "Use the specified attribute to create the feature Id")
     String fidAttribute;
 
+    /**
+     * Number of tables to import at the same time
+     */
+    @Parameter(names = "--parallelism", description = "Number of tables to import at the same time when importing all of them.  Default: 1")
+    int parallelism = 1;
+
     /**
      * Executes the import command using the provided options.
      */
     @Override
     protected void runInternal(GeogigCLI cli) throws IOException {
+        checkParameter(parallelism > 0, "--parallelism must be positive");
 
         DataStore dataStore = getDataStore();
         try {
@@ -91,6 +98,7 @@ public class PGImport extends AbstractPGCommand implements CLICommand {
             cli.getGeogig().command(ImportOp.class).setAll(all).setTable(table).setAlter(alter)
                     .setDestinationPath(destTable).setOverwrite(!add).setDataStore(dataStore)
                     .setAdaptToDefaultFeatureType(!forceFeatureType).setFidAttribute(fidAttribute)
+                    .setParallelism(parallelism)
                     .setProgressListener(progressListener).call();
 
             cli.getConsole().println("Import successful.");
@@ -65,11 +65,18 @@ public class SLImport extends AbstractSLCommand implements CLICommand {
     @Parameter(names = { "--alter" }, description = "Set the path default feature type to the the feature type of imported features, and modify existing features to match it")
     boolean alter;
 
+    /**
+     * Number of tables to import at the same time
+     */
+    @Parameter(names = "--parallelism", description = "Number of tables to import at the same time when importing all of them.  Default: 1")
+    int parallelism = 1;
+
     /**
      * Executes the import command using the provided options.
      */
     @Override
     protected void runInternal(GeogigCLI cli) throws IOException {
+        checkParameter(parallelism > 0, "--parallelism must be positive");
         DataStore dataStore = getDataStore();
 
         try {
@@ -80,6 +87,7 @@ public class SLImport extends AbstractSLCommand implements CLICommand {
             cli.getGeogig().command(ImportOp.class).setAll(all).setTable(table).setAlter(alter)
                     .setOverwrite(!add).setDataStore(dataStore)
                     .setAdaptToDefaultFeatureType(!forceFeatureType)
+                    .setParallelism(parallelism)
                     .setProgressListener(progressListener).call();
 
             cli.getConsole().println("Import successful.");
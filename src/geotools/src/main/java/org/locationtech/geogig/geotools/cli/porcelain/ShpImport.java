@@ -74,12 +74,19 @@ public class ShpImport extends AbstractShpCommand implements CLICommand {
     @Parameter(names = { "--fid-attrib" }, description = "Use the specified attribute to create the feature Id")
     String fidAttribute;
 
+    /**
+     * Number of shapefiles of a directory to import at the same time
+     */
+    @Parameter(names = "--parallelism", description = "Number of shapefiles of a directory to import at the same time.  Default: 1")
+    int parallelism = 1;
+
     /**
      * Executes the import command using the provided options.
      */
     @Override
     protected void runInternal(GeogigCLI cli) throws IOException {
         checkParameter(shapeFile != null && !shapeFile.isEmpty(), "No shapefile specified");
+        checkParameter(parallelism > 0, "--parallelism must be positive");
 
         for (String shp : shapeFile) {
 
@@ -108,7 +115,8 @@ public class ShpImport extends AbstractShpCommand implements CLICommand {
                         .setTable(null).setAlter(alter).setOverwrite(!add)
                         .setDestinationPath(destTable).setDataStore(dataStore)
                         .setFidAttribute(fidAttribute)
-                        .setAdaptToDefaultFeatureType(!forceFeatureType);
+                        .setAdaptToDefaultFeatureType(!forceFeatureType)
+                        .setParallelism(parallelism);
 
                 // force the import not to use paging due to a bug in the shapefile datastore
                 command.setUsePaging(false);
@@ -0,0 +1,194 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.geotools.data;
+
+import java.util.Iterator;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.util.Converters;
+import org.locationtech.geogig.api.Context;
+import org.locationtech.geogig.api.NodeRef;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevTree;
+import org.locationtech.geogig.api.plumbing.index.AttributeIndex;
+import org.locationtech.geogig.api.plumbing.index.IndexRegistry;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.feature.type.AttributeDescriptor;
+import org.opengis.filter.And;
+import org.opengis.filter.BinaryComparisonOperator;
+import org.opengis.filter.Filter;
+import org.opengis.filter.PropertyIsBetween;
+import org.opengis.filter.PropertyIsEqualTo;
+import org.opengis.filter.PropertyIsLike;
+import org.opengis.filter.PropertyIsNotEqualTo;
+import org.opengis.filter.expression.Expression;
+import org.opengis.filter.expression.Literal;
+import org.opengis.filter.expression.PropertyName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Resolves the candidate features of an attribute filter out of an {@link AttributeIndex} of the
+ * feature type tree, instead of walking the whole tree.
+ * <p>
+ * Comparisons, {@code BETWEEN} and {@code LIKE} filters on a single indexed attribute, either
+ * alone or as part of an {@link And}, are supported. Equality filters are looked up directly by
+ * key; the other ones are evaluated against each distinct value of the attribute. The returned
+ * features are candidates only, the full filter still needs to be evaluated on them.
+ */
+final class AttributeIndexLookup {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AttributeIndexLookup.class);
+
+    private AttributeIndexLookup() {
+    }
+
+    /**
+     * @return the refs of the features that may match {@code filter} out of an index of the type
+     *         tree, or {@link Optional#absent() absent} if there's no index to answer it
+     */
+    public static Optional<Iterator<NodeRef>> lookup(Context context, SimpleFeatureType schema,
+            NodeRef typeTreeRef, Filter filter) {
+
+        final List<String> indexed = AttributeIndex.indexedAttributes(context.configDatabase(),
+                typeTreeRef.path());
+        if (indexed.isEmpty()) {
+            return Optional.absent();
+        }
+        final Optional<IndexRegistry> registry = IndexRegistry.of(context);
+        if (!registry.isPresent()) {
+            return Optional.absent();
+        }
+
+        List<Filter> candidates = filter instanceof And ? ((And) filter).getChildren()
+                : ImmutableList.of(filter);
+        for (Filter candidate : candidates) {
+            String attribute = indexableAttribute(candidate, schema);
+            if (attribute == null || !indexed.contains(attribute)) {
+                continue;
+            }
+            Optional<ObjectId> indexId = registry.get().get(AttributeIndex.indexName(attribute),
+                    typeTreeRef.objectId());
+            if (!indexId.isPresent()) {
+                continue;
+            }
+            LOGGER.debug("Using index of {} for {}", attribute, candidate);
+            return Optional.of(lookup(context.objectDatabase(), indexId.get(), schema,
+                    typeTreeRef, attribute, candidate));
+        }
+        return Optional.absent();
+    }
+
+    private static Iterator<NodeRef> lookup(ObjectDatabase db, ObjectId indexId,
+            SimpleFeatureType schema, NodeRef typeTreeRef, String attribute, Filter filter) {
+
+        final RevTree index = db.getTree(indexId);
+        final String treePath = typeTreeRef.path();
+        final ObjectId metadataId = typeTreeRef.getMetadataId();
+        final Class<?> binding = schema.getDescriptor(attribute).getType().getBinding();
+
+        Object equalTo = equalityValue(filter, binding);
+        if (equalTo != null) {
+            String key = AttributeIndex.key(equalTo);
+            return AttributeIndex.lookup(db, index, key, treePath, metadataId);
+        }
+        KeyFilter keyFilter = new KeyFilter(schema, attribute, binding, filter);
+        return AttributeIndex.lookup(db, index, keyFilter, treePath, metadataId);
+    }
+
+    /**
+     * @return the single attribute {@code filter} applies to, if it's a kind of filter an index
+     *         can answer, {@code null} otherwise
+     */
+    @Nullable
+    private static String indexableAttribute(Filter filter, SimpleFeatureType schema) {
+        // nulls are not indexed, and not-equal filters can't be narrowed down by value
+        boolean supported = (filter instanceof BinaryComparisonOperator
+                && !(filter instanceof PropertyIsNotEqualTo))
+                || filter instanceof PropertyIsBetween || filter instanceof PropertyIsLike;
+        if (!supported) {
+            return null;
+        }
+        String[] attributes = DataUtilities.attributeNames(filter, schema);
+        if (attributes.length != 1) {
+            return null;
+        }
+        AttributeDescriptor descriptor = schema.getDescriptor(attributes[0]);
+        return descriptor == null ? null : attributes[0];
+    }
+
+    /**
+     * @return the value a case sensitive equality filter compares its attribute with, converted to
+     *         the attribute binding, or {@code null} if {@code filter} isn't one
+     */
+    @Nullable
+    private static Object equalityValue(Filter filter, Class<?> binding) {
+        if (!(filter instanceof PropertyIsEqualTo)
+                || !((PropertyIsEqualTo) filter).isMatchingCase()) {
+            return null;
+        }
+        Expression e1 = ((PropertyIsEqualTo) filter).getExpression1();
+        Expression e2 = ((PropertyIsEqualTo) filter).getExpression2();
+        Literal literal;
+        if (e1 instanceof PropertyName && e2 instanceof Literal) {
+            literal = (Literal) e2;
+        } else if (e2 instanceof PropertyName && e1 instanceof Literal) {
+            literal = (Literal) e1;
+        } else {
+            return null;
+        }
+        Object value = literal.getValue();
+        return value == null ? null : Converters.convert(value, binding);
+    }
+
+    /**
+     * Evaluates the filter against each distinct value in the index, as the only attribute of an
+     * otherwise empty feature
+     */
+    private static class KeyFilter implements Predicate<String> {
+
+        private final SimpleFeatureBuilder builder;
+
+        private final String attribute;
+
+        private final Class<?> binding;
+
+        private final Filter filter;
+
+        KeyFilter(SimpleFeatureType schema, String attribute, Class<?> binding, Filter filter) {
+            this.builder = new SimpleFeatureBuilder(schema);
+            this.attribute = attribute;
+            this.binding = binding;
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean apply(String key) {
+            Object value = AttributeIndex.value(key, binding);
+            if (value == null) {
+                // can't tell, let the full filter decide
+                return true;
+            }
+            builder.set(attribute, value);
+            SimpleFeature feature = builder.buildFeature(null);
+            return filter.evaluate(feature);
+        }
+    }
+}
@@ -30,12 +30,15 @@ import org.locationtech.geogig.api.GeogigTransaction;
 import org.locationtech.geogig.api.NodeRef;
 import org.locationtech.geogig.api.ObjectId;
 import org.locationtech.geogig.api.Ref;
+import org.locationtech.geogig.api.RevFeatureType;
 import org.locationtech.geogig.api.RevObject.TYPE;
 import org.locationtech.geogig.api.RevTree;
 import org.locationtech.geogig.api.SymRef;
 import org.locationtech.geogig.api.data.FindFeatureTypeTrees;
 import org.locationtech.geogig.api.plumbing.ForEachRef;
 import org.locationtech.geogig.api.plumbing.RefParse;
+import org.locationtech.geogig.api.plumbing.ResolveTreeish;
+import org.locationtech.geogig.api.plumbing.RevObjectParse;
 import org.locationtech.geogig.api.plumbing.RevParse;
 import org.locationtech.geogig.api.plumbing.TransactionBegin;
 import org.locationtech.geogig.api.porcelain.AddOp;
@@ -51,6 +54,8 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
 import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -92,6 +97,27 @@ public class GeoGigDataStore extends ContentDataStore implements DataStore {
     /** When the configured head is not a branch, we disallow transactions */
     private boolean allowTransactions = true;
 
+    /**
+     * Sorted feature ids of recent sorted queries, for paging through them without re-sorting;
+     * soft values since they're just a shortcut
+     */
+    private final Cache<SortedFeatureIds.Key, SortedFeatureIds> sortedFeatureIds = CacheBuilder
+            .newBuilder().maximumSize(16).softValues().build();
+
+    /**
+     * Feature type tree refs by root tree id, so that type names and tree refs are looked up once
+     * per version of the root tree instead of on every request; entries of root trees no ref
+     * points to anymore are just never hit again
+     */
+    private final Cache<ObjectId, List<NodeRef>> typeRefs = CacheBuilder.newBuilder()
+            .maximumSize(32).build();
+
+    /**
+     * Recently used feature types by id
+     */
+    private final Cache<ObjectId, RevFeatureType> featureTypes = CacheBuilder.newBuilder()
+            .maximumSize(256).build();
+
     public GeoGigDataStore(GeoGIG geogig) {
         super();
         Preconditions.checkNotNull(geogig);
@@ -104,9 +130,16 @@ public class GeoGigDataStore extends ContentDataStore implements DataStore {
     @Override
     public void dispose() {
         super.dispose();
+        sortedFeatureIds.invalidateAll();
+        typeRefs.invalidateAll();
+        featureTypes.invalidateAll();
         geogig.close();
     }
 
+    Cache<SortedFeatureIds.Key, SortedFeatureIds> getSortedFeatureIds() {
+        return sortedFeatureIds;
+    }
+
     /**
      * @deprecated Use {@link setHead(String)} instead
      */
@@ -232,6 +265,23 @@ public class GeoGigDataStore extends ContentDataStore implements DataStore {
         return ImmutableList.copyOf(list);
     }
 
+    /**
+     * @return the buffer of the changes made through this store's feature stores during
+     *         {@code transaction}, or {@link Optional#absent() absent} if there's no geogig
+     *         transaction in progress for it
+     */
+    Optional<WriteBuffer> getWriteBuffer(@Nullable Transaction transaction) {
+        if (transaction == null || Transaction.AUTO_COMMIT.equals(transaction)) {
+            return Optional.absent();
+        }
+        GeogigTransactionState state;
+        state = (GeogigTransactionState) transaction.getState(GeogigTransactionState.class);
+        if (state == null) {
+            return Optional.absent();
+        }
+        return state.getWriteBuffer();
+    }
+
     public Context getCommandLocator(@Nullable Transaction transaction) {
         Context commandLocator = null;
 
@@ -303,11 +353,48 @@ public class GeoGigDataStore extends ContentDataStore implements DataStore {
 
         final String rootRef = getRootRef(tx);
         Context commandLocator = getCommandLocator(tx);
-        List<NodeRef> typeTrees = commandLocator.command(FindFeatureTypeTrees.class)
-                .setRootTreeRef(rootRef).call();
+
+        Optional<ObjectId> rootTreeId;
+        try {
+            rootTreeId = commandLocator.command(ResolveTreeish.class).setTreeish(rootRef).call();
+        } catch (IllegalArgumentException e) {
+            rootTreeId = Optional.absent();
+        }
+        if (!rootTreeId.isPresent()) {
+            return commandLocator.command(FindFeatureTypeTrees.class).setRootTreeRef(rootRef)
+                    .call();
+        }
+        if (RevTree.EMPTY_TREE_ID.equals(rootTreeId.get())) {
+            return ImmutableList.of();
+        }
+        List<NodeRef> typeTrees = typeRefs.getIfPresent(rootTreeId.get());
+        if (typeTrees == null) {
+            typeTrees = commandLocator.command(FindFeatureTypeTrees.class)
+                    .setRootTreeRef(rootTreeId.get().toString()).call();
+            typeRefs.put(rootTreeId.get(), typeTrees);
+        }
         return typeTrees;
     }
 
+    /**
+     * @return the feature type {@code metadataId}, out of the cache of recently used ones if
+     *         possible
+     */
+    Optional<RevFeatureType> getFeatureType(ObjectId metadataId, @Nullable Transaction tx) {
+        RevFeatureType featureType = featureTypes.getIfPresent(metadataId);
+        if (featureType == null) {
+            Optional<RevFeatureType> revType = getCommandLocator(tx)
+                    .command(RevObjectParse.class).setObjectId(metadataId)
+                    .call(RevFeatureType.class);
+            if (!revType.isPresent()) {
+                return revType;
+            }
+            featureType = revType.get();
+            featureTypes.put(metadataId, featureType);
+        }
+        return Optional.of(featureType);
+    }
+
     String getRootRef(@Nullable Transaction tx) {
         final String rootRef;
         if (null == tx || Transaction.AUTO_COMMIT.equals(tx)) {
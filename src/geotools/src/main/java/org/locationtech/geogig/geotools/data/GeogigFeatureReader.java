@@ -45,6 +45,8 @@ import org.locationtech.geogig.api.plumbing.DiffTree;
 import org.locationtech.geogig.api.plumbing.FindTreeChild;
 import org.locationtech.geogig.api.plumbing.ResolveTreeish;
 import org.locationtech.geogig.api.plumbing.diff.DiffEntry;
+import org.locationtech.geogig.api.plumbing.index.IndexRegistry;
+import org.locationtech.geogig.api.plumbing.index.SpatialIndex;
 import org.locationtech.geogig.geotools.data.GeoGigDataStore.ChangeType;
 import org.locationtech.geogig.storage.ObjectDatabase;
 import org.opengis.feature.Feature;
@@ -94,6 +96,9 @@ class GeogigFeatureReader<T extends FeatureType, F extends Feature> implements F
     @Nullable
     private final ScreenMapFilter screenMapFilter;
 
+    @Nullable
+    private final ParallelFetchIterator parallelFetch;
+
     private Context context;
 
     /**
@@ -113,6 +118,23 @@ class GeogigFeatureReader<T extends FeatureType, F extends Feature> implements F
             String oldHeadRef, ChangeType changeType, @Nullable Integer offset,
             @Nullable Integer maxFeatures, @Nullable final ScreenMap screenMap,
             final boolean ignoreAttributes) {
+        this(context, schema, origFilter, typeTreePath, headRef, oldHeadRef, changeType, offset,
+                maxFeatures, screenMap, ignoreAttributes, 1, true);
+    }
+
+    /**
+     * @param fetchThreads number of threads to fetch and build the features with; if more than
+     *        one, batches of features are fetched concurrently while the tree is being walked
+     * @param naturalOrder whether the features shall be returned in the natural order of the tree
+     *        even if fetched concurrently, or as soon as each batch is ready
+     * @see #GeogigFeatureReader(Context, SimpleFeatureType, Filter, String, String, String,
+     *      ChangeType, Integer, Integer, ScreenMap, boolean)
+     */
+    public GeogigFeatureReader(final Context context, final SimpleFeatureType schema,
+            final Filter origFilter, final String typeTreePath, final String headRef,
+            String oldHeadRef, ChangeType changeType, @Nullable Integer offset,
+            @Nullable Integer maxFeatures, @Nullable final ScreenMap screenMap,
+            final boolean ignoreAttributes, final int fetchThreads, final boolean naturalOrder) {
         this.context = context;
         checkNotNull(context);
         checkNotNull(schema);
@@ -142,7 +164,7 @@ class GeogigFeatureReader<T extends FeatureType, F extends Feature> implements F
                 .setParent(rootTree).setChildPath(typeTreePath).call();
         checkArgument(typeTreeRef.isPresent(), "Feature type tree not found: %s", typeTreeRefSpec);
 
-        final Filter filter = reprojectFilter(origFilter);
+        final Filter filter = reprojectFilter(origFilter, schema);
 
         DiffTree diffOp = context.command(DiffTree.class);
         diffOp.setOldVersion(effectiveOldHead);
@@ -166,9 +188,24 @@ class GeogigFeatureReader<T extends FeatureType, F extends Feature> implements F
         }
         diffOp.setChangeTypeFilter(changeType(changeType));
 
-        Iterator<DiffEntry> diffs = diffOp.call();
+        Optional<Iterator<NodeRef>> indexedRefs = Optional.absent();
+        if (ChangeType.ADDED.equals(changeType) && isEmptyTree(effectiveOldHead)) {
+            if (screenMap == null) {
+                indexedRefs = AttributeIndexLookup.lookup(context, schema, typeTreeRef.get(),
+                        filter);
+            }
+            if (!indexedRefs.isPresent() && !queryBounds.isEmpty()) {
+                indexedRefs = spatialIndexLookup(context, typeTreeRef.get(), queryBounds);
+            }
+        }
 
-        Iterator<NodeRef> featureRefs = toFeatureRefs(diffs, changeType);
+        Iterator<NodeRef> featureRefs;
+        if (indexedRefs.isPresent()) {
+            featureRefs = indexedRefs.get();
+        } else {
+            Iterator<DiffEntry> diffs = diffOp.call();
+            featureRefs = toFeatureRefs(diffs, changeType);
+        }
 
         final boolean filterSupportedByRefs = Filter.INCLUDE.equals(filter)
                 || filter instanceof BBOX || filter instanceof Id;
@@ -183,20 +220,60 @@ class GeogigFeatureReader<T extends FeatureType, F extends Feature> implements F
         function = new FetchFunction(context.stagingDatabase(), schema);
         final int fetchSize = 1000;
         Iterator<List<NodeRef>> partition = Iterators.partition(featureRefs, fetchSize);
-        Iterator<Iterator<SimpleFeature>> transformed = Iterators.transform(partition, function);
-
-        // final Iterator<SimpleFeature> featuresUnfiltered = transform(featureRefs, refToFeature);
-        final Iterator<SimpleFeature> featuresUnfiltered = Iterators.concat(transformed);
 
         FilterPredicate filterPredicate = new FilterPredicate(filter);
-        Iterator<SimpleFeature> featuresFiltered = filter(featuresUnfiltered, filterPredicate);
+        Iterator<SimpleFeature> featuresFiltered;
+        if (fetchThreads > 1) {
+            this.parallelFetch = new ParallelFetchIterator(partition, function, filterPredicate,
+                    fetchThreads, naturalOrder);
+            featuresFiltered = parallelFetch;
+        } else {
+            this.parallelFetch = null;
+            Iterator<Iterator<SimpleFeature>> transformed = Iterators.transform(partition,
+                    function);
+            // final Iterator<SimpleFeature> featuresUnfiltered = transform(featureRefs,
+            // refToFeature);
+            final Iterator<SimpleFeature> featuresUnfiltered = Iterators.concat(transformed);
+            featuresFiltered = filter(featuresUnfiltered, filterPredicate);
+        }
         if (!filterSupportedByRefs) {
             featuresFiltered = applyFeaturesOffsetLimit(featuresFiltered);
         }
         this.features = featuresFiltered;
     }
 
-    private DiffEntry.ChangeType changeType(ChangeType changeType) {
+    /**
+     * @return the refs of the features intersecting {@code queryBounds} out of the
+     *         {@link SpatialIndex spatial index} of the type tree, filtered by the screen map if
+     *         any, or {@link Optional#absent() absent} if the tree has no spatial index
+     */
+    private Optional<Iterator<NodeRef>> spatialIndexLookup(Context context, NodeRef typeTreeRef,
+            Envelope queryBounds) {
+        Optional<IndexRegistry> registry = IndexRegistry.of(context);
+        if (!registry.isPresent()) {
+            return Optional.absent();
+        }
+        Optional<ObjectId> indexId = registry.get().get(SpatialIndex.INDEX_NAME,
+                typeTreeRef.objectId());
+        if (!indexId.isPresent()) {
+            return Optional.absent();
+        }
+        LOGGER.debug("Using spatial index of {} for {}", typeTreeRef.path(), queryBounds);
+        ObjectDatabase db = context.objectDatabase();
+        Iterator<NodeRef> refs = SpatialIndex.query(db, db.getTree(indexId.get()), queryBounds,
+                typeTreeRef.path(), typeTreeRef.getMetadataId());
+        if (screenMapFilter != null) {
+            refs = Iterators.filter(refs, screenMapFilter);
+        }
+        return Optional.of(refs);
+    }
+
+    private static boolean isEmptyTree(String treeish) {
+        return ObjectId.NULL.toString().equals(treeish)
+                || RevTree.EMPTY_TREE_ID.toString().equals(treeish);
+    }
+
+    static DiffEntry.ChangeType changeType(ChangeType changeType) {
         if (changeType == null) {
             return DiffEntry.ChangeType.ADDED;
         }
@@ -257,6 +334,9 @@ class GeogigFeatureReader<T extends FeatureType, F extends Feature> implements F
 
     @Override
     public void close() throws IOException {
+        if (parallelFetch != null) {
+            parallelFetch.close();
+        }
         if (screenMapFilter != null) {
             LOGGER.debug("GeoGigFeatureReader.close(): ScreenMap filtering: {}",
                     screenMapFilter.stats());
@@ -435,9 +515,10 @@ class GeogigFeatureReader<T extends FeatureType, F extends Feature> implements F
 
     /**
      * @param filter
-     * @return
+     * @param schema
+     * @return the filter with its spatial literals reprojected to the CRS of {@code schema}
      */
-    private Filter reprojectFilter(Filter filter) {
+    static Filter reprojectFilter(Filter filter, SimpleFeatureType schema) {
         if (hasSpatialFilter(filter)) {
             CoordinateReferenceSystem crs = schema.getCoordinateReferenceSystem();
             if (crs == null) {
@@ -455,7 +536,7 @@ class GeogigFeatureReader<T extends FeatureType, F extends Feature> implements F
         return filter;
     }
 
-    private boolean hasSpatialFilter(Filter filter) {
+    private static boolean hasSpatialFilter(Filter filter) {
         SpatialFilterVisitor spatialFilterVisitor = new SpatialFilterVisitor();
         filter.accept(spatialFilterVisitor, null);
         return spatialFilterVisitor.hasSpatialFilter();
@@ -10,11 +10,14 @@
 package org.locationtech.geogig.geotools.data;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.annotation.Nullable;
 
 import org.geotools.data.DataUtilities;
+import org.geotools.data.EmptyFeatureReader;
 import org.geotools.data.FeatureReader;
 import org.geotools.data.FeatureSource;
 import org.geotools.data.MaxFeatureReader;
@@ -25,6 +28,7 @@ import org.geotools.data.sort.SortedFeatureReader;
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureSource;
 import org.geotools.data.store.ContentState;
+import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.factory.Hints;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.geotools.filter.Filters;
@@ -36,15 +40,23 @@ import org.locationtech.geogig.api.NodeRef;
 import org.locationtech.geogig.api.ObjectId;
 import org.locationtech.geogig.api.RevFeatureType;
 import org.locationtech.geogig.api.RevTree;
+import org.locationtech.geogig.api.plumbing.DiffTree;
 import org.locationtech.geogig.api.plumbing.RevObjectParse;
+import org.locationtech.geogig.api.plumbing.index.AttributeIndex;
+import org.locationtech.geogig.api.plumbing.index.IndexRegistry;
 import org.locationtech.geogig.geotools.data.GeoGigDataStore.ChangeType;
 import org.locationtech.geogig.repository.WorkingTree;
+import org.locationtech.geogig.storage.ObjectDatabase;
 import org.opengis.feature.Feature;
 import org.opengis.feature.FeatureVisitor;
 import org.opengis.feature.simple.SimpleFeature;
 import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.feature.type.AttributeDescriptor;
 import org.opengis.feature.type.Name;
 import org.opengis.filter.Filter;
+import org.opengis.filter.FilterFactory2;
+import org.opengis.filter.Id;
+import org.opengis.filter.identity.FeatureId;
 import org.opengis.filter.sort.SortBy;
 import org.opengis.referencing.crs.CoordinateReferenceSystem;
 import org.slf4j.Logger;
@@ -52,6 +64,10 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 /**
  *
@@ -60,6 +76,29 @@ class GeogigFeatureSource extends ContentFeatureSource {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GeogigFeatureSource.class);
 
+    /**
+     * Minimum number of features in the type tree for the native reader to fetch them on several
+     * threads
+     */
+    static final long PARALLEL_FETCH_THRESHOLD = 10_000;
+
+    private static final int MAX_FETCH_THREADS = 8;
+
+    /**
+     * Maximum number of features in the type tree to sort their ids in memory, bigger trees are
+     * sorted by GeoTools' {@link SortedFeatureReader}, which spills to disk
+     */
+    private static final long MAX_SORTED_IDS = 1_000_000;
+
+    /**
+     * Maximum page size for sorted queries to be served out of the sorted feature ids, since the
+     * features of each page are fetched by id
+     */
+    private static final int MAX_SORTED_PAGE = 10_000;
+
+    private static final FilterFactory2 FILTER_FACTORY = CommonFactoryFinder
+            .getFilterFactory2(null);
+
     private GeoGigDataStore.ChangeType changeType;
 
     private String oldRoot;
@@ -186,6 +225,7 @@ class GeogigFeatureSource extends ContentFeatureSource {
 
     @Override
     protected ReferencedEnvelope getBoundsInternal(Query query) throws IOException {
+        flushWriteBuffer();
         final Filter filter = (Filter) query.getFilter().accept(new SimplifyingFilterVisitor(),
                 null);
         final CoordinateReferenceSystem crs = getSchema().getCoordinateReferenceSystem();
@@ -200,13 +240,21 @@ class GeogigFeatureSource extends ContentFeatureSource {
             return ReferencedEnvelope.create(crs);
         }
 
+        final Integer offset = query.getStartIndex();
+        final Integer maxFeatures = query.getMaxFeatures() == Integer.MAX_VALUE ? null : query
+                .getMaxFeatures();
+        final ScreenMap screenMap = (ScreenMap) query.getHints().get(Hints.SCREENMAP);
+        if (offset == null && maxFeatures == null && screenMap == null) {
+            Optional<TreeBoundsEvaluator> evaluator = evaluateTree(filter);
+            if (evaluator.isPresent()) {
+                return evaluator.get().getBounds();
+            }
+        }
+
         FeatureReader<SimpleFeatureType, SimpleFeature> features;
         if (isNaturalOrder(query.getSortBy())) {
-            Integer offset = query.getStartIndex();
-            Integer maxFeatures = query.getMaxFeatures() == Integer.MAX_VALUE ? null : query
-                    .getMaxFeatures();
-            ScreenMap screenMap = (ScreenMap) query.getHints().get(Hints.SCREENMAP);
-            features = getNativeReader(Query.NO_NAMES, filter, offset, maxFeatures, screenMap);
+            features = getNativeReader(Query.NO_NAMES, filter, offset, maxFeatures, screenMap,
+                    false);
         } else {
             features = getReader(query);
         }
@@ -221,8 +269,41 @@ class GeogigFeatureSource extends ContentFeatureSource {
         return bounds;
     }
 
+    /**
+     * Counts and computes the bounds of the features matching {@code filter} out of the type tree,
+     * or out of the diff against {@link #oldRoot()} if this source reports changes, rather than
+     * reading the features.
+     * 
+     * @return the evaluator holding the count and bounds of the matching features, or
+     *         {@link Optional#absent() absent} if the filter can't be evaluated that way
+     */
+    private Optional<TreeBoundsEvaluator> evaluateTree(Filter filter) {
+        final SimpleFeatureType schema = getSchema();
+        final Filter nativeFilter = GeogigFeatureReader.reprojectFilter(filter, schema);
+        final Context context = getCommandLocator();
+
+        Optional<TreeBoundsEvaluator> evaluator = TreeBoundsEvaluator.create(
+                context.stagingDatabase(), schema, nativeFilter);
+        if (!evaluator.isPresent()) {
+            return evaluator;
+        }
+        if (oldRoot == null && ChangeType.ADDED.equals(changeType())) {
+            evaluator.get().visitTree(getTypeTree());
+        } else {
+            DiffTree diffOp = context.command(DiffTree.class);
+            diffOp.setOldVersion(oldRoot());
+            diffOp.setNewVersion(getRootRef());
+            diffOp.setPathFilter(getTypeTreePath());
+            diffOp.setBoundsFilter(evaluator.get().getQueryBounds());
+            diffOp.setChangeTypeFilter(GeogigFeatureReader.changeType(changeType()));
+            evaluator.get().visitDiffs(diffOp.call(), changeType());
+        }
+        return evaluator;
+    }
+
     @Override
     protected int getCountInternal(Query query) throws IOException {
+        flushWriteBuffer();
         final Filter filter = (Filter) query.getFilter().accept(new SimplifyingFilterVisitor(),
                 null);
         if (Filter.EXCLUDE.equals(filter)) {
@@ -247,10 +328,25 @@ class GeogigFeatureSource extends ContentFeatureSource {
             return size;
         }
 
+        final ScreenMap screenMap = (ScreenMap) query.getHints().get(Hints.SCREENMAP);
+        if (screenMap == null) {
+            Optional<TreeBoundsEvaluator> evaluator = evaluateTree(filter);
+            if (evaluator.isPresent()) {
+                size = (int) evaluator.get().getCount();
+                if (offset != null) {
+                    size = Math.max(0, size - offset.intValue());
+                }
+                if (maxFeatures != null) {
+                    size = Math.min(size, maxFeatures.intValue());
+                }
+                return size;
+            }
+        }
+
         FeatureReader<SimpleFeatureType, SimpleFeature> features;
         if (isNaturalOrder(query.getSortBy())) {
-            ScreenMap screenMap = (ScreenMap) query.getHints().get(Hints.SCREENMAP);
-            features = getNativeReader(Query.NO_NAMES, filter, offset, maxFeatures, screenMap);
+            features = getNativeReader(Query.NO_NAMES, filter, offset, maxFeatures, screenMap,
+                    false);
         } else {
             features = getReader(query);
         }
@@ -271,6 +367,7 @@ class GeogigFeatureSource extends ContentFeatureSource {
     protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(final Query query)
             throws IOException {
 
+        flushWriteBuffer();
         FeatureReader<SimpleFeatureType, SimpleFeature> reader;
 
         final boolean naturalOrder = isNaturalOrder(query.getSortBy());
@@ -280,10 +377,18 @@ class GeogigFeatureSource extends ContentFeatureSource {
         final Filter filter = query.getFilter();
         final ScreenMap screenMap = (ScreenMap) query.getHints().get(Hints.SCREENMAP);
         final String[] propertyNames = query.getPropertyNames();
+        Optional<SortedFeatureIds> sortedIds = Optional.absent();
+        if (!naturalOrder && screenMap == null && maxFeatures != null
+                && maxFeatures.intValue() <= MAX_SORTED_PAGE) {
+            sortedIds = getSortedFeatureIds(filter, query.getSortBy());
+        }
         if (naturalOrder) {
-            reader = getNativeReader(propertyNames, filter, startIndex, maxFeatures, screenMap);
+            reader = getNativeReader(propertyNames, filter, startIndex, maxFeatures, screenMap,
+                    true);
+        } else if (sortedIds.isPresent()) {
+            reader = getSortedReader(propertyNames, sortedIds.get().page(startIndex, maxFeatures));
         } else {
-            reader = getNativeReader(propertyNames, filter, null, null, screenMap);
+            reader = getNativeReader(propertyNames, filter, null, null, screenMap, false);
             // sorting
             reader = new SortedFeatureReader(DataUtilities.simple(reader), query);
             if (startIndex > 0) {
@@ -300,6 +405,108 @@ class GeogigFeatureSource extends ContentFeatureSource {
         return reader;
     }
 
+    /**
+     * @return the ids of the features matching {@code filter} sorted by {@code sortBy}, out of
+     *         the data store cache if already computed for the current version of the type tree,
+     *         or {@link Optional#absent() absent} if the type tree is too big to sort them in
+     *         memory, or this source reads the differences between two versions
+     */
+    private Optional<SortedFeatureIds> getSortedFeatureIds(Filter filter, SortBy[] sortBy)
+            throws IOException {
+        if (!ChangeType.ADDED.equals(changeType()) || oldRoot != null) {
+            return Optional.absent();
+        }
+        final NodeRef typeRef = getTypeRef();
+        final RevTree typeTree = getTypeTree();
+        if (typeTree.size() > MAX_SORTED_IDS) {
+            return Optional.absent();
+        }
+        final SortedFeatureIds.Key key = new SortedFeatureIds.Key(typeRef.objectId(), filter,
+                sortBy);
+        final Cache<SortedFeatureIds.Key, SortedFeatureIds> cache = getDataStore()
+                .getSortedFeatureIds();
+        SortedFeatureIds sorted = cache.getIfPresent(key);
+        if (sorted == null) {
+            Optional<SortedFeatureIds> indexed = Optional.absent();
+            if (Filter.INCLUDE.equals(filter) && sortBy.length == 1) {
+                indexed = sortFromIndex(typeRef, typeTree, sortBy[0]);
+            }
+            if (indexed.isPresent()) {
+                sorted = indexed.get();
+            } else {
+                sorted = SortedFeatureIds.sort(
+                        getNativeReader(Query.ALL_NAMES, filter, null, null, null, false), sortBy);
+            }
+            cache.put(key, sorted);
+        }
+        return Optional.of(sorted);
+    }
+
+    /**
+     * @return the ids of all the features sorted out of the {@link AttributeIndex} of the sort
+     *         attribute, if the type tree has one
+     */
+    private Optional<SortedFeatureIds> sortFromIndex(NodeRef typeRef, RevTree typeTree,
+            SortBy sortBy) {
+        if (sortBy.getPropertyName() == null) {
+            return Optional.absent();
+        }
+        final String attribute = sortBy.getPropertyName().getPropertyName();
+        final AttributeDescriptor descriptor = getSchema().getDescriptor(attribute);
+        if (descriptor == null) {
+            return Optional.absent();
+        }
+        final Context context = getCommandLocator();
+        final Optional<IndexRegistry> registry = IndexRegistry.of(context);
+        if (!registry.isPresent()) {
+            return Optional.absent();
+        }
+        Optional<ObjectId> indexId = registry.get().get(AttributeIndex.indexName(attribute),
+                typeRef.objectId());
+        if (!indexId.isPresent()) {
+            return Optional.absent();
+        }
+        ObjectDatabase db = context.objectDatabase();
+        return SortedFeatureIds.sort(db, db.getTree(indexId.get()), descriptor.getType()
+                .getBinding(), sortBy, typeRef, typeTree.size());
+    }
+
+    /**
+     * @return a reader over the features of {@code fids}, in the same order
+     */
+    private FeatureReader<SimpleFeatureType, SimpleFeature> getSortedReader(
+            @Nullable String[] propertyNames, List<String> fids) throws IOException {
+        if (fids.isEmpty()) {
+            return new EmptyFeatureReader<SimpleFeatureType, SimpleFeature>(getSchema());
+        }
+        Set<FeatureId> ids = Sets.newHashSet();
+        for (String fid : fids) {
+            ids.add(FILTER_FACTORY.featureId(fid));
+        }
+        Map<String, SimpleFeature> features = Maps.newHashMap();
+        FeatureReader<SimpleFeatureType, SimpleFeature> reader = getNativeReader(propertyNames,
+                FILTER_FACTORY.id(ids), null, null, null, false);
+        try {
+            while (reader.hasNext()) {
+                SimpleFeature feature = reader.next();
+                features.put(feature.getID(), feature);
+            }
+        } finally {
+            reader.close();
+        }
+        List<SimpleFeature> sorted = Lists.newArrayListWithCapacity(fids.size());
+        for (String fid : fids) {
+            SimpleFeature feature = features.get(fid);
+            if (feature != null) {
+                sorted.add(feature);
+            }
+        }
+        if (sorted.isEmpty()) {
+            return new EmptyFeatureReader<SimpleFeatureType, SimpleFeature>(getSchema());
+        }
+        return DataUtilities.reader(sorted.toArray(new SimpleFeature[sorted.size()]));
+    }
+
     private boolean isNaturalOrder(@Nullable SortBy[] sortBy) {
         if (sortBy == null || sortBy.length == 0
                 || (sortBy.length == 1 && SortBy.NATURAL_ORDER.equals(sortBy[0]))) {
@@ -311,10 +518,13 @@ class GeogigFeatureSource extends ContentFeatureSource {
     /**
      * @param propertyNames properties to retrieve, empty array for no properties at all
      *        {@link Query#NO_NAMES}, {@code null} means all properties {@link Query#ALL_NAMES}
+     * @param naturalOrder whether the features shall be returned in the natural order of the
+     *        type tree, only ignored if neither {@code offset} nor {@code maxFeatures} are given
      */
     private FeatureReader<SimpleFeatureType, SimpleFeature> getNativeReader(
             @Nullable String[] propertyNames, Filter filter, @Nullable Integer offset,
-            @Nullable Integer maxFeatures, @Nullable final ScreenMap screenMap) {
+            @Nullable Integer maxFeatures, @Nullable final ScreenMap screenMap,
+            final boolean naturalOrder) {
 
         if (screenMap == null) {
             LOGGER.trace("GeoGigFeatureSource.getNativeReader: no screenMap provided");
@@ -342,12 +552,28 @@ class GeogigFeatureSource extends ContentFeatureSource {
         final GeoGigDataStore.ChangeType changeType = changeType();
         final Context context = getCommandLocator();
 
+        final int fetchThreads = fetchThreads(context, filter, maxFeatures);
+        final boolean ordered = naturalOrder || offset != null || maxFeatures != null;
+
         nativeReader = new GeogigFeatureReader<SimpleFeatureType, SimpleFeature>(context, fullType,
                 filter, featureTypeTreePath, rootRef, compareRootRef, changeType, offset,
-                maxFeatures, screenMap, ignoreAttributes);
+                maxFeatures, screenMap, ignoreAttributes, fetchThreads, ordered);
         return nativeReader;
     }
 
+    /**
+     * @return the number of threads the native reader shall fetch features with, one unless the
+     *         query may return at least {@link #PARALLEL_FETCH_THRESHOLD} features
+     */
+    private int fetchThreads(Context context, Filter filter, @Nullable Integer maxFeatures) {
+        if (filter instanceof Id
+                || (maxFeatures != null && maxFeatures.intValue() < PARALLEL_FETCH_THRESHOLD)
+                || getTypeTree().size() < PARALLEL_FETCH_THRESHOLD) {
+            return 1;
+        }
+        return Math.max(1, Math.min(MAX_FETCH_THREADS, context.platform().availableProcessors()));
+    }
+
     public void setChangeType(GeoGigDataStore.ChangeType changeType) {
         this.changeType = changeType;
     }
@@ -381,6 +607,17 @@ class GeogigFeatureSource extends ContentFeatureSource {
         return featureType;
     }
 
+    /**
+     * Writes the changes buffered by the current transaction, if any, to its working tree, so
+     * that reads see them
+     */
+    void flushWriteBuffer() {
+        Optional<WriteBuffer> buffer = getDataStore().getWriteBuffer(getTransaction());
+        if (buffer.isPresent()) {
+            buffer.get().flush();
+        }
+    }
+
     Context getCommandLocator() {
         Context commandLocator = getDataStore().getCommandLocator(getTransaction());
         return commandLocator;
@@ -392,9 +629,8 @@ class GeogigFeatureSource extends ContentFeatureSource {
         final String treePath = typeRef.path();
         final ObjectId metadataId = typeRef.getMetadataId();
 
-        Context commandLocator = getCommandLocator();
-        Optional<RevFeatureType> revType = commandLocator.command(RevObjectParse.class)
-                .setObjectId(metadataId).call(RevFeatureType.class);
+        Optional<RevFeatureType> revType = getDataStore().getFeatureType(metadataId,
+                getTransaction());
 
         if (!revType.isPresent()) {
             throw new IllegalStateException(String.format("Feature type for tree %s not found",
@@ -425,11 +661,13 @@ class GeogigFeatureSource extends ContentFeatureSource {
      * @return
      */
     RevTree getTypeTree() {
-        String refSpec = getRootRef() + ":" + getTypeTreePath();
+        // the type ref is already resolved against the current root tree
+        NodeRef typeRef = getTypeRef();
         Context commandLocator = getCommandLocator();
-        Optional<RevTree> ref = commandLocator.command(RevObjectParse.class).setRefSpec(refSpec)
-                .call(RevTree.class);
-        Preconditions.checkState(ref.isPresent(), "Ref %s not found on working tree", refSpec);
+        Optional<RevTree> ref = commandLocator.command(RevObjectParse.class)
+                .setObjectId(typeRef.objectId()).call(RevTree.class);
+        Preconditions.checkState(ref.isPresent(), "Ref %s not found on working tree",
+                getRootRef() + ":" + typeRef.path());
         return ref.get();
     }
 
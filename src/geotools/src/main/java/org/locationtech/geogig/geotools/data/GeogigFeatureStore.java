@@ -37,6 +37,7 @@ import org.locationtech.geogig.api.DefaultProgressListener;
 import org.locationtech.geogig.api.Node;
 import org.locationtech.geogig.api.NodeRef;
 import org.locationtech.geogig.api.ProgressListener;
+import org.locationtech.geogig.api.RevFeatureBuilder;
 import org.locationtech.geogig.repository.WorkingTree;
 import org.opengis.feature.Feature;
 import org.opengis.feature.FeatureVisitor;
@@ -47,6 +48,7 @@ import org.opengis.filter.Filter;
 import org.opengis.filter.identity.FeatureId;
 
 import com.google.common.base.Function;
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
@@ -207,6 +209,8 @@ class GeogigFeatureStore extends ContentFeatureStore {
         Preconditions.checkState(getDataStore().isAllowTransactions(),
                 "Transactions not supported; head is not a local branch");
 
+        // the writer goes straight to the working tree, keep buffered changes before its own
+        delegate.flushWriteBuffer();
         FeatureReader<SimpleFeatureType, SimpleFeature> features;
         if ((flags | WRITER_UPDATE) == WRITER_UPDATE) {
             features = delegate.getReader(query);
@@ -278,7 +282,17 @@ class GeogigFeatureStore extends ContentFeatureStore {
 
             features = Iterators.transform(features, new SchemaInforcer(nativeSchema));
 
-            workingTree.insert(path, features, listener, deferringTarget, count);
+            final Optional<WriteBuffer> buffer = writeBuffer();
+            if (buffer.isPresent()) {
+                while (features.hasNext()) {
+                    SimpleFeature feature = features.next();
+                    buffer.get().put(path, feature);
+                    String version = RevFeatureBuilder.build(feature).getId().toString();
+                    insertedFids.add(new FeatureIdVersionedImpl(feature.getID(), version));
+                }
+            } else {
+                workingTree.insert(path, features, listener, deferringTarget, count);
+            }
         } catch (Exception e) {
             throw new IOException(e);
         } finally {
@@ -288,6 +302,15 @@ class GeogigFeatureStore extends ContentFeatureStore {
         return insertedFids;
     }
 
+    /**
+     * @return the buffer of the current transaction to write changes to, absent if there's no
+     *         geogig transaction in progress, in which case they're written straight to the
+     *         working tree
+     */
+    private Optional<WriteBuffer> writeBuffer() {
+        return getDataStore().getWriteBuffer(getTransaction());
+    }
+
     /**
      * Function used when inserted to check whether the {@link Hints#USE_PROVIDED_FID} in a Feature
      * {@link Feature#getUserData() user data} map is set to {@code Boolean.TRUE}, and only if so
@@ -343,6 +366,13 @@ class GeogigFeatureStore extends ContentFeatureStore {
 
         features = Iterators.transform(features, new SchemaInforcer(nativeSchema));
 
+        final Optional<WriteBuffer> buffer = writeBuffer();
+        if (buffer.isPresent()) {
+            while (features.hasNext()) {
+                buffer.get().put(path, features.next());
+            }
+            return;
+        }
         try {
             ProgressListener listener = new DefaultProgressListener();
             Integer count = (Integer) null;
@@ -386,7 +416,11 @@ class GeogigFeatureStore extends ContentFeatureStore {
         final WorkingTree workingTree = delegate.getWorkingTree();
         final String typeTreePath = delegate.getTypeTreePath();
         filter = (Filter) filter.accept(new SimplifyingFilterVisitor(), null);
+        final Optional<WriteBuffer> buffer = writeBuffer();
         if (Filter.INCLUDE.equals(filter)) {
+            if (buffer.isPresent()) {
+                buffer.get().clear(typeTreePath);
+            }
             workingTree.delete(typeTreePath);
             return;
         }
@@ -395,6 +429,12 @@ class GeogigFeatureStore extends ContentFeatureStore {
         }
 
         Iterator<SimpleFeature> featureIterator = featureIterator(filter);
+        if (buffer.isPresent()) {
+            while (featureIterator.hasNext()) {
+                buffer.get().delete(typeTreePath, featureIterator.next().getID());
+            }
+            return;
+        }
         Iterator<String> affectedFeaturePaths = Iterators.transform(featureIterator,
                 new Function<SimpleFeature, String>() {
 
@@ -48,6 +48,8 @@ class GeogigTransactionState implements State {
 
     private Transaction tx;
 
+    private WriteBuffer writeBuffer;
+
     /**
      * @param entry
      */
@@ -59,6 +61,13 @@ class GeogigTransactionState implements State {
         return Optional.fromNullable(this.geogigTx);
     }
 
+    /**
+     * @return the buffer of the changes made during the geogig transaction, if one is in progress
+     */
+    public Optional<WriteBuffer> getWriteBuffer() {
+        return Optional.fromNullable(this.writeBuffer);
+    }
+
     @Override
     public void setTransaction(@Nullable final Transaction transaction) {
         Preconditions.checkArgument(!Transaction.AUTO_COMMIT.equals(transaction));
@@ -79,6 +88,7 @@ class GeogigTransactionState implements State {
                 geogigTx.abort();
             }
             this.geogigTx = null;
+            this.writeBuffer = null;
         } else {
             if (this.geogigTx != null) {
                 geogigTx.abort();
@@ -89,6 +99,7 @@ class GeogigTransactionState implements State {
             // checkout the working branch
             final String workingBranch = dataStore.getOrFigureOutBranch();
             this.geogigTx.command(CheckoutOp.class).setForce(true).setSource(workingBranch).call();
+            this.writeBuffer = new WriteBuffer(this.geogigTx.workingTree());
         }
     }
 
@@ -111,6 +122,7 @@ class GeogigTransactionState implements State {
         final String author = fullName.isPresent() ? fullName.get() : txUserName.orNull();
         String commitMessage = getTransactionProperty(VERSIONING_COMMIT_MESSAGE).orNull();
 
+        this.writeBuffer.flush();
         this.geogigTx.command(AddOp.class).call();
         try {
             CommitOp commitOp = this.geogigTx.command(CommitOp.class);
@@ -134,6 +146,7 @@ class GeogigTransactionState implements State {
         }
 
         this.geogigTx = null;
+        this.writeBuffer = null;
     }
 
     private Optional<String> getTransactionProperty(final String propName) {
@@ -196,8 +209,10 @@ class GeogigTransactionState implements State {
     @Override
     public void rollback() throws IOException {
         Preconditions.checkState(this.geogigTx != null);
+        this.writeBuffer.clear();
         this.geogigTx.abort();
         this.geogigTx = null;
+        this.writeBuffer = null;
     }
 
 }
\ No newline at end of file
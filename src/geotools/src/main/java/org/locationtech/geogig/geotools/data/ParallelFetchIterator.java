@@ -0,0 +1,134 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.geotools.data;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.locationtech.geogig.api.NodeRef;
+import org.opengis.feature.simple.SimpleFeature;
+
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.base.Throwables;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Iterator over the features of batches of feature refs, that fetches, builds and filters the
+ * features of several batches at once on a pool of worker threads.
+ * <p>
+ * The batches are pulled from the source iterator (usually walking the type tree) by the thread
+ * consuming this iterator, at most two per worker ahead of the one being returned. If
+ * {@code ordered}, the features are returned in the order of the batches, otherwise each batch is
+ * returned as soon as it's ready.
+ * <p>
+ * The iterator must be {@link #close() closed} to release its threads, whether it was fully
+ * consumed or not.
+ */
+class ParallelFetchIterator extends AbstractIterator<SimpleFeature> implements Closeable {
+
+    private final Iterator<List<NodeRef>> batches;
+
+    private final Function<List<NodeRef>, Iterator<SimpleFeature>> fetchFunction;
+
+    private final Predicate<SimpleFeature> filter;
+
+    private final int maxPending;
+
+    private final boolean ordered;
+
+    private final ExecutorService executor;
+
+    private final CompletionService<List<SimpleFeature>> completed;
+
+    private final Queue<Future<List<SimpleFeature>>> pending;
+
+    private Iterator<SimpleFeature> current = Collections.<SimpleFeature> emptyList().iterator();
+
+    ParallelFetchIterator(Iterator<List<NodeRef>> batches,
+            Function<List<NodeRef>, Iterator<SimpleFeature>> fetchFunction,
+            Predicate<SimpleFeature> filter, int numThreads, boolean ordered) {
+        this.batches = batches;
+        this.fetchFunction = fetchFunction;
+        this.filter = filter;
+        this.maxPending = 2 * numThreads;
+        this.ordered = ordered;
+        this.executor = Executors.newFixedThreadPool(numThreads, new ThreadFactoryBuilder()
+                .setNameFormat("GeogigFeatureReader-fetch-%d").setDaemon(true).build());
+        this.completed = new ExecutorCompletionService<List<SimpleFeature>>(executor);
+        this.pending = new LinkedList<Future<List<SimpleFeature>>>();
+    }
+
+    @Override
+    protected SimpleFeature computeNext() {
+        while (!current.hasNext()) {
+            submitPending();
+            if (pending.isEmpty()) {
+                close();
+                return endOfData();
+            }
+            current = nextBatch().iterator();
+        }
+        return current.next();
+    }
+
+    private void submitPending() {
+        while (pending.size() < maxPending && batches.hasNext()) {
+            final List<NodeRef> refs = batches.next();
+            Callable<List<SimpleFeature>> fetch = new Callable<List<SimpleFeature>>() {
+                @Override
+                public List<SimpleFeature> call() {
+                    Iterator<SimpleFeature> features = fetchFunction.apply(refs);
+                    return Lists.newArrayList(Iterators.filter(features, filter));
+                }
+            };
+            // ordered batches are waited for in submission order, so they don't go through the
+            // completion service whose queue would otherwise keep them all
+            pending.add(ordered ? executor.submit(fetch) : completed.submit(fetch));
+        }
+    }
+
+    private List<SimpleFeature> nextBatch() {
+        try {
+            if (ordered) {
+                return pending.remove().get();
+            }
+            Future<List<SimpleFeature>> done = completed.take();
+            pending.remove(done);
+            return done.get();
+        } catch (InterruptedException e) {
+            close();
+            Thread.currentThread().interrupt();
+            throw Throwables.propagate(e);
+        } catch (ExecutionException e) {
+            close();
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,233 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.geotools.data;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.geotools.data.FeatureReader;
+import org.locationtech.geogig.api.NodeRef;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevTree;
+import org.locationtech.geogig.api.plumbing.index.AttributeIndex;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.filter.Filter;
+import org.opengis.filter.expression.PropertyName;
+import org.opengis.filter.sort.SortBy;
+import org.opengis.filter.sort.SortOrder;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * The ids of the features of a version of a feature type tree that match a filter, in the order
+ * given by a {@link SortBy} list.
+ * <p>
+ * Sorting the ids once per {@link Key} and keeping them around lets each page of a paged sorted
+ * query fetch only the features in the page, instead of sorting the whole layer per page. Ties
+ * are broken by feature id, so the order is stable across requests.
+ */
+final class SortedFeatureIds {
+
+    /**
+     * Identifies the sorted ids of a query on a version of a feature type tree
+     */
+    static final class Key {
+
+        private final ObjectId typeTreeId;
+
+        private final Filter filter;
+
+        private final List<SortBy> sortBy;
+
+        Key(ObjectId typeTreeId, Filter filter, SortBy[] sortBy) {
+            this.typeTreeId = typeTreeId;
+            this.filter = filter;
+            this.sortBy = ImmutableList.copyOf(sortBy);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) o;
+            return typeTreeId.equals(k.typeTreeId) && filter.equals(k.filter)
+                    && sortBy.equals(k.sortBy);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(typeTreeId, filter, sortBy);
+        }
+    }
+
+    private final List<String> fids;
+
+    private SortedFeatureIds(List<String> fids) {
+        this.fids = fids;
+    }
+
+    public int size() {
+        return fids.size();
+    }
+
+    /**
+     * @return the ids of the features in the page starting at {@code offset}, with at most
+     *         {@code limit} features
+     */
+    public List<String> page(int offset, @Nullable Integer limit) {
+        int from = Math.min(offset, fids.size());
+        int to = limit == null ? fids.size() : (int) Math.min(fids.size(), (long) from + limit);
+        return fids.subList(from, to);
+    }
+
+    /**
+     * Sorts the ids of the features out of {@code features}, closing the reader when done.
+     */
+    public static SortedFeatureIds sort(FeatureReader<SimpleFeatureType, SimpleFeature> features,
+            SortBy[] sortBy) throws IOException {
+
+        List<Entry> entries = Lists.newArrayList();
+        try {
+            while (features.hasNext()) {
+                SimpleFeature feature = features.next();
+                Object[] values = new Object[sortBy.length];
+                for (int i = 0; i < sortBy.length; i++) {
+                    PropertyName property = sortBy[i].getPropertyName();
+                    values[i] = property == null ? null : property.evaluate(feature);
+                }
+                entries.add(new Entry(values, feature.getID()));
+            }
+        } finally {
+            features.close();
+        }
+        Collections.sort(entries, new EntryComparator(sortBy));
+
+        List<String> fids = new ArrayList<String>(entries.size());
+        for (Entry e : entries) {
+            fids.add(e.id);
+        }
+        return new SortedFeatureIds(fids);
+    }
+
+    /**
+     * Sorts the ids of all the features of the type tree on a single attribute, out of the
+     * attribute index of the tree, without fetching the features.
+     *
+     * @param expectedSize the number of features in the type tree
+     * @return the sorted ids, or {@link Optional#absent() absent} if the index doesn't hold all
+     *         the features of the tree because some have no value for the attribute
+     */
+    public static Optional<SortedFeatureIds> sort(ObjectDatabase db, RevTree index,
+            Class<?> binding, SortBy sortBy, NodeRef typeTreeRef, long expectedSize) {
+
+        List<Entry> keys = Lists.newArrayList();
+        for (String key : AttributeIndex.keys(db, index)) {
+            keys.add(new Entry(new Object[] { AttributeIndex.value(key, binding) }, key));
+        }
+        Collections.sort(keys, new EntryComparator(new SortBy[] { sortBy }));
+
+        final boolean descending = SortOrder.DESCENDING.equals(sortBy.getSortOrder());
+        List<String> fids = Lists.newArrayList();
+        for (Entry key : keys) {
+            Iterator<NodeRef> refs = AttributeIndex.lookup(db, index, key.id,
+                    typeTreeRef.path(), typeTreeRef.getMetadataId());
+            List<String> names = Lists.newArrayList();
+            while (refs.hasNext()) {
+                names.add(refs.next().name());
+            }
+            Collections.sort(names);
+            if (descending) {
+                Collections.reverse(names);
+            }
+            fids.addAll(names);
+            if (fids.size() > expectedSize) {
+                return Optional.absent();
+            }
+        }
+        if (fids.size() != expectedSize) {
+            return Optional.absent();
+        }
+        return Optional.of(new SortedFeatureIds(fids));
+    }
+
+    private static final class Entry {
+
+        final Object[] values;
+
+        /**
+         * The feature id, or the index key when sorting index keys
+         */
+        final String id;
+
+        Entry(Object[] values, String id) {
+            this.values = values;
+            this.id = id;
+        }
+    }
+
+    /**
+     * Compares by each {@link SortBy} in turn, with {@code null} values first, then by feature id;
+     * {@link SortBy#NATURAL_ORDER} and {@link SortBy#REVERSE_ORDER} compare by feature id.
+     */
+    private static final class EntryComparator implements Comparator<Entry> {
+
+        private final SortBy[] sortBy;
+
+        EntryComparator(SortBy[] sortBy) {
+            this.sortBy = Arrays.copyOf(sortBy, sortBy.length);
+        }
+
+        @Override
+        public int compare(Entry e1, Entry e2) {
+            boolean descending = false;
+            for (int i = 0; i < sortBy.length; i++) {
+                descending = SortOrder.DESCENDING.equals(sortBy[i].getSortOrder());
+                int c;
+                if (sortBy[i].getPropertyName() == null) {
+                    c = e1.id.compareTo(e2.id);
+                } else {
+                    c = compareValues(e1.values[i], e2.values[i]);
+                }
+                if (c != 0) {
+                    return descending ? -c : c;
+                }
+            }
+            int c = e1.id.compareTo(e2.id);
+            return descending ? -c : c;
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private static int compareValues(@Nullable Object v1, @Nullable Object v2) {
+            if (v1 == null) {
+                return v2 == null ? 0 : -1;
+            }
+            if (v2 == null) {
+                return 1;
+            }
+            if (v1 instanceof Comparable && v1.getClass().isInstance(v2)) {
+                return ((Comparable) v1).compareTo(v2);
+            }
+            return v1.toString().compareTo(v2.toString());
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.geotools.data;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.crs.DefaultEngineeringCRS;
+import org.locationtech.geogig.api.Bucket;
+import org.locationtech.geogig.api.FeatureBuilder;
+import org.locationtech.geogig.api.Node;
+import org.locationtech.geogig.api.RevFeature;
+import org.locationtech.geogig.api.RevObject.TYPE;
+import org.locationtech.geogig.api.RevTree;
+import org.locationtech.geogig.api.plumbing.diff.DiffEntry;
+import org.locationtech.geogig.geotools.data.GeoGigDataStore.ChangeType;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.feature.type.AttributeDescriptor;
+import org.opengis.feature.type.GeometryDescriptor;
+import org.opengis.filter.Filter;
+import org.opengis.filter.spatial.BBOX;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Optional;
+import com.vividsolutions.jts.geom.Envelope;
+
+/**
+ * Computes the number and the bounds of the features matching a filter out of the tree structure
+ * instead of decoding every feature.
+ * <p>
+ * Only {@link Filter#INCLUDE} and {@link BBOX} filters on feature types with a single geometry
+ * attribute are supported, since for those whether a feature matches follows from its bounds as
+ * stored in the tree: features and buckets whose bounds are fully inside the query envelope all
+ * match, and the ones fully outside of it don't, so only the features crossing its boundary are
+ * decoded and evaluated against the filter. The size of the buckets fully inside the envelope is
+ * taken from their tree, and their bounds from the bucket itself.
+ * <p>
+ * The bounds stored in the tree are rounded to the nearest {@code float}, so they can be off the
+ * actual geometry bounds by up to half a {@code float} ulp on each side. Hence a feature or bucket
+ * is only taken as inside the query envelope if it's inside it shrunk by one ulp on each side, and
+ * as outside of it if it's outside it grown by one ulp on each side; the features in between are
+ * decoded.
+ */
+final class TreeBoundsEvaluator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TreeBoundsEvaluator.class);
+
+    private final ObjectDatabase database;
+
+    private final FeatureBuilder featureBuilder;
+
+    private final Filter filter;
+
+    /**
+     * The filter envelope, {@code null} for {@link Filter#INCLUDE}
+     */
+    @Nullable
+    private final ReferencedEnvelope queryBounds;
+
+    /**
+     * The query envelope shrunk by one {@code float} ulp on each side, stored bounds inside it are
+     * certainly inside the query envelope
+     */
+    @Nullable
+    private final Envelope innerBounds;
+
+    /**
+     * The query envelope grown by one {@code float} ulp on each side, stored bounds outside of it
+     * are certainly outside the query envelope
+     */
+    @Nullable
+    private final Envelope outerBounds;
+
+    private final ReferencedEnvelope bounds;
+
+    private final Envelope nodeBounds = new Envelope();
+
+    private long count;
+
+    private long decoded;
+
+    private TreeBoundsEvaluator(ObjectDatabase database, SimpleFeatureType schema, Filter filter,
+            @Nullable ReferencedEnvelope queryBounds) {
+        this.database = database;
+        this.featureBuilder = new FeatureBuilder(schema);
+        this.filter = filter;
+        this.queryBounds = queryBounds;
+        this.innerBounds = queryBounds == null ? null : offset(queryBounds, -1);
+        this.outerBounds = queryBounds == null ? null : offset(queryBounds, 1);
+        this.bounds = new ReferencedEnvelope(schema.getCoordinateReferenceSystem());
+    }
+
+    /**
+     * @return {@code env} grown ({@code ulps > 0}) or shrunk ({@code ulps < 0}) by the given number
+     *         of {@code float} ulps on each side, or a null envelope if it shrinks to nothing
+     */
+    private static Envelope offset(Envelope env, int ulps) {
+        double minX = env.getMinX() - ulps * Math.ulp((float) env.getMinX());
+        double maxX = env.getMaxX() + ulps * Math.ulp((float) env.getMaxX());
+        double minY = env.getMinY() - ulps * Math.ulp((float) env.getMinY());
+        double maxY = env.getMaxY() + ulps * Math.ulp((float) env.getMaxY());
+        if (minX > maxX || minY > maxY) {
+            return new Envelope();
+        }
+        return new Envelope(minX, maxX, minY, maxY);
+    }
+
+    /**
+     * @param filterInNativeCrs the filter, already reprojected to the native CRS of the schema
+     * @return an evaluator for the filter, or {@link Optional#absent()} if its result can't be
+     *         told apart from the feature bounds
+     */
+    public static Optional<TreeBoundsEvaluator> create(ObjectDatabase database,
+            SimpleFeatureType schema, Filter filterInNativeCrs) {
+
+        if (Filter.INCLUDE.equals(filterInNativeCrs)) {
+            return Optional.of(new TreeBoundsEvaluator(database, schema, filterInNativeCrs, null));
+        }
+        if (!(filterInNativeCrs instanceof BBOX) || geometryAttributeCount(schema) != 1) {
+            return Optional.absent();
+        }
+        CoordinateReferenceSystem crs = schema.getCoordinateReferenceSystem();
+        if (crs == null) {
+            crs = DefaultEngineeringCRS.GENERIC_2D;
+        }
+        @SuppressWarnings("unchecked")
+        List<ReferencedEnvelope> envelopes = (List<ReferencedEnvelope>) filterInNativeCrs.accept(
+                new ExtractBounds(crs), null);
+        if (envelopes == null || envelopes.size() != 1) {
+            return Optional.absent();
+        }
+        ReferencedEnvelope queryBounds = new ReferencedEnvelope(envelopes.get(0));
+        return Optional.of(new TreeBoundsEvaluator(database, schema, filterInNativeCrs,
+                queryBounds));
+    }
+
+    private static int geometryAttributeCount(SimpleFeatureType schema) {
+        int count = 0;
+        for (AttributeDescriptor descriptor : schema.getAttributeDescriptors()) {
+            if (descriptor instanceof GeometryDescriptor) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Adds the matching features of the given tree, going down into its buckets only where they
+     * cross the query envelope.
+     */
+    public void visitTree(RevTree tree) {
+        List<RevTree> pending = new ArrayList<RevTree>();
+        pending.add(tree);
+        Envelope bucketBounds = new Envelope();
+        while (!pending.isEmpty()) {
+            RevTree current = pending.remove(pending.size() - 1);
+            if (current.features().isPresent()) {
+                for (Node node : current.features().get()) {
+                    visitNode(node);
+                }
+            }
+            if (!current.buckets().isPresent()) {
+                continue;
+            }
+            for (Bucket bucket : current.buckets().get().values()) {
+                bucketBounds.setToNull();
+                bucket.expand(bucketBounds);
+                if (queryBounds != null && (bucketBounds.isNull() || !outerBounds
+                        .intersects(bucketBounds))) {
+                    // no geometries, or all of them outside the query envelope
+                    continue;
+                }
+                RevTree bucketTree = database.getTree(bucket.id());
+                if (queryBounds == null || innerBounds.contains(bucketBounds)) {
+                    count += bucketTree.size();
+                    bounds.expandToInclude(bucketBounds);
+                } else {
+                    pending.add(bucketTree);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the matching features out of a diff, picking for each entry the same side of the diff
+     * {@link GeogigFeatureReader} would return for the given change type.
+     */
+    public void visitDiffs(Iterator<DiffEntry> diffs, ChangeType changeType) {
+        while (diffs.hasNext()) {
+            DiffEntry e = diffs.next();
+            if (e.isAdd()) {
+                visitNode(e.getNewObject().getNode());
+            } else if (e.isDelete() || ChangeType.CHANGED_OLD.equals(changeType)) {
+                visitNode(e.getOldObject().getNode());
+            } else {
+                visitNode(e.getNewObject().getNode());
+            }
+        }
+    }
+
+    /**
+     * Adds the given feature node if it matches, decoding the feature only if its bounds cross the
+     * query envelope.
+     */
+    public void visitNode(Node node) {
+        if (!TYPE.FEATURE.equals(node.getType())) {
+            return;
+        }
+        nodeBounds.setToNull();
+        node.expand(nodeBounds);
+        if (queryBounds != null) {
+            if (nodeBounds.isNull() || !outerBounds.intersects(nodeBounds)) {
+                return;
+            }
+            if (!innerBounds.contains(nodeBounds) && !evaluate(node)) {
+                return;
+            }
+        }
+        count++;
+        if (!nodeBounds.isNull()) {
+            bounds.expandToInclude(nodeBounds);
+        }
+    }
+
+    private boolean evaluate(Node node) {
+        decoded++;
+        RevFeature revFeature = database.getFeature(node.getObjectId());
+        SimpleFeature feature = (SimpleFeature) featureBuilder.build(node.getName(), revFeature);
+        return filter.evaluate(feature);
+    }
+
+    /**
+     * @return the envelope of the filter, or {@code null} if it matches everything
+     */
+    @Nullable
+    public ReferencedEnvelope getQueryBounds() {
+        return queryBounds;
+    }
+
+    public long getCount() {
+        LOGGER.trace("Counted {} features decoding {}", count, decoded);
+        return count;
+    }
+
+    public ReferencedEnvelope getBounds() {
+        return bounds;
+    }
+}
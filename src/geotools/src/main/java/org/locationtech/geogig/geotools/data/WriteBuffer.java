@@ -0,0 +1,152 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.geotools.data;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import org.locationtech.geogig.api.DefaultProgressListener;
+import org.locationtech.geogig.api.Node;
+import org.locationtech.geogig.api.NodeRef;
+import org.locationtech.geogig.repository.WorkingTree;
+import org.opengis.feature.simple.SimpleFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * Transaction scoped buffer of the feature inserts, updates and deletes made through a
+ * {@link GeogigFeatureStore}, so that they're written to the transaction's {@link WorkingTree} in
+ * batches instead of rewriting the feature type tree on each call.
+ * <p>
+ * The buffer keeps the last change to each feature, sorted by feature id per type tree, and is
+ * flushed when it reaches its size threshold, before the transaction is committed, and before
+ * anything is read from the transaction so that readers see the buffered changes.
+ */
+final class WriteBuffer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBuffer.class);
+
+    /**
+     * Default number of buffered changes that triggers a flush
+     */
+    static final int DEFAULT_FLUSH_THRESHOLD = 10_000;
+
+    private final WorkingTree workingTree;
+
+    private final int flushThreshold;
+
+    /**
+     * Changed features by type tree path and feature id, {@link Optional#absent() absent} for
+     * deleted ones
+     */
+    private final Map<String, SortedMap<String, Optional<SimpleFeature>>> changes = Maps
+            .newHashMap();
+
+    private int size;
+
+    WriteBuffer(WorkingTree workingTree) {
+        this(workingTree, DEFAULT_FLUSH_THRESHOLD);
+    }
+
+    WriteBuffer(WorkingTree workingTree, int flushThreshold) {
+        this.workingTree = workingTree;
+        this.flushThreshold = flushThreshold;
+    }
+
+    /**
+     * Buffers the insert or update of {@code feature} in the type tree at {@code treePath}
+     */
+    public synchronized void put(String treePath, SimpleFeature feature) {
+        add(treePath, feature.getID(), Optional.of(feature));
+    }
+
+    /**
+     * Buffers the delete of the feature {@code fid} of the type tree at {@code treePath}
+     */
+    public synchronized void delete(String treePath, String fid) {
+        add(treePath, fid, Optional.<SimpleFeature> absent());
+    }
+
+    /**
+     * Discards the buffered changes to the type tree at {@code treePath}, for example because the
+     * whole tree is being deleted
+     */
+    public synchronized void clear(String treePath) {
+        SortedMap<String, Optional<SimpleFeature>> treeChanges = changes.remove(treePath);
+        if (treeChanges != null) {
+            size -= treeChanges.size();
+        }
+    }
+
+    /**
+     * Discards all the buffered changes
+     */
+    public synchronized void clear() {
+        changes.clear();
+        size = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void add(String treePath, String fid, Optional<SimpleFeature> change) {
+        SortedMap<String, Optional<SimpleFeature>> treeChanges = changes.get(treePath);
+        if (treeChanges == null) {
+            treeChanges = Maps.newTreeMap();
+            changes.put(treePath, treeChanges);
+        }
+        if (treeChanges.put(fid, change) == null) {
+            size++;
+        }
+        if (size >= flushThreshold) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the buffered changes to the working tree, one batch of inserts and one of deletes per
+     * type tree
+     */
+    public synchronized void flush() {
+        if (size == 0) {
+            return;
+        }
+        LOGGER.debug("Flushing {} buffered changes to the working tree", size);
+        for (Map.Entry<String, SortedMap<String, Optional<SimpleFeature>>> e : changes
+                .entrySet()) {
+            final String treePath = e.getKey();
+            List<SimpleFeature> inserts = Lists.newArrayList();
+            List<String> deletes = Lists.newArrayList();
+            for (Map.Entry<String, Optional<SimpleFeature>> change : e.getValue().entrySet()) {
+                if (change.getValue().isPresent()) {
+                    inserts.add(change.getValue().get());
+                } else {
+                    deletes.add(NodeRef.appendChild(treePath, change.getKey()));
+                }
+            }
+            if (!deletes.isEmpty()) {
+                workingTree.delete(deletes.iterator());
+            }
+            if (!inserts.isEmpty()) {
+                Iterator<SimpleFeature> features = inserts.iterator();
+                workingTree.insert(treePath, features, new DefaultProgressListener(),
+                        (List<Node>) null, Integer.valueOf(inserts.size()));
+            }
+        }
+        clear();
+    }
+}
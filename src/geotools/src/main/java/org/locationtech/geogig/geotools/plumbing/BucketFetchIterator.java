@@ -0,0 +1,193 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.geotools.plumbing;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.locationtech.geogig.api.Bucket;
+import org.locationtech.geogig.api.FeatureBuilder;
+import org.locationtech.geogig.api.NodeRef;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevFeature;
+import org.locationtech.geogig.api.RevObject;
+import org.locationtech.geogig.api.RevTree;
+import org.locationtech.geogig.api.plumbing.diff.DepthTreeIterator;
+import org.locationtech.geogig.api.plumbing.diff.DepthTreeIterator.Strategy;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.opengis.feature.simple.SimpleFeature;
+
+import com.google.common.base.Function;
+import com.google.common.base.Throwables;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Iterator over the features of a type tree, that walks the top level buckets of the tree and
+ * fetches and builds their features on a pool of worker threads, in no particular order.
+ * <p>
+ * Each worker takes one bucket at a time, fetches its features in batches of
+ * {@link #FETCH_SIZE} and hands the built features over to the consuming thread through a
+ * bounded queue, so the workers stay at most a few batches ahead of the consumer.
+ * <p>
+ * The iterator must be {@link #close() closed} to release its threads, whether it was fully
+ * consumed or not.
+ */
+class BucketFetchIterator extends AbstractIterator<SimpleFeature> implements Closeable {
+
+    /**
+     * Number of features fetched from the object database at once
+     */
+    static final int FETCH_SIZE = 1000;
+
+    /**
+     * Marks the end of the batches in the queue, compared by identity
+     */
+    private static final List<SimpleFeature> END = new ArrayList<SimpleFeature>(0);
+
+    private static final Function<NodeRef, ObjectId> TO_ID = new Function<NodeRef, ObjectId>() {
+        @Override
+        public ObjectId apply(NodeRef ref) {
+            return ref.objectId();
+        }
+    };
+
+    private final ObjectDatabase database;
+
+    private final ObjectId defaultMetadataId;
+
+    private final ExecutorService executor;
+
+    private final BlockingQueue<List<SimpleFeature>> queue;
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+    private Iterator<SimpleFeature> current = Collections.<SimpleFeature> emptyList().iterator();
+
+    private boolean finished;
+
+    BucketFetchIterator(final ObjectDatabase database, final RevTree typeTree,
+            final ObjectId defaultMetadataId, final int numThreads) {
+        this.database = database;
+        this.defaultMetadataId = defaultMetadataId;
+        this.queue = new ArrayBlockingQueue<List<SimpleFeature>>(2 * numThreads);
+        this.executor = Executors.newFixedThreadPool(numThreads, new ThreadFactoryBuilder()
+                .setNameFormat("ExportOp-fetch-%d").setDaemon(true).build());
+
+        final List<ObjectId> partitions = Lists.newArrayList();
+        if (typeTree.buckets().isPresent()) {
+            for (Bucket bucket : typeTree.buckets().get().values()) {
+                partitions.add(bucket.id());
+            }
+        } else {
+            partitions.add(typeTree.getId());
+        }
+        final AtomicInteger remaining = new AtomicInteger(partitions.size());
+        for (final ObjectId treeId : partitions) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        fetch(treeId.equals(typeTree.getId()) ? typeTree : database
+                                .getTree(treeId));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        if (remaining.decrementAndGet() == 0) {
+                            try {
+                                queue.put(END);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    private void fetch(final RevTree tree) throws InterruptedException {
+        Iterator<NodeRef> refs = new DepthTreeIterator("", defaultMetadataId, tree, database,
+                Strategy.FEATURES_ONLY);
+        Iterator<List<NodeRef>> batches = Iterators.partition(refs, FETCH_SIZE);
+        Map<ObjectId, FeatureBuilder> builders = Maps.newHashMap();
+        while (batches.hasNext() && failure.get() == null) {
+            List<NodeRef> batch = batches.next();
+            Map<ObjectId, RevFeature> revFeatures = Maps.newHashMap();
+            Iterator<RevObject> objects = database.getAll(Lists.transform(batch, TO_ID));
+            while (objects.hasNext()) {
+                RevObject object = objects.next();
+                revFeatures.put(object.getId(), (RevFeature) object);
+            }
+            List<SimpleFeature> features = new ArrayList<SimpleFeature>(batch.size());
+            for (NodeRef ref : batch) {
+                FeatureBuilder builder = builders.get(ref.getMetadataId());
+                if (builder == null) {
+                    builder = new FeatureBuilder(database.getFeatureType(ref.getMetadataId()));
+                    builders.put(ref.getMetadataId(), builder);
+                }
+                SimpleFeature feature = ExportOp.build(ref, revFeatures.get(ref.objectId()),
+                        builder);
+                if (feature != null) {
+                    features.add(feature);
+                }
+            }
+            queue.put(features);
+        }
+    }
+
+    @Override
+    protected SimpleFeature computeNext() {
+        while (!current.hasNext()) {
+            if (finished) {
+                return endOfData();
+            }
+            List<SimpleFeature> batch;
+            try {
+                batch = queue.take();
+            } catch (InterruptedException e) {
+                close();
+                Thread.currentThread().interrupt();
+                throw Throwables.propagate(e);
+            }
+            if (failure.get() != null) {
+                close();
+                throw Throwables.propagate(failure.get());
+            }
+            if (batch == END) {
+                finished = true;
+                close();
+            } else {
+                current = batch.iterator();
+            }
+        }
+        return current.next();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -10,6 +10,7 @@
 package org.locationtech.geogig.geotools.plumbing;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 
 import java.io.IOException;
 import java.util.Iterator;
@@ -19,6 +20,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nullable;
 
+import org.geotools.data.DataUtilities;
 import org.geotools.data.DefaultTransaction;
 import org.geotools.data.Transaction;
 import org.geotools.data.simple.SimpleFeatureStore;
@@ -95,6 +97,10 @@ public class ExportOp extends AbstractGeoGigOp<SimpleFeatureStore> {
 
     private boolean transactional;
 
+    private int fetchThreads = 1;
+
+    private int commitInterval;
+
     /**
      * Constructs a new export operation.
      */
@@ -141,19 +147,7 @@ public class ExportOp extends AbstractGeoGigOp<SimpleFeatureStore> {
                 final Iterator<SimpleFeature> plainFeatures = getFeatures(typeTree, database,
                         defaultMetadataId, progressListener);
 
-                Iterator<SimpleFeature> adaptedFeatures = adaptToArguments(plainFeatures,
-                        defaultMetadataId);
-
-                Iterator<Optional<Feature>> transformed = Iterators.transform(adaptedFeatures,
-                        ExportOp.this.function);
-
-                Iterator<SimpleFeature> filtered = Iterators.filter(Iterators.transform(
-                        transformed, new Function<Optional<Feature>, SimpleFeature>() {
-                            @Override
-                            public SimpleFeature apply(Optional<Feature> input) {
-                                return (SimpleFeature) (input.isPresent() ? input.get() : null);
-                            }
-                        }), Predicates.notNull());
+                Iterator<SimpleFeature> filtered = transform(plainFeatures, defaultMetadataId);
 
                 return new DelegateFeatureIterator<SimpleFeature>(filtered);
             }
@@ -169,7 +163,12 @@ public class ExportOp extends AbstractGeoGigOp<SimpleFeatureStore> {
         try {
             targetStore.setTransaction(transaction);
             try {
-                targetStore.addFeatures(asFeatureCollection);
+                if (fetchThreads > 1 || commitInterval > 0) {
+                    addFeaturesInBatches(targetStore, transaction, typeTree, database,
+                            defaultMetadataId, progressListener);
+                } else {
+                    targetStore.addFeatures(asFeatureCollection);
+                }
                 transaction.commit();
             } catch (final Exception e) {
                 if (transactional) {
@@ -190,24 +189,85 @@ public class ExportOp extends AbstractGeoGigOp<SimpleFeatureStore> {
 
     }
 
-    private static Iterator<SimpleFeature> getFeatures(final RevTree typeTree,
-            final ObjectDatabase database, final ObjectId defaultMetadataId,
-            final ProgressListener progressListener) {
+    /**
+     * Adds the features to the target store in batches, committing the transaction every
+     * {@link #commitInterval} features, as they're fetched by {@link #fetchThreads} threads. The
+     * last batch is left for the caller to commit.
+     */
+    private void addFeaturesInBatches(final SimpleFeatureStore targetStore,
+            final Transaction transaction, final RevTree typeTree, final ObjectDatabase database,
+            final ObjectId defaultMetadataId, final ProgressListener progressListener)
+            throws IOException {
+
+        final int writeSize = commitInterval > 0 ? Math.min(commitInterval,
+                BucketFetchIterator.FETCH_SIZE) : BucketFetchIterator.FETCH_SIZE;
+
+        try (BucketFetchIterator fetched = new BucketFetchIterator(database, typeTree,
+                defaultMetadataId, Math.max(1, fetchThreads))) {
+
+            Iterator<SimpleFeature> features = transform(
+                    reportProgress(fetched, typeTree.size(), progressListener), defaultMetadataId);
+            Iterator<List<SimpleFeature>> batches = Iterators.partition(features, writeSize);
+
+            int uncommitted = 0;
+            while (batches.hasNext()) {
+                List<SimpleFeature> batch = batches.next();
+                targetStore.addFeatures(DataUtilities.collection(batch));
+                uncommitted += batch.size();
+                if (commitInterval > 0 && uncommitted >= commitInterval && batches.hasNext()) {
+                    transaction.commit();
+                    uncommitted = 0;
+                }
+            }
+        }
+    }
 
-        Iterator<NodeRef> nodes = new DepthTreeIterator("", defaultMetadataId, typeTree, database,
-                Strategy.FEATURES_ONLY);
+    /**
+     * Adapts the features to the arguments of the operation and applies the conversion function
+     */
+    private Iterator<SimpleFeature> transform(final Iterator<SimpleFeature> plainFeatures,
+            final ObjectId defaultMetadataId) {
 
-        // progress reporting
-        nodes = Iterators.transform(nodes, new Function<NodeRef, NodeRef>() {
+        Iterator<SimpleFeature> adaptedFeatures = adaptToArguments(plainFeatures,
+                defaultMetadataId);
+
+        Iterator<Optional<Feature>> transformed = Iterators.transform(adaptedFeatures,
+                ExportOp.this.function);
+
+        Iterator<SimpleFeature> filtered = Iterators.filter(Iterators.transform(transformed,
+                new Function<Optional<Feature>, SimpleFeature>() {
+                    @Override
+                    public SimpleFeature apply(Optional<Feature> input) {
+                        return (SimpleFeature) (input.isPresent() ? input.get() : null);
+                    }
+                }), Predicates.notNull());
+        return filtered;
+    }
+
+    private static <T> Iterator<T> reportProgress(Iterator<T> iterator, final long total,
+            final ProgressListener progressListener) {
+
+        return Iterators.transform(iterator, new Function<T, T>() {
 
             private AtomicInteger count = new AtomicInteger();
 
             @Override
-            public NodeRef apply(NodeRef input) {
-                progressListener.setProgress((count.incrementAndGet() * 100.f) / typeTree.size());
+            public T apply(T input) {
+                progressListener.setProgress((count.incrementAndGet() * 100.f) / total);
                 return input;
             }
         });
+    }
+
+    private static Iterator<SimpleFeature> getFeatures(final RevTree typeTree,
+            final ObjectDatabase database, final ObjectId defaultMetadataId,
+            final ProgressListener progressListener) {
+
+        Iterator<NodeRef> nodes = new DepthTreeIterator("", defaultMetadataId, typeTree, database,
+                Strategy.FEATURES_ONLY);
+
+        // progress reporting
+        nodes = reportProgress(nodes, typeTree.size(), progressListener);
 
         Function<NodeRef, SimpleFeature> asFeature = new Function<NodeRef, SimpleFeature>() {
 
@@ -220,15 +280,7 @@ public class ExportOp extends AbstractGeoGigOp<SimpleFeatureStore> {
                 final RevFeature revFeature = database.getFeature(input.objectId());
 
                 FeatureBuilder featureBuilder = getBuilderFor(metadataId);
-                Feature feature = featureBuilder.build(input.name(), revFeature);
-                feature.getUserData().put(Hints.USE_PROVIDED_FID, true);
-                feature.getUserData().put(RevFeature.class, revFeature);
-                feature.getUserData().put(RevFeatureType.class, featureBuilder.getType());
-
-                if (feature instanceof SimpleFeature) {
-                    return (SimpleFeature) feature;
-                }
-                return null;
+                return build(input, revFeature, featureBuilder);
             }
 
             private FeatureBuilder getBuilderFor(final ObjectId metadataId) {
@@ -250,6 +302,24 @@ public class ExportOp extends AbstractGeoGigOp<SimpleFeatureStore> {
         return filterNulls;
     }
 
+    /**
+     * @return the feature of {@code ref}, or {@code null} if it's not a simple feature
+     */
+    @Nullable
+    static SimpleFeature build(final NodeRef ref, final RevFeature revFeature,
+            final FeatureBuilder featureBuilder) {
+        checkState(revFeature != null, "Feature %s not found", ref.objectId());
+        Feature feature = featureBuilder.build(ref.name(), revFeature);
+        feature.getUserData().put(Hints.USE_PROVIDED_FID, true);
+        feature.getUserData().put(RevFeature.class, revFeature);
+        feature.getUserData().put(RevFeatureType.class, featureBuilder.getType());
+
+        if (feature instanceof SimpleFeature) {
+            return (SimpleFeature) feature;
+        }
+        return null;
+    }
+
     private Iterator<SimpleFeature> adaptToArguments(final Iterator<SimpleFeature> plainFeatures,
             final ObjectId defaultMetadataId) {
 
@@ -497,4 +567,36 @@ public class ExportOp extends AbstractGeoGigOp<SimpleFeatureStore> {
         this.transactional = transactional;
         return this;
     }
+
+    /**
+     * Sets the number of threads to fetch and build the features to export with. If more than one,
+     * the top level buckets of the tree are read concurrently while the features are written to
+     * the target store, and the features are exported in no particular order. Defaults to
+     * {@code 1}.
+     * 
+     * @param fetchThreads the number of threads to read the features with
+     * @return {@code this}
+     */
+    public ExportOp setFetchThreads(int fetchThreads) {
+        checkArgument(fetchThreads > 0, "fetchThreads must be positive");
+        this.fetchThreads = fetchThreads;
+        return this;
+    }
+
+    /**
+     * Sets the number of features after which the transaction is committed, so that exporting
+     * large trees doesn't hold all the features in a single transaction of the target store. If
+     * the export fails, the features of the transactions already committed are kept. Defaults to
+     * {@code 0}, a single commit once all the features are added. Has no effect if the operation
+     * is not {@link #setTransactional(boolean) transactional}.
+     * 
+     * @param commitInterval the number of features to add between commits, {@code 0} to commit
+     *        only at the end
+     * @return {@code this}
+     */
+    public ExportOp setCommitInterval(int commitInterval) {
+        checkArgument(commitInterval >= 0, "commitInterval can't be negative");
+        this.commitInterval = commitInterval;
+        return this;
+    }
 }
@@ -15,6 +15,12 @@ import java.net.URLDecoder;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.annotation.Nullable;
 
@@ -31,6 +37,7 @@ import org.geotools.feature.type.AttributeDescriptorImpl;
 import org.geotools.filter.identity.FeatureIdImpl;
 import org.geotools.jdbc.JDBCFeatureSource;
 import org.locationtech.geogig.api.AbstractGeoGigOp;
+import org.locationtech.geogig.api.DefaultProgressListener;
 import org.locationtech.geogig.api.FeatureBuilder;
 import org.locationtech.geogig.api.NodeRef;
 import org.locationtech.geogig.api.ProgressListener;
@@ -44,6 +51,7 @@ import org.locationtech.geogig.api.data.ForwardingFeatureCollection;
 import org.locationtech.geogig.api.data.ForwardingFeatureIterator;
 import org.locationtech.geogig.api.data.ForwardingFeatureSource;
 import org.locationtech.geogig.api.hooks.Hookable;
+import org.locationtech.geogig.api.plumbing.FindTreeChild;
 import org.locationtech.geogig.api.plumbing.LsTreeOp;
 import org.locationtech.geogig.api.plumbing.LsTreeOp.Strategy;
 import org.locationtech.geogig.api.plumbing.ResolveFeatureType;
@@ -62,9 +70,12 @@ import com.google.common.base.Charsets;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.vividsolutions.jts.geom.CoordinateSequenceFactory;
 import com.vividsolutions.jts.geom.impl.PackedCoordinateSequenceFactory;
 
@@ -118,6 +129,11 @@ public class ImportOp extends AbstractGeoGigOp<RevTree> {
 
     private boolean usePaging = true;
 
+    /**
+     * Number of tables to import concurrently when importing {@link #setAll(boolean) all} tables
+     */
+    private int parallelism = 1;
+
     /**
      * Executes the import operation using the parameters that have been specified. Features will be
      * added to the working tree, and a new working tree will be constructed. Either {@code all} or
@@ -125,7 +141,6 @@ public class ImportOp extends AbstractGeoGigOp<RevTree> {
      * 
      * @return RevTree the new working tree
      */
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     @Override
     protected RevTree _call() {
 
@@ -169,6 +184,23 @@ public class ImportOp extends AbstractGeoGigOp<RevTree> {
             }
         }
 
+        if (parallelism > 1 && typeNames.length > 1 && !destPathProvided && !alter) {
+            importConcurrently(typeNames, overwrite, workTree, progressListener);
+        } else {
+            importSequentially(typeNames, overwrite, destPathFeatureType, workTree,
+                    progressListener);
+        }
+
+        progressListener.setProgress(100.f);
+        progressListener.complete();
+        return workTree.getTree();
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void importSequentially(final String[] typeNames, final boolean overwrite,
+            @Nullable final RevFeatureType destPathFeatureType, final WorkingTree workTree,
+            final ProgressListener progressListener) {
+
         int tableCount = 0;
 
         for (String typeName : typeNames) {
@@ -182,32 +214,10 @@ public class ImportOp extends AbstractGeoGigOp<RevTree> {
                         + typeNames.length + ")... ");
             }
 
-            FeatureSource featureSource = getFeatureSource(typeName);
-            SimpleFeatureType featureType = (SimpleFeatureType) featureSource.getSchema();
-
-            final String fidPrefix = featureType.getTypeName() + ".";
-
-            String path;
-            if (destPath == null) {
-                path = featureType.getTypeName();
-            } else {
-                NodeRef.checkValidPath(destPath);
-                path = destPath;
-                featureType = forceFeatureTypeName(featureType, path);
-            }
-
-            featureType = overrideGeometryName(featureType);
-
-            featureSource = new ForceTypeAndFidFeatureSource<FeatureType, Feature>(featureSource,
-                    featureType, fidPrefix);
-            boolean hasPrimaryKey = hasPrimaryKey(typeName);
-            boolean forbidSorting = !usePaging || !hasPrimaryKey;
-            ((ForceTypeAndFidFeatureSource) featureSource).setForbidSorting(forbidSorting);
-
-            if (destPathFeatureType != null && adaptToDefaultFeatureType && !alter) {
-                featureSource = new FeatureTypeAdapterFeatureSource<FeatureType, Feature>(
-                        featureSource, destPathFeatureType.type());
-            }
+            final ImportTable table = prepareTable(typeName, destPathFeatureType);
+            final String path = table.path;
+            final SimpleFeatureType featureType = table.featureType;
+            final FeatureSource featureSource = table.featureSource;
 
             ProgressListener taskProgress = subProgress(100.f / typeNames.length);
             if (overwrite) {
@@ -239,10 +249,201 @@ public class ImportOp extends AbstractGeoGigOp<RevTree> {
                 throw new GeoToolsOpException(e, StatusCode.UNABLE_TO_INSERT);
             }
         }
+    }
 
-        progressListener.setProgress(100.f);
-        progressListener.complete();
-        return workTree.getTree();
+    /**
+     * Reads the features of the tables and builds their type trees on {@link #parallelism}
+     * threads, and writes all the trees back to the working tree at once.
+     * <p>
+     * The failure of a table doesn't stop the others: the trees of the tables that were imported
+     * are written back, and then the exception of the first table that failed is thrown.
+     */
+    private void importConcurrently(final String[] typeNames, final boolean overwrite,
+            final WorkingTree workTree, final ProgressListener progressListener) {
+
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(parallelism, typeNames.length), new ThreadFactoryBuilder()
+                        .setNameFormat("geogig-import-%d").setDaemon(true).build());
+
+        final float[] tablesProgress = new float[typeNames.length];
+        final Map<String, NodeRef> treeRefs = Maps.newLinkedHashMap();
+        final Map<String, Future<RevTree>> trees = Maps.newLinkedHashMap();
+        final Map<String, Throwable> failures = Maps.newLinkedHashMap();
+        final Map<NodeRef, RevTree> imported = Maps.newLinkedHashMap();
+        try {
+            // the type trees are created one table at a time, as they update WORK_HEAD
+            for (int i = 0; i < typeNames.length; i++) {
+                final String typeName = typeNames[i];
+                final ImportTable table;
+                final NodeRef treeRef;
+                try {
+                    table = prepareTable(typeName, null);
+                    if (overwrite) {
+                        workTree.delete(table.path);
+                        treeRef = workTree.createTypeTree(table.path, table.featureType);
+                    } else {
+                        treeRef = findOrCreateTypeTree(workTree, table);
+                    }
+                } catch (RuntimeException e) {
+                    failures.put(typeName, e);
+                    continue;
+                }
+                final ProgressListener taskProgress = new TableProgressListener(
+                        progressListener, typeName, tablesProgress, i);
+                treeRefs.put(typeName, treeRef);
+                trees.put(typeName, executor.submit(new Callable<RevTree>() {
+                    @Override
+                    public RevTree call() {
+                        return workTree.buildTypeTree(treeRef, table.featureSource, query(),
+                                taskProgress);
+                    }
+                }));
+            }
+
+            for (Map.Entry<String, Future<RevTree>> e : trees.entrySet()) {
+                final String typeName = e.getKey();
+                try {
+                    imported.put(treeRefs.get(typeName), e.getValue().get());
+                } catch (ExecutionException ex) {
+                    failures.put(typeName, ex.getCause());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new GeoToolsOpException(ex, StatusCode.UNABLE_TO_INSERT);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        progressListener.setDescription("Writing " + imported.size() + " imported tables...");
+        workTree.updateTypeTrees(imported);
+
+        if (!failures.isEmpty()) {
+            progressListener.setDescription("Failed to import " + failures.keySet());
+            Throwable cause = failures.values().iterator().next();
+            Throwables.propagateIfInstanceOf(cause, GeoToolsOpException.class);
+            Throwables.propagateIfInstanceOf(cause, Error.class);
+            throw new GeoToolsOpException((Exception) cause, StatusCode.UNABLE_TO_INSERT);
+        }
+    }
+
+    private NodeRef findOrCreateTypeTree(WorkingTree workTree, ImportTable table) {
+        Optional<NodeRef> treeRef = command(FindTreeChild.class).setIndex(true)
+                .setParent(workTree.getTree()).setChildPath(table.path).call();
+        if (treeRef.isPresent()) {
+            return treeRef.get();
+        }
+        return workTree.createTypeTree(table.path, table.featureType);
+    }
+
+    /**
+     * Sets up the feature source to import the table {@code typeName} from, and the path and
+     * feature type to import it as.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private ImportTable prepareTable(String typeName,
+            @Nullable RevFeatureType destPathFeatureType) {
+
+        FeatureSource featureSource = getFeatureSource(typeName);
+        SimpleFeatureType featureType = (SimpleFeatureType) featureSource.getSchema();
+
+        final String fidPrefix = featureType.getTypeName() + ".";
+
+        String path;
+        if (destPath == null) {
+            path = featureType.getTypeName();
+        } else {
+            NodeRef.checkValidPath(destPath);
+            path = destPath;
+            featureType = forceFeatureTypeName(featureType, path);
+        }
+
+        featureType = overrideGeometryName(featureType);
+
+        featureSource = new ForceTypeAndFidFeatureSource<FeatureType, Feature>(featureSource,
+                featureType, fidPrefix);
+        boolean hasPrimaryKey = hasPrimaryKey(typeName);
+        boolean forbidSorting = !usePaging || !hasPrimaryKey;
+        ((ForceTypeAndFidFeatureSource) featureSource).setForbidSorting(forbidSorting);
+
+        if (destPathFeatureType != null && adaptToDefaultFeatureType && !alter) {
+            featureSource = new FeatureTypeAdapterFeatureSource<FeatureType, Feature>(
+                    featureSource, destPathFeatureType.type());
+        }
+        return new ImportTable(path, featureType, featureSource);
+    }
+
+    /**
+     * A table to import, with the path and feature type to import it as
+     */
+    private static class ImportTable {
+
+        private final String path;
+
+        private final SimpleFeatureType featureType;
+
+        @SuppressWarnings("rawtypes")
+        private final FeatureSource featureSource;
+
+        ImportTable(String path, SimpleFeatureType featureType,
+                @SuppressWarnings("rawtypes") FeatureSource featureSource) {
+            this.path = path;
+            this.featureType = featureType;
+            this.featureSource = featureSource;
+        }
+    }
+
+    /**
+     * Reports the progress of one of the tables imported concurrently, as its share of the
+     * overall import progress
+     */
+    private static class TableProgressListener extends DefaultProgressListener {
+
+        private final ProgressListener parent;
+
+        private final String tableName;
+
+        private final float[] tablesProgress;
+
+        private final int index;
+
+        TableProgressListener(ProgressListener parent, String tableName, float[] tablesProgress,
+                int index) {
+            this.parent = parent;
+            this.tableName = tableName;
+            this.tablesProgress = tablesProgress;
+            this.index = index;
+        }
+
+        @Override
+        public void setProgress(float progress) {
+            super.setProgress(progress);
+            synchronized (tablesProgress) {
+                tablesProgress[index] = Math.min(progress, getMaxProgress()) / getMaxProgress();
+                float total = 0;
+                for (float p : tablesProgress) {
+                    total += p;
+                }
+                parent.setProgress(parent.getMaxProgress() * total / tablesProgress.length);
+            }
+        }
+
+        @Override
+        public void setDescription(String description) {
+            super.setDescription(description);
+            parent.setDescription(tableName + ": " + description);
+        }
+
+        @Override
+        public void complete() {
+            setProgress(getMaxProgress());
+            super.complete();
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return parent.isCanceled();
+        }
     }
 
     private boolean hasPrimaryKey(String typeName) {
@@ -456,11 +657,15 @@ public class ImportOp extends AbstractGeoGigOp<RevTree> {
             @SuppressWarnings("rawtypes") final FeatureSource featureSource,
             final ProgressListener taskProgress) {
 
+        workTree.insert(path, featureSource, query(), taskProgress);
+
+    }
+
+    private Query query() {
         final Query query = new Query();
         CoordinateSequenceFactory coordSeq = new PackedCoordinateSequenceFactory();
         query.getHints().add(new Hints(Hints.JTS_COORDINATE_SEQUENCE_FACTORY, coordSeq));
-        workTree.insert(path, featureSource, query, taskProgress);
-
+        return query;
     }
 
     private Iterator<Feature> transformIterator(Iterator<NodeRef> nodeIterator,
@@ -631,6 +836,23 @@ public class ImportOp extends AbstractGeoGigOp<RevTree> {
         return this;
     }
 
+    /**
+     * Sets the number of tables to import concurrently when importing all the tables of the data
+     * store. Each table is read and its type tree built on its own thread, and all the trees are
+     * written to the working tree at once when done. Has no effect when importing a single table,
+     * into a {@link #setDestinationPath(String) destination path}, or when
+     * {@link #setAlter(boolean) altering} the feature type. Defaults to {@code 1}, importing one
+     * table after the other.
+     * 
+     * @param parallelism the maximum number of tables to import at the same time
+     * @return {@code this}
+     */
+    public ImportOp setParallelism(int parallelism) {
+        Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+        this.parallelism = parallelism;
+        return this;
+    }
+
     /**
      * Sets whether features will be added as they are, with their original feature type, or adapted
      * to the preexisting feature type of the destination tree. If true, the import operation will
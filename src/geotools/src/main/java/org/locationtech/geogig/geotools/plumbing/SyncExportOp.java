@@ -0,0 +1,318 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.geotools.plumbing;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.geotools.data.DataUtilities;
+import org.geotools.data.DefaultTransaction;
+import org.geotools.data.Transaction;
+import org.geotools.data.simple.SimpleFeatureStore;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.factory.Hints;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.locationtech.geogig.api.AbstractGeoGigOp;
+import org.locationtech.geogig.api.FeatureBuilder;
+import org.locationtech.geogig.api.NodeRef;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.ProgressListener;
+import org.locationtech.geogig.api.Ref;
+import org.locationtech.geogig.api.RevFeature;
+import org.locationtech.geogig.api.RevObject;
+import org.locationtech.geogig.api.RevTree;
+import org.locationtech.geogig.api.plumbing.DiffTree;
+import org.locationtech.geogig.api.plumbing.RefParse;
+import org.locationtech.geogig.api.plumbing.ResolveTreeish;
+import org.locationtech.geogig.api.plumbing.RevParse;
+import org.locationtech.geogig.api.plumbing.UpdateRef;
+import org.locationtech.geogig.api.plumbing.diff.DiffEntry;
+import org.locationtech.geogig.geotools.plumbing.GeoToolsOpException.StatusCode;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.filter.Filter;
+import org.opengis.filter.FilterFactory2;
+import org.opengis.filter.identity.FeatureId;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Optional;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Keeps a feature store in sync with a tree of the repository, by applying to it the changes made
+ * to the tree since the commit it was last synced to.
+ * <p>
+ * The commit each target was last synced to is kept as a ref under {@link #EXPORTS_PREFIX},
+ * named after the {@link #setTarget(String) target} and the {@link #setPath(String) path} synced
+ * to it, so syncing another tree to the same target starts over from an empty target instead of
+ * applying a diff of the wrong tree to it. The first time a target is synced, its
+ * features are replaced by the ones in the tree. Then, the diff between the last synced commit
+ * and the new one is applied in batches of {@link #setBatchSize(int) batchSize} changes, each in
+ * its own transaction, deleting the removed and modified features and inserting the added and
+ * modified ones. The ref is only updated once all the batches are committed; since applying a
+ * batch twice yields the same result, a failed sync is resumed by running it again.
+ * <p>
+ * The target store must honor the provided feature ids, which are the ids of the features in the
+ * repository.
+ */
+public class SyncExportOp extends AbstractGeoGigOp<ObjectId> {
+
+    /**
+     * Prefix of the refs that record the commit each target was last synced to
+     */
+    public static final String EXPORTS_PREFIX = Ref.REFS_PREFIX + "exports/";
+
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private static final FilterFactory2 FILTER_FACTORY = CommonFactoryFinder.getFilterFactory2();
+
+    private String path;
+
+    private String target;
+
+    private String commit = Ref.HEAD;
+
+    private Supplier<SimpleFeatureStore> targetStoreProvider;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * Applies the changes since the last synced commit to the target store.
+     *
+     * @return the id of the commit the target is now synced to
+     */
+    @Override
+    protected ObjectId _call() {
+        checkArgument(path != null, "path to export not provided");
+        checkArgument(target != null, "target name not provided");
+
+        final Optional<ObjectId> newCommit = command(RevParse.class).setRefSpec(commit).call();
+        checkArgument(newCommit.isPresent(), "Invalid commit: %s", commit);
+
+        final String targetRef = EXPORTS_PREFIX + target + "/" + path;
+        final Optional<Ref> lastExport = command(RefParse.class).setName(targetRef).call();
+        final ObjectId oldCommit = lastExport.isPresent() ? lastExport.get().getObjectId()
+                : ObjectId.NULL;
+        if (oldCommit.equals(newCommit.get())) {
+            return oldCommit;
+        }
+
+        final SimpleFeatureStore targetStore = getTargetStore();
+
+        final ProgressListener progressListener = getProgressListener();
+        progressListener.started();
+        progressListener.setDescription("Syncing " + path + " to " + target + "... ");
+
+        final ObjectId oldTree = oldCommit.isNull() ? RevTree.EMPTY_TREE_ID
+                : resolveTree(oldCommit);
+        final ObjectId newTree = resolveTree(newCommit.get());
+
+        Iterator<DiffEntry> diffs = command(DiffTree.class).setOldTree(oldTree)
+                .setNewTree(newTree).setPathFilter(path).call();
+        Iterator<List<DiffEntry>> batches = Iterators.partition(diffs, batchSize);
+
+        // the first sync starts from an empty target
+        boolean clearTarget = oldCommit.isNull();
+        int changes = 0;
+        while (batches.hasNext() || clearTarget) {
+            List<DiffEntry> batch = batches.hasNext() ? batches.next() : Collections
+                    .<DiffEntry> emptyList();
+            apply(targetStore, batch, clearTarget);
+            clearTarget = false;
+            changes += batch.size();
+            progressListener.setDescription(changes + " changes applied to " + target);
+        }
+
+        command(UpdateRef.class).setName(targetRef).setNewValue(newCommit.get())
+                .setReason("sync export of " + path).call();
+
+        progressListener.complete();
+        return newCommit.get();
+    }
+
+    private ObjectId resolveTree(ObjectId commitId) {
+        Optional<ObjectId> treeId = command(ResolveTreeish.class).setTreeish(commitId).call();
+        checkState(treeId.isPresent(), "Can't resolve tree of commit %s", commitId);
+        return treeId.get();
+    }
+
+    /**
+     * Applies a batch of changes to the target store in a single transaction
+     */
+    private void apply(final SimpleFeatureStore targetStore, final List<DiffEntry> batch,
+            final boolean clearTarget) {
+
+        final SimpleFeatureType targetType = targetStore.getSchema();
+        final ObjectDatabase database = stagingDatabase();
+
+        Set<FeatureId> deletes = Sets.newHashSet();
+        List<NodeRef> inserts = Lists.newArrayList();
+        for (DiffEntry diff : batch) {
+            if (diff.getOldObject() != null) {
+                deletes.add(FILTER_FACTORY.featureId(diff.getOldObject().name()));
+            }
+            if (diff.getNewObject() != null) {
+                NodeRef newObject = diff.getNewObject();
+                // re-inserted features are deleted first so the batch can be applied twice
+                deletes.add(FILTER_FACTORY.featureId(newObject.name()));
+                inserts.add(newObject);
+            }
+        }
+
+        Map<ObjectId, RevFeature> revFeatures = Maps.newHashMap();
+        List<ObjectId> ids = Lists.newArrayListWithCapacity(inserts.size());
+        for (NodeRef ref : inserts) {
+            ids.add(ref.objectId());
+        }
+        Iterator<RevObject> objects = database.getAll(ids);
+        while (objects.hasNext()) {
+            RevObject object = objects.next();
+            revFeatures.put(object.getId(), (RevFeature) object);
+        }
+
+        Map<ObjectId, FeatureBuilder> builders = Maps.newHashMap();
+        List<SimpleFeature> features = Lists.newArrayListWithCapacity(inserts.size());
+        for (NodeRef ref : inserts) {
+            FeatureBuilder builder = builders.get(ref.getMetadataId());
+            if (builder == null) {
+                builder = new FeatureBuilder(database.getFeatureType(ref.getMetadataId()));
+                builders.put(ref.getMetadataId(), builder);
+            }
+            SimpleFeature feature = ExportOp.build(ref, revFeatures.get(ref.objectId()), builder);
+            if (feature != null) {
+                feature = SimpleFeatureBuilder.retype(feature, targetType);
+                feature.getUserData().put(Hints.USE_PROVIDED_FID, true);
+                features.add(feature);
+            }
+        }
+
+        final Transaction transaction = new DefaultTransaction("sync");
+        try {
+            targetStore.setTransaction(transaction);
+            try {
+                if (clearTarget) {
+                    targetStore.removeFeatures(Filter.INCLUDE);
+                } else if (!deletes.isEmpty()) {
+                    targetStore.removeFeatures(FILTER_FACTORY.id(deletes));
+                }
+                if (!features.isEmpty()) {
+                    targetStore.addFeatures(DataUtilities.collection(features));
+                }
+                transaction.commit();
+            } catch (final Exception e) {
+                transaction.rollback();
+                Throwables.propagateIfInstanceOf(e, GeoToolsOpException.class);
+                throw new GeoToolsOpException(e, StatusCode.UNABLE_TO_ADD);
+            } finally {
+                transaction.close();
+                targetStore.setTransaction(Transaction.AUTO_COMMIT);
+            }
+        } catch (IOException e) {
+            throw new GeoToolsOpException(e, StatusCode.UNABLE_TO_ADD);
+        }
+    }
+
+    private SimpleFeatureStore getTargetStore() {
+        SimpleFeatureStore targetStore;
+        try {
+            targetStore = targetStoreProvider.get();
+        } catch (Exception e) {
+            throw new GeoToolsOpException(StatusCode.CANNOT_CREATE_FEATURESTORE);
+        }
+        if (targetStore == null) {
+            throw new GeoToolsOpException(StatusCode.CANNOT_CREATE_FEATURESTORE);
+        }
+        return targetStore;
+    }
+
+    /**
+     * @return whether {@code name} can be used as a ref name: not empty, with no leading, trailing
+     *         or double {@code /}, no {@code ..} and no whitespace or control characters
+     */
+    private static boolean isValidRefName(String name) {
+        return !name.isEmpty() && !name.startsWith("/") && !name.endsWith("/")
+                && !name.contains("//") && !name.contains("..")
+                && CharMatcher.WHITESPACE.or(CharMatcher.JAVA_ISO_CONTROL).matchesNoneOf(name);
+    }
+
+    /**
+     * @param path the path of the tree to export
+     * @return {@code this}
+     */
+    public SyncExportOp setPath(String path) {
+        this.path = path;
+        return this;
+    }
+
+    /**
+     * @param target the name the target store is known by, under which the last synced commit is
+     *        recorded; must be a valid ref name
+     * @return {@code this}
+     * @throws IllegalArgumentException if {@code target} is not a valid ref name
+     */
+    public SyncExportOp setTarget(String target) {
+        checkArgument(target == null || isValidRefName(target), "Invalid target name: '%s'",
+                target);
+        this.target = target;
+        return this;
+    }
+
+    /**
+     * @param commit the commit to sync the target store to, defaults to {@code HEAD}
+     * @return {@code this}
+     */
+    public SyncExportOp setCommit(String commit) {
+        this.commit = commit;
+        return this;
+    }
+
+    /**
+     * @param featureStore a supplier that resolves to the feature store to sync
+     * @return {@code this}
+     */
+    public SyncExportOp setFeatureStore(Supplier<SimpleFeatureStore> featureStore) {
+        this.targetStoreProvider = featureStore;
+        return this;
+    }
+
+    /**
+     * @param featureStore the feature store to sync
+     * @return {@code this}
+     */
+    public SyncExportOp setFeatureStore(SimpleFeatureStore featureStore) {
+        this.targetStoreProvider = Suppliers.ofInstance(featureStore);
+        return this;
+    }
+
+    /**
+     * @param batchSize the number of changes to apply in each transaction, defaults to
+     *        {@code 1000}
+     * @return {@code this}
+     */
+    public SyncExportOp setBatchSize(int batchSize) {
+        checkArgument(batchSize > 0, "batchSize must be positive");
+        this.batchSize = batchSize;
+        return this;
+    }
+}
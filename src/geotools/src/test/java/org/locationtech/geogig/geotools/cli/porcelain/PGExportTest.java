@@ -106,6 +106,26 @@ public class PGExportTest extends RepositoryTestCase {
         exportCommand.run(cli);
     }
 
+    @Test
+    public void testExportWithFetchThreadsAndCommitInterval() throws Exception {
+        PGExport exportCommand = new PGExport();
+        exportCommand.args = Arrays.asList("Points", "Points");
+        exportCommand.dataStoreFactory = TestHelper.createTestFactory();
+        exportCommand.exportArgs.fetchThreads = 2;
+        exportCommand.exportArgs.commitInterval = 1;
+        exportCommand.run(cli);
+    }
+
+    @Test
+    public void testExportWithInvalidFetchThreads() throws Exception {
+        PGExport exportCommand = new PGExport();
+        exportCommand.args = Arrays.asList("Points", "Points");
+        exportCommand.dataStoreFactory = TestHelper.createTestFactory();
+        exportCommand.exportArgs.fetchThreads = 0;
+        exception.expect(InvalidParameterException.class);
+        exportCommand.run(cli);
+    }
+
     @Test
     public void testExportWithNonexistentFeatureTypeTree() throws Exception {
         PGExport exportCommand = new PGExport();
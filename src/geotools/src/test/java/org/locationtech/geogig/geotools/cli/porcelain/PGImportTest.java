@@ -28,6 +28,7 @@ import org.junit.rules.TemporaryFolder;
 import org.locationtech.geogig.api.Platform;
 import org.locationtech.geogig.cli.CommandFailedException;
 import org.locationtech.geogig.cli.GeogigCLI;
+import org.locationtech.geogig.cli.InvalidParameterException;
 import org.mockito.exceptions.base.MockitoException;
 
 /**
@@ -94,6 +95,25 @@ public class PGImportTest extends Assert {
         importCommand.run(cli);
     }
 
+    @Test
+    public void testImportAllInParallel() throws Exception {
+        PGImport importCommand = new PGImport();
+        importCommand.all = true;
+        importCommand.parallelism = 2;
+        importCommand.dataStoreFactory = TestHelper.createTestFactory();
+        importCommand.run(cli);
+    }
+
+    @Test
+    public void testInvalidParallelism() throws Exception {
+        PGImport importCommand = new PGImport();
+        importCommand.all = true;
+        importCommand.parallelism = 0;
+        importCommand.dataStoreFactory = TestHelper.createTestFactory();
+        exception.expect(InvalidParameterException.class);
+        importCommand.run(cli);
+    }
+
     @Test
     public void testImportHelp() throws Exception {
         PGImport importCommand = new PGImport();
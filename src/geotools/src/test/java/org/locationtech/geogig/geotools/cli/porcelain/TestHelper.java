@@ -9,8 +9,11 @@
  */
 package org.locationtech.geogig.geotools.cli.porcelain;
 
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyMapOf;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
@@ -19,7 +22,10 @@ import java.io.IOException;
 import java.io.Serializable;
 
 import org.geotools.data.AbstractDataStoreFactory;
+import org.geotools.data.DataStore;
+import org.geotools.data.Query;
 import org.geotools.data.memory.MemoryDataStore;
+import org.geotools.data.simple.SimpleFeatureSource;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.geotools.referencing.CRS;
@@ -217,4 +223,25 @@ public class TestHelper {
 
         return factory;
     }
+
+    /**
+     * @return a factory for the data store of {@link #createTestFactory()}, whose feature source
+     *         for {@code typeName} fails to read its features
+     */
+    public static AbstractDataStoreFactory createFactoryWithFeatureReaderException(
+            String typeName) throws Exception {
+        DataStore testDataStore = createTestFactory().createDataStore(null);
+        DataStore spyDataStore = spy(testDataStore);
+
+        SimpleFeatureSource failingSource = spy(testDataStore.getFeatureSource(typeName));
+        doThrow(new IOException("read failed")).when(failingSource).getFeatures(any(Query.class));
+        doReturn(failingSource).when(spyDataStore).getFeatureSource(typeName);
+
+        final AbstractDataStoreFactory factory = mock(AbstractDataStoreFactory.class);
+        when(factory.createDataStore(anyMapOf(String.class, Serializable.class))).thenReturn(
+                spyDataStore);
+        when(factory.canProcess(anyMapOf(String.class, Serializable.class))).thenReturn(true);
+
+        return factory;
+    }
 }
@@ -183,6 +183,24 @@ public class GeoGigDataStoreTest extends RepositoryTestCase {
         assertTrue(simpleNames.contains(pointsName));
     }
 
+    @Test
+    public void testFindTypeRefFollowsHead() throws Exception {
+        insertAndAdd(points1);
+        commit();
+
+        final Name name = new NameImpl(pointsName);
+        NodeRef typeRef = dataStore.findTypeRef(name, null);
+        // looked up once per root tree
+        assertSame(typeRef, dataStore.findTypeRef(name, null));
+
+        insertAndAdd(points2);
+        commit();
+
+        NodeRef newTypeRef = dataStore.findTypeRef(name, null);
+        assertFalse(typeRef.objectId().equals(newTypeRef.objectId()));
+        assertEquals(2, dataStore.getFeatureSource(name).getCount(Query.ALL));
+    }
+
     @Test
     public void testGetSchemaName() throws Exception {
         try {
@@ -26,20 +26,31 @@ import org.geotools.geometry.jts.JTS;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.referencing.CRS;
 import org.junit.Test;
+import org.locationtech.geogig.api.DefaultProgressListener;
 import org.locationtech.geogig.api.NodeRef;
+import org.locationtech.geogig.api.ObjectId;
 import org.locationtech.geogig.api.plumbing.LsTreeOp;
 import org.locationtech.geogig.api.plumbing.LsTreeOp.Strategy;
+import org.locationtech.geogig.api.plumbing.RevParse;
+import org.locationtech.geogig.api.plumbing.index.AttributeIndex;
+import org.locationtech.geogig.api.plumbing.index.IndexRegistry;
+import org.locationtech.geogig.api.plumbing.index.SpatialIndex;
+import org.locationtech.geogig.api.porcelain.AddOp;
 import org.locationtech.geogig.api.porcelain.CommitOp;
+import org.locationtech.geogig.geotools.data.GeoGigDataStore.ChangeType;
 import org.locationtech.geogig.test.integration.RepositoryTestCase;
 import org.opengis.feature.Feature;
 import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
 import org.opengis.filter.Filter;
 import org.opengis.filter.FilterFactory2;
 import org.opengis.filter.identity.FeatureId;
 import org.opengis.filter.identity.ResourceId;
 import org.opengis.filter.sort.SortBy;
+import org.opengis.filter.sort.SortOrder;
 import org.opengis.referencing.crs.CoordinateReferenceSystem;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -211,6 +222,231 @@ public class GeoGigFeatureSourceTest extends RepositoryTestCase {
         assertEquals(2, linesSource.getCount(new Query(linesName, filter)));
     }
 
+    @Test
+    public void testGetBoundsAndCountBBOX() throws Exception {
+        final String geomName = linesType.getGeometryDescriptor().getLocalName();
+        ReferencedEnvelope queryBounds = boundsOf(lines1, lines2);
+        Filter filter = ff.bbox(ff.property(geomName), queryBounds);
+
+        Query query = new Query(linesName, filter);
+        assertEquals(boundsOf(lines1, lines2), linesSource.getBounds(query));
+        assertEquals(2, linesSource.getCount(query));
+
+        query.setStartIndex(1);
+        assertEquals(1, linesSource.getCount(query));
+        query.setStartIndex(3);
+        assertEquals(0, linesSource.getCount(query));
+
+        filter = ff.bbox(geomName, 1000, 1000, 1001, 1001, null);
+        query = new Query(linesName, filter);
+        assertEquals(0, linesSource.getCount(query));
+        assertTrue(linesSource.getBounds(query).isEmpty());
+    }
+
+    @Test
+    public void testGetBoundsAndCountBBOXAtFloatPrecisionEdges() throws Exception {
+        final double edge = (float) 0.3;
+        // on the query boundary, but stored as 0.10000000149...
+        Feature onEdge = feature(pointsType, "Points.onEdge", "a", 1, "POINT(0.1 0.1)");
+        // just outside the query boundary, but stored as the boundary itself
+        Feature offEdge = feature(pointsType, "Points.offEdge", "b", 2, "POINT("
+                + (edge + 1E-12) + " 0)");
+        Feature inside = feature(pointsType, "Points.inside", "c", 3, "POINT(0 0)");
+        insertAndAdd(onEdge, offEdge, inside);
+        geogig.command(CommitOp.class).setMessage("float edges").call();
+
+        final String geomName = pointsType.getGeometryDescriptor().getLocalName();
+        Filter filter = ff.bbox(geomName, -1, -1, edge, 0.1, null);
+        Query query = new Query(pointsName, filter);
+
+        assertEquals(2, pointsSource.getCount(query));
+        assertEquals(2, pointsSource.getFeatures(filter).size());
+        ReferencedEnvelope bounds = pointsSource.getBounds(query);
+        assertEquals(0.1, bounds.getMaxX(), 1E-7);
+        assertEquals(0.1, bounds.getMaxY(), 1E-7);
+    }
+
+    @Test
+    public void testParallelFetch() throws Exception {
+        List<Feature> features = Lists.newArrayList();
+        for (int i = 0; i < 2500; i++) {
+            features.add(feature(pointsType, "Points.p" + i, "StringProp1_" + i,
+                    Integer.valueOf(10000 + i), "POINT(" + (i % 50) + " " + (i / 50) + ")"));
+        }
+        geogig.getRepository().workingTree().insert(pointsName, features.iterator(),
+                new DefaultProgressListener(), null, null);
+        geogig.command(AddOp.class).call();
+        geogig.command(CommitOp.class).setMessage("more points").call();
+
+        Filter filter = ECQL.toFilter("ip >= 10500");
+        List<String> sequential = readIds(filter, 1, true);
+        assertEquals(2000, sequential.size());
+        assertEquals(sequential, readIds(filter, 4, true));
+        assertEquals(Sets.newHashSet(sequential), Sets.newHashSet(readIds(filter, 4, false)));
+    }
+
+    @Test
+    public void testSortedPaging() throws Exception {
+        Query query = new Query(pointsName);
+        query.setSortBy(new SortBy[] { ff.sort("ip", SortOrder.DESCENDING) });
+        query.setMaxFeatures(2);
+        assertEquals(ImmutableList.of(idP3, idP2), ids(pointsSource.getFeatures(query)));
+        query.setStartIndex(2);
+        assertEquals(ImmutableList.of(idP1), ids(pointsSource.getFeatures(query)));
+        query.setStartIndex(3);
+        assertTrue(ids(pointsSource.getFeatures(query)).isEmpty());
+        assertEquals(1, dataStore.getSortedFeatureIds().size());
+
+        query = new Query(pointsName, ECQL.toFilter("ip < 3000"));
+        query.setSortBy(new SortBy[] { ff.sort("ip", SortOrder.DESCENDING) });
+        query.setMaxFeatures(1);
+        query.setStartIndex(1);
+        assertEquals(ImmutableList.of(idP1), ids(pointsSource.getFeatures(query)));
+    }
+
+    @Test
+    public void testSortedPagingAttributeIndex() throws Exception {
+        repo.configDatabase().put(AttributeIndex.CONFIG_SECTION + "." + pointsName, "sp");
+        insertAndAdd(points1_modified);
+        geogig.command(CommitOp.class).setMessage("index").call();
+
+        Query query = new Query(pointsName);
+        query.setSortBy(new SortBy[] { ff.sort("sp", SortOrder.ASCENDING) });
+        query.setMaxFeatures(3);
+        assertEquals(ImmutableList.of(idP1, idP2, idP3), ids(pointsSource.getFeatures(query)));
+        query.setSortBy(new SortBy[] { ff.sort("sp", SortOrder.DESCENDING) });
+        query.setStartIndex(1);
+        assertEquals(ImmutableList.of(idP2, idP1), ids(pointsSource.getFeatures(query)));
+    }
+
+    @Test
+    public void testAttributeIndexMatchesFullScan() throws Exception {
+        repo.configDatabase().put(AttributeIndex.CONFIG_SECTION + "." + pointsName, "sp,ip");
+        insertIndexablePoints();
+        final ObjectId treeId = geogig.command(RevParse.class).setRefSpec("HEAD:" + pointsName)
+                .call().get();
+        final IndexRegistry registry = IndexRegistry.of(geogig.getContext()).get();
+        assertTrue(registry.get(AttributeIndex.indexName("sp"), treeId).isPresent());
+        assertTrue(registry.get(AttributeIndex.indexName("ip"), treeId).isPresent());
+
+        final List<Filter> filters = ImmutableList.of(ECQL.toFilter("ip = 1005"),
+                ECQL.toFilter("sp = 'StringProp1_3'"), ECQL.toFilter("sp = 'missing'"),
+                ECQL.toFilter("ip > 1020"), ECQL.toFilter("ip <= 1002"),
+                ECQL.toFilter("ip BETWEEN 1003 AND 1010"),
+                ECQL.toFilter("ip < 1010 AND sp = 'StringProp1_2'"),
+                ECQL.toFilter("sp LIKE 'StringProp1_1%'"));
+
+        List<Set<String>> indexed = Lists.newArrayList();
+        for (Filter filter : filters) {
+            indexed.add(assertConsistentPaging(filter));
+        }
+        repo.configDatabase().remove(AttributeIndex.CONFIG_SECTION + "." + pointsName);
+        for (int i = 0; i < filters.size(); i++) {
+            Set<String> unindexed = assertConsistentPaging(filters.get(i));
+            assertEquals(filters.get(i).toString(), unindexed, indexed.get(i));
+        }
+        assertEquals(10, indexed.get(0).size());
+        assertTrue(indexed.get(2).isEmpty());
+    }
+
+    @Test
+    public void testSpatialIndexMatchesFullScan() throws Exception {
+        repo.configDatabase().put(AttributeIndex.CONFIG_SECTION + "." + pointsName, "pp");
+        insertIndexablePoints();
+        final ObjectId treeId = geogig.command(RevParse.class).setRefSpec("HEAD:" + pointsName)
+                .call().get();
+        final IndexRegistry registry = IndexRegistry.of(geogig.getContext()).get();
+        assertTrue(registry.get(SpatialIndex.INDEX_NAME, treeId).isPresent());
+
+        final List<SimpleFeature> all = toList(pointsSource.getFeatures(Query.ALL));
+        final String geomName = pointsType.getGeometryDescriptor().getLocalName();
+        final List<Filter> filters = ImmutableList.<Filter> of(
+                ff.bbox(geomName, 0.5, 0.5, 4.5, 2.5, null),
+                ff.bbox(geomName, 10, 3, 10, 3, null),
+                ff.bbox(geomName, 25.5, -1, 40, 20, null),
+                ff.bbox(geomName, -180, -90, 180, 90, null),
+                ff.bbox(geomName, 100, 50, 101, 51, null));
+        for (Filter filter : filters) {
+            Set<String> scanned = Sets.newHashSet();
+            for (SimpleFeature feature : all) {
+                if (filter.evaluate(feature)) {
+                    scanned.add(feature.getID());
+                }
+            }
+            assertEquals(filter.toString(), scanned, assertConsistentPaging(filter));
+        }
+    }
+
+    /**
+     * Adds 300 points with repeated attribute values, in a grid from (0, 0) to (29, 9), and
+     * commits them
+     */
+    private void insertIndexablePoints() throws Exception {
+        List<Feature> features = Lists.newArrayList();
+        for (int i = 0; i < 300; i++) {
+            features.add(feature(pointsType, "Points.p" + i, "StringProp1_" + (i % 7),
+                    Integer.valueOf(1000 + i % 30), "POINT(" + (i % 30) + " " + (i / 30) + ")"));
+        }
+        geogig.getRepository().workingTree().insert(pointsName, features.iterator(),
+                new DefaultProgressListener(), null, null);
+        geogig.command(AddOp.class).call();
+        geogig.command(CommitOp.class).setMessage("indexable points").call();
+    }
+
+    /**
+     * Checks the count of the features matching {@code filter} agrees with the features read, and
+     * that reading them in pages returns each of them exactly once
+     * 
+     * @return the ids of the features matching {@code filter}
+     */
+    private Set<String> assertConsistentPaging(Filter filter) throws IOException {
+        Query query = new Query(pointsName, filter);
+        List<String> all = ids(pointsSource.getFeatures(query));
+        Set<String> expected = ImmutableSet.copyOf(all);
+        assertEquals(filter.toString(), expected.size(), all.size());
+        assertEquals(filter.toString(), all.size(), pointsSource.getCount(query));
+
+        final int pageSize = 7;
+        List<String> paged = Lists.newArrayList();
+        for (int start = 0; start <= all.size(); start += pageSize) {
+            query = new Query(pointsName, filter);
+            query.setStartIndex(start);
+            query.setMaxFeatures(pageSize);
+            List<String> page = ids(pointsSource.getFeatures(query));
+            assertEquals(filter.toString(), Math.min(pageSize, all.size() - start), page.size());
+            assertEquals(filter.toString(), page.size(), pointsSource.getCount(query));
+            paged.addAll(page);
+        }
+        assertEquals(filter.toString(), all.size(), paged.size());
+        assertEquals(filter.toString(), expected, ImmutableSet.copyOf(paged));
+        return expected;
+    }
+
+    private List<String> ids(SimpleFeatureCollection collection) {
+        List<String> ids = Lists.newArrayList();
+        for (SimpleFeature f : toList(collection)) {
+            ids.add(f.getID());
+        }
+        return ids;
+    }
+
+    private List<String> readIds(Filter filter, int fetchThreads, boolean naturalOrder)
+            throws IOException {
+        GeogigFeatureReader<SimpleFeatureType, SimpleFeature> reader;
+        reader = new GeogigFeatureReader<SimpleFeatureType, SimpleFeature>(geogig.getContext(),
+                pointsType, filter, pointsName, "HEAD", ObjectId.NULL.toString(),
+                ChangeType.ADDED, null, null, null, false, fetchThreads, naturalOrder);
+        List<String> ids = Lists.newArrayList();
+        try {
+            while (reader.hasNext()) {
+                ids.add(reader.next().getID());
+            }
+        } finally {
+            reader.close();
+        }
+        return ids;
+    }
+
     @Test
     public void testGetFeatures() throws Exception {
         SimpleFeatureCollection collection;
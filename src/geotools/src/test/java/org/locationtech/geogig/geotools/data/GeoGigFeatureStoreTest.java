@@ -316,6 +316,36 @@ public class GeoGigFeatureStoreTest extends RepositoryTestCase {
         assertEquals(0, points.getFeatures(filter).size());
     }
 
+    @Test
+    public void testBufferedChanges() throws Exception {
+        Transaction tx = new DefaultTransaction();
+        points.setTransaction(tx);
+        try {
+            List<FeatureId> fids = points.addFeatures(DataUtilities.collection(Arrays.asList(
+                    (SimpleFeature) points1, (SimpleFeature) points2)));
+            points.addFeatures(DataUtilities.collection(Arrays
+                    .asList((SimpleFeature) points3)));
+
+            WriteBuffer buffer = dataStore.getWriteBuffer(tx).get();
+            assertEquals(3, buffer.size());
+
+            // reads on the transaction see the buffered changes
+            assertEquals(3, points.getFeatures().size());
+            assertEquals(0, buffer.size());
+
+            points.removeFeatures(ff.id(Collections.singleton(ff.featureId(fids.get(0).getID()))));
+            assertEquals(1, buffer.size());
+
+            tx.commit();
+        } catch (Exception e) {
+            tx.rollback();
+            throw e;
+        } finally {
+            tx.close();
+        }
+        assertEquals(2, dataStore.getFeatureSource(pointsTypeName).getFeatures().size());
+    }
+
     @Test
     public void testTransactionCommitMessage() throws Exception {
 
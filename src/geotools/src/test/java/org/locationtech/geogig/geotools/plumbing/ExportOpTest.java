@@ -9,11 +9,17 @@
  */
 package org.locationtech.geogig.geotools.plumbing;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
 import java.util.List;
+import java.util.Set;
 
 import javax.annotation.Nullable;
 
 import org.geotools.data.DataUtilities;
+import org.geotools.data.Transaction;
 import org.geotools.data.memory.MemoryDataStore;
 import org.geotools.data.simple.SimpleFeatureCollection;
 import org.geotools.data.simple.SimpleFeatureIterator;
@@ -21,18 +27,23 @@ import org.geotools.data.simple.SimpleFeatureSource;
 import org.geotools.data.simple.SimpleFeatureStore;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.junit.Test;
+import org.locationtech.geogig.api.DefaultProgressListener;
 import org.locationtech.geogig.api.ObjectId;
 import org.locationtech.geogig.api.RevFeatureTypeImpl;
 import org.locationtech.geogig.api.porcelain.AddOp;
 import org.locationtech.geogig.api.porcelain.CommitOp;
 import org.locationtech.geogig.geotools.plumbing.GeoToolsOpException.StatusCode;
 import org.locationtech.geogig.test.integration.RepositoryTestCase;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.opengis.feature.Feature;
 import org.opengis.feature.simple.SimpleFeature;
 import org.opengis.feature.simple.SimpleFeatureType;
 
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 public class ExportOpTest extends RepositoryTestCase {
 
@@ -59,6 +70,84 @@ public class ExportOpTest extends RepositoryTestCase {
         assertTrue(collectionsAreEqual(features, points));
     }
 
+    @Test
+    public void testExportInBatches() throws Exception {
+        // enough features for the type tree to be split in buckets
+        List<Feature> points = Lists.newArrayList();
+        Set<String> expectedIds = Sets.newHashSet();
+        for (int i = 0; i < 1500; i++) {
+            String id = "Points." + i;
+            points.add(feature(pointsType, id, "StringProp1_" + i, Integer.valueOf(i), "POINT("
+                    + (i % 180) + " " + (i % 90) + ")"));
+            expectedIds.add(id);
+        }
+        geogig.getRepository().workingTree()
+                .insert(pointsName, points.iterator(), new DefaultProgressListener(), null,
+                        points.size());
+
+        for (int commitInterval : new int[] { 100, 400 }) {
+            MemoryDataStore dataStore = new MemoryDataStore(pointsType);
+            final String typeName = dataStore.getTypeNames()[0];
+            SimpleFeatureStore featureStore = spy((SimpleFeatureStore) dataStore
+                    .getFeatureSource(typeName));
+            final CommitCounter commits = new CommitCounter();
+            doAnswer(new Answer<Void>() {
+                @Override
+                public Void answer(InvocationOnMock invocation) throws Throwable {
+                    Transaction transaction = (Transaction) invocation.getArguments()[0];
+                    transaction.putState(CommitCounter.class, commits);
+                    invocation.callRealMethod();
+                    return null;
+                }
+            }).when(featureStore).setTransaction(any(Transaction.class));
+
+            geogig.command(ExportOp.class).setFeatureStore(featureStore).setPath(pointsName)
+                    .setFetchThreads(4).setCommitInterval(commitInterval).call();
+
+            int expectedCommits = (points.size() + commitInterval - 1) / commitInterval;
+            assertEquals(expectedCommits, commits.count);
+
+            SimpleFeatureCollection featureCollection = dataStore.getFeatureSource(typeName)
+                    .getFeatures();
+            assertEquals(points.size(), featureCollection.size());
+            Set<String> ids = Sets.newHashSet();
+            SimpleFeatureIterator features = featureCollection.features();
+            try {
+                while (features.hasNext()) {
+                    ids.add(features.next().getID());
+                }
+            } finally {
+                features.close();
+            }
+            assertEquals(expectedIds, ids);
+        }
+    }
+
+    /**
+     * Counts the commits of the transaction it's put in
+     */
+    private static class CommitCounter implements Transaction.State {
+
+        private int count;
+
+        @Override
+        public void setTransaction(Transaction transaction) {
+        }
+
+        @Override
+        public void addAuthorization(String authID) {
+        }
+
+        @Override
+        public void commit() {
+            count++;
+        }
+
+        @Override
+        public void rollback() {
+        }
+    }
+
     @Test
     public void testExportFromHEAD() throws Exception {
         Feature[] points = new Feature[] { points1, points2, points3 };
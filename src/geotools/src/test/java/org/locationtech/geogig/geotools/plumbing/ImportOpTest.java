@@ -14,6 +14,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.TreeSet;
@@ -44,6 +45,7 @@ import org.opengis.feature.simple.SimpleFeature;
 import org.opengis.feature.simple.SimpleFeatureType;
 
 import com.google.common.base.Optional;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -194,6 +196,64 @@ public class ImportOpTest extends RepositoryTestCase {
         assertTrue(ref.isPresent());
     }
 
+    @Test
+    public void testImportAllConcurrently() throws Exception {
+        ImportOp importOp = geogig.command(ImportOp.class);
+        importOp.setDataStore(TestHelper.createTestFactory().createDataStore(null));
+        importOp.setAll(true);
+        importOp.setParallelism(4);
+
+        RevTree newWorkingTree = importOp.call();
+        Optional<NodeRef> ref = geogig.command(FindTreeChild.class).setParent(newWorkingTree)
+                .setChildPath("table1/feature1").setIndex(true).call();
+        assertTrue(ref.isPresent());
+
+        ref = geogig.command(FindTreeChild.class).setParent(newWorkingTree)
+                .setChildPath("table1/feature2").setIndex(true).call();
+        assertTrue(ref.isPresent());
+
+        ref = geogig.command(FindTreeChild.class).setParent(newWorkingTree)
+                .setChildPath("table2/feature3").setIndex(true).call();
+        assertTrue(ref.isPresent());
+
+        ref = geogig.command(FindTreeChild.class).setParent(newWorkingTree)
+                .setChildPath("table4").setIndex(true).call();
+        assertTrue(ref.isPresent());
+        assertEquals(newWorkingTree, geogig.getRepository().workingTree().getTree());
+    }
+
+    @Test
+    public void testImportAllConcurrentlyWithFailingTable() throws Exception {
+        ImportOp importOp = geogig.command(ImportOp.class);
+        importOp.setDataStore(TestHelper.createFactoryWithFeatureReaderException("table2")
+                .createDataStore(null));
+        importOp.setAll(true);
+        importOp.setParallelism(4);
+
+        try {
+            importOp.call();
+            fail("expected GeoToolsOpException");
+        } catch (GeoToolsOpException e) {
+            assertEquals(GeoToolsOpException.StatusCode.UNABLE_TO_INSERT, e.statusCode);
+            Throwable cause = Throwables.getRootCause(e);
+            assertTrue(cause instanceof IOException);
+            assertEquals("read failed", cause.getMessage());
+        }
+
+        RevTree workTree = geogig.getRepository().workingTree().getTree();
+        Optional<NodeRef> ref = geogig.command(FindTreeChild.class).setParent(workTree)
+                .setChildPath("table1/feature1").setIndex(true).call();
+        assertTrue(ref.isPresent());
+
+        ref = geogig.command(FindTreeChild.class).setParent(workTree)
+                .setChildPath("table1/feature2").setIndex(true).call();
+        assertTrue(ref.isPresent());
+
+        ref = geogig.command(FindTreeChild.class).setParent(workTree)
+                .setChildPath("table2/feature3").setIndex(true).call();
+        assertFalse(ref.isPresent());
+    }
+
     @Test
     public void testImportAllWithDifferentFeatureTypesAndDestPath() throws Exception {
         ImportOp importOp = geogig.command(ImportOp.class);
@@ -0,0 +1,193 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.geotools.plumbing;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.geotools.data.Query;
+import org.geotools.data.memory.MemoryDataStore;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.data.simple.SimpleFeatureStore;
+import org.geotools.feature.FeatureCollection;
+import org.junit.Test;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.Ref;
+import org.locationtech.geogig.api.RevCommit;
+import org.locationtech.geogig.api.plumbing.RefParse;
+import org.locationtech.geogig.api.porcelain.CommitOp;
+import org.locationtech.geogig.test.integration.RepositoryTestCase;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.filter.identity.FeatureId;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+
+public class SyncExportOpTest extends RepositoryTestCase {
+
+    private MemoryDataStore dataStore;
+
+    private SimpleFeatureStore featureStore;
+
+    @Override
+    protected void setUpInternal() throws Exception {
+        dataStore = new MemoryDataStore(pointsType);
+        featureStore = (SimpleFeatureStore) dataStore.getFeatureSource(pointsName);
+    }
+
+    @Test
+    public void testSync() throws Exception {
+        insertAndAdd(points1, points2);
+        RevCommit first = geogig.command(CommitOp.class).setMessage("first").call();
+
+        ObjectId synced = sync(1000);
+        assertEquals(first.getId(), synced);
+        assertEquals(ImmutableSet.of(idP1, idP2), targetFeatures().keySet());
+        Optional<Ref> ref = geogig.command(RefParse.class)
+                .setName(SyncExportOp.EXPORTS_PREFIX + "target/" + pointsName).call();
+        assertTrue(ref.isPresent());
+        assertEquals(first.getId(), ref.get().getObjectId());
+
+        insertAndAdd(points1_modified, points3);
+        deleteAndAdd(points2);
+        RevCommit second = geogig.command(CommitOp.class).setMessage("second").call();
+
+        synced = sync(1);
+        assertEquals(second.getId(), synced);
+        Map<String, SimpleFeature> features = targetFeatures();
+        assertEquals(ImmutableSet.of(idP1, idP3), features.keySet());
+        assertEquals(Integer.valueOf(1001), features.get(idP1).getAttribute("ip"));
+
+        // nothing changed since the last sync
+        assertEquals(second.getId(), sync(1));
+        assertEquals(ImmutableSet.of(idP1, idP3), targetFeatures().keySet());
+    }
+
+    @Test
+    public void testFirstSyncReplacesTargetFeatures() throws Exception {
+        insertAndAdd(points1);
+        geogig.command(CommitOp.class).setMessage("first").call();
+        geogig.command(ExportOp.class).setFeatureStore(featureStore).setPath(pointsName).call();
+
+        insertAndAdd(points2);
+        geogig.command(CommitOp.class).setMessage("second").call();
+
+        sync(1000);
+        assertEquals(ImmutableSet.of(idP1, idP2), targetFeatures().keySet());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testFailedSyncIsResumed() throws Exception {
+        insertAndAdd(points1, points2);
+        RevCommit first = geogig.command(CommitOp.class).setMessage("first").call();
+        sync(1000);
+
+        insertAndAdd(points1_modified, points3);
+        deleteAndAdd(points2);
+        RevCommit second = geogig.command(CommitOp.class).setMessage("second").call();
+
+        // with a batch per change, the second batch that inserts features fails
+        SimpleFeatureStore failingStore = spy(featureStore);
+        doAnswer(new Answer<List<FeatureId>>() {
+            private int calls;
+
+            @Override
+            public List<FeatureId> answer(InvocationOnMock invocation) throws Throwable {
+                if (++calls == 2) {
+                    throw new IOException("connection lost");
+                }
+                return (List<FeatureId>) invocation.callRealMethod();
+            }
+        }).when(failingStore).addFeatures(any(FeatureCollection.class));
+
+        try {
+            sync(failingStore, 1);
+            fail("expected GeoToolsOpException");
+        } catch (GeoToolsOpException e) {
+            assertEquals(GeoToolsOpException.StatusCode.UNABLE_TO_ADD, e.statusCode);
+        }
+        Optional<Ref> ref = geogig.command(RefParse.class)
+                .setName(SyncExportOp.EXPORTS_PREFIX + "target/" + pointsName).call();
+        assertEquals(first.getId(), ref.get().getObjectId());
+        assertFalse(targetFeatures().containsKey(idP3));
+
+        assertEquals(second.getId(), sync(1));
+        Map<String, SimpleFeature> features = targetFeatures();
+        assertEquals(ImmutableSet.of(idP1, idP3), features.keySet());
+        assertEquals(Integer.valueOf(1001), features.get(idP1).getAttribute("ip"));
+    }
+
+    @Test
+    public void testSyncIsKeyedByPath() throws Exception {
+        insertAndAdd(points1, lines1);
+        RevCommit first = geogig.command(CommitOp.class).setMessage("first").call();
+        sync(1000);
+
+        insertAndAdd(points2);
+        geogig.command(CommitOp.class).setMessage("second").call();
+
+        MemoryDataStore linesStore = new MemoryDataStore(linesType);
+        geogig.command(SyncExportOp.class).setPath(linesName).setTarget("target")
+                .setFeatureStore((SimpleFeatureStore) linesStore.getFeatureSource(linesName))
+                .call();
+
+        // the sync of the lines didn't move the ref of the points
+        Optional<Ref> ref = geogig.command(RefParse.class)
+                .setName(SyncExportOp.EXPORTS_PREFIX + "target/" + pointsName).call();
+        assertEquals(first.getId(), ref.get().getObjectId());
+        assertEquals(1, linesStore.getFeatureSource(linesName).getCount(Query.ALL));
+    }
+
+    @Test
+    public void testInvalidTarget() {
+        for (String target : new String[] { "", "/target", "target/", "a//b", "a/../b", "a b" }) {
+            try {
+                geogig.command(SyncExportOp.class).setTarget(target);
+                fail("expected IllegalArgumentException for target '" + target + "'");
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().contains("Invalid target name"));
+            }
+        }
+        geogig.command(SyncExportOp.class).setTarget("postgis/db1");
+    }
+
+    private ObjectId sync(int batchSize) {
+        return sync(featureStore, batchSize);
+    }
+
+    private ObjectId sync(SimpleFeatureStore store, int batchSize) {
+        return geogig.command(SyncExportOp.class).setPath(pointsName).setTarget("target")
+                .setFeatureStore(store).setBatchSize(batchSize).call();
+    }
+
+    private Map<String, SimpleFeature> targetFeatures() throws Exception {
+        Map<String, SimpleFeature> features = Maps.newHashMap();
+        SimpleFeatureIterator it = dataStore.getFeatureSource(pointsName).getFeatures()
+                .features();
+        try {
+            while (it.hasNext()) {
+                SimpleFeature feature = it.next();
+                features.put(feature.getID(), feature);
+            }
+        } finally {
+            it.close();
+        }
+        return features;
+    }
+}
@@ -89,6 +89,8 @@ abstract class JEObjectDatabase extends AbstractObjectDatabase implements Object
 
     private ExecutorService writerService;
 
+    private int nWriterThreads = 1;
+
     /**
      * The default number of objects bulk operations are partitioned into
      * 
@@ -102,6 +104,29 @@ abstract class JEObjectDatabase extends AbstractObjectDatabase implements Object
 
     private static final String OBJECT_DURABILITY_CONFIG_KEY = "bdbje.object_durability";
 
+    /**
+     * Number of concurrent writer threads used by {@link #putAll(Iterator, BulkOpListener)}. Each
+     * writer owns a disjoint range of the key space.
+     */
+    private static final String WRITER_THREADS_CONFIG_KEY = "bdbje.writer_threads";
+
+    private static final int DEFAULT_WRITER_THREADS = Math.max(1,
+            Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Size in KB of each writer's serialized objects buffer before it's handed over to the writer
+     * thread
+     */
+    private static final String BULK_BUFFER_SIZE_CONFIG_KEY = "bdbje.bulk_buffer_kb";
+
+    private static final int DEFAULT_BULK_BUFFER_SIZE_KB = 256;
+
+    /**
+     * Whether bulk inserts shall trade per transaction durability for speed (e.g. for initial
+     * imports), syncing the environment only once the whole bulk insert finished
+     */
+    private static final String BULK_LOAD_CONFIG_KEY = "bdbje.bulk_load";
+
     private EnvironmentBuilder envProvider;
 
     /**
@@ -195,16 +220,17 @@ abstract class JEObjectDatabase extends AbstractObjectDatabase implements Object
         }
         this.objectDb = createDatabase();
 
-        int nWriterThreads = 1;
+        this.nWriterThreads = readOnly ? 1 : getWriterThreads();
         writerService = Executors.newFixedThreadPool(nWriterThreads, new ThreadFactoryBuilder()
                 .setNameFormat("BDBJE-" + env.getHome().getName() + "-WRITE-THREAD-%d").build());
         if (!objectDb.getConfig().getTransactional()) {
-            dbSyncService = Executors.newFixedThreadPool(nWriterThreads, new ThreadFactoryBuilder()
+            // syncing is environment wide, there's no point in running more than one at a time
+            dbSyncService = Executors.newFixedThreadPool(1, new ThreadFactoryBuilder()
                     .setNameFormat("BDBJE-" + env.getHome().getName() + "-SYNC-THREAD-%d").build());
         }
 
-        LOGGER.debug("Object database opened at {}. Transactional: {}", env.getHome(), objectDb
-                .getConfig().getTransactional());
+        LOGGER.debug("Object database opened at {}. Transactional: {}, writer threads: {}",
+                env.getHome(), objectDb.getConfig().getTransactional(), nWriterThreads);
 
     }
 
@@ -365,16 +391,29 @@ abstract class JEObjectDatabase extends AbstractObjectDatabase implements Object
             return;
         }
 
-        final int buffSize = 256 * 1024;
-        BulkInsert task = new BulkInsert(objects, listener, buffSize);
+        final int buffSize = getBulkBufferSizeKB() * 1024;
+        final boolean bulkLoad = isBulkLoad();
+        BulkInsert task = new BulkInsert(objects, listener, buffSize, nWriterThreads, bulkLoad);
 
         try {
             task.run();
         } catch (Exception e) {
             throw Throwables.propagate(e);
         }
+        if (bulkLoad && objectDb.getConfig().getTransactional()) {
+            // bulk load transactions were committed without syncing
+            env.flushLog(true);
+        }
     }
 
+    /**
+     * Serializes objects into one sorted buffer per shard, where each shard covers a disjoint,
+     * contiguous range of the key space, and hands full buffers over to the writer threads.
+     * <p>
+     * At most one insert task per shard is in flight at any time, so each key range is owned by a
+     * single writer and the concurrent transactions never compete for the same BTree nodes, while
+     * up to {@code nShards} writers run in parallel.
+     */
     private class BulkInsert {
 
         private BulkOpListener listener;
@@ -383,95 +422,111 @@ abstract class JEObjectDatabase extends AbstractObjectDatabase implements Object
 
         private Iterator<? extends RevObject> objects;
 
+        private final int nShards;
+
+        private final boolean bulkLoad;
+
+        private final InternalByteArrayOutputStream[] buffers;
+
+        private final TreeMap<ObjectId, int[]>[] offsets;
+
+        private final Future<Void>[] pendingWrites;
+
+        @SuppressWarnings("unchecked")
         public BulkInsert(final Iterator<? extends RevObject> objects,
-                final BulkOpListener listener, final int buffSize) {
+                final BulkOpListener listener, final int buffSize, final int nShards,
+                final boolean bulkLoad) {
+            Preconditions.checkArgument(nShards > 0 && nShards <= 256);
             this.objects = objects;
             this.listener = listener;
             this.buffSize = buffSize;
+            this.nShards = nShards;
+            this.bulkLoad = bulkLoad;
+            this.buffers = new InternalByteArrayOutputStream[nShards];
+            this.offsets = new TreeMap[nShards];
+            this.pendingWrites = new Future[nShards];
         }
 
         public Integer run() throws Exception {
             int count = 0;
-            List<Future<Void>> pendingWrites = new ArrayList<Future<Void>>();
             try {
-                InternalByteArrayOutputStream out = new InternalByteArrayOutputStream(this.buffSize);
-                TreeMap<ObjectId, int[]> offsets = Maps.newTreeMap(ObjectId.NATURAL_ORDER);
-
-                int objectsInBuffer = 0;
-                while (true) {
-                    if (!serializeNextObject(offsets, out)) {
-                        break;
+                while (objects.hasNext()) {
+                    RevObject o = objects.next();
+                    final int shard = shardOf(o.getId());
+                    InternalByteArrayOutputStream out = buffers[shard];
+                    if (out == null) {
+                        out = new InternalByteArrayOutputStream(this.buffSize);
+                        buffers[shard] = out;
+                        offsets[shard] = Maps.newTreeMap(ObjectId.NATURAL_ORDER);
                     }
+                    serialize(o, offsets[shard], out);
                     count++;
-                    objectsInBuffer++;
                     if (out.size() >= buffSize) {
-                        Future<Void> future = insertSortedObjects(offsets, out);
-                        // future.get();
-                        // out.reset();
-                        // offsets.clear();
-                        out = new InternalByteArrayOutputStream(this.buffSize);
-                        offsets = Maps.newTreeMap(ObjectId.NATURAL_ORDER);
-                        pendingWrites.add(future);
-                        if (pendingWrites.size() == 10) {
-                            waitForWrites(pendingWrites);
-                        }
-
-                        LOGGER.debug("Inserted {} objects with a byte buffer of {} KB",
-                                objectsInBuffer, (out.size() / 1024));
-                        objectsInBuffer = 0;
-                        out.reset();
+                        flush(shard);
+                    }
+                }
+                for (int shard = 0; shard < nShards; shard++) {
+                    if (buffers[shard] != null && !offsets[shard].isEmpty()) {
+                        flush(shard);
                     }
                 }
-                if (!offsets.isEmpty()) {
-                    Future<Void> future = insertSortedObjects(offsets, out);
-                    pendingWrites.add(future);
-                    LOGGER.debug("Inserted {} objects with a byte buffer of {} KB",
-                            objectsInBuffer, (out.size() / 1024));
+                for (int shard = 0; shard < nShards; shard++) {
+                    waitForWrite(shard);
                 }
-                waitForWrites(pendingWrites);
             } catch (Exception e) {
                 LOGGER.error("Error inserting objects: " + e.getMessage(), e);
+                cancelWrites();
                 throw e;
-            } finally {
-                pendingWrites.clear();
-                pendingWrites = null;
             }
             return count;
         }
 
-        private void waitForWrites(List<Future<Void>> pendingWrites) throws InterruptedException,
-                ExecutionException {
-            if (pendingWrites.isEmpty()) {
-                return;
-            }
+        /**
+         * Maps an id to a shard by its first byte, so that each shard is a contiguous key range
+         */
+        private int shardOf(ObjectId id) {
+            return (id.byteN(0) * nShards) >>> 8;
+        }
 
-            for (Future<Void> pendingWrite : pendingWrites) {
-                if (!pendingWrite.isDone()) {
-                    pendingWrite.get();
-                }
-            }
+        private void flush(final int shard) throws Exception {
+            // make sure the shard's previous buffer is written before handing over the next one
+            waitForWrite(shard);
+            InternalByteArrayOutputStream out = buffers[shard];
+            TreeMap<ObjectId, int[]> shardOffsets = offsets[shard];
+            buffers[shard] = null;
+            offsets[shard] = null;
 
-            pendingWrites.clear();
+            LOGGER.debug("Inserting {} objects with a byte buffer of {} KB on shard {}",
+                    shardOffsets.size(), (out.size() / 1024), shard);
+            pendingWrites[shard] = writerService.submit(new InsertTask(shardOffsets, out,
+                    listener, bulkLoad));
         }
 
-        private Future<Void> insertSortedObjects(TreeMap<ObjectId, int[]> offsets,
-                InternalByteArrayOutputStream buffer) throws Exception {
+        private void waitForWrite(final int shard) throws InterruptedException,
+                ExecutionException {
+            Future<Void> pendingWrite = pendingWrites[shard];
+            if (pendingWrite != null) {
+                pendingWrites[shard] = null;
+                pendingWrite.get();
+            }
+        }
 
-            return writerService.submit(new InsertTask(offsets, buffer, listener));
+        private void cancelWrites() {
+            for (int shard = 0; shard < nShards; shard++) {
+                Future<Void> pendingWrite = pendingWrites[shard];
+                if (pendingWrite != null) {
+                    pendingWrite.cancel(false);
+                    pendingWrites[shard] = null;
+                }
+            }
         }
 
-        private boolean serializeNextObject(TreeMap<ObjectId, int[]> offsets,
+        private void serialize(RevObject o, TreeMap<ObjectId, int[]> offsets,
                 InternalByteArrayOutputStream out) {
-            if (!objects.hasNext()) {
-                return false;
-            }
-            RevObject o = objects.next();
             int offset = out.size();
             writeObject(o, out);
             int size = out.size() - offset;
             offsets.put(o.getId(), new int[] { offset, size });
-
-            return true;
         }
 
     }
@@ -486,17 +541,20 @@ abstract class JEObjectDatabase extends AbstractObjectDatabase implements Object
 
         private BulkOpListener listener;
 
+        private final boolean bulkLoad;
+
         public InsertTask(TreeMap<ObjectId, int[]> offsets, InternalByteArrayOutputStream buffer,
-                BulkOpListener listener) {
+                BulkOpListener listener, boolean bulkLoad) {
             this.offsets = offsets;
             this.buffer = buffer;
             this.listener = listener;
+            this.bulkLoad = bulkLoad;
         }
 
         @Override
         public Void call() throws Exception {
 
-            Transaction transaction = newTransaction();
+            Transaction transaction = bulkLoad ? newBulkLoadTransaction() : newTransaction();
 
             final int numObjects = offsets.size();
             try {
@@ -838,6 +896,54 @@ abstract class JEObjectDatabase extends AbstractObjectDatabase implements Object
         return configuredSize.or(DEFAULT_BULK_PARTITIONING).intValue();
     }
 
+    private int getWriterThreads() {
+        int threads = getConfigValue(WRITER_THREADS_CONFIG_KEY, Integer.class).or(
+                DEFAULT_WRITER_THREADS);
+        Preconditions.checkArgument(threads > 0 && threads <= 256,
+                "%s must be between 1 and 256: %s", WRITER_THREADS_CONFIG_KEY, threads);
+        return threads;
+    }
+
+    private int getBulkBufferSizeKB() {
+        int sizeKB = getConfigValue(BULK_BUFFER_SIZE_CONFIG_KEY, Integer.class).or(
+                DEFAULT_BULK_BUFFER_SIZE_KB);
+        Preconditions.checkArgument(sizeKB > 0, "%s must be a positive integer: %s",
+                BULK_BUFFER_SIZE_CONFIG_KEY, sizeKB);
+        return sizeKB;
+    }
+
+    private boolean isBulkLoad() {
+        return getConfigValue(BULK_LOAD_CONFIG_KEY, Boolean.class).or(Boolean.FALSE)
+                .booleanValue();
+    }
+
+    /**
+     * Looks up a config value at the repository level first and then at the global level
+     */
+    private <T> Optional<T> getConfigValue(String key, Class<T> type) {
+        Optional<T> value = configDB.get(key, type);
+        if (!value.isPresent()) {
+            value = configDB.getGlobal(key, type);
+        }
+        return value;
+    }
+
+    /**
+     * Creates a transaction that doesn't write nor sync the log at commit time, used for bulk
+     * loads where {@link #putAll(Iterator, BulkOpListener)} flushes the log once finished.
+     */
+    @Nullable
+    private Transaction newBulkLoadTransaction() {
+        final boolean transactional = objectDb.getConfig().getTransactional();
+        if (transactional) {
+            TransactionConfig txConfig = new TransactionConfig();
+            txConfig.setReadUncommitted(true);
+            txConfig.setDurability(Durability.COMMIT_NO_SYNC);
+            return env.beginTransaction(null, txConfig);
+        }
+        return null;
+    }
+
     @Nullable
     private Transaction newTransaction() {
         final boolean transactional = objectDb.getConfig().getTransactional();
@@ -10,6 +10,7 @@
 package org.locationtech.geogig.storage.bdbje;
 
 import java.io.File;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -17,14 +18,22 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.locationtech.geogig.api.RevFeature;
+import org.locationtech.geogig.api.RevFeatureImpl;
 import org.locationtech.geogig.api.RevObject;
 import org.locationtech.geogig.api.RevTree;
 import org.locationtech.geogig.api.TestPlatform;
 import org.locationtech.geogig.repository.Hints;
+import org.locationtech.geogig.storage.BulkOpListener;
+import org.locationtech.geogig.storage.BulkOpListener.CountingListener;
 import org.locationtech.geogig.storage.ConfigDatabase;
 import org.locationtech.geogig.storage.ObjectDatabase;
 import org.locationtech.geogig.storage.fs.IniFileConfigDatabase;
 
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
 public class JEObjectDatabaseTest extends Assert {
 
     @Rule
@@ -154,4 +163,35 @@ public class JEObjectDatabaseTest extends Assert {
         RevObject revObject = db.get(obj.getId());
         assertEquals(obj, revObject);
     }
+
+    @Test
+    public void testShardedBulkInsert() {
+        ConfigDatabase configDB = new IniFileConfigDatabase(platform);
+        configDB.put("bdbje.writer_threads", 3);
+        // force many buffer flushes per shard
+        configDB.put("bdbje.bulk_buffer_kb", 1);
+        configDB.put("bdbje.bulk_load", true);
+        db = createDb();
+
+        List<RevObject> objects = Lists.newArrayList();
+        for (int i = 0; i < 5000; i++) {
+            RevFeature f = RevFeatureImpl.build(ImmutableList.<Optional<Object>> of(
+                    Optional.<Object> of("feature-" + i), Optional.<Object> of(i)));
+            objects.add(f);
+        }
+
+        CountingListener listener = BulkOpListener.newCountingListener();
+        db.putAll(objects.iterator(), listener);
+        assertEquals(objects.size(), listener.inserted());
+
+        for (RevObject o : objects) {
+            assertTrue(db.exists(o.getId()));
+        }
+
+        // re-inserting finds all of them
+        listener = BulkOpListener.newCountingListener();
+        db.putAll(objects.iterator(), listener);
+        assertEquals(0, listener.inserted());
+        assertEquals(objects.size(), listener.found());
+    }
 }
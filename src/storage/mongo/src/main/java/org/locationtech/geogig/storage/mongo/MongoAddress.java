@@ -19,7 +19,7 @@ import com.google.common.base.Objects;
  * @see MongoGraphDatabase
  * @see MongoStagingDatabase
  */
-final class MongoAddress {
+public final class MongoAddress {
     private final String uri;
 
     public MongoAddress(String uri) {
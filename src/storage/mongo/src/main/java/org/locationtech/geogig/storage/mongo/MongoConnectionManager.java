@@ -18,8 +18,11 @@ import com.mongodb.MongoClientURI;
 
 /**
  * A connection manager for MongoDB-backed storage objects.
+ * <p>
+ * Subclasses may override {@link #connect(MongoAddress)} to hand out a different client, for
+ * example an in-process stand-in for a MongoDB server.
  */
-public final class MongoConnectionManager extends
+public class MongoConnectionManager extends
         ConnectionManager<MongoAddress, MongoClient> {
     @Override
     protected MongoClient connect(MongoAddress address) {
@@ -0,0 +1,322 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.mvstore;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.locationtech.geogig.storage.mvstore.MVStoreStorage.FORMAT_NAME;
+import static org.locationtech.geogig.storage.mvstore.MVStoreStorage.VERSION;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.h2.mvstore.MVMap;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.Platform;
+import org.locationtech.geogig.api.RevObject;
+import org.locationtech.geogig.repository.Hints;
+import org.locationtech.geogig.repository.RepositoryConnectionException;
+import org.locationtech.geogig.storage.AbstractObjectDatabase;
+import org.locationtech.geogig.storage.BulkOpListener;
+import org.locationtech.geogig.storage.ConfigDatabase;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.locationtech.geogig.storage.ObjectReader;
+import org.locationtech.geogig.storage.datastream.DataStreamSerializationFactoryV2;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.inject.Inject;
+import com.ning.compress.lzf.LZFInputStream;
+
+/**
+ * An {@link ObjectDatabase} backed by an H2 {@link org.h2.mvstore.MVStore MVStore} file.
+ * <p>
+ * Objects are stored in the {@code objects} map keyed by their raw {@link ObjectId} bytes. Bulk
+ * inserts and deletes are committed as a single store version per partition, and bulk queries
+ * read from a snapshot of the map taken when the query starts, so they see a consistent view of
+ * the database and don't block concurrent writers.
+ */
+public class MVStoreObjectDatabase extends AbstractObjectDatabase implements ObjectDatabase {
+
+    /**
+     * The default number of objects bulk operations are partitioned into
+     */
+    private static final int DEFAULT_BULK_PARTITIONING = 10 * 1000;
+
+    private static final String BULK_PARTITIONING_CONFIG_KEY = "mvstore.bulkpartition";
+
+    protected final ConfigDatabase configDB;
+
+    private final Platform platform;
+
+    private final boolean readOnly;
+
+    private final String fileName;
+
+    @Nullable
+    private StoreHandle handle;
+
+    private MVMap<byte[], byte[]> objects;
+
+    @Inject
+    public MVStoreObjectDatabase(final ConfigDatabase configDB, final Platform platform,
+            final Hints hints) {
+        this(configDB, platform, hints.getBoolean(Hints.OBJECTS_READ_ONLY),
+                MVStoreStorage.REPOSITORY_FILE);
+    }
+
+    public MVStoreObjectDatabase(final ConfigDatabase configDB, final Platform platform,
+            final boolean readOnly, final String fileName) {
+        super(DataStreamSerializationFactoryV2.INSTANCE);
+        this.configDB = configDB;
+        this.platform = platform;
+        this.readOnly = readOnly;
+        this.fileName = fileName;
+    }
+
+    @Override
+    public synchronized void open() {
+        if (isOpen()) {
+            return;
+        }
+        File file = new File(MVStoreStorage.geogigDir(platform), fileName);
+        handle = StoreHandle.acquire(file);
+        objects = handle.map(StoreHandle.OBJECTS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (handle != null) {
+            StoreHandle h = handle;
+            handle = null;
+            objects = null;
+            h.release();
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return handle != null;
+    }
+
+    @Override
+    public void configure() throws RepositoryConnectionException {
+        RepositoryConnectionException.StorageType.OBJECT.configure(configDB, FORMAT_NAME, VERSION);
+    }
+
+    @Override
+    public void checkConfig() throws RepositoryConnectionException {
+        RepositoryConnectionException.StorageType.OBJECT.verify(configDB, FORMAT_NAME, VERSION);
+    }
+
+    /**
+     * @return the shared store handle, for the staging database to store its conflicts in
+     */
+    StoreHandle handle() {
+        checkOpen();
+        return handle;
+    }
+
+    @Override
+    public boolean exists(final ObjectId id) {
+        checkNotNull(id, "id");
+        checkOpen();
+        return objects.containsKey(id.getRawValue());
+    }
+
+    @Override
+    protected List<ObjectId> lookUpInternal(final byte[] partialId) {
+        checkOpen();
+        List<ObjectId> matches = new ArrayList<ObjectId>(2);
+        Iterator<byte[]> keys = objects.keyIterator(partialId);
+        while (keys.hasNext()) {
+            byte[] key = keys.next();
+            if (!hasPrefix(key, partialId)) {
+                break;
+            }
+            matches.add(new ObjectId(key));
+        }
+        return matches.isEmpty() ? Collections.<ObjectId> emptyList() : matches;
+    }
+
+    private static boolean hasPrefix(byte[] key, byte[] prefix) {
+        if (key.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (key[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected InputStream getRawInternal(final ObjectId id, final boolean failIfNotFound) {
+        checkOpen();
+        byte[] data = objects.get(id.getRawValue());
+        if (data == null) {
+            if (failIfNotFound) {
+                throw new IllegalArgumentException("Object does not exist: " + id + " at "
+                        + handle.file());
+            }
+            return null;
+        }
+        return new ByteArrayInputStream(data);
+    }
+
+    @Override
+    protected boolean putInternal(final ObjectId id, final byte[] rawData) {
+        checkWritable();
+        return objects.putIfAbsent(id.getRawValue(), rawData) == null;
+    }
+
+    @Override
+    public void putAll(final Iterator<? extends RevObject> objects, final BulkOpListener listener) {
+        checkNotNull(objects);
+        checkNotNull(listener);
+        checkWritable();
+
+        final MVMap<byte[], byte[]> map = this.objects;
+        ByteArrayOutputStream rawOut = new ByteArrayOutputStream();
+        Iterator<? extends List<? extends RevObject>> partitions = Iterators.partition(objects,
+                getBulkPartitionSize());
+        while (partitions.hasNext()) {
+            for (RevObject object : partitions.next()) {
+                final ObjectId id = object.getId();
+                final byte[] key = id.getRawValue();
+                if (map.containsKey(key)) {
+                    listener.found(id, null);
+                    continue;
+                }
+                rawOut.reset();
+                writeObject(object, rawOut);
+                byte[] rawData = rawOut.toByteArray();
+                if (map.putIfAbsent(key, rawData) == null) {
+                    listener.inserted(id, rawData.length);
+                } else {
+                    listener.found(id, null);
+                }
+            }
+            handle.commit();
+        }
+    }
+
+    @Override
+    public boolean delete(final ObjectId id) {
+        checkWritable();
+        return objects.remove(id.getRawValue()) != null;
+    }
+
+    @Override
+    public long deleteAll(final Iterator<ObjectId> ids, final BulkOpListener listener) {
+        checkWritable();
+        long count = 0;
+        Iterator<List<ObjectId>> partitions = Iterators.partition(ids, getBulkPartitionSize());
+        while (partitions.hasNext()) {
+            for (ObjectId id : partitions.next()) {
+                if (objects.remove(id.getRawValue()) != null) {
+                    listener.deleted(id);
+                    count++;
+                } else {
+                    listener.notFound(id);
+                }
+            }
+            handle.commit();
+        }
+        return count;
+    }
+
+    @Override
+    public Iterator<RevObject> getAll(final Iterable<ObjectId> ids, final BulkOpListener listener) {
+        checkNotNull(ids, "ids");
+        checkNotNull(listener, "listener");
+        checkOpen();
+        MVMap<byte[], byte[]> snapshot = objects.openVersion(objects.getVersion());
+        return new SnapshotIterator(snapshot, ids.iterator(), listener);
+    }
+
+    /**
+     * Reads the requested objects from a fixed version of the objects map
+     */
+    private class SnapshotIterator extends AbstractIterator<RevObject> {
+
+        private final ObjectReader<RevObject> reader = serializationFactory.createObjectReader();
+
+        private final MVMap<byte[], byte[]> snapshot;
+
+        private final Iterator<ObjectId> ids;
+
+        private final BulkOpListener listener;
+
+        SnapshotIterator(MVMap<byte[], byte[]> snapshot, Iterator<ObjectId> ids,
+                BulkOpListener listener) {
+            this.snapshot = snapshot;
+            this.ids = ids;
+            this.listener = listener;
+        }
+
+        @Override
+        protected RevObject computeNext() {
+            while (ids.hasNext()) {
+                final ObjectId id = ids.next();
+                final byte[] data = snapshot.get(id.getRawValue());
+                if (data == null) {
+                    listener.notFound(id);
+                    continue;
+                }
+                RevObject object;
+                try {
+                    object = reader.read(id, new LZFInputStream(new ByteArrayInputStream(data)));
+                } catch (IOException e) {
+                    throw Throwables.propagate(e);
+                }
+                listener.found(id, data.length);
+                return object;
+            }
+            return endOfData();
+        }
+    }
+
+    private int getBulkPartitionSize() {
+        Optional<Integer> configuredSize = configDB
+                .get(BULK_PARTITIONING_CONFIG_KEY, Integer.class);
+        return configuredSize.or(DEFAULT_BULK_PARTITIONING).intValue();
+    }
+
+    public void checkWritable() {
+        checkOpen();
+        if (readOnly) {
+            throw new UnsupportedOperationException(fileName + " is read only.");
+        }
+    }
+
+    private void checkOpen() {
+        Preconditions.checkState(isOpen(), "Database is closed");
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[file=%s]", getClass().getSimpleName(),
+                handle == null ? "<unset>" : handle.file());
+    }
+}
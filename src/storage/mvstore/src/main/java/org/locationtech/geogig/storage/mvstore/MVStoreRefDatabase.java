@@ -0,0 +1,208 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.mvstore;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.locationtech.geogig.api.Ref.TRANSACTIONS_PREFIX;
+import static org.locationtech.geogig.storage.mvstore.MVStoreStorage.FORMAT_NAME;
+import static org.locationtech.geogig.storage.mvstore.MVStoreStorage.VERSION;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.h2.mvstore.MVMap;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.Platform;
+import org.locationtech.geogig.repository.RepositoryConnectionException;
+import org.locationtech.geogig.storage.AbstractRefDatabase;
+import org.locationtech.geogig.storage.ConfigDatabase;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import com.google.inject.Inject;
+
+/**
+ * Provides an implementation of a GeoGig ref database that stores refs in the {@code refs} map of
+ * the repository's MVStore file.
+ * <p>
+ * Every change is committed right away, so ref updates are durable as soon as they return.
+ */
+public class MVStoreRefDatabase extends AbstractRefDatabase {
+
+    private final Platform platform;
+
+    private final ConfigDatabase configDB;
+
+    @Nullable
+    private StoreHandle handle;
+
+    private MVMap<String, String> refs;
+
+    @Inject
+    public MVStoreRefDatabase(Platform platform, ConfigDatabase configDB) {
+        this.platform = platform;
+        this.configDB = configDB;
+    }
+
+    /**
+     * Creates the reference database.
+     */
+    @Override
+    public synchronized void create() {
+        if (handle == null) {
+            File file = new File(MVStoreStorage.geogigDir(platform),
+                    MVStoreStorage.REPOSITORY_FILE);
+            handle = StoreHandle.acquire(file);
+            refs = handle.map(StoreHandle.REFS);
+        }
+    }
+
+    /**
+     * Closes the reference database.
+     */
+    @Override
+    public synchronized void close() {
+        if (handle != null) {
+            StoreHandle h = handle;
+            handle = null;
+            refs = null;
+            h.release();
+        }
+    }
+
+    @Override
+    public void configure() throws RepositoryConnectionException {
+        RepositoryConnectionException.StorageType.REF.configure(configDB, FORMAT_NAME, VERSION);
+    }
+
+    @Override
+    public void checkConfig() throws RepositoryConnectionException {
+        RepositoryConnectionException.StorageType.REF.verify(configDB, FORMAT_NAME, VERSION);
+    }
+
+    /**
+     * @param name the name of the ref (e.g. {@code "refs/remotes/origin"}, etc).
+     * @return the ref, or {@code null} if it doesn't exist
+     */
+    @Override
+    public String getRef(String name) {
+        checkNotNull(name);
+        String val = refs().get(name);
+        if (val == null) {
+            return null;
+        }
+        ObjectId.valueOf(val);
+        return val;
+    }
+
+    /**
+     * @param name the name of the ref
+     * @param value the value of the ref
+     */
+    @Override
+    public void putRef(String name, String value) {
+        checkNotNull(name);
+        checkNotNull(value);
+        ObjectId.valueOf(value);
+        refs().put(name, value);
+        handle.commit();
+    }
+
+    /**
+     * @param refName the name of the ref to remove (e.g. {@code "HEAD"},
+     *        {@code "refs/remotes/origin"}, etc).
+     * @return the value of the ref before removing it, or {@code null} if it didn't exist
+     */
+    @Override
+    public String remove(String refName) {
+        checkNotNull(refName);
+        String oldValue = refs().remove(refName);
+        handle.commit();
+        return oldValue;
+    }
+
+    /**
+     * @param name the name of the symbolic ref (e.g. {@code "HEAD"}, etc).
+     * @return the ref, or {@code null} if it doesn't exist
+     */
+    @Override
+    public String getSymRef(String name) {
+        checkNotNull(name);
+        String value = refs().get(name);
+        if (value == null) {
+            return null;
+        }
+        if (!value.startsWith("ref: ")) {
+            throw new IllegalArgumentException(name + " is not a symbolic ref: '" + value + "'");
+        }
+        return value.substring("ref: ".length());
+    }
+
+    /**
+     * @param name the name of the symbolic ref
+     * @param val the value of the symbolic ref
+     */
+    @Override
+    public void putSymRef(String name, String val) {
+        checkNotNull(name);
+        checkNotNull(val);
+        refs().put(name, "ref: " + val);
+        handle.commit();
+    }
+
+    /**
+     * @return all known references but the ones in the transactions namespace, key'ed by ref name
+     */
+    @Override
+    public Map<String, String> getAll() {
+        Map<String, String> all = Maps.newTreeMap();
+        for (Map.Entry<String, String> e : refs().entrySet()) {
+            if (!e.getKey().startsWith(TRANSACTIONS_PREFIX)) {
+                all.put(e.getKey(), e.getValue());
+            }
+        }
+        return all;
+    }
+
+    @Override
+    public Map<String, String> getAll(final String prefix) {
+        Preconditions.checkNotNull(prefix);
+        final MVMap<String, String> refs = refs();
+        Map<String, String> matches = Maps.newTreeMap();
+        Iterator<String> keys = refs.keyIterator(prefix);
+        while (keys.hasNext()) {
+            String key = keys.next();
+            if (!key.startsWith(prefix)) {
+                break;
+            }
+            matches.put(key, refs.get(key));
+        }
+        return matches;
+    }
+
+    @Override
+    public Map<String, String> removeAll(final String namespace) {
+        Map<String, String> removed = getAll(namespace);
+        final MVMap<String, String> refs = refs();
+        for (String key : removed.keySet()) {
+            refs.remove(key);
+        }
+        handle.commit();
+        return removed;
+    }
+
+    private MVMap<String, String> refs() {
+        Preconditions.checkState(refs != null, "Database is closed");
+        return refs;
+    }
+}
@@ -0,0 +1,157 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.mvstore;
+
+import static org.locationtech.geogig.storage.mvstore.MVStoreStorage.FORMAT_NAME;
+import static org.locationtech.geogig.storage.mvstore.MVStoreStorage.VERSION;
+
+import java.util.Iterator;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.h2.mvstore.MVMap;
+import org.locationtech.geogig.api.Platform;
+import org.locationtech.geogig.api.plumbing.merge.Conflict;
+import org.locationtech.geogig.repository.Hints;
+import org.locationtech.geogig.repository.RepositoryConnectionException;
+import org.locationtech.geogig.storage.AbstractStagingDatabase;
+import org.locationtech.geogig.storage.ConfigDatabase;
+import org.locationtech.geogig.storage.ObjectDatabase;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.Lists;
+import com.google.inject.Inject;
+
+/**
+ * Staging database backed by an H2 MVStore file.
+ * <p>
+ * Staged objects are stored on a separate {@link MVStoreObjectDatabase} in the
+ * {@link MVStoreStorage#STAGING_FILE index} file, and conflicts in the {@code conflicts} map of
+ * that same store, keyed by {@code <namespace>\0<path>} so that all the conflicts of a namespace,
+ * or those under a path filter, are a single range scan.
+ */
+public class MVStoreStagingDatabase extends AbstractStagingDatabase {
+
+    private static final char SEPARATOR = '\0';
+
+    private final ConfigDatabase configDB;
+
+    @Inject
+    public MVStoreStagingDatabase(final ObjectDatabase repositoryDb,
+            final ConfigDatabase configDB, final Platform platform, final Hints hints) {
+        super(Suppliers.ofInstance(repositoryDb), Suppliers.memoize(new StagingDbSupplier(
+                configDB, platform, hints)));
+        this.configDB = configDB;
+    }
+
+    private static class StagingDbSupplier implements Supplier<MVStoreObjectDatabase> {
+
+        private final ConfigDatabase configDB;
+
+        private final Platform platform;
+
+        private final Hints hints;
+
+        StagingDbSupplier(ConfigDatabase configDB, Platform platform, Hints hints) {
+            this.configDB = configDB;
+            this.platform = platform;
+            this.hints = hints;
+        }
+
+        @Override
+        public MVStoreObjectDatabase get() {
+            boolean readOnly = hints.getBoolean(Hints.STAGING_READ_ONLY);
+            return new MVStoreObjectDatabase(configDB, platform, readOnly,
+                    MVStoreStorage.STAGING_FILE);
+        }
+    }
+
+    @Override
+    public void configure() throws RepositoryConnectionException {
+        RepositoryConnectionException.StorageType.STAGING.configure(configDB, FORMAT_NAME, VERSION);
+    }
+
+    @Override
+    public void checkConfig() throws RepositoryConnectionException {
+        RepositoryConnectionException.StorageType.STAGING.verify(configDB, FORMAT_NAME, VERSION);
+    }
+
+    private MVMap<String, String> conflicts() {
+        return ((MVStoreObjectDatabase) stagingDb).handle().map(StoreHandle.CONFLICTS);
+    }
+
+    @Override
+    public boolean hasConflicts(@Nullable String namespace) {
+        String prefix = key(namespace, "");
+        String first = conflicts().ceilingKey(prefix);
+        return first != null && first.startsWith(prefix);
+    }
+
+    @Override
+    public Optional<Conflict> getConflict(@Nullable String namespace, String path) {
+        String value = conflicts().get(key(namespace, path));
+        if (value == null) {
+            return Optional.absent();
+        }
+        return Optional.of(Conflict.valueOf(value));
+    }
+
+    @Override
+    public List<Conflict> getConflicts(@Nullable String namespace, @Nullable String pathFilter) {
+        final MVMap<String, String> conflicts = conflicts();
+        final String prefix = key(namespace, pathFilter == null ? "" : pathFilter);
+        List<Conflict> result = Lists.newArrayList();
+        Iterator<String> keys = conflicts.keyIterator(prefix);
+        while (keys.hasNext()) {
+            String key = keys.next();
+            if (!key.startsWith(prefix)) {
+                break;
+            }
+            result.add(Conflict.valueOf(conflicts.get(key)));
+        }
+        return result;
+    }
+
+    @Override
+    public void addConflict(@Nullable String namespace, Conflict conflict) {
+        conflicts().put(key(namespace, conflict.getPath()), conflict.toString());
+    }
+
+    @Override
+    public void removeConflict(@Nullable String namespace, String path) {
+        conflicts().remove(key(namespace, path));
+    }
+
+    @Override
+    public void removeConflicts(@Nullable String namespace) {
+        final MVMap<String, String> conflicts = conflicts();
+        final String prefix = key(namespace, "");
+        List<String> remove = Lists.newArrayList();
+        Iterator<String> keys = conflicts.keyIterator(prefix);
+        while (keys.hasNext()) {
+            String key = keys.next();
+            if (!key.startsWith(prefix)) {
+                break;
+            }
+            remove.add(key);
+        }
+        for (String key : remove) {
+            conflicts.remove(key);
+        }
+        ((MVStoreObjectDatabase) stagingDb).handle().commit();
+    }
+
+    private static String key(@Nullable String namespace, String path) {
+        return (namespace == null ? "" : namespace) + SEPARATOR + path;
+    }
+}
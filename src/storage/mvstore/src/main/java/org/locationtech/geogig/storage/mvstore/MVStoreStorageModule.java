@@ -0,0 +1,33 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.mvstore;
+
+import org.locationtech.geogig.storage.GraphDatabase;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.locationtech.geogig.storage.RefDatabase;
+import org.locationtech.geogig.storage.StagingDatabase;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Scopes;
+
+/**
+ * Module for the H2 MVStore storage backend.
+ */
+public class MVStoreStorageModule extends AbstractModule {
+
+    @Override
+    protected void configure() {
+        bind(ObjectDatabase.class).to(MVStoreObjectDatabase.class).in(Scopes.SINGLETON);
+        bind(StagingDatabase.class).to(MVStoreStagingDatabase.class).in(Scopes.SINGLETON);
+        bind(GraphDatabase.class).to(MVStoreGraphDatabase.class).in(Scopes.SINGLETON);
+        bind(RefDatabase.class).to(MVStoreRefDatabase.class).in(Scopes.SINGLETON);
+    }
+
+}
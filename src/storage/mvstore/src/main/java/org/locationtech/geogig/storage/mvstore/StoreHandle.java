@@ -0,0 +1,130 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.mvstore;
+
+import java.io.File;
+import java.util.Map;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
+/**
+ * A reference counted {@link MVStore} shared by all the databases that store their data in the
+ * same file.
+ * <p>
+ * A store file can only be opened once per process, so the object, graph and ref databases of a
+ * repository acquire the same handle and each one works on its own {@link MVMap map}. The store is
+ * closed when the last database releases it.
+ * <p>
+ * The file is read through memory mapped buffers. Changes are visible to readers as soon as they
+ * are made and the store's background thread persists them periodically; bulk operations call
+ * {@link #commit()} once per batch instead. Maps are copy-on-write, so readers work on an
+ * immutable root page and never block the writer.
+ */
+final class StoreHandle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StoreHandle.class);
+
+    static final String OBJECTS = "objects";
+
+    static final String GRAPH = "graph";
+
+    static final String REFS = "refs";
+
+    static final String CONFLICTS = "conflicts";
+
+    /**
+     * Read cache size in MB
+     */
+    private static final int CACHE_SIZE_MB = 64;
+
+    private static final Map<File, StoreHandle> HANDLES = Maps.newHashMap();
+
+    private final File file;
+
+    private final MVStore store;
+
+    private int refCount;
+
+    private StoreHandle(File file, MVStore store) {
+        this.file = file;
+        this.store = store;
+    }
+
+    /**
+     * Gets the shared handle for the given file, opening the store if it's not already open.
+     */
+    static StoreHandle acquire(final File file) {
+        final File key = file.getAbsoluteFile();
+        synchronized (HANDLES) {
+            StoreHandle handle = HANDLES.get(key);
+            if (handle == null) {
+                handle = open(key);
+                HANDLES.put(key, handle);
+            }
+            handle.refCount++;
+            return handle;
+        }
+    }
+
+    /**
+     * Releases this handle, committing pending changes and closing the store if no one else is
+     * using it.
+     */
+    void release() {
+        synchronized (HANDLES) {
+            Preconditions.checkState(refCount > 0, "Handle already released: %s", file);
+            refCount--;
+            if (refCount == 0) {
+                HANDLES.remove(file);
+                LOGGER.debug("Closing MVStore at {}", file);
+                store.close();
+            }
+        }
+    }
+
+    MVStore store() {
+        return store;
+    }
+
+    <K, V> MVMap<K, V> map(String name) {
+        return store.openMap(name);
+    }
+
+    /**
+     * Persists all the changes made since the last commit as a single new store version.
+     */
+    void commit() {
+        store.commit();
+    }
+
+    File file() {
+        return file;
+    }
+
+    private static StoreHandle open(final File file) {
+        File parent = file.getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new IllegalStateException("Unable to create directory: '"
+                    + parent.getAbsolutePath() + "'");
+        }
+        LOGGER.debug("Opening MVStore at {}", file);
+        MVStore store = new MVStore.Builder()//
+                .fileName("nioMapped:" + file.getAbsolutePath())//
+                .cacheSize(CACHE_SIZE_MB)//
+                .open();
+        return new StoreHandle(file, store);
+    }
+}
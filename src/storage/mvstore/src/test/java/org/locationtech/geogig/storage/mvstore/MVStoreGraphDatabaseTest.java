@@ -0,0 +1,25 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.mvstore;
+
+import org.locationtech.geogig.api.Platform;
+import org.locationtech.geogig.storage.ConfigDatabase;
+import org.locationtech.geogig.storage.GraphDatabase;
+import org.locationtech.geogig.storage.GraphDatabaseTest;
+import org.locationtech.geogig.storage.fs.IniFileConfigDatabase;
+
+public class MVStoreGraphDatabaseTest extends GraphDatabaseTest {
+
+    @Override
+    protected GraphDatabase createDatabase(Platform platform) throws Exception {
+        ConfigDatabase configdb = new IniFileConfigDatabase(platform);
+        return new MVStoreGraphDatabase(configdb, platform);
+    }
+}
@@ -0,0 +1,29 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.test.integration.mvstore;
+
+import static org.locationtech.geogig.test.integration.mvstore.MVStoreTests.injector;
+
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+import org.locationtech.geogig.api.Context;
+import org.locationtech.geogig.api.TestPlatform;
+import org.locationtech.geogig.test.integration.DiffOpTest;
+
+public class MVStoreDiffOpTest extends DiffOpTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Override
+    protected Context createInjector() {
+        return injector(new TestPlatform(temp.getRoot()));
+    }
+}
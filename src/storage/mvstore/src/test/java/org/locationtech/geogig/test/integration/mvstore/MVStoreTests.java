@@ -0,0 +1,39 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.test.integration.mvstore;
+
+import org.locationtech.geogig.api.Context;
+import org.locationtech.geogig.api.Platform;
+import org.locationtech.geogig.api.TestPlatform;
+import org.locationtech.geogig.di.GeogigModule;
+import org.locationtech.geogig.storage.mvstore.MVStoreStorageModule;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.util.Modules;
+
+/**
+ * Test utility class.
+ */
+public class MVStoreTests {
+
+    /**
+     * Creates the injector to enable mvstore storage.
+     */
+    public static Context injector(final TestPlatform platform) {
+        return Guice.createInjector(Modules.override(new GeogigModule()).with(
+                new MVStoreStorageModule(), new AbstractModule() {
+                    @Override
+                    protected void configure() {
+                        bind(Platform.class).toInstance(platform);
+                    }
+                })).getInstance(Context.class);
+    }
+}
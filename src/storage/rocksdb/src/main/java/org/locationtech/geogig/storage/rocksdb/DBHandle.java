@@ -0,0 +1,197 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.rocksdb;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+import org.locationtech.geogig.api.ObjectId;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
+import org.rocksdb.DBOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * A reference counted RocksDB instance shared by all the databases that store their data in the
+ * same directory.
+ * <p>
+ * RocksDB allows a single open instance per directory and process, so the object, graph and ref
+ * databases of a repository acquire the same handle and each one works on its own column family.
+ * The handle is closed when the last database releases it.
+ * <p>
+ * The {@link #OBJECTS} column family uses a fixed length prefix extractor the size of an
+ * {@link ObjectId} and a bloom filter, so point lookups for missing objects rarely touch disk.
+ * Objects are stored already compressed, hence block compression is disabled for that family.
+ */
+final class DBHandle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DBHandle.class);
+
+    static final String OBJECTS = "objects";
+
+    static final String GRAPH = "graph";
+
+    static final String CONFLICTS = "conflicts";
+
+    static final String REFS = "refs";
+
+    private static final List<String> COLUMN_FAMILIES = ImmutableList.of(OBJECTS, GRAPH,
+            CONFLICTS, REFS);
+
+    private static final Map<File, DBHandle> HANDLES = Maps.newHashMap();
+
+    static {
+        RocksDB.loadLibrary();
+    }
+
+    private final File directory;
+
+    private final RocksDB db;
+
+    private final DBOptions dbOptions;
+
+    private final List<ColumnFamilyOptions> cfOptions;
+
+    private final Map<String, ColumnFamilyHandle> columns;
+
+    private int refCount;
+
+    private DBHandle(File directory, RocksDB db, DBOptions dbOptions,
+            List<ColumnFamilyOptions> cfOptions, Map<String, ColumnFamilyHandle> columns) {
+        this.directory = directory;
+        this.db = db;
+        this.dbOptions = dbOptions;
+        this.cfOptions = cfOptions;
+        this.columns = columns;
+    }
+
+    /**
+     * Gets the shared handle for the given directory, opening the database if it's not already
+     * open.
+     */
+    static DBHandle acquire(final File directory) {
+        final File key = directory.getAbsoluteFile();
+        synchronized (HANDLES) {
+            DBHandle handle = HANDLES.get(key);
+            if (handle == null) {
+                handle = open(key);
+                HANDLES.put(key, handle);
+            }
+            handle.refCount++;
+            return handle;
+        }
+    }
+
+    /**
+     * Releases this handle, closing the database if no one else is using it.
+     */
+    void release() {
+        synchronized (HANDLES) {
+            Preconditions.checkState(refCount > 0, "Handle already released: %s", directory);
+            refCount--;
+            if (refCount == 0) {
+                HANDLES.remove(directory);
+                close();
+            }
+        }
+    }
+
+    RocksDB db() {
+        return db;
+    }
+
+    ColumnFamilyHandle column(String name) {
+        ColumnFamilyHandle handle = columns.get(name);
+        Preconditions.checkArgument(handle != null, "No such column family: %s", name);
+        return handle;
+    }
+
+    File directory() {
+        return directory;
+    }
+
+    private static DBHandle open(final File directory) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IllegalStateException("Unable to create RocksDB directory: '"
+                    + directory.getAbsolutePath() + "'");
+        }
+        LOGGER.debug("Opening RocksDB database at {}", directory);
+
+        DBOptions dbOptions = new DBOptions();
+        dbOptions.setCreateIfMissing(true);
+        dbOptions.setCreateMissingColumnFamilies(true);
+        dbOptions.setIncreaseParallelism(Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+        ColumnFamilyOptions defaultOptions = new ColumnFamilyOptions();
+
+        ColumnFamilyOptions objectOptions = new ColumnFamilyOptions();
+        objectOptions.useFixedLengthPrefixExtractor(ObjectId.NUM_BYTES);
+        objectOptions.setCompressionType(CompressionType.NO_COMPRESSION);
+        BlockBasedTableConfig tableConfig = new BlockBasedTableConfig();
+        tableConfig.setFilter(new BloomFilter(10, false));
+        objectOptions.setTableFormatConfig(tableConfig);
+
+        List<ColumnFamilyOptions> cfOptions = ImmutableList.of(defaultOptions, objectOptions);
+
+        List<ColumnFamilyDescriptor> descriptors = Lists.newArrayList();
+        descriptors.add(new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY, defaultOptions));
+        for (String name : COLUMN_FAMILIES) {
+            ColumnFamilyOptions options = OBJECTS.equals(name) ? objectOptions : defaultOptions;
+            descriptors.add(new ColumnFamilyDescriptor(name.getBytes(Charsets.UTF_8), options));
+        }
+
+        List<ColumnFamilyHandle> handles = Lists.newArrayList();
+        RocksDB db;
+        try {
+            db = RocksDB.open(dbOptions, directory.getAbsolutePath(), descriptors, handles);
+        } catch (RocksDBException e) {
+            dbOptions.close();
+            for (ColumnFamilyOptions o : cfOptions) {
+                o.close();
+            }
+            throw new IllegalStateException("Unable to open RocksDB database at "
+                    + directory.getAbsolutePath(), e);
+        }
+
+        Map<String, ColumnFamilyHandle> columns = Maps.newHashMap();
+        // handles come in the same order as the descriptors, the first one is the default family
+        for (int i = 0; i < COLUMN_FAMILIES.size(); i++) {
+            columns.put(COLUMN_FAMILIES.get(i), handles.get(i + 1));
+        }
+        columns.put("default", handles.get(0));
+        return new DBHandle(directory, db, dbOptions, cfOptions, columns);
+    }
+
+    private void close() {
+        LOGGER.debug("Closing RocksDB database at {}", directory);
+        for (ColumnFamilyHandle handle : columns.values()) {
+            handle.close();
+        }
+        db.close();
+        dbOptions.close();
+        for (ColumnFamilyOptions o : cfOptions) {
+            o.close();
+        }
+    }
+}
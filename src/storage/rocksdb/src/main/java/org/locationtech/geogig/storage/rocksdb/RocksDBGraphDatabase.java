@@ -0,0 +1,381 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.rocksdb;
+
+import static org.locationtech.geogig.storage.rocksdb.RocksDBStorage.FORMAT_NAME;
+import static org.locationtech.geogig.storage.rocksdb.RocksDBStorage.VERSION;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import javax.annotation.Nullable;
+
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.Platform;
+import org.locationtech.geogig.repository.RepositoryConnectionException;
+import org.locationtech.geogig.storage.ConfigDatabase;
+import org.locationtech.geogig.storage.GraphDatabase;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.ByteArrayDataInput;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import com.google.inject.Inject;
+
+/**
+ * A {@link GraphDatabase} stored in the {@code graph} column family of the repository's RocksDB
+ * database.
+ * <p>
+ * Each commit is a single record keyed by its raw id, holding its parents, children, mapping and
+ * properties, so that a commit and the child links of its parents are updated atomically through a
+ * single write batch.
+ */
+public class RocksDBGraphDatabase implements GraphDatabase {
+
+    private final ConfigDatabase configDB;
+
+    private final Platform platform;
+
+    @Nullable
+    private DBHandle dbHandle;
+
+    private ColumnFamilyHandle graph;
+
+    @Inject
+    public RocksDBGraphDatabase(final ConfigDatabase configDB, final Platform platform) {
+        this.configDB = configDB;
+        this.platform = platform;
+    }
+
+    @Override
+    public synchronized void open() {
+        if (isOpen()) {
+            return;
+        }
+        File dir = new File(RocksDBStorage.geogigDir(platform), RocksDBStorage.REPOSITORY_DB);
+        dbHandle = DBHandle.acquire(dir);
+        graph = dbHandle.column(DBHandle.GRAPH);
+    }
+
+    @Override
+    public void configure() throws RepositoryConnectionException {
+        RepositoryConnectionException.StorageType.GRAPH.configure(configDB, FORMAT_NAME, VERSION);
+    }
+
+    @Override
+    public void checkConfig() throws RepositoryConnectionException {
+        RepositoryConnectionException.StorageType.GRAPH.verify(configDB, FORMAT_NAME, VERSION);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return dbHandle != null;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (dbHandle != null) {
+            DBHandle handle = dbHandle;
+            dbHandle = null;
+            graph = null;
+            handle.release();
+        }
+    }
+
+    @Override
+    public boolean exists(ObjectId commitId) {
+        return getNodeInternal(commitId, false) != null;
+    }
+
+    @Override
+    public ImmutableList<ObjectId> getParents(ObjectId commitId) throws IllegalArgumentException {
+        NodeData node = getNodeInternal(commitId, false);
+        return node == null ? ImmutableList.<ObjectId> of() : ImmutableList.copyOf(node.parents);
+    }
+
+    @Override
+    public ImmutableList<ObjectId> getChildren(ObjectId commitId) throws IllegalArgumentException {
+        NodeData node = getNodeInternal(commitId, false);
+        return node == null ? ImmutableList.<ObjectId> of() : ImmutableList.copyOf(node.children);
+    }
+
+    @Override
+    public synchronized boolean put(ObjectId commitId, ImmutableList<ObjectId> parentIds) {
+        NodeData node = getNodeInternal(commitId, false);
+        boolean updated = false;
+        WriteBatch batch = new WriteBatch();
+        try {
+            if (node == null) {
+                node = new NodeData(commitId);
+                updated = true;
+            }
+            for (ObjectId parent : parentIds) {
+                if (!node.parents.contains(parent)) {
+                    node.parents.add(parent);
+                    updated = true;
+                }
+                NodeData parentNode = getNodeInternal(parent, false);
+                if (parentNode == null) {
+                    parentNode = new NodeData(parent);
+                    updated = true;
+                }
+                if (!parentNode.children.contains(commitId)) {
+                    parentNode.children.add(commitId);
+                    updated = true;
+                }
+                batch.put(graph, parent.getRawValue(), parentNode.encode());
+            }
+            batch.put(graph, commitId.getRawValue(), node.encode());
+            write(batch);
+        } finally {
+            batch.close();
+        }
+        return updated;
+    }
+
+    @Override
+    public synchronized void map(ObjectId mapped, ObjectId original) {
+        NodeData node = getNodeInternal(mapped, false);
+        if (node == null) {
+            node = new NodeData(mapped);
+        }
+        node.mappedTo = original;
+        putNodeInternal(node);
+    }
+
+    @Override
+    public ObjectId getMapping(ObjectId commitId) {
+        NodeData node = getNodeInternal(commitId, false);
+        return node == null || node.mappedTo == null ? ObjectId.NULL : node.mappedTo;
+    }
+
+    @Override
+    public int getDepth(ObjectId commitId) {
+        int depth = 0;
+
+        Queue<ObjectId> q = Lists.newLinkedList();
+        NodeData node = getNodeInternal(commitId, true);
+        q.addAll(node.parents);
+
+        List<ObjectId> next = Lists.newArrayList();
+        while (!q.isEmpty()) {
+            depth++;
+            while (!q.isEmpty()) {
+                ObjectId n = q.poll();
+                NodeData parentNode = getNodeInternal(n, true);
+                if (parentNode.parents.isEmpty()) {
+                    return depth;
+                }
+                next.addAll(parentNode.parents);
+            }
+
+            q.addAll(next);
+            next.clear();
+        }
+
+        return depth;
+    }
+
+    @Override
+    public synchronized void setProperty(ObjectId commitId, String propertyName,
+            String propertyValue) {
+        NodeData node = getNodeInternal(commitId, true);
+        node.properties.put(propertyName, propertyValue);
+        putNodeInternal(node);
+    }
+
+    @Override
+    public GraphNode getNode(ObjectId id) {
+        return new RocksDBGraphNode(getNodeInternal(id, true));
+    }
+
+    @Override
+    public synchronized void truncate() {
+        checkOpen();
+        RocksIterator it = dbHandle.db().newIterator(graph);
+        WriteBatch batch = new WriteBatch();
+        try {
+            for (it.seekToFirst(); it.isValid(); it.next()) {
+                batch.remove(graph, it.key());
+            }
+            write(batch);
+        } finally {
+            it.close();
+            batch.close();
+        }
+    }
+
+    private void putNodeInternal(NodeData node) {
+        checkOpen();
+        try {
+            dbHandle.db().put(graph, node.id.getRawValue(), node.encode());
+        } catch (RocksDBException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    private void write(WriteBatch batch) {
+        checkOpen();
+        WriteOptions writeOptions = new WriteOptions();
+        try {
+            dbHandle.db().write(writeOptions, batch);
+        } catch (RocksDBException e) {
+            throw Throwables.propagate(e);
+        } finally {
+            writeOptions.close();
+        }
+    }
+
+    @Nullable
+    private NodeData getNodeInternal(final ObjectId id, final boolean failIfNotFound) {
+        Preconditions.checkNotNull(id, "id");
+        checkOpen();
+        byte[] data;
+        try {
+            data = dbHandle.db().get(graph, id.getRawValue());
+        } catch (RocksDBException e) {
+            throw Throwables.propagate(e);
+        }
+        if (data == null) {
+            Preconditions.checkArgument(!failIfNotFound, "Graph Object does not exist: %s", id);
+            return null;
+        }
+        return NodeData.decode(id, data);
+    }
+
+    private void checkOpen() {
+        Preconditions.checkState(isOpen(), "Database is closed");
+    }
+
+    /**
+     * A commit graph node as stored in the graph column family
+     */
+    private static class NodeData {
+
+        final ObjectId id;
+
+        final List<ObjectId> parents = Lists.newArrayListWithCapacity(2);
+
+        final List<ObjectId> children = Lists.newArrayListWithCapacity(2);
+
+        final Map<String, String> properties = Maps.newHashMap();
+
+        @Nullable
+        ObjectId mappedTo;
+
+        NodeData(ObjectId id) {
+            this.id = id;
+        }
+
+        boolean isSparse() {
+            return Boolean.valueOf(properties.get(SPARSE_FLAG));
+        }
+
+        byte[] encode() {
+            ByteArrayDataOutput out = ByteStreams.newDataOutput();
+            writeIds(parents, out);
+            writeIds(children, out);
+            out.writeBoolean(mappedTo != null);
+            if (mappedTo != null) {
+                out.write(mappedTo.getRawValue());
+            }
+            out.writeInt(properties.size());
+            for (Map.Entry<String, String> e : properties.entrySet()) {
+                out.writeUTF(e.getKey());
+                out.writeUTF(e.getValue());
+            }
+            return out.toByteArray();
+        }
+
+        static NodeData decode(ObjectId id, byte[] data) {
+            ByteArrayDataInput in = ByteStreams.newDataInput(data);
+            NodeData node = new NodeData(id);
+            readIds(in, node.parents);
+            readIds(in, node.children);
+            if (in.readBoolean()) {
+                node.mappedTo = readId(in);
+            }
+            final int numProperties = in.readInt();
+            for (int i = 0; i < numProperties; i++) {
+                node.properties.put(in.readUTF(), in.readUTF());
+            }
+            return node;
+        }
+
+        private static void writeIds(List<ObjectId> ids, ByteArrayDataOutput out) {
+            out.writeInt(ids.size());
+            for (ObjectId id : ids) {
+                out.write(id.getRawValue());
+            }
+        }
+
+        private static void readIds(ByteArrayDataInput in, List<ObjectId> target) {
+            final int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                target.add(readId(in));
+            }
+        }
+
+        private static ObjectId readId(ByteArrayDataInput in) {
+            byte[] raw = new byte[ObjectId.NUM_BYTES];
+            in.readFully(raw);
+            return ObjectId.createNoClone(raw);
+        }
+    }
+
+    private class RocksDBGraphNode extends GraphNode {
+
+        private final NodeData node;
+
+        RocksDBGraphNode(NodeData node) {
+            this.node = node;
+        }
+
+        @Override
+        public ObjectId getIdentifier() {
+            return node.id;
+        }
+
+        @Override
+        public Iterator<GraphEdge> getEdges(final Direction direction) {
+            List<GraphEdge> edges = Lists.newLinkedList();
+            if (direction == Direction.IN || direction == Direction.BOTH) {
+                for (ObjectId child : node.children) {
+                    edges.add(new GraphEdge(new RocksDBGraphNode(getNodeInternal(child, true)),
+                            this));
+                }
+            }
+            if (direction == Direction.OUT || direction == Direction.BOTH) {
+                for (ObjectId parent : node.parents) {
+                    edges.add(new GraphEdge(this, new RocksDBGraphNode(getNodeInternal(parent,
+                            true))));
+                }
+            }
+            return edges.iterator();
+        }
+
+        @Override
+        public boolean isSparse() {
+            return node.isSparse();
+        }
+    }
+}
@@ -0,0 +1,428 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.rocksdb;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.locationtech.geogig.storage.rocksdb.RocksDBStorage.FORMAT_NAME;
+import static org.locationtech.geogig.storage.rocksdb.RocksDBStorage.VERSION;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.Platform;
+import org.locationtech.geogig.api.RevObject;
+import org.locationtech.geogig.repository.Hints;
+import org.locationtech.geogig.repository.RepositoryConnectionException;
+import org.locationtech.geogig.storage.AbstractObjectDatabase;
+import org.locationtech.geogig.storage.BulkOpListener;
+import org.locationtech.geogig.storage.ConfigDatabase;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.locationtech.geogig.storage.ObjectReader;
+import org.locationtech.geogig.storage.datastream.DataStreamSerializationFactoryV2;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.inject.Inject;
+import com.ning.compress.lzf.LZFInputStream;
+
+/**
+ * An {@link ObjectDatabase} backed by an embedded RocksDB database.
+ * <p>
+ * Objects are stored in the {@code objects} column family keyed by their raw {@link ObjectId}
+ * bytes. Bulk inserts are written through {@link WriteBatch write batches}, bulk queries through
+ * {@link RocksDB#multiGet(List, List) multiGet}, and existence checks are answered by the column
+ * family's bloom filter whenever it can tell the object is not there.
+ */
+public class RocksDBObjectDatabase extends AbstractObjectDatabase implements ObjectDatabase {
+
+    /**
+     * The default number of objects bulk operations are partitioned into
+     */
+    private static final int DEFAULT_BULK_PARTITIONING = 10 * 1000;
+
+    private static final String BULK_PARTITIONING_CONFIG_KEY = "rocksdb.bulkpartition";
+
+    protected final ConfigDatabase configDB;
+
+    private final Platform platform;
+
+    private final boolean readOnly;
+
+    private final String dbName;
+
+    @Nullable
+    private DBHandle dbHandle;
+
+    private ColumnFamilyHandle objects;
+
+    @Inject
+    public RocksDBObjectDatabase(final ConfigDatabase configDB, final Platform platform,
+            final Hints hints) {
+        this(configDB, platform, hints.getBoolean(Hints.OBJECTS_READ_ONLY),
+                RocksDBStorage.REPOSITORY_DB);
+    }
+
+    public RocksDBObjectDatabase(final ConfigDatabase configDB, final Platform platform,
+            final boolean readOnly, final String dbName) {
+        super(DataStreamSerializationFactoryV2.INSTANCE);
+        this.configDB = configDB;
+        this.platform = platform;
+        this.readOnly = readOnly;
+        this.dbName = dbName;
+    }
+
+    @Override
+    public synchronized void open() {
+        if (isOpen()) {
+            return;
+        }
+        File dir = new File(RocksDBStorage.geogigDir(platform), dbName);
+        dbHandle = DBHandle.acquire(dir);
+        objects = dbHandle.column(DBHandle.OBJECTS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (dbHandle != null) {
+            DBHandle handle = dbHandle;
+            dbHandle = null;
+            objects = null;
+            handle.release();
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return dbHandle != null;
+    }
+
+    @Override
+    public void configure() throws RepositoryConnectionException {
+        RepositoryConnectionException.StorageType.OBJECT.configure(configDB, FORMAT_NAME, VERSION);
+    }
+
+    @Override
+    public void checkConfig() throws RepositoryConnectionException {
+        RepositoryConnectionException.StorageType.OBJECT.verify(configDB, FORMAT_NAME, VERSION);
+    }
+
+    /**
+     * @return the shared database handle, for the staging database to store its conflicts in
+     */
+    DBHandle handle() {
+        checkOpen();
+        return dbHandle;
+    }
+
+    @Override
+    public boolean exists(final ObjectId id) {
+        checkNotNull(id, "id");
+        checkOpen();
+        final byte[] key = id.getRawValue();
+        final RocksDB db = dbHandle.db();
+        // the prefix bloom filter rules out most missing objects without touching disk
+        if (!db.keyMayExist(objects, key, new StringBuffer())) {
+            return false;
+        }
+        try {
+            return db.get(objects, key) != null;
+        } catch (RocksDBException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    @Override
+    protected List<ObjectId> lookUpInternal(final byte[] partialId) {
+        checkOpen();
+        List<ObjectId> matches = new ArrayList<ObjectId>(2);
+        ReadOptions readOptions = new ReadOptions();
+        // partial ids are shorter than the prefix extractor length
+        readOptions.setTotalOrderSeek(true);
+        RocksIterator it = dbHandle.db().newIterator(objects, readOptions);
+        try {
+            for (it.seek(partialId); it.isValid(); it.next()) {
+                byte[] key = it.key();
+                if (!hasPrefix(key, partialId)) {
+                    break;
+                }
+                matches.add(new ObjectId(key));
+            }
+        } finally {
+            it.close();
+            readOptions.close();
+        }
+        return matches.isEmpty() ? Collections.<ObjectId> emptyList() : matches;
+    }
+
+    private static boolean hasPrefix(byte[] key, byte[] prefix) {
+        if (key.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (key[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected InputStream getRawInternal(final ObjectId id, final boolean failIfNotFound) {
+        checkOpen();
+        byte[] data;
+        try {
+            data = dbHandle.db().get(objects, id.getRawValue());
+        } catch (RocksDBException e) {
+            throw Throwables.propagate(e);
+        }
+        if (data == null) {
+            if (failIfNotFound) {
+                throw new IllegalArgumentException("Object does not exist: " + id + " at "
+                        + dbHandle.directory());
+            }
+            return null;
+        }
+        return new ByteArrayInputStream(data);
+    }
+
+    @Override
+    protected boolean putInternal(final ObjectId id, final byte[] rawData) {
+        checkWritable();
+        if (exists(id)) {
+            return false;
+        }
+        try {
+            dbHandle.db().put(objects, id.getRawValue(), rawData);
+        } catch (RocksDBException e) {
+            throw Throwables.propagate(e);
+        }
+        return true;
+    }
+
+    @Override
+    public void putAll(final Iterator<? extends RevObject> objects, final BulkOpListener listener) {
+        checkNotNull(objects);
+        checkNotNull(listener);
+        checkWritable();
+
+        final RocksDB db = dbHandle.db();
+        final ColumnFamilyHandle column = this.objects;
+        final int partitionSize = getBulkPartitionSize();
+
+        ByteArrayOutputStream rawOut = new ByteArrayOutputStream();
+        WriteOptions writeOptions = new WriteOptions();
+        writeOptions.setSync(false);
+        try {
+            Iterator<? extends List<? extends RevObject>> partitions = Iterators.partition(
+                    objects, partitionSize);
+            while (partitions.hasNext()) {
+                List<? extends RevObject> partition = partitions.next();
+                List<ObjectId> inserted = Lists.newArrayListWithCapacity(partition.size());
+                List<Integer> sizes = Lists.newArrayListWithCapacity(partition.size());
+                WriteBatch batch = new WriteBatch();
+                try {
+                    for (RevObject object : partition) {
+                        final ObjectId id = object.getId();
+                        if (exists(id)) {
+                            listener.found(id, null);
+                            continue;
+                        }
+                        rawOut.reset();
+                        writeObject(object, rawOut);
+                        byte[] rawData = rawOut.toByteArray();
+                        batch.put(column, id.getRawValue(), rawData);
+                        inserted.add(id);
+                        sizes.add(Integer.valueOf(rawData.length));
+                    }
+                    db.write(writeOptions, batch);
+                } finally {
+                    batch.close();
+                }
+                for (int i = 0; i < inserted.size(); i++) {
+                    listener.inserted(inserted.get(i), sizes.get(i));
+                }
+            }
+        } catch (RocksDBException e) {
+            throw Throwables.propagate(e);
+        } finally {
+            writeOptions.close();
+        }
+    }
+
+    @Override
+    public boolean delete(final ObjectId id) {
+        checkWritable();
+        if (!exists(id)) {
+            return false;
+        }
+        try {
+            dbHandle.db().remove(objects, id.getRawValue());
+        } catch (RocksDBException e) {
+            throw Throwables.propagate(e);
+        }
+        return true;
+    }
+
+    @Override
+    public long deleteAll(final Iterator<ObjectId> ids, final BulkOpListener listener) {
+        checkWritable();
+        long count = 0;
+        final RocksDB db = dbHandle.db();
+        Iterator<List<ObjectId>> partitions = Iterators.partition(ids, getBulkPartitionSize());
+        WriteOptions writeOptions = new WriteOptions();
+        try {
+            while (partitions.hasNext()) {
+                List<ObjectId> deleted = Lists.newArrayList();
+                WriteBatch batch = new WriteBatch();
+                try {
+                    for (ObjectId id : partitions.next()) {
+                        if (exists(id)) {
+                            batch.remove(objects, id.getRawValue());
+                            deleted.add(id);
+                        } else {
+                            listener.notFound(id);
+                        }
+                    }
+                    db.write(writeOptions, batch);
+                } finally {
+                    batch.close();
+                }
+                for (ObjectId id : deleted) {
+                    listener.deleted(id);
+                }
+                count += deleted.size();
+            }
+        } catch (RocksDBException e) {
+            throw Throwables.propagate(e);
+        } finally {
+            writeOptions.close();
+        }
+        return count;
+    }
+
+    @Override
+    public Iterator<RevObject> getAll(final Iterable<ObjectId> ids, final BulkOpListener listener) {
+        checkNotNull(ids, "ids");
+        checkNotNull(listener, "listener");
+        checkOpen();
+        return new MultiGetIterator(ids.iterator(), listener);
+    }
+
+    /**
+     * Fetches objects in partitions of {@link #getBulkPartitionSize()} ids with a single
+     * {@link RocksDB#multiGet(List, List) multiGet} call per partition, returning them in the
+     * order they were requested.
+     */
+    private class MultiGetIterator extends AbstractIterator<RevObject> {
+
+        private final ObjectReader<RevObject> reader = serializationFactory.createObjectReader();
+
+        private final Iterator<List<ObjectId>> partitions;
+
+        private final BulkOpListener listener;
+
+        private Iterator<RevObject> current = Iterators.emptyIterator();
+
+        MultiGetIterator(Iterator<ObjectId> ids, BulkOpListener listener) {
+            this.partitions = Iterators.partition(ids, getBulkPartitionSize());
+            this.listener = listener;
+        }
+
+        @Override
+        protected RevObject computeNext() {
+            while (!current.hasNext()) {
+                if (!partitions.hasNext()) {
+                    return endOfData();
+                }
+                current = fetch(partitions.next());
+            }
+            return current.next();
+        }
+
+        private Iterator<RevObject> fetch(List<ObjectId> ids) {
+            final int size = ids.size();
+            List<byte[]> keys = Lists.newArrayListWithCapacity(size);
+            List<ColumnFamilyHandle> columns = Collections.nCopies(size, objects);
+            for (ObjectId id : ids) {
+                keys.add(id.getRawValue());
+            }
+            Map<byte[], byte[]> values;
+            try {
+                values = dbHandle.db().multiGet(columns, keys);
+            } catch (RocksDBException e) {
+                throw Throwables.propagate(e);
+            }
+            List<RevObject> found = Lists.newArrayListWithCapacity(values.size());
+            for (int i = 0; i < size; i++) {
+                // multiGet returns the same key instances it was given
+                final ObjectId id = ids.get(i);
+                byte[] data = values.get(keys.get(i));
+                if (data == null) {
+                    listener.notFound(id);
+                    continue;
+                }
+                RevObject object;
+                try {
+                    object = reader.read(id, new LZFInputStream(new ByteArrayInputStream(data)));
+                } catch (IOException e) {
+                    throw Throwables.propagate(e);
+                }
+                listener.found(id, data.length);
+                found.add(object);
+            }
+            return found.iterator();
+        }
+    }
+
+    private int getBulkPartitionSize() {
+        Optional<Integer> configuredSize = configDB
+                .get(BULK_PARTITIONING_CONFIG_KEY, Integer.class);
+        return configuredSize.or(DEFAULT_BULK_PARTITIONING).intValue();
+    }
+
+    public void checkWritable() {
+        checkOpen();
+        if (readOnly) {
+            throw new UnsupportedOperationException(dbName + " is read only.");
+        }
+    }
+
+    private void checkOpen() {
+        Preconditions.checkState(isOpen(), "Database is closed");
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[dir=%s]", getClass().getSimpleName(),
+                dbHandle == null ? "<unset>" : dbHandle.directory());
+    }
+}
@@ -0,0 +1,270 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.rocksdb;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.locationtech.geogig.api.Ref.TRANSACTIONS_PREFIX;
+import static org.locationtech.geogig.storage.rocksdb.RocksDBStorage.FORMAT_NAME;
+import static org.locationtech.geogig.storage.rocksdb.RocksDBStorage.VERSION;
+
+import java.io.File;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.Platform;
+import org.locationtech.geogig.repository.RepositoryConnectionException;
+import org.locationtech.geogig.storage.AbstractRefDatabase;
+import org.locationtech.geogig.storage.ConfigDatabase;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Maps;
+import com.google.inject.Inject;
+
+/**
+ * Provides an implementation of a GeoGig ref database that stores refs in the {@code refs} column
+ * family of the repository's RocksDB database, keyed by ref name.
+ * <p>
+ * Refs are written with synced writes, so ref updates are durable as soon as they return, and the
+ * refs of a namespace are removed through a single write batch.
+ */
+public class RocksDBRefDatabase extends AbstractRefDatabase {
+
+    private final Platform platform;
+
+    private final ConfigDatabase configDB;
+
+    @Nullable
+    private DBHandle dbHandle;
+
+    private ColumnFamilyHandle refs;
+
+    @Inject
+    public RocksDBRefDatabase(Platform platform, ConfigDatabase configDB) {
+        this.platform = platform;
+        this.configDB = configDB;
+    }
+
+    /**
+     * Creates the reference database.
+     */
+    @Override
+    public synchronized void create() {
+        if (dbHandle == null) {
+            File dir = new File(RocksDBStorage.geogigDir(platform), RocksDBStorage.REPOSITORY_DB);
+            dbHandle = DBHandle.acquire(dir);
+            refs = dbHandle.column(DBHandle.REFS);
+        }
+    }
+
+    /**
+     * Closes the reference database.
+     */
+    @Override
+    public synchronized void close() {
+        if (dbHandle != null) {
+            DBHandle handle = dbHandle;
+            dbHandle = null;
+            refs = null;
+            handle.release();
+        }
+    }
+
+    @Override
+    public void configure() throws RepositoryConnectionException {
+        RepositoryConnectionException.StorageType.REF.configure(configDB, FORMAT_NAME, VERSION);
+    }
+
+    @Override
+    public void checkConfig() throws RepositoryConnectionException {
+        RepositoryConnectionException.StorageType.REF.verify(configDB, FORMAT_NAME, VERSION);
+    }
+
+    /**
+     * @param name the name of the ref (e.g. {@code "refs/remotes/origin"}, etc).
+     * @return the ref, or {@code null} if it doesn't exist
+     */
+    @Override
+    public String getRef(String name) {
+        checkNotNull(name);
+        String val = get(name);
+        if (val == null) {
+            return null;
+        }
+        ObjectId.valueOf(val);
+        return val;
+    }
+
+    /**
+     * @param name the name of the ref
+     * @param value the value of the ref
+     */
+    @Override
+    public void putRef(String name, String value) {
+        checkNotNull(name);
+        checkNotNull(value);
+        ObjectId.valueOf(value);
+        put(name, value);
+    }
+
+    /**
+     * @param refName the name of the ref to remove (e.g. {@code "HEAD"},
+     *        {@code "refs/remotes/origin"}, etc).
+     * @return the value of the ref before removing it, or {@code null} if it didn't exist
+     */
+    @Override
+    public synchronized String remove(String refName) {
+        checkNotNull(refName);
+        String oldValue = get(refName);
+        if (oldValue != null) {
+            WriteBatch batch = new WriteBatch();
+            try {
+                batch.remove(refs(), key(refName));
+                write(batch);
+            } finally {
+                batch.close();
+            }
+        }
+        return oldValue;
+    }
+
+    /**
+     * @param name the name of the symbolic ref (e.g. {@code "HEAD"}, etc).
+     * @return the ref, or {@code null} if it doesn't exist
+     */
+    @Override
+    public String getSymRef(String name) {
+        checkNotNull(name);
+        String value = get(name);
+        if (value == null) {
+            return null;
+        }
+        if (!value.startsWith("ref: ")) {
+            throw new IllegalArgumentException(name + " is not a symbolic ref: '" + value + "'");
+        }
+        return value.substring("ref: ".length());
+    }
+
+    /**
+     * @param name the name of the symbolic ref
+     * @param val the value of the symbolic ref
+     */
+    @Override
+    public void putSymRef(String name, String val) {
+        checkNotNull(name);
+        checkNotNull(val);
+        put(name, "ref: " + val);
+    }
+
+    /**
+     * @return all known references but the ones in the transactions namespace, key'ed by ref name
+     */
+    @Override
+    public Map<String, String> getAll() {
+        Map<String, String> all = getAll("");
+        for (String name : getAll(TRANSACTIONS_PREFIX).keySet()) {
+            all.remove(name);
+        }
+        return all;
+    }
+
+    @Override
+    public Map<String, String> getAll(final String prefix) {
+        Preconditions.checkNotNull(prefix);
+        final ColumnFamilyHandle refs = refs();
+        Map<String, String> matches = Maps.newTreeMap();
+        RocksIterator it = dbHandle().db().newIterator(refs);
+        try {
+            // keys are sorted bytewise, so all the refs of the namespace are contiguous
+            for (it.seek(key(prefix)); it.isValid(); it.next()) {
+                String name = new String(it.key(), Charsets.UTF_8);
+                if (!name.startsWith(prefix)) {
+                    break;
+                }
+                matches.put(name, new String(it.value(), Charsets.UTF_8));
+            }
+        } finally {
+            it.close();
+        }
+        return matches;
+    }
+
+    @Override
+    public synchronized Map<String, String> removeAll(final String namespace) {
+        Map<String, String> removed = getAll(namespace);
+        if (!removed.isEmpty()) {
+            WriteBatch batch = new WriteBatch();
+            try {
+                for (String name : removed.keySet()) {
+                    batch.remove(refs(), key(name));
+                }
+                write(batch);
+            } finally {
+                batch.close();
+            }
+        }
+        return removed;
+    }
+
+    @Nullable
+    private String get(String name) {
+        byte[] value;
+        try {
+            value = dbHandle().db().get(refs(), key(name));
+        } catch (RocksDBException e) {
+            throw Throwables.propagate(e);
+        }
+        return value == null ? null : new String(value, Charsets.UTF_8);
+    }
+
+    private void put(String name, String value) {
+        WriteBatch batch = new WriteBatch();
+        try {
+            batch.put(refs(), key(name), value.getBytes(Charsets.UTF_8));
+            write(batch);
+        } finally {
+            batch.close();
+        }
+    }
+
+    private void write(WriteBatch batch) {
+        WriteOptions writeOptions = new WriteOptions();
+        writeOptions.setSync(true);
+        try {
+            dbHandle().db().write(writeOptions, batch);
+        } catch (RocksDBException e) {
+            throw Throwables.propagate(e);
+        } finally {
+            writeOptions.close();
+        }
+    }
+
+    private static byte[] key(String name) {
+        return name.getBytes(Charsets.UTF_8);
+    }
+
+    private DBHandle dbHandle() {
+        Preconditions.checkState(dbHandle != null, "Database is closed");
+        return dbHandle;
+    }
+
+    private ColumnFamilyHandle refs() {
+        Preconditions.checkState(refs != null, "Database is closed");
+        return refs;
+    }
+}
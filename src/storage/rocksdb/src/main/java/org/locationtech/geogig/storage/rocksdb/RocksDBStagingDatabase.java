@@ -0,0 +1,209 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.rocksdb;
+
+import static org.locationtech.geogig.storage.rocksdb.RocksDBStorage.FORMAT_NAME;
+import static org.locationtech.geogig.storage.rocksdb.RocksDBStorage.VERSION;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.locationtech.geogig.api.Platform;
+import org.locationtech.geogig.api.plumbing.merge.Conflict;
+import org.locationtech.geogig.repository.Hints;
+import org.locationtech.geogig.repository.RepositoryConnectionException;
+import org.locationtech.geogig.storage.AbstractStagingDatabase;
+import org.locationtech.geogig.storage.ConfigDatabase;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.inject.Inject;
+
+/**
+ * Staging database backed by RocksDB.
+ * <p>
+ * Staged objects are stored on a separate {@link RocksDBObjectDatabase} in the
+ * {@link RocksDBStorage#STAGING_DB index} directory, and conflicts in the {@code conflicts} column
+ * family of that same database, keyed by {@code <namespace>\0<path>} so that all the conflicts of a
+ * namespace, or those under a path filter, are a single range scan.
+ */
+public class RocksDBStagingDatabase extends AbstractStagingDatabase {
+
+    private static final byte SEPARATOR = 0;
+
+    private final ConfigDatabase configDB;
+
+    @Inject
+    public RocksDBStagingDatabase(final ObjectDatabase repositoryDb,
+            final ConfigDatabase configDB, final Platform platform, final Hints hints) {
+        super(Suppliers.ofInstance(repositoryDb), Suppliers.memoize(new StagingDbSupplier(
+                configDB, platform, hints)));
+        this.configDB = configDB;
+    }
+
+    private static class StagingDbSupplier implements Supplier<RocksDBObjectDatabase> {
+
+        private final ConfigDatabase configDB;
+
+        private final Platform platform;
+
+        private final Hints hints;
+
+        StagingDbSupplier(ConfigDatabase configDB, Platform platform, Hints hints) {
+            this.configDB = configDB;
+            this.platform = platform;
+            this.hints = hints;
+        }
+
+        @Override
+        public RocksDBObjectDatabase get() {
+            boolean readOnly = hints.getBoolean(Hints.STAGING_READ_ONLY);
+            return new RocksDBObjectDatabase(configDB, platform, readOnly,
+                    RocksDBStorage.STAGING_DB);
+        }
+    }
+
+    @Override
+    public void configure() throws RepositoryConnectionException {
+        RepositoryConnectionException.StorageType.STAGING.configure(configDB, FORMAT_NAME, VERSION);
+    }
+
+    @Override
+    public void checkConfig() throws RepositoryConnectionException {
+        RepositoryConnectionException.StorageType.STAGING.verify(configDB, FORMAT_NAME, VERSION);
+    }
+
+    private DBHandle handle() {
+        return ((RocksDBObjectDatabase) stagingDb).handle();
+    }
+
+    @Override
+    public boolean hasConflicts(@Nullable String namespace) {
+        DBHandle handle = handle();
+        byte[] prefix = key(namespace, "");
+        RocksIterator it = handle.db().newIterator(handle.column(DBHandle.CONFLICTS));
+        try {
+            it.seek(prefix);
+            return it.isValid() && hasPrefix(it.key(), prefix);
+        } finally {
+            it.close();
+        }
+    }
+
+    @Override
+    public Optional<Conflict> getConflict(@Nullable String namespace, String path) {
+        DBHandle handle = handle();
+        byte[] value;
+        try {
+            value = handle.db().get(handle.column(DBHandle.CONFLICTS), key(namespace, path));
+        } catch (RocksDBException e) {
+            throw Throwables.propagate(e);
+        }
+        if (value == null) {
+            return Optional.absent();
+        }
+        return Optional.of(Conflict.valueOf(new String(value, Charsets.UTF_8)));
+    }
+
+    @Override
+    public List<Conflict> getConflicts(@Nullable String namespace, @Nullable String pathFilter) {
+        DBHandle handle = handle();
+        byte[] prefix = key(namespace, pathFilter == null ? "" : pathFilter);
+        List<Conflict> conflicts = Lists.newArrayList();
+        RocksIterator it = handle.db().newIterator(handle.column(DBHandle.CONFLICTS));
+        try {
+            for (it.seek(prefix); it.isValid() && hasPrefix(it.key(), prefix); it.next()) {
+                conflicts.add(Conflict.valueOf(new String(it.value(), Charsets.UTF_8)));
+            }
+        } finally {
+            it.close();
+        }
+        return conflicts;
+    }
+
+    @Override
+    public void addConflict(@Nullable String namespace, Conflict conflict) {
+        DBHandle handle = handle();
+        byte[] key = key(namespace, conflict.getPath());
+        byte[] value = conflict.toString().getBytes(Charsets.UTF_8);
+        try {
+            handle.db().put(handle.column(DBHandle.CONFLICTS), key, value);
+        } catch (RocksDBException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    @Override
+    public void removeConflict(@Nullable String namespace, String path) {
+        DBHandle handle = handle();
+        try {
+            handle.db().remove(handle.column(DBHandle.CONFLICTS), key(namespace, path));
+        } catch (RocksDBException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    @Override
+    public void removeConflicts(@Nullable String namespace) {
+        final DBHandle handle = handle();
+        final RocksDB db = handle.db();
+        final ColumnFamilyHandle column = handle.column(DBHandle.CONFLICTS);
+        final byte[] prefix = key(namespace, "");
+        RocksIterator it = db.newIterator(column);
+        WriteBatch batch = new WriteBatch();
+        WriteOptions writeOptions = new WriteOptions();
+        try {
+            for (it.seek(prefix); it.isValid() && hasPrefix(it.key(), prefix); it.next()) {
+                batch.remove(column, it.key());
+            }
+            db.write(writeOptions, batch);
+        } catch (RocksDBException e) {
+            throw Throwables.propagate(e);
+        } finally {
+            it.close();
+            batch.close();
+            writeOptions.close();
+        }
+    }
+
+    private static byte[] key(@Nullable String namespace, String path) {
+        byte[] ns = (namespace == null ? "" : namespace).getBytes(Charsets.UTF_8);
+        byte[] p = path.getBytes(Charsets.UTF_8);
+        byte[] key = new byte[ns.length + 1 + p.length];
+        System.arraycopy(ns, 0, key, 0, ns.length);
+        key[ns.length] = SEPARATOR;
+        System.arraycopy(p, 0, key, ns.length + 1, p.length);
+        return key;
+    }
+
+    private static boolean hasPrefix(byte[] key, byte[] prefix) {
+        if (key.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (key[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
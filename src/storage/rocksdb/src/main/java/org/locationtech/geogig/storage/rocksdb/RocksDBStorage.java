@@ -0,0 +1,62 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.rocksdb;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+
+import org.locationtech.geogig.api.Platform;
+import org.locationtech.geogig.api.plumbing.ResolveGeogigDir;
+
+import com.google.common.base.Optional;
+
+/**
+ * Utility class for RocksDB storage.
+ */
+public class RocksDBStorage {
+
+    /**
+     * Format name used for configuration.
+     */
+    public static final String FORMAT_NAME = "rocksdb";
+
+    /**
+     * Implementation version.
+     */
+    public static final String VERSION = "0.1";
+
+    /**
+     * Name of the directory inside the .geogig folder holding the repository objects and commit
+     * graph
+     */
+    static final String REPOSITORY_DB = "objects.rocksdb";
+
+    /**
+     * Name of the directory inside the .geogig folder holding the staging area objects and
+     * conflicts
+     */
+    static final String STAGING_DB = "index.rocksdb";
+
+    /**
+     * Returns the .geogig directory for the platform object.
+     */
+    public static File geogigDir(Platform platform) {
+        Optional<URL> url = new ResolveGeogigDir(platform).call();
+        if (!url.isPresent()) {
+            throw new IllegalStateException("Unable to resolve .geogig directory");
+        }
+        try {
+            return new File(url.get().toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Error resolving .geogig directory", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.rocksdb;
+
+import org.locationtech.geogig.storage.GraphDatabase;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.locationtech.geogig.storage.RefDatabase;
+import org.locationtech.geogig.storage.StagingDatabase;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Scopes;
+
+/**
+ * Module for the RocksDB storage backend.
+ */
+public class RocksDBStorageModule extends AbstractModule {
+
+    @Override
+    protected void configure() {
+        bind(ObjectDatabase.class).to(RocksDBObjectDatabase.class).in(Scopes.SINGLETON);
+        bind(StagingDatabase.class).to(RocksDBStagingDatabase.class).in(Scopes.SINGLETON);
+        bind(GraphDatabase.class).to(RocksDBGraphDatabase.class).in(Scopes.SINGLETON);
+        bind(RefDatabase.class).to(RocksDBRefDatabase.class).in(Scopes.SINGLETON);
+    }
+
+}
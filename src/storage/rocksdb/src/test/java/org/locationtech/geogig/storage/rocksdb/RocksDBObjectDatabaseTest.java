@@ -0,0 +1,152 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.rocksdb;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevFeature;
+import org.locationtech.geogig.api.RevFeatureImpl;
+import org.locationtech.geogig.api.RevObject;
+import org.locationtech.geogig.api.RevTree;
+import org.locationtech.geogig.api.TestPlatform;
+import org.locationtech.geogig.repository.Hints;
+import org.locationtech.geogig.storage.BulkOpListener;
+import org.locationtech.geogig.storage.BulkOpListener.CountingListener;
+import org.locationtech.geogig.storage.ConfigDatabase;
+import org.locationtech.geogig.storage.ObjectDatabase;
+import org.locationtech.geogig.storage.fs.IniFileConfigDatabase;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+public class RocksDBObjectDatabaseTest extends Assert {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TestPlatform platform;
+
+    private Hints hints;
+
+    private ObjectDatabase db;
+
+    @Before
+    public void setUp() {
+        File root = folder.getRoot();
+        folder.newFolder(".geogig");
+        File home = folder.newFolder("home");
+        platform = new TestPlatform(root);
+        platform.setUserHome(home);
+        hints = new Hints();
+    }
+
+    private ObjectDatabase createDb() {
+        ConfigDatabase configDB = new IniFileConfigDatabase(platform);
+        RocksDBObjectDatabase db = new RocksDBObjectDatabase(configDB, platform, hints);
+        db.open();
+        return db;
+    }
+
+    @After
+    public void tearDown() {
+        if (db != null) {
+            db.close();
+        }
+    }
+
+    @Test
+    public void testReadOnlyHint() {
+        hints.set(Hints.OBJECTS_READ_ONLY, Boolean.TRUE);
+        db = createDb();
+        RevObject obj = RevTree.EMPTY;
+        try {
+            db.put(obj);
+            fail("Expected UOE on read only hint");
+        } catch (UnsupportedOperationException e) {
+            assertTrue(true);
+        }
+    }
+
+    @Test
+    public void testPutGet() {
+        db = createDb();
+        RevObject obj = RevTree.EMPTY;
+        assertFalse(db.exists(obj.getId()));
+        assertTrue(db.put(obj));
+        assertFalse(db.put(obj));
+        assertTrue(db.exists(obj.getId()));
+        assertEquals(obj, db.get(obj.getId()));
+        assertNull(db.getIfPresent(ObjectId.forString("not there")));
+    }
+
+    @Test
+    public void testSharedHandle() {
+        db = createDb();
+        ObjectDatabase db2 = createDb();
+        RevObject obj = RevTree.EMPTY;
+        assertTrue(db.put(obj));
+        db2.close();
+        assertEquals(obj, db.get(obj.getId()));
+    }
+
+    @Test
+    public void testBulkOperations() {
+        // several write batches
+        new IniFileConfigDatabase(platform).put("rocksdb.bulkpartition", 100);
+        db = createDb();
+
+        List<RevObject> objects = Lists.newArrayList();
+        List<ObjectId> ids = Lists.newArrayList();
+        for (int i = 0; i < 1000; i++) {
+            RevFeature f = RevFeatureImpl.build(ImmutableList.<Optional<Object>> of(
+                    Optional.<Object> of("feature-" + i), Optional.<Object> of(i)));
+            objects.add(f);
+            ids.add(f.getId());
+        }
+
+        CountingListener listener = BulkOpListener.newCountingListener();
+        db.putAll(objects.iterator(), listener);
+        assertEquals(objects.size(), listener.inserted());
+
+        listener = BulkOpListener.newCountingListener();
+        db.putAll(objects.iterator(), listener);
+        assertEquals(0, listener.inserted());
+        assertEquals(objects.size(), listener.found());
+
+        // getAll preserves the requested order and reports missing ids
+        List<ObjectId> query = Lists.newArrayList(ids);
+        query.add(1, ObjectId.forString("missing"));
+        listener = BulkOpListener.newCountingListener();
+        Iterator<RevObject> it = db.getAll(query, listener);
+        assertEquals(objects, Lists.newArrayList(it));
+        assertEquals(objects.size(), listener.found());
+        assertEquals(1, listener.notFound());
+
+        ObjectId first = ids.get(0);
+        assertTrue(db.lookUp(first.toString().substring(0, 10)).contains(first));
+
+        listener = BulkOpListener.newCountingListener();
+        assertEquals(objects.size(), db.deleteAll(ids.iterator(), listener));
+        assertEquals(objects.size(), listener.deleted());
+        for (ObjectId id : ids) {
+            assertFalse(db.exists(id));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.storage.rocksdb;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.Ref;
+import org.locationtech.geogig.api.TestPlatform;
+import org.locationtech.geogig.storage.ConfigDatabase;
+import org.locationtech.geogig.storage.RefDatabase;
+import org.locationtech.geogig.storage.fs.IniFileConfigDatabase;
+
+import com.google.common.collect.ImmutableMap;
+
+public class RocksDBRefDatabaseTest extends Assert {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TestPlatform platform;
+
+    private RefDatabase db;
+
+    private String id1, id2;
+
+    @Before
+    public void setUp() {
+        File root = folder.getRoot();
+        folder.newFolder(".geogig");
+        File home = folder.newFolder("home");
+        platform = new TestPlatform(root);
+        platform.setUserHome(home);
+        db = createDb();
+        id1 = ObjectId.forString("1").toString();
+        id2 = ObjectId.forString("2").toString();
+    }
+
+    private RefDatabase createDb() {
+        ConfigDatabase configDB = new IniFileConfigDatabase(platform);
+        RocksDBRefDatabase db = new RocksDBRefDatabase(platform, configDB);
+        db.create();
+        return db;
+    }
+
+    @After
+    public void tearDown() {
+        if (db != null) {
+            db.close();
+        }
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        assertNull(db.getRef(Ref.MASTER));
+        db.putRef(Ref.MASTER, id1);
+        db.putSymRef(Ref.HEAD, Ref.MASTER);
+        assertEquals(id1, db.getRef(Ref.MASTER));
+        assertEquals(Ref.MASTER, db.getSymRef(Ref.HEAD));
+
+        assertEquals(id1, db.remove(Ref.MASTER));
+        assertNull(db.getRef(Ref.MASTER));
+        assertNull(db.remove(Ref.MASTER));
+    }
+
+    @Test
+    public void testRefsSurviveReopening() {
+        db.putRef(Ref.MASTER, id1);
+        db.close();
+        db = createDb();
+        assertEquals(id1, db.getRef(Ref.MASTER));
+    }
+
+    @Test
+    public void testNamespaces() {
+        final String txBranch = Ref.TRANSACTIONS_PREFIX + "tx1/" + Ref.MASTER;
+        db.putRef(Ref.MASTER, id1);
+        db.putRef(Ref.HEADS_PREFIX + "branch1", id2);
+        db.putRef(Ref.REMOTES_PREFIX + "origin/master", id2);
+        db.putRef(txBranch, id2);
+
+        assertEquals(ImmutableMap.of(Ref.MASTER, id1, Ref.HEADS_PREFIX + "branch1", id2),
+                db.getAll(Ref.HEADS_PREFIX));
+        assertEquals(3, db.getAll().size());
+        assertFalse(db.getAll().containsKey(txBranch));
+
+        assertEquals(ImmutableMap.of(txBranch, id2), db.removeAll(Ref.TRANSACTIONS_PREFIX));
+        assertNull(db.getRef(txBranch));
+        assertEquals(id2, db.getRef(Ref.REMOTES_PREFIX + "origin/master"));
+    }
+}
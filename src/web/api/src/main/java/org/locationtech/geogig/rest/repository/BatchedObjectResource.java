@@ -25,6 +25,7 @@ import org.locationtech.geogig.api.plumbing.CreateDeduplicator;
 import org.locationtech.geogig.remote.BinaryPackedObjects;
 import org.locationtech.geogig.remote.ObjectFunnel;
 import org.locationtech.geogig.remote.ObjectFunnels;
+import org.locationtech.geogig.remote.PipelinedPackFormat;
 import org.locationtech.geogig.repository.Repository;
 import org.locationtech.geogig.storage.Deduplicator;
 import org.locationtech.geogig.storage.datastream.DataStreamSerializationFactoryV1;
@@ -39,6 +40,7 @@ import org.restlet.resource.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Suppliers;
 import com.google.common.base.Throwables;
 import com.google.common.io.CountingOutputStream;
 import com.google.gson.JsonArray;
@@ -86,9 +88,13 @@ public class BatchedObjectResource extends Finder {
             LOGGER.info("Serving request to send objects based on message {}", messageJson);
             final List<ObjectId> want = new ArrayList<ObjectId>();
             final List<ObjectId> have = new ArrayList<ObjectId>();
+            boolean pipelined = false;
 
             if (messageJson.isJsonObject()) {
                 final JsonObject message = messageJson.getAsJsonObject();
+                if (message.has("pipelined") && message.get("pipelined").isJsonPrimitive()) {
+                    pipelined = message.get("pipelined").getAsBoolean();
+                }
                 final JsonArray wantArray;
                 final JsonArray haveArray;
                 if (message.has("want") && message.get("want").isJsonArray()) {
@@ -119,7 +125,8 @@ public class BatchedObjectResource extends Finder {
             final Deduplicator deduplicator = ggit.command(CreateDeduplicator.class).call();
 
             BinaryPackedObjects packer = new BinaryPackedObjects(repository.stagingDatabase());
-            Representation rep = new RevObjectBinaryRepresentation(packer, want, have, deduplicator);
+            Representation rep = new RevObjectBinaryRepresentation(packer, want, have,
+                    deduplicator, pipelined);
             Response response = getResponse();
             response.setEntity(rep);
         }
@@ -134,17 +141,21 @@ public class BatchedObjectResource extends Finder {
 
         private Deduplicator deduplicator;
 
+        private final boolean pipelined;
+
         public RevObjectBinaryRepresentation( //
                 BinaryPackedObjects packer, //
                 List<ObjectId> want, //
                 List<ObjectId> have, //
-                Deduplicator deduplicator) //
+                Deduplicator deduplicator, //
+                boolean pipelined) //
         {
             super(MediaType.APPLICATION_OCTET_STREAM);
             this.packer = packer;
             this.want = want;
             this.have = have;
             this.deduplicator = deduplicator;
+            this.pipelined = pipelined;
         }
 
         @Override
@@ -153,8 +164,15 @@ public class BatchedObjectResource extends Finder {
             OutputStream output = counting;
             try {
                 ObjectFunnel funnel;
-                funnel = ObjectFunnels.newFunnel(output, DataStreamSerializationFactoryV1.INSTANCE);
-                packer.write(funnel, want, have, false, deduplicator);
+                if (pipelined) {
+                    funnel = PipelinedPackFormat.newFunnel(Suppliers.ofInstance(output),
+                            DataStreamSerializationFactoryV1.INSTANCE, Integer.MAX_VALUE,
+                            PipelinedPackFormat.DEFAULT_WORKERS);
+                } else {
+                    funnel = ObjectFunnels.newFunnel(output,
+                            DataStreamSerializationFactoryV1.INSTANCE);
+                }
+                packer.writeIncremental(funnel, want, have, false, deduplicator);
                 counting.flush();
                 funnel.close();
             } catch (IOException e) {
@@ -20,12 +20,13 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
 
+import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.locationtech.geogig.api.GeoGIG;
 import org.locationtech.geogig.api.ObjectId;
 import org.locationtech.geogig.api.RepositoryFilter;
 import org.locationtech.geogig.api.RevCommit;
+import org.locationtech.geogig.api.plumbing.DiffTree;
 import org.locationtech.geogig.api.plumbing.diff.DiffEntry;
-import org.locationtech.geogig.api.porcelain.DiffOp;
 import org.locationtech.geogig.remote.BinaryPackedChanges;
 import org.locationtech.geogig.remote.FilteredDiffIterator;
 import org.locationtech.geogig.repository.Repository;
@@ -154,9 +155,16 @@ public class FilteredChangesResource extends Finder {
                     parent = commit.getParentIds().get(0);
                 }
 
-                Iterator<DiffEntry> changes = ggit.command(DiffOp.class)
-                        .setNewVersion(commit.getId()).setOldVersion(parent).setReportTrees(true)
-                        .call();
+                // Prune the trees, buckets, and features outside the filter bounds before
+                // loading any feature. Only safe if the client doesn't track any of the features
+                // changed by this commit, as those have to be sent wherever they are.
+                ReferencedEnvelope bounds = null;
+                if (tracked.isEmpty()) {
+                    bounds = filter.getBounds().orNull();
+                }
+                Iterator<DiffEntry> changes = ggit.command(DiffTree.class)
+                        .setOldVersion(parent.toString()).setNewVersion(commit.getId().toString())
+                        .setBoundsFilter(bounds).setReportTrees(true).call();
                 FilteredDiffIterator filteredChanges = new FilteredDiffIterator(changes,
                         repository, filter) {
                     @Override
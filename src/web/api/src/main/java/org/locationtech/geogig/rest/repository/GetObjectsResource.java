@@ -0,0 +1,93 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.rest.repository;
+
+import static org.locationtech.geogig.rest.repository.RESTUtils.getGeogig;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+
+import org.locationtech.geogig.api.GeoGIG;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevObject;
+import org.locationtech.geogig.remote.ObjectFunnel;
+import org.locationtech.geogig.remote.ObjectFunnels;
+import org.locationtech.geogig.repository.Repository;
+import org.locationtech.geogig.rest.RestletException;
+import org.locationtech.geogig.storage.datastream.DataStreamSerializationFactoryV1;
+import org.restlet.data.MediaType;
+import org.restlet.data.Status;
+import org.restlet.resource.OutputRepresentation;
+import org.restlet.resource.Representation;
+import org.restlet.resource.Resource;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+/**
+ * Returns a batch of objects in a single response, as opposed to {@link ObjectFinder} which
+ * returns one object per request.
+ * <p>
+ * The request body holds one object id per line. The response is the stream of
+ * {@code <raw object id><serialized object>} pairs for the requested objects that exist, in the
+ * same format used to transfer objects on fetch and push. Unlike {@link BatchedObjectResource},
+ * only the requested objects are returned, not their contents.
+ */
+public class GetObjectsResource extends Resource {
+
+    @Override
+    public boolean allowPost() {
+        return true;
+    }
+
+    @Override
+    public void post(Representation entity) {
+        Optional<GeoGIG> ggit = getGeogig(getRequest());
+        Preconditions.checkState(ggit.isPresent());
+        final Repository repository = ggit.get().getRepository();
+
+        final List<ObjectId> ids = Lists.newArrayList();
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(entity.getStream(),
+                    Charsets.UTF_8));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        ids.add(ObjectId.valueOf(line));
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            throw new RestletException(e.getMessage(), Status.SERVER_ERROR_INTERNAL, e);
+        }
+
+        getResponse().setEntity(new OutputRepresentation(MediaType.APPLICATION_OCTET_STREAM) {
+            @Override
+            public void write(OutputStream out) throws IOException {
+                ObjectFunnel funnel = ObjectFunnels.newFunnel(out,
+                        DataStreamSerializationFactoryV1.INSTANCE);
+                Iterator<RevObject> objects = repository.objectDatabase().getAll(ids);
+                while (objects.hasNext()) {
+                    funnel.funnel(objects.next());
+                }
+                funnel.close();
+            }
+        });
+    }
+}
@@ -14,6 +14,7 @@ import static org.locationtech.geogig.rest.repository.RESTUtils.getGeogig;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.Writer;
 import java.util.List;
 
 import org.locationtech.geogig.api.GeoGIG;
@@ -70,39 +71,49 @@ public class ManifestResource extends Resource {
 
             boolean remotes = Boolean.valueOf(options.getFirstValue("remotes", "false"));
 
-            ImmutableList<Ref> refs = ggit.command(BranchListOp.class).setRemotes(remotes).call();
-            ImmutableList<RevTag> tags = ggit.command(TagListOp.class).call();
+            writeManifest(ggit, remotes, w);
+            w.flush();
+        }
+    }
 
-            // Print out HEAD first
-            final Ref currentHead = ggit.command(RefParse.class).setName(Ref.HEAD).call().get();
-            if (!currentHead.getObjectId().equals(ObjectId.NULL)) {
-                w.write(currentHead.getName() + " ");
-                if (currentHead instanceof SymRef) {
-                    w.write(((SymRef) currentHead).getTarget());
-                }
-                w.write(" ");
-                w.write(currentHead.getObjectId().toString());
-                w.write("\n");
+    /**
+     * Writes the repository's HEAD, branches, and tags, one per line, as
+     * {@code <name> [<symref target>] <object id>}.
+     * 
+     * @param remotes whether to include the remote tracking branches
+     */
+    static void writeManifest(GeoGIG ggit, boolean remotes, Writer w) throws IOException {
+        ImmutableList<Ref> refs = ggit.command(BranchListOp.class).setRemotes(remotes).call();
+        ImmutableList<RevTag> tags = ggit.command(TagListOp.class).call();
+
+        // Print out HEAD first
+        final Ref currentHead = ggit.command(RefParse.class).setName(Ref.HEAD).call().get();
+        if (!currentHead.getObjectId().equals(ObjectId.NULL)) {
+            w.write(currentHead.getName() + " ");
+            if (currentHead instanceof SymRef) {
+                w.write(((SymRef) currentHead).getTarget());
             }
+            w.write(" ");
+            w.write(currentHead.getObjectId().toString());
+            w.write("\n");
+        }
 
-            // Print out the local branches
-            for (Ref ref : refs) {
-                if (!ref.getObjectId().equals(ObjectId.NULL)) {
-                    w.write(ref.getName());
-                    w.write(" ");
-                    w.write(ref.getObjectId().toString());
-                    w.write("\n");
-                }
-            }
-            // Print out the tags
-            for (RevTag tag : tags) {
-                w.write("refs/tags/");
-                w.write(tag.getName());
+        // Print out the local branches
+        for (Ref ref : refs) {
+            if (!ref.getObjectId().equals(ObjectId.NULL)) {
+                w.write(ref.getName());
                 w.write(" ");
-                w.write(tag.getId().toString());
+                w.write(ref.getObjectId().toString());
                 w.write("\n");
             }
-            w.flush();
+        }
+        // Print out the tags
+        for (RevTag tag : tags) {
+            w.write("refs/tags/");
+            w.write(tag.getName());
+            w.write(" ");
+            w.write(tag.getId().toString());
+            w.write("\n");
         }
     }
 }
@@ -0,0 +1,70 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.rest.repository;
+
+import static org.locationtech.geogig.rest.repository.RESTUtils.getGeogig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.locationtech.geogig.api.GeoGIG;
+import org.locationtech.geogig.remote.FetchNegotiation;
+import org.locationtech.geogig.repository.Repository;
+import org.locationtech.geogig.rest.RestletException;
+import org.restlet.data.MediaType;
+import org.restlet.data.Status;
+import org.restlet.resource.OutputRepresentation;
+import org.restlet.resource.Representation;
+import org.restlet.resource.Resource;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+
+/**
+ * Answers the rounds of a {@link FetchNegotiation}, through which clients find out which commits
+ * to ask {@link BatchedObjectResource} for, instead of checking the history of the repository
+ * commit by commit.
+ */
+public class NegotiateResource extends Resource {
+
+    @Override
+    public boolean allowPost() {
+        return true;
+    }
+
+    @Override
+    public void post(Representation entity) {
+        Optional<GeoGIG> ggit = getGeogig(getRequest());
+        Preconditions.checkState(ggit.isPresent());
+        final Repository repository = ggit.get().getRepository();
+
+        final FetchNegotiation.Request request;
+        try {
+            InputStream in = entity.getStream();
+            try {
+                request = FetchNegotiation.readRequest(in);
+            } finally {
+                in.close();
+            }
+        } catch (IllegalArgumentException e) {
+            throw new RestletException(e.getMessage(), Status.CLIENT_ERROR_BAD_REQUEST, e);
+        } catch (IOException e) {
+            throw new RestletException(e.getMessage(), Status.SERVER_ERROR_INTERNAL, e);
+        }
+
+        getResponse().setEntity(new OutputRepresentation(MediaType.APPLICATION_OCTET_STREAM) {
+            @Override
+            public void write(OutputStream out) throws IOException {
+                FetchNegotiation.writeResponse(repository, request, out);
+            }
+        });
+    }
+}
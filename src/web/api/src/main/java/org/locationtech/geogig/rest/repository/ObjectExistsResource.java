@@ -11,22 +11,29 @@ package org.locationtech.geogig.rest.repository;
 
 import static org.locationtech.geogig.rest.repository.RESTUtils.getGeogig;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.Writer;
 import java.util.List;
 
 import org.locationtech.geogig.api.GeoGIG;
 import org.locationtech.geogig.api.ObjectId;
 import org.locationtech.geogig.repository.Repository;
+import org.locationtech.geogig.rest.RestletException;
 import org.locationtech.geogig.rest.WriterRepresentation;
 import org.restlet.Context;
 import org.restlet.data.Form;
 import org.restlet.data.MediaType;
 import org.restlet.data.Request;
 import org.restlet.data.Response;
+import org.restlet.data.Status;
+import org.restlet.resource.Representation;
 import org.restlet.resource.Resource;
+import org.restlet.resource.StringRepresentation;
 import org.restlet.resource.Variant;
 
+import com.google.common.base.Charsets;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 
@@ -43,6 +50,44 @@ public class ObjectExistsResource extends Resource {
         variants.add(new ObjectExistsRepresentation());
     }
 
+    /**
+     * Batched form of the existence query: the request body holds one object id per line, and
+     * the response one line per id, {@code 1} if the object exists and {@code 0} otherwise.
+     */
+    @Override
+    public boolean allowPost() {
+        return true;
+    }
+
+    @Override
+    public void post(Representation entity) {
+        Optional<GeoGIG> ggit = getGeogig(getRequest());
+        Preconditions.checkState(ggit.isPresent());
+        Repository repository = ggit.get().getRepository();
+
+        StringBuilder response = new StringBuilder();
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(entity.getStream(),
+                    Charsets.UTF_8));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    boolean exists = repository.blobExists(ObjectId.valueOf(line));
+                    response.append(exists ? '1' : '0').append('\n');
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            throw new RestletException(e.getMessage(), Status.SERVER_ERROR_INTERNAL, e);
+        }
+        getResponse().setEntity(
+                new StringRepresentation(response.toString(), MediaType.TEXT_PLAIN));
+    }
+
     private class ObjectExistsRepresentation extends WriterRepresentation {
         public ObjectExistsRepresentation() {
             super(MediaType.TEXT_PLAIN);
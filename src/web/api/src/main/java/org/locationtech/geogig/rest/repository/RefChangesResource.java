@@ -0,0 +1,105 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.rest.repository;
+
+import static org.locationtech.geogig.rest.repository.RESTUtils.getGeogig;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.geogig.api.GeoGIG;
+import org.locationtech.geogig.rest.RestletException;
+import org.restlet.Context;
+import org.restlet.data.Form;
+import org.restlet.data.MediaType;
+import org.restlet.data.Request;
+import org.restlet.data.Response;
+import org.restlet.data.Status;
+import org.restlet.resource.Representation;
+import org.restlet.resource.Resource;
+import org.restlet.resource.StringRepresentation;
+import org.restlet.resource.Variant;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+
+/**
+ * Long polling alternative to {@link ManifestResource} for clients that want to be notified of ref
+ * changes as they happen instead of polling the manifest.
+ * <p>
+ * The request holds the {@code version} of the refs the client already knows about, as returned
+ * by a previous call, and optionally how many seconds to wait for them to change ({@code timeout},
+ * defaults to {@value #DEFAULT_TIMEOUT_SECONDS}, at most {@value #MAX_TIMEOUT_SECONDS}). The
+ * response is sent as soon as the refs differ from that version, or once the timeout expires. Its
+ * first line is {@code version <version>}; if the refs changed, or no version was given, it's
+ * followed by the refs in the same format as the manifest.
+ * <p>
+ * Waiting happens server side through the repository's {@link RefVersionWatcher}, which checks
+ * the local ref database once for all the waiting clients, so clients only hit the network once per
+ * change or timeout. Each waiting client still holds a request thread, hence the short maximum
+ * timeout and the limit of {@value RefVersionWatcher#MAX_WAITERS} clients per repository, past
+ * which requests are answered with {@code 503 Service Unavailable}.
+ */
+public class RefChangesResource extends Resource {
+
+    static final int DEFAULT_TIMEOUT_SECONDS = 30;
+
+    static final int MAX_TIMEOUT_SECONDS = 60;
+
+    @Override
+    public void init(Context context, Request request, Response response) {
+        super.init(context, request, response);
+        List<Variant> variants = getVariants();
+        variants.add(new Variant(MediaType.TEXT_PLAIN));
+    }
+
+    /**
+     * Waits for the refs to change before returning the representation, so that an invalid
+     * timeout or too many waiting clients are reported through the response status
+     */
+    @Override
+    public Representation getRepresentation(Variant variant) {
+        final Request request = getRequest();
+        Optional<GeoGIG> geogig = getGeogig(request);
+        Preconditions.checkState(geogig.isPresent());
+        GeoGIG ggit = geogig.get();
+
+        Form options = request.getResourceRef().getQueryAsForm();
+        final String knownVersion = options.getFirstValue("version");
+        final int timeoutSeconds;
+        try {
+            timeoutSeconds = Integer.parseInt(options.getFirstValue("timeout",
+                    String.valueOf(DEFAULT_TIMEOUT_SECONDS)));
+        } catch (NumberFormatException e) {
+            throw new RestletException("Invalid timeout", Status.CLIENT_ERROR_BAD_REQUEST, e);
+        }
+        if (timeoutSeconds < 0) {
+            throw new RestletException("Invalid timeout: " + timeoutSeconds,
+                    Status.CLIENT_ERROR_BAD_REQUEST);
+        }
+
+        final RefVersionWatcher.Refs refs;
+        try {
+            refs = RefVersionWatcher.of(ggit).await(ggit, knownVersion,
+                    TimeUnit.SECONDS.toMillis(Math.min(MAX_TIMEOUT_SECONDS, timeoutSeconds)));
+        } catch (IllegalStateException e) {
+            throw new RestletException(e.getMessage(), Status.SERVER_ERROR_SERVICE_UNAVAILABLE, e);
+        } catch (IOException e) {
+            throw new RestletException("Error reading refs", Status.SERVER_ERROR_INTERNAL, e);
+        }
+
+        StringBuilder sb = new StringBuilder("version ").append(refs.version).append('\n');
+        if (!refs.version.equals(knownVersion)) {
+            sb.append(refs.manifest);
+        }
+        return new StringRepresentation(sb.toString(), MediaType.TEXT_PLAIN);
+    }
+}
@@ -0,0 +1,209 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.rest.repository;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import org.locationtech.geogig.api.GeoGIG;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.repository.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Keeps track of the version of a repository's refs on behalf of all the {@link RefChangesResource}
+ * requests waiting on it.
+ * <p>
+ * There's a single watcher per repository. While it has waiters, it checks the refs every
+ * {@value #CHECK_INTERVAL_MILLIS}ms from a thread shared by all the watchers, and wakes up the
+ * waiters when their version changes. Once the last waiter leaves, the checks stop and the watcher
+ * lets go of the repository.
+ * <p>
+ * The cost of a check doesn't depend on the number of waiters: it's a listing of the ref database,
+ * and only if that changed since the previous check, a rebuild of the manifest, which also reads
+ * the tag objects. So an idle repository costs one ref listing per interval while anyone waits on
+ * it, and nothing otherwise.
+ */
+class RefVersionWatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefVersionWatcher.class);
+
+    static final long CHECK_INTERVAL_MILLIS = 250;
+
+    /**
+     * Maximum number of requests waiting on the refs of a single repository, so that long polling
+     * clients can't take all the request handling threads
+     */
+    static final int MAX_WAITERS = 64;
+
+    private static final ScheduledExecutorService CHECKS = Executors
+            .newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setDaemon(true)
+                    .setNameFormat("GeoGIG ref changes").build());
+
+    private static final CacheLoader<Repository, RefVersionWatcher> NEW_WATCHER = new CacheLoader<Repository, RefVersionWatcher>() {
+        @Override
+        public RefVersionWatcher load(Repository repository) {
+            return new RefVersionWatcher();
+        }
+    };
+
+    /**
+     * Watchers hold no reference to their repository while idle, so weak keys let both go once
+     * the repository is no longer in use
+     */
+    private static final LoadingCache<Repository, RefVersionWatcher> WATCHERS = CacheBuilder
+            .newBuilder().weakKeys().build(NEW_WATCHER);
+
+    /**
+     * The refs of a repository at a given point in time
+     */
+    static class Refs {
+
+        final String version;
+
+        final String manifest;
+
+        Refs(String manifest) {
+            this.manifest = manifest;
+            this.version = ObjectId.forString(manifest).toString();
+        }
+    }
+
+    private Refs current;
+
+    /**
+     * The contents of the ref database {@link #current} was built from
+     */
+    private Map<String, String> currentRefs;
+
+    private int waiters;
+
+    @Nullable
+    private GeoGIG geogig;
+
+    @Nullable
+    private ScheduledFuture<?> checks;
+
+    private RefVersionWatcher() {
+        //
+    }
+
+    /**
+     * @return the watcher of the refs of {@code geogig}'s repository
+     */
+    static RefVersionWatcher of(GeoGIG geogig) {
+        return WATCHERS.getUnchecked(geogig.getRepository());
+    }
+
+    /**
+     * Waits until the version of the refs differs from {@code knownVersion}, or the timeout
+     * expires.
+     *
+     * @param knownVersion the version of the refs the caller already knows about, or {@code null}
+     * @return the refs after the change, or the current ones if they didn't change before the
+     *         timeout
+     * @throws IllegalStateException if there are already {@value #MAX_WAITERS} waiters
+     */
+    synchronized Refs await(GeoGIG geogig, @Nullable String knownVersion, long timeoutMillis)
+            throws IOException {
+        if (waiters == 0) {
+            // nobody kept track of the refs since the last waiter left
+            currentRefs = refs(geogig);
+            current = new Refs(manifest(geogig));
+        }
+        if (current.version.equals(knownVersion) && timeoutMillis > 0) {
+            if (waiters == MAX_WAITERS) {
+                throw new IllegalStateException("Too many clients waiting for ref changes");
+            }
+            if (waiters++ == 0) {
+                this.geogig = geogig;
+                this.checks = CHECKS.scheduleWithFixedDelay(new Check(), CHECK_INTERVAL_MILLIS,
+                        CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            try {
+                final long deadline = System.currentTimeMillis() + timeoutMillis;
+                long remaining = timeoutMillis;
+                while (current.version.equals(knownVersion) && remaining > 0) {
+                    wait(remaining);
+                    remaining = deadline - System.currentTimeMillis();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (--waiters == 0) {
+                    checks.cancel(false);
+                    checks = null;
+                    this.geogig = null;
+                }
+            }
+        }
+        return current;
+    }
+
+    private class Check implements Runnable {
+
+        @Override
+        public void run() {
+            final GeoGIG geogig;
+            synchronized (RefVersionWatcher.this) {
+                geogig = RefVersionWatcher.this.geogig;
+            }
+            if (geogig == null) {
+                return;
+            }
+            final Map<String, String> rawRefs;
+            final Refs refs;
+            try {
+                rawRefs = refs(geogig);
+                synchronized (RefVersionWatcher.this) {
+                    if (rawRefs.equals(currentRefs)) {
+                        return;
+                    }
+                }
+                refs = new Refs(manifest(geogig));
+            } catch (Exception e) {
+                LOGGER.warn("Error checking for ref changes", e);
+                return;
+            }
+            synchronized (RefVersionWatcher.this) {
+                if (waiters > 0) {
+                    currentRefs = rawRefs;
+                    if (!refs.version.equals(current.version)) {
+                        current = refs;
+                        RefVersionWatcher.this.notifyAll();
+                    }
+                }
+            }
+        }
+    }
+
+    private static Map<String, String> refs(GeoGIG geogig) {
+        return geogig.getRepository().refDatabase().getAll();
+    }
+
+    private static String manifest(GeoGIG geogig) throws IOException {
+        StringWriter w = new StringWriter();
+        ManifestResource.writeManifest(geogig, false, w);
+        return w.toString();
+    }
+}
@@ -19,8 +19,11 @@ public class RepositoryRouter extends Router {
         attach("/manifest", ManifestResource.class);
         attach("/objects/{id}", new ObjectFinder());
         attach("/batchobjects", new BatchedObjectResource());
+        attach("/negotiate", NegotiateResource.class);
         attach("/sendobject", SendObjectResource.class);
         attach("/exists", ObjectExistsResource.class);
+        attach("/getobjects", GetObjectsResource.class);
+        attach("/refchanges", RefChangesResource.class);
         attach("/beginpush", BeginPush.class);
         attach("/endpush", EndPush.class);
         attach("/getdepth", DepthResource.class);
@@ -18,6 +18,8 @@ import org.locationtech.geogig.api.GeoGIG;
 import org.locationtech.geogig.remote.BinaryPackedObjects;
 import org.locationtech.geogig.remote.BinaryPackedObjects.IngestResults;
 import org.locationtech.geogig.rest.RestletException;
+import org.locationtech.geogig.web.api.commands.PushManager;
+import org.restlet.data.Form;
 import org.restlet.data.Request;
 import org.restlet.data.Status;
 import org.restlet.resource.Representation;
@@ -46,6 +48,14 @@ public class SendObjectResource extends Resource {
         InputStream input = null;
 
         Request request = getRequest();
+        // same combined address as BeginPush, so the push isn't ended while this batch is still
+        // being ingested; clients may send several batches of a push concurrently
+        Form options = request.getResourceRef().getQueryAsForm();
+        final PushManager pushManager = PushManager.get();
+        final String ipAddress = pushManager.pushAddress(request.getClientInfo().getAddress(),
+                options.getFirstValue("internalIp"));
+        pushManager.batchBegin(ipAddress);
+        boolean succeeded = false;
         try {
             LOGGER.info("Receiving objects from {}", request.getClientInfo().getAddress());
             Representation representation = request.getEntity();
@@ -64,12 +74,14 @@ public class SendObjectResource extends Resource {
                     .format("SendObjectResource: Processed %,d objects.\nInserted: %,d.\nExisting: %,d.\nTime to process: %s.\nStream size: %,d bytes.\n",
                             ingestResults.total(), ingestResults.getInserted(),
                             ingestResults.getExisting(), sw, countingStream.getCount()));
+            succeeded = true;
 
         } catch (IOException e) {
             LOGGER.warn("Error processing incoming objects from {}", request.getClientInfo()
                     .getAddress(), e);
             throw new RestletException(e.getMessage(), Status.SERVER_ERROR_INTERNAL, e);
         } finally {
+            pushManager.batchEnd(ipAddress, succeeded);
             if (input != null)
                 Closeables.closeQuietly(input);
         }
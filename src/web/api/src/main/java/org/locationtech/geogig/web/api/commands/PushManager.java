@@ -12,8 +12,13 @@ package org.locationtech.geogig.web.api.commands;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
 
 import org.locationtech.geogig.api.GeoGIG;
 import org.locationtech.geogig.api.GeogigTransaction;
@@ -40,14 +45,32 @@ public class PushManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PushManager.class);
 
+    /**
+     * How long {@link #connectionSucceeded} waits for the object batches still being ingested
+     */
+    private static final long BATCH_WAIT_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
     private Set<String> incomingIPs;
 
+    /**
+     * Object batches being ingested, and whether any failed, per pushing address. Guarded by
+     * {@code this}.
+     */
+    private final Map<String, BatchCounter> batches = new HashMap<String, BatchCounter>();
+
     private static PushManager instance = new PushManager();
 
     private PushManager() {
         incomingIPs = Collections.synchronizedSet(new HashSet<String>());
     }
 
+    private static class BatchCounter {
+
+        int inFlight;
+
+        int failed;
+    }
+
     /**
      * @return the singleton instance of the {@code PushManager}
      */
@@ -68,6 +91,109 @@ public class PushManager {
             // Fail?
         }
         incomingIPs.add(ipAddress);
+        synchronized (this) {
+            BatchCounter counter = batches.get(ipAddress);
+            if (counter == null || counter.inFlight == 0) {
+                batches.remove(ipAddress);
+            } else {
+                counter.failed = 0;
+            }
+        }
+    }
+
+    /**
+     * Builds the combined address pushes and their object batches are tracked by, out of the
+     * address a request came from and the internal address the client reported.
+     * <p>
+     * Clients that don't report their internal address in every request of a push get the address
+     * the push from {@code clientAddress} was begun with, as long as there's only one.
+     * 
+     * @param clientAddress the address the request came from
+     * @param internalIp the internal address of the pushing machine, if given
+     */
+    public String pushAddress(String clientAddress, @Nullable String internalIp) {
+        final String prefix = clientAddress + ".";
+        if (internalIp != null) {
+            return prefix + internalIp;
+        }
+        String match = null;
+        synchronized (incomingIPs) {
+            for (String ipAddress : incomingIPs) {
+                if (ipAddress.startsWith(prefix)) {
+                    if (match != null) {
+                        // more than one machine pushing from behind that address
+                        return prefix;
+                    }
+                    match = ipAddress;
+                }
+            }
+        }
+        return match == null ? prefix : match;
+    }
+
+    /**
+     * Called before ingesting a batch of objects sent by the machine at the specified address.
+     * Clients may send several batches of the same push concurrently.
+     * 
+     * @param ipAddress the remote machine that is pushing objects
+     */
+    public synchronized void batchBegin(String ipAddress) {
+        BatchCounter counter = batches.get(ipAddress);
+        if (counter == null) {
+            counter = new BatchCounter();
+            batches.put(ipAddress, counter);
+        }
+        counter.inFlight++;
+    }
+
+    /**
+     * Called once a batch of objects started with {@link #batchBegin} has been ingested, or
+     * failed to be.
+     * 
+     * @param ipAddress the remote machine that is pushing objects
+     * @param succeeded whether all the objects of the batch were ingested
+     */
+    public synchronized void batchEnd(String ipAddress, boolean succeeded) {
+        BatchCounter counter = batches.get(ipAddress);
+        checkState(counter != null && counter.inFlight > 0, "No batch in progress for %s",
+                ipAddress);
+        counter.inFlight--;
+        if (!succeeded) {
+            counter.failed++;
+        }
+        if (counter.inFlight == 0 && !incomingIPs.contains(ipAddress)) {
+            // no push begun from that address, nobody will wait for its batches
+            batches.remove(ipAddress);
+        }
+        notifyAll();
+    }
+
+    /**
+     * @return whether object batches from the specified address are being tracked
+     */
+    synchronized boolean isTracking(String ipAddress) {
+        return batches.containsKey(ipAddress);
+    }
+
+    /**
+     * Waits for the batches of objects from the specified address to be ingested, so that the
+     * pushed ref is only updated once all of them are in the repository.
+     * 
+     * @throws IllegalStateException if any of the batches failed, or didn't finish in time
+     */
+    private synchronized void awaitBatches(String ipAddress) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + BATCH_WAIT_TIMEOUT_MILLIS;
+        BatchCounter counter;
+        while ((counter = batches.get(ipAddress)) != null && counter.inFlight > 0) {
+            long remaining = deadline - System.currentTimeMillis();
+            checkState(remaining > 0, "Timed out waiting for %s object batches from %s",
+                    counter.inFlight, ipAddress);
+            wait(remaining);
+        }
+        batches.remove(ipAddress);
+        checkState(counter == null || counter.failed == 0,
+                "%s object batches from %s failed to be stored", counter == null ? 0
+                        : counter.failed, ipAddress);
     }
 
     /**
@@ -85,6 +211,14 @@ public class PushManager {
         if (!incomingIPs.remove(ipAddress)) {// remove and check for existence in one shot
             throw new RuntimeException("Tried to end a connection that didn't exist.");
         }
+        try {
+            awaitBatches(ipAddress);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Throwables.propagate(e);
+        }
+        checkState(geogig.getRepository().commitExists(newCommit),
+                "Commit %s was not received", newCommit);
 
         // Do not use the geogig instance after this, but the tx one!
         GeogigTransaction tx = geogig.command(TransactionBegin.class).call();
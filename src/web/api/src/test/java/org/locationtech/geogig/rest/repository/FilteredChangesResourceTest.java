@@ -0,0 +1,122 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.rest.repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Set;
+
+import org.junit.Test;
+import org.locationtech.geogig.api.GeoGIG;
+import org.locationtech.geogig.api.ObjectId;
+import org.locationtech.geogig.api.RevCommit;
+import org.locationtech.geogig.api.RevObject.TYPE;
+import org.locationtech.geogig.api.plumbing.diff.DiffEntry;
+import org.locationtech.geogig.api.porcelain.CommitOp;
+import org.locationtech.geogig.remote.BinaryPackedChanges;
+import org.locationtech.geogig.test.integration.RepositoryTestCase;
+import org.restlet.data.Method;
+import org.restlet.data.Request;
+import org.restlet.data.Response;
+import org.restlet.resource.Resource;
+import org.restlet.resource.StringRepresentation;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+
+public class FilteredChangesResourceTest extends RepositoryTestCase {
+
+    private static final String BBOX_FILTER = "{\"featurepath\":\"" + pointsName
+            + "\",\"type\":\"CQL\",\"filter\":\"BBOX(pp,0.5,0.5,1.5,1.5)\"}";
+
+    @Override
+    protected void setUpInternal() throws Exception {
+    }
+
+    @Test
+    public void testChangesOutsideFilterBoundsAreFiltered() throws Exception {
+        insertAndAdd(points1, points2, points3);
+        RevCommit commit = geogig.command(CommitOp.class).call();
+
+        FilteredChanges changes = post(commit, ImmutableSet.<ObjectId> of());
+
+        assertEquals(ImmutableSet.of(idP1), changes.features);
+        assertTrue(changes.filtered);
+    }
+
+    @Test
+    public void testTrackedFeaturesAreSentWhereverTheyAre() throws Exception {
+        insertAndAdd(points1);
+        final ObjectId p2 = insertAndAdd(points2);
+        geogig.command(CommitOp.class).call();
+        insertAndAdd(feature(pointsType, idP2, "StringProp1_2a", Integer.valueOf(2001),
+                "POINT(2 3)"));
+        insertAndAdd(points3);
+        RevCommit commit = geogig.command(CommitOp.class).call();
+
+        FilteredChanges changes = post(commit, ImmutableSet.of(p2));
+        assertEquals(ImmutableSet.of(idP2), changes.features);
+        assertTrue(changes.filtered);
+
+        changes = post(commit, ImmutableSet.<ObjectId> of());
+        assertEquals(ImmutableSet.of(), changes.features);
+        assertTrue(changes.filtered);
+    }
+
+    private FilteredChanges post(RevCommit commit, Set<ObjectId> tracked) throws Exception {
+        StringBuilder message = new StringBuilder("{\"commitId\":\"").append(commit.getId())
+                .append("\",\"tracked\":[");
+        for (ObjectId id : tracked) {
+            message.append('"').append(id).append("\",");
+        }
+        if (!tracked.isEmpty()) {
+            message.setLength(message.length() - 1);
+        }
+        message.append("],\"filter\":[").append(BBOX_FILTER).append("]}");
+
+        Request request = new Request(Method.POST, "http://localhost/repo/filteredchanges",
+                new StringRepresentation(message));
+        request.getAttributes().put(RepositoryProvider.KEY, new RepositoryProvider() {
+            @Override
+            public Optional<GeoGIG> getGeogig(Request request) {
+                return Optional.of(geogig);
+            }
+        });
+        Response response = new Response(request);
+        Resource resource = new FilteredChangesResource().findTarget(request, response);
+        resource.post(request.getEntity());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getEntity().write(out);
+
+        final FilteredChanges changes = new FilteredChanges();
+        BinaryPackedChanges unpacker = new BinaryPackedChanges(repo);
+        unpacker.ingest(new ByteArrayInputStream(out.toByteArray()),
+                new BinaryPackedChanges.Callback() {
+                    @Override
+                    public void callback(DiffEntry diff) {
+                        if (diff.getNewObject() != null
+                                && diff.getNewObject().getType() == TYPE.FEATURE) {
+                            changes.features.add(diff.getNewObject().name());
+                        }
+                    }
+                });
+        changes.filtered = unpacker.wasFiltered();
+        return changes;
+    }
+
+    private static class FilteredChanges {
+
+        final Set<String> features = Sets.newHashSet();
+
+        boolean filtered;
+    }
+}
@@ -0,0 +1,71 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.rest.repository;
+
+import org.junit.Test;
+import org.locationtech.geogig.api.GeoGIG;
+import org.locationtech.geogig.api.porcelain.CommitOp;
+import org.locationtech.geogig.rest.RestletException;
+import org.locationtech.geogig.test.integration.RepositoryTestCase;
+import org.restlet.data.MediaType;
+import org.restlet.data.Method;
+import org.restlet.data.Request;
+import org.restlet.data.Response;
+import org.restlet.data.Status;
+import org.restlet.resource.Representation;
+import org.restlet.resource.Variant;
+
+import com.google.common.base.Optional;
+
+public class RefChangesResourceTest extends RepositoryTestCase {
+
+    @Override
+    protected void setUpInternal() throws Exception {
+        insertAndAdd(points1);
+        geogig.command(CommitOp.class).call();
+    }
+
+    @Test
+    public void testCurrentRefs() throws Exception {
+        String text = get("timeout=0").getText();
+        assertTrue(text.startsWith("version "));
+        assertTrue(text.contains("refs/heads/master"));
+
+        String version = text.substring("version ".length(), text.indexOf('\n'));
+        assertEquals("version " + version + "\n", get("version=" + version + "&timeout=0")
+                .getText());
+    }
+
+    @Test
+    public void testInvalidTimeoutIsReportedBeforeTheResponse() throws Exception {
+        for (String timeout : new String[] { "abc", "-1" }) {
+            try {
+                get("timeout=" + timeout);
+                fail("expected RestletException for timeout " + timeout);
+            } catch (RestletException e) {
+                assertEquals(Status.CLIENT_ERROR_BAD_REQUEST, e.getStatus());
+            }
+        }
+    }
+
+    private Representation get(String query) {
+        Request request = new Request(Method.GET, "http://localhost/repo/refchanges?" + query);
+        request.getAttributes().put(RepositoryProvider.KEY, new RepositoryProvider() {
+            @Override
+            public Optional<GeoGIG> getGeogig(Request request) {
+                return Optional.of(geogig);
+            }
+        });
+        Response response = new Response(request);
+        RefChangesResource resource = new RefChangesResource();
+        resource.init(null, request, response);
+        return resource.getRepresentation(new Variant(MediaType.TEXT_PLAIN));
+    }
+}
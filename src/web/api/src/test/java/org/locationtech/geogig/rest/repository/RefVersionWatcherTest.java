@@ -0,0 +1,80 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.rest.repository;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.locationtech.geogig.api.porcelain.BranchCreateOp;
+import org.locationtech.geogig.api.porcelain.CommitOp;
+import org.locationtech.geogig.test.integration.RepositoryTestCase;
+
+import com.google.common.collect.Lists;
+
+public class RefVersionWatcherTest extends RepositoryTestCase {
+
+    private ExecutorService executor;
+
+    @Override
+    protected void setUpInternal() throws Exception {
+        insertAndAdd(points1);
+        geogig.command(CommitOp.class).call();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @Override
+    protected void tearDownInternal() throws Exception {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testWatcherIsSharedByRepository() {
+        assertSame(RefVersionWatcher.of(geogig), RefVersionWatcher.of(geogig));
+    }
+
+    @Test
+    public void testTimeoutReturnsCurrentRefs() throws Exception {
+        RefVersionWatcher watcher = RefVersionWatcher.of(geogig);
+        RefVersionWatcher.Refs refs = watcher.await(geogig, null, 0);
+        assertTrue(refs.manifest.contains("refs/heads/master"));
+
+        RefVersionWatcher.Refs unchanged = watcher.await(geogig, refs.version, 300);
+        assertEquals(refs.version, unchanged.version);
+    }
+
+    @Test
+    public void testAllWaitersAreNotified() throws Exception {
+        final RefVersionWatcher watcher = RefVersionWatcher.of(geogig);
+        final String version = watcher.await(geogig, null, 0).version;
+
+        List<Future<RefVersionWatcher.Refs>> waiters = Lists.newArrayList();
+        for (int i = 0; i < 4; i++) {
+            waiters.add(executor.submit(new Callable<RefVersionWatcher.Refs>() {
+                @Override
+                public RefVersionWatcher.Refs call() throws Exception {
+                    return watcher.await(geogig, version, TimeUnit.SECONDS.toMillis(30));
+                }
+            }));
+        }
+        Thread.sleep(2 * RefVersionWatcher.CHECK_INTERVAL_MILLIS);
+        geogig.command(BranchCreateOp.class).setName("branch1").call();
+
+        for (Future<RefVersionWatcher.Refs> waiter : waiters) {
+            RefVersionWatcher.Refs refs = waiter.get(10, TimeUnit.SECONDS);
+            assertFalse(version.equals(refs.version));
+            assertTrue(refs.manifest.contains("refs/heads/branch1"));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.rest.repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Test;
+import org.locationtech.geogig.api.GeoGIG;
+import org.locationtech.geogig.api.Ref;
+import org.locationtech.geogig.api.RevCommit;
+import org.locationtech.geogig.api.plumbing.RefParse;
+import org.locationtech.geogig.api.porcelain.CommitOp;
+import org.locationtech.geogig.test.integration.RepositoryTestCase;
+import org.locationtech.geogig.web.api.commands.PushManager;
+import org.restlet.data.MediaType;
+import org.restlet.data.Method;
+import org.restlet.data.Request;
+import org.restlet.data.Response;
+import org.restlet.resource.InputRepresentation;
+
+import com.google.common.base.Optional;
+
+public class SendObjectResourceTest extends RepositoryTestCase {
+
+    private static final String CLIENT_ADDRESS = "10.20.30.40";
+
+    private static final String PUSH_ADDRESS = CLIENT_ADDRESS + ".pushing-host";
+
+    private RevCommit commit;
+
+    @Override
+    protected void setUpInternal() throws Exception {
+        insertAndAdd(points1);
+        commit = geogig.command(CommitOp.class).call();
+    }
+
+    @Test
+    public void testFailedBatchWithoutInternalIpFailsThePush() throws Exception {
+        PushManager.get().connectionBegin(PUSH_ADDRESS);
+        try {
+            sendObject(new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    throw new IOException("Connection reset");
+                }
+            });
+            fail("Expected the batch to fail");
+        } catch (RuntimeException expected) {
+            // reported to the client as an error response
+        }
+
+        try {
+            PushManager.get().connectionSucceeded(geogig, PUSH_ADDRESS, "refs/heads/pushed",
+                    commit.getId());
+            fail("Expected the push to fail");
+        } catch (IllegalStateException expected) {
+            assertTrue(expected.getMessage().contains("failed to be stored"));
+        }
+        assertFalse(geogig.command(RefParse.class).setName("refs/heads/pushed").call()
+                .isPresent());
+    }
+
+    @Test
+    public void testBatchWithoutInternalIpCountsTowardsThePush() throws Exception {
+        PushManager.get().connectionBegin(PUSH_ADDRESS);
+        sendObject(new ByteArrayInputStream(new byte[0]));
+
+        PushManager.get().connectionSucceeded(geogig, PUSH_ADDRESS, "refs/heads/pushed",
+                commit.getId());
+        Optional<Ref> pushed = geogig.command(RefParse.class).setName("refs/heads/pushed")
+                .call();
+        assertTrue(pushed.isPresent());
+        assertEquals(commit.getId(), pushed.get().getObjectId());
+    }
+
+    private void sendObject(InputStream objects) {
+        Request request = new Request(Method.POST, "http://localhost/repo/sendobject",
+                new InputRepresentation(objects, MediaType.APPLICATION_OCTET_STREAM));
+        request.getClientInfo().setAddress(CLIENT_ADDRESS);
+        request.getAttributes().put(RepositoryProvider.KEY, new RepositoryProvider() {
+            @Override
+            public Optional<GeoGIG> getGeogig(Request request) {
+                return Optional.of(geogig);
+            }
+        });
+        Response response = new Response(request);
+        SendObjectResource resource = new SendObjectResource();
+        resource.init(null, request, response);
+        resource.post(request.getEntity());
+    }
+}
@@ -0,0 +1,55 @@
+/* Copyright (c) 2026 Boundless and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ * GeoGig contributors - initial implementation
+ */
+package org.locationtech.geogig.web.api.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PushManagerTest {
+
+    private final PushManager pushManager = PushManager.get();
+
+    @Test
+    public void testPushAddress() {
+        assertEquals("10.0.0.1.internal", pushManager.pushAddress("10.0.0.1", "internal"));
+        assertEquals("10.0.0.1.", pushManager.pushAddress("10.0.0.1", null));
+
+        pushManager.connectionBegin("10.0.0.1.host1");
+        assertEquals("10.0.0.1.host1", pushManager.pushAddress("10.0.0.1", null));
+        assertEquals("10.0.0.10.", pushManager.pushAddress("10.0.0.10", null));
+
+        // can't tell which of the pushes from behind that address the request belongs to
+        pushManager.connectionBegin("10.0.0.1.host2");
+        assertEquals("10.0.0.1.", pushManager.pushAddress("10.0.0.1", null));
+    }
+
+    @Test
+    public void testBatchesWithoutPushAreNotKept() {
+        final String address = "10.0.0.2.";
+        pushManager.batchBegin(address);
+        pushManager.batchBegin(address);
+        pushManager.batchEnd(address, true);
+        assertTrue(pushManager.isTracking(address));
+        pushManager.batchEnd(address, false);
+        assertFalse(pushManager.isTracking(address));
+    }
+
+    @Test
+    public void testBatchesOfPushAreKeptUntilItEnds() {
+        final String address = "10.0.0.3.host";
+        pushManager.connectionBegin(address);
+        pushManager.batchBegin(address);
+        pushManager.batchEnd(address, false);
+        assertTrue(pushManager.isTracking(address));
+    }
+}